@@ -0,0 +1,189 @@
+package cl.duoc.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase ArnesBenchmark.
+ * Arnés mínimo de micro-benchmarks sin dependencias externas.
+ * Ejecuta iteraciones de calentamiento y de medición de duración fija y reporta,
+ * por cada benchmark y tamaño de datos, el rendimiento (ops/s), el tiempo por operación
+ * y los bytes asignados por operación (medidos con ThreadMXBean, como el perfilador gc de JMH).
+ * Los resultados se pueden guardar como línea base en CSV y comparar en ejecuciones futuras.
+ */
+public class ArnesBenchmark {
+
+    /**
+     * Operación medida. Recibe el número de invocación y retorna un valor que se acumula
+     * para que el compilador JIT no elimine el trabajo.
+     */
+    @FunctionalInterface
+    public interface Operacion {
+        long ejecutar(int i);
+    }
+
+    /**
+     * Resultado de un benchmark.
+     */
+    public static final class Resultado {
+        final String nombre;
+        final int tamano;
+        final double opsPorSegundo;
+        final double nsPorOp;
+        final double bytesPorOp;
+
+        Resultado(String nombre, int tamano, double opsPorSegundo, double nsPorOp, double bytesPorOp) {
+            this.nombre = nombre;
+            this.tamano = tamano;
+            this.opsPorSegundo = opsPorSegundo;
+            this.nsPorOp = nsPorOp;
+            this.bytesPorOp = bytesPorOp;
+        }
+
+        String clave() {
+            return nombre + "@" + tamano;
+        }
+    }
+
+    // Acceso a los bytes asignados por hilo (extensión de HotSpot)
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int iteracionesCalentamiento;
+    private final int iteracionesMedicion;
+    private final long duracionIteracionNs;
+    private final List<Resultado> resultados = new ArrayList<>();
+    private final PrintStream salida;
+
+    // Acumulador que evita la eliminación de código muerto
+    private long sumidero;
+
+    /**
+     * Constructor del arnés.
+     *
+     * @param iteracionesCalentamiento iteraciones descartadas antes de medir
+     * @param iteracionesMedicion      iteraciones medidas
+     * @param duracionIteracionMs      duración de cada iteración
+     * @param salida                   destino del reporte
+     */
+    public ArnesBenchmark(int iteracionesCalentamiento, int iteracionesMedicion, long duracionIteracionMs,
+                          PrintStream salida) {
+        this.iteracionesCalentamiento = iteracionesCalentamiento;
+        this.iteracionesMedicion = iteracionesMedicion;
+        this.duracionIteracionNs = duracionIteracionMs * 1_000_000L;
+        this.salida = salida;
+        HILOS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Mide una operación.
+     *
+     * @param nombre    nombre del benchmark
+     * @param tamano    tamaño del conjunto de datos (parámetro)
+     * @param operacion operación a medir
+     */
+    public void medir(String nombre, int tamano, Operacion operacion) {
+        medir(nombre, tamano, 1, operacion);
+    }
+
+    /**
+     * Mide una operación que procesa varios elementos por invocación
+     * (ej: insertar un conjunto completo); los resultados se informan por elemento.
+     *
+     * @param nombre             nombre del benchmark
+     * @param tamano             tamaño del conjunto de datos (parámetro)
+     * @param elementosPorLlamada elementos procesados en cada invocación
+     * @param operacion          operación a medir
+     */
+    public void medir(String nombre, int tamano, int elementosPorLlamada, Operacion operacion) {
+        // Las operaciones que procesan muchos elementos se invocan de a una
+        int lote = elementosPorLlamada > 1 ? 1 : 64;
+        for (int i = 0; i < iteracionesCalentamiento; i++) {
+            iterar(operacion, lote);
+        }
+        long operaciones = 0;
+        long tiempo = 0;
+        long bytes = 0;
+        long hilo = Thread.currentThread().getId();
+        for (int i = 0; i < iteracionesMedicion; i++) {
+            long bytesAntes = HILOS.getThreadAllocatedBytes(hilo);
+            long inicio = System.nanoTime();
+            operaciones += iterar(operacion, lote);
+            tiempo += System.nanoTime() - inicio;
+            bytes += HILOS.getThreadAllocatedBytes(hilo) - bytesAntes;
+        }
+        double elementos = (double) operaciones * elementosPorLlamada;
+        Resultado r = new Resultado(nombre, tamano, elementos / (tiempo / 1e9), tiempo / elementos, bytes / elementos);
+        resultados.add(r);
+        salida.printf("%-32s %9d %16.1f ops/s %12.1f ns/op %10.1f B/op%n",
+                r.nombre, r.tamano, r.opsPorSegundo, r.nsPorOp, r.bytesPorOp);
+    }
+
+    // Ejecuta la operación durante una iteración y retorna la cantidad de invocaciones
+    private long iterar(Operacion operacion, int lote) {
+        long fin = System.nanoTime() + duracionIteracionNs;
+        long invocaciones = 0;
+        int i = 0;
+        do {
+            // Lotes de invocaciones para no medir System.nanoTime() en cada una
+            for (int k = 0; k < lote; k++) {
+                sumidero += operacion.ejecutar(i++);
+            }
+            invocaciones += lote;
+        } while (System.nanoTime() < fin);
+        return invocaciones;
+    }
+
+    /**
+     * Guarda los resultados como línea base (CSV).
+     *
+     * @param archivo archivo de destino
+     * @throws IOException si no se puede escribir
+     */
+    public void guardar(Path archivo) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        lineas.add("benchmark,tamano,ops_s,ns_op,bytes_op");
+        for (Resultado r : resultados) {
+            lineas.add(r.nombre + "," + r.tamano + "," + r.opsPorSegundo + "," + r.nsPorOp + "," + r.bytesPorOp);
+        }
+        Files.write(archivo, lineas);
+    }
+
+    /**
+     * Compara los resultados con una línea base guardada y muestra la variación.
+     *
+     * @param archivo línea base (CSV generado por guardar())
+     * @throws IOException si no se puede leer
+     */
+    public void comparar(Path archivo) throws IOException {
+        Map<String, double[]> base = new LinkedHashMap<>();
+        for (String linea : Files.readAllLines(archivo)) {
+            String[] c = linea.split(",");
+            if (c.length < 5 || c[0].equals("benchmark")) continue;
+            base.put(c[0] + "@" + c[1], new double[] {Double.parseDouble(c[2]), Double.parseDouble(c[4])});
+        }
+        salida.println("\nComparación con " + archivo + ":");
+        for (Resultado r : resultados) {
+            double[] anterior = base.get(r.clave());
+            if (anterior == null) continue;
+            salida.printf("%-32s %9d %+8.1f%% ops/s %+10.1f B/op%n", r.nombre, r.tamano,
+                    (r.opsPorSegundo / anterior[0] - 1) * 100, r.bytesPorOp - anterior[1]);
+        }
+    }
+
+    /**
+     * Valor acumulado por las operaciones (se imprime para que el trabajo no se elimine).
+     *
+     * @return acumulador
+     */
+    public long getSumidero() {
+        return sumidero;
+    }
+}
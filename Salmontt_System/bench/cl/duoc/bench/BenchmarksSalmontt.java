@@ -0,0 +1,94 @@
+package cl.duoc.bench;
+
+import cl.duoc.interfaces.InterfazUsuario;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.MotorReglas;
+import cl.duoc.utils.Validador;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Clase BenchmarksSalmontt.
+ * Punto de entrada de los benchmarks del sistema: validación, formatos, RUT, representación en texto
+ * e inserción en los registros de InterfazUsuario, para distintos tamaños de datos.
+ *
+ * Uso: java cl.duoc.bench.BenchmarksSalmontt [--tamanos 1000,100000] [--guardar base.csv] [--comparar base.csv]
+ */
+public class BenchmarksSalmontt {
+
+    public static void main(String[] args) throws IOException {
+        int[] tamanos = {1_000, 100_000};
+        Path guardar = null;
+        Path comparar = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--tamanos" -> tamanos = Arrays.stream(args[i + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--guardar" -> guardar = Path.of(args[i + 1]);
+                case "--comparar" -> comparar = Path.of(args[i + 1]);
+                default -> System.err.println("Opción desconocida: " + args[i]);
+            }
+        }
+
+        ArnesBenchmark arnes = new ArnesBenchmark(3, 5, 300, System.out);
+        for (int tamano : tamanos) {
+            ejecutar(arnes, tamano);
+        }
+        System.out.println("(sumidero " + arnes.getSumidero() + ")");
+
+        if (guardar != null) arnes.guardar(guardar);
+        if (comparar != null) arnes.comparar(comparar);
+    }
+
+    private static void ejecutar(ArnesBenchmark arnes, int n) {
+        Empleado[] empleados = DatosPrueba.empleados(n);
+        Cliente[] clientes = DatosPrueba.clientes(n);
+        String[] ruts = DatosPrueba.textosRut(n);
+        Persona[] personas = Arrays.stream(empleados)
+                .map(e -> new Persona(e.getNombre(), e.getApellido(), e.getRut(), e.getDireccion(), e.getCorreo()))
+                .toArray(Persona[]::new);
+
+        // Cadenas de Validador
+        arnes.medir("validador.cadena", n, i -> {
+            String nombre = empleados[i % n].getNombre();
+            return new Validador<>(nombre).isNotNull().isNotEmpty().matches(MotorReglas.NOMBRE).maxLength(50).isValido() ? 1 : 0;
+        });
+
+        // Formatos: expresión regular contra escáner, y una columna completa de una vez
+        String[] correos = Arrays.stream(empleados).map(Persona::getCorreo).toArray(String[]::new);
+        String[] telefonos = Arrays.stream(clientes).map(Cliente::getTelefono).toArray(String[]::new);
+        arnes.medir("correo.expresion", n, i -> MotorReglas.CORREO.cumpleExpresion(correos[i % n]) ? 1 : 0);
+        arnes.medir("correo.escaner", n, i -> MotorReglas.CORREO.cumple(correos[i % n]) ? 1 : 0);
+        arnes.medir("telefono.expresion", n, i -> MotorReglas.TELEFONO_CLIENTE.cumpleExpresion(telefonos[i % n]) ? 1 : 0);
+        arnes.medir("telefono.escaner", n, i -> MotorReglas.TELEFONO_CLIENTE.cumple(telefonos[i % n]) ? 1 : 0);
+        arnes.medir("correo.columna", n, n, i -> MotorReglas.CORREO.fallas(correos).cardinality());
+
+        // RUT: interpretación del texto y validación
+        arnes.medir("rut.parsear", n, i -> new Rut(ruts[i % n]).esValido() ? 1 : 0);
+        arnes.medir("rut.esValido", n, i -> empleados[i % n].getRut().esValido() ? 1 : 0);
+
+        // esValida de Persona, Cliente y Empleado
+        arnes.medir("persona.esValida", n, i -> personas[i % n].esValida() ? 1 : 0);
+        arnes.medir("cliente.esValida", n, i -> clientes[i % n].esValida() ? 1 : 0);
+        arnes.medir("empleado.esValida", n, i -> empleados[i % n].esValida() ? 1 : 0);
+
+        // Representación en texto
+        arnes.medir("direccion.toString", n, i -> empleados[i % n].getDireccion().toString().length());
+        arnes.medir("empleado.toString", n, i -> empleados[i % n].toString().length());
+
+        // Inserción en los registros de InterfazUsuario (resultado por elemento insertado)
+        arnes.medir("interfaz.insertarEmpleados", n, n, i -> {
+            InterfazUsuario interfaz = new InterfazUsuario();
+            for (Empleado e : empleados) interfaz.getEmpleados().agregar(e);
+            return interfaz.getEmpleados().tamano();
+        });
+        arnes.medir("interfaz.insertarClientes", n, n, i -> {
+            InterfazUsuario interfaz = new InterfazUsuario();
+            for (Cliente c : clientes) interfaz.getClientes().agregar(c);
+            return interfaz.getClientes().tamano();
+        });
+    }
+}
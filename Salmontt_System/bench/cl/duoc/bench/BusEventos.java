@@ -0,0 +1,194 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.BusCambios;
+import cl.duoc.data.EventoCambio;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.model.Campos;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.utils.Histograma;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Clase BusEventos.
+ * Comprueba y mide BusCambios.
+ *
+ * Comprobaciones:
+ *   - con la política BLOQUEAR, un anillo chico y un suscriptor lento, llegan todos los eventos,
+ *     en orden, con secuencias consecutivas y los valores anteriores y nuevos correctos
+ *     (altas, setters, direcciones, reemplazos y eliminaciones); asignar el mismo valor no publica;
+ *   - con DESCARTAR y un suscriptor detenido, publicados + descartados = eventos generados.
+ * Medición: latencia de inserción sin suscriptores, con un suscriptor rápido y con uno detenido.
+ *
+ * Uso: java cl.duoc.bench.BusEventos [empleados]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class BusEventos {
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        List<String> errores = new ArrayList<>();
+
+        comprobarEntrega(Math.min(cantidad, 20_000), errores);
+
+        // Latencia de inserción: el suscriptor detenido no debe notarse
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+        for (int r = 0; r < 2; r++) { // la primera ronda calienta
+            Histograma sin = insertar(empleados, null, null);
+            Histograma rapido = insertar(empleados, lote -> { }, null);
+            CountDownLatch liberar = new CountDownLatch(1);
+            long[] contadores = new long[2];
+            Histograma detenido = insertar(empleados, lote -> esperar(liberar), contadores);
+            liberar.countDown();
+            if (contadores[0] + contadores[1] != cantidad) {
+                errores.add("publicados " + contadores[0] + " + descartados " + contadores[1] + " != " + cantidad);
+            }
+            if (contadores[1] == 0) errores.add("el suscriptor detenido no produjo descartes");
+            if (r == 0) continue;
+            System.out.printf("%,d inserciones (anillo de %,d eventos, DESCARTAR):%n", cantidad, BusCambios.CAPACIDAD);
+            System.out.println("  sin suscriptores:       " + sin);
+            System.out.println("  suscriptor rápido:      " + rapido);
+            System.out.println("  suscriptor detenido:    " + detenido);
+            System.out.printf("  (con el detenido: %,d publicados, %,d descartados)%n", contadores[0], contadores[1]);
+        }
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    // Aplica cambios de todo tipo con un suscriptor lento y compara lo recibido con lo esperado
+    private static void comprobarEntrega(int cantidad, List<String> errores) throws InterruptedException {
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>(cantidad);
+        List<String> esperados = new ArrayList<>();
+        List<String> recibidos = Collections.synchronizedList(new ArrayList<>());
+        long[] ultimaSecuencia = {-1};
+        int[] lotes = {0};
+
+        try (BusCambios bus = new BusCambios(64, 16, BusCambios.PoliticaSaturacion.BLOQUEAR)) {
+            bus.observar(registro);
+            bus.suscribir("prueba", lote -> {
+                lotes[0]++;
+                for (int i = 0; i < lote.tamano(); i++) {
+                    EventoCambio e = lote.get(i);
+                    if (e.getSecuencia() != ultimaSecuencia[0] + 1) recibidos.add("secuencia " + e.getSecuencia());
+                    ultimaSecuencia[0] = e.getSecuencia();
+                    recibidos.add(describir(e));
+                }
+                if (lotes[0] % 50 == 0) esperar(1); // lento de vez en cuando: el anillo se llena
+            });
+
+            Empleado[] empleados = DatosPrueba.empleados(cantidad);
+            for (Empleado e : empleados) {
+                registro.agregar(e);
+                esperados.add("CREADO " + e.getRut() + " " + e.getNombre() + " " + e.getCargo() + " " + e.getSueldoCentavos());
+            }
+            for (int i = 0; i < cantidad; i++) {
+                Empleado e = empleados[i];
+                switch (i % 5) {
+                    case 0 -> {
+                        long anterior = e.getSueldoCentavos();
+                        e.setSueldoCentavos(anterior + 1);
+                        esperados.add("ACTUALIZADO " + e.getRut() + " sueldo " + anterior + "->" + (anterior + 1));
+                        e.setSueldoCentavos(anterior + 1); // mismo valor: sin evento
+                    }
+                    case 1 -> {
+                        String anterior = e.getDireccion().getComuna();
+                        e.getDireccion().setComuna("QUELLÓN");
+                        if (!anterior.equals("QUELLÓN")) esperados.add("ACTUALIZADO " + e.getRut() + " comuna " + anterior + "->QUELLÓN");
+                    }
+                    case 2 -> {
+                        Empleado copia = new Empleado(e.getNombre(), e.getApellido(), e.getRut(),
+                                new Direccion(e.getDireccion().getCalle(), e.getDireccion().getComuna(), "AYSÉN"),
+                                e.getCorreo(), "GERENTE", e.getSueldo());
+                        String region = e.getDireccion().getRegion();
+                        String cargo = e.getCargo();
+                        registro.actualizar(copia);
+                        esperados.add("ACTUALIZADO " + e.getRut()
+                                + (region.equals("AYSÉN") ? "" : " región " + region + "->AYSÉN")
+                                + (cargo.equals("GERENTE") ? "" : " cargo " + cargo + "->GERENTE"));
+                        e.setNombre("YA NO REGISTRADO"); // la versión reemplazada deja de publicar
+                    }
+                    case 3 -> {
+                        registro.eliminar(e.getRut());
+                        esperados.add("ELIMINADO " + e.getRut() + " " + e.getNombre() + " " + e.getCargo() + " " + e.getSueldoCentavos());
+                    }
+                    default -> {
+                        String anterior = e.getNombre();
+                        e.setNombre("NUEVO");
+                        if (!anterior.equals("NUEVO")) esperados.add("ACTUALIZADO " + e.getRut() + " nombre " + anterior + "->NUEVO");
+                    }
+                }
+            }
+            if (bus.getDescartados() != 0) errores.add("BLOQUEAR descartó " + bus.getDescartados());
+        } // close() espera a que el suscriptor procese todo
+
+        if (!recibidos.equals(esperados)) {
+            int i = 0;
+            while (i < Math.min(recibidos.size(), esperados.size()) && recibidos.get(i).equals(esperados.get(i))) i++;
+            errores.add("eventos distintos desde el " + i + " (" + recibidos.size() + " recibidos, " + esperados.size()
+                    + " esperados): " + (i < recibidos.size() ? recibidos.get(i) : "-") + " vs "
+                    + (i < esperados.size() ? esperados.get(i) : "-"));
+        }
+        System.out.printf("Entrega con BLOQUEAR: %,d eventos en %,d lotes%n", recibidos.size(), lotes[0]);
+    }
+
+    private static String describir(EventoCambio e) {
+        StringBuilder sb = new StringBuilder().append(e.getTipo()).append(' ').append(e.getRut());
+        switch (e.getTipo()) {
+            case CREADO -> sb.append(' ').append(e.getNuevo(Campos.NOMBRE)).append(' ').append(e.getNuevo(Campos.CARGO))
+                             .append(' ').append(e.getSueldoNuevo());
+            case ELIMINADO -> sb.append(' ').append(e.getAnterior(Campos.NOMBRE)).append(' ').append(e.getAnterior(Campos.CARGO))
+                                .append(' ').append(e.getSueldoAnterior());
+            default -> {
+                for (int campo = 0; campo < Campos.CANTIDAD; campo++) {
+                    if (!e.incluye(campo)) continue;
+                    sb.append(' ').append(Campos.nombre(campo)).append(' ');
+                    if (campo == Campos.SUELDO) sb.append(e.getSueldoAnterior()).append("->").append(e.getSueldoNuevo());
+                    else sb.append(e.getAnterior(campo)).append("->").append(e.getNuevo(campo));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    // Inserta todos los empleados en un registro nuevo, con un suscriptor opcional; retorna las latencias
+    private static Histograma insertar(Empleado[] empleados, cl.duoc.data.SuscriptorCambios suscriptor,
+                                       long[] contadores) {
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>(empleados.length);
+        Histograma latencias = new Histograma("inserción");
+        try (BusCambios bus = BusCambios.crear()) {
+            bus.observar(registro);
+            if (suscriptor != null) bus.suscribir("medicion", suscriptor);
+            for (Empleado e : empleados) {
+                long inicio = System.nanoTime();
+                registro.agregar(e);
+                latencias.registrar(System.nanoTime() - inicio);
+            }
+            if (contadores != null) {
+                contadores[0] = bus.getPublicados();
+                contadores[1] = bus.getDescartados();
+            }
+            if (suscriptor != null) bus.getSuscripciones()[0].cancelar(); // no esperar al detenido al cerrar
+        }
+        return latencias;
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void esperar(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
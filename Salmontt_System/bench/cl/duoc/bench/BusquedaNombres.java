@@ -0,0 +1,186 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.IndiceNombres;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.NormalizadorTexto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase BusquedaNombres.
+ * Comprueba y mide IndiceNombres sobre un registro grande de clientes con nombres variados.
+ *
+ * Comprobaciones:
+ *   - búsquedas por prefijo al azar: los primeros resultados son exactamente los de un recorrido
+ *     completo (mismas personas y mismo orden); el resto, si hay, son aproximados;
+ *   - "champinon" y "champ" encuentran a "CHAMPIÑON";
+ *   - una palabra con un error de tipeo sigue encontrando personas con la palabra original;
+ *   - actualizar y eliminar mantienen el índice al día.
+ * Luego mide la latencia de una serie de búsquedas mientras se escribe.
+ *
+ * Uso: java -Xmx3g cl.duoc.bench.BusquedaNombres [cantidad] [comprobaciones]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class BusquedaNombres {
+
+    private static final String[] NOMBRES = {
+            "JUAN", "MARÍA", "PEDRO", "ANA", "JOSÉ", "CAMILA", "LUIS", "SOFÍA", "MATÍAS", "VALENTINA",
+            "BENJAMÍN", "ISIDORA", "TOMÁS", "FERNANDA", "CRISTÓBAL", "CONSTANZA", "IGNACIO", "JAVIERA",
+            "ÁLVARO", "MONSERRAT", "RAÚL", "INÉS", "HÉCTOR", "ROCÍO", "NICOLÁS", "BÁRBARA", "JOAQUÍN",
+            "MAGDALENA", "SEBASTIÁN", "CATALINA", "AGUSTÍN", "FLORENCIA", "VICENTE", "AMANDA", "ELÍAS"
+    };
+    private static final String[] APELLIDOS = {
+            "SOTO", "ROJAS", "MUÑOZ", "DÍAZ", "PÉREZ", "GONZÁLEZ", "CHAMPIÑON", "NÚÑEZ", "IBÁÑEZ",
+            "FUENZALIDA", "CÁRDENAS", "OYARZÚN", "ÁLVAREZ", "VARGAS", "BARRÍA", "MANSILLA", "AGÜERO"
+    };
+    // Sílabas para generar apellidos poco frecuentes
+    private static final String[] SILABAS = {
+            "CA", "LLE", "QUI", "RRA", "MA", "NUE", "TO", "BAR", "PE", "ÑA", "HUE", "LO", "ZÚ", "GA", "RÍ", "SAN"
+    };
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int comprobaciones = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        Random azar = new Random(17);
+
+        RegistroPersonas<Cliente> registro = new RegistroPersonas<>();
+        IndiceNombres<Cliente> indice = new IndiceNombres<>(registro);
+        registro.agregarOyente(indice);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < cantidad; i++) {
+            registro.agregar(new Cliente(nombre(azar), apellido(azar), Rut.desdeCuerpo(10_000_000 + i),
+                    new Direccion("CALLE " + i, "OSORNO", "LOS LAGOS"), "c" + i + "@correo.cl", "912345678"));
+        }
+        long nanosCarga = System.nanoTime() - inicio;
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.printf("Carga de %,d clientes con índice: %d ms, memoria usada: %,d MB%n",
+                cantidad, nanosCarga / 1_000_000, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+
+        List<String> errores = new ArrayList<>();
+        byte[][] claves = new byte[cantidad][];
+        for (int i = 0; i < cantidad; i++) {
+            Cliente c = registro.enPosicion(i);
+            claves[i] = NormalizadorTexto.normalizar(c.getNombre(), c.getApellido());
+        }
+
+        // Prefijos al azar contra un recorrido completo
+        for (int k = 0; k < comprobaciones && errores.size() < 5; k++) {
+            String[] palabras = new String(claves[azar.nextInt(cantidad)]).split(" ");
+            String consulta = prefijo(azar, palabras[azar.nextInt(palabras.length)]);
+            if (azar.nextBoolean()) consulta += " " + prefijo(azar, palabras[azar.nextInt(palabras.length)]);
+            List<Cliente> obtenidos = indice.buscar(consulta.toLowerCase(), 10);
+            List<Integer> esperados = recorrer(claves, NormalizadorTexto.normalizar(consulta), 10);
+            List<Integer> posiciones = new ArrayList<>();
+            for (Cliente c : obtenidos) posiciones.add(c.getRut().getCuerpo() - 10_000_000);
+            if (posiciones.size() < esperados.size() || !posiciones.subList(0, esperados.size()).equals(esperados)) errores.add("'" + consulta + "': " + posiciones + " != " + esperados);
+        }
+
+        // Tildes y eñes
+        for (String consulta : new String[]{"champinon", "champ", "Champiñón"}) {
+            List<Cliente> r = indice.buscar(consulta);
+            if (r.isEmpty() || !r.get(0).getApellido().contains("CHAMPIÑON")) errores.add("no encuentra '" + consulta + "'");
+        }
+
+        // Errores de tipeo: una letra cambiada en un apellido largo
+        for (String apellido : new String[]{"FUENZALIDA", "MANSILLA", "CARDENAS", "GONZALEZ"}) {
+            String conError = apellido.substring(0, 3) + 'X' + apellido.substring(4);
+            List<Cliente> r = indice.buscar(conError);
+            boolean encontrado = !r.isEmpty();
+            for (Cliente c : r) encontrado &= NormalizadorTexto.aTexto(c.getApellido()).contains(apellido);
+            if (!encontrado) errores.add("'" + conError + "' no encuentra " + apellido);
+        }
+
+        // Actualización y eliminación
+        Cliente elegido = registro.enPosicion(cantidad / 2);
+        elegido.setNombre("ZEFERINO");
+        registro.actualizar(elegido);
+        if (indice.buscar("zefer").size() != 1) errores.add("no se reindexó al actualizar");
+        registro.eliminar(elegido.getRut());
+        if (!indice.buscar("zeferino").isEmpty()) errores.add("sigue indexado después de eliminar");
+
+        // Latencia de búsquedas mientras se escribe
+        String[] consultas = {
+                "c", "ch", "cha", "cham", "champ", "champi", "champin", "champinon",
+                "j", "ju", "jua", "juan", "juan m", "juan mu", "juan muno", "juan munoz",
+                "fuen", "fuenzalida cat", "oyarzun ib", "gonzales", "cardenaz", "mansila", "jaquin"
+        };
+        for (int ronda = 0; ronda < 5; ronda++) {
+            for (String consulta : consultas) indice.buscar(consulta); // calentamiento
+        }
+        long[] tiempos = new long[consultas.length * 20];
+        int t = 0;
+        for (int ronda = 0; ronda < 20; ronda++) {
+            for (String consulta : consultas) {
+                long antes = System.nanoTime();
+                indice.buscar(consulta);
+                tiempos[t++] = System.nanoTime() - antes;
+            }
+        }
+        for (String consulta : consultas) {
+            long antes = System.nanoTime();
+            int encontrados = indice.buscar(consulta).size();
+            System.out.printf("  %-18s %2d resultados en %7.3f ms%n", "'" + consulta + "'", encontrados,
+                    (System.nanoTime() - antes) / 1e6);
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("Búsquedas: p50 %.3f ms, p99 %.3f ms, máx %.3f ms%n",
+                tiempos[tiempos.length / 2] / 1e6, tiempos[tiempos.length * 99 / 100] / 1e6, tiempos[tiempos.length - 1] / 1e6);
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    private static String nombre(Random azar) {
+        String nombre = NOMBRES[azar.nextInt(NOMBRES.length)];
+        return azar.nextInt(3) == 0 ? nombre : nombre + " " + NOMBRES[azar.nextInt(NOMBRES.length)];
+    }
+
+    private static String apellido(Random azar) {
+        return unApellido(azar) + " " + unApellido(azar);
+    }
+
+    private static String unApellido(Random azar) {
+        if (azar.nextInt(4) != 0) return APELLIDOS[azar.nextInt(APELLIDOS.length)];
+        StringBuilder inventado = new StringBuilder();
+        for (int s = 2 + azar.nextInt(2); s > 0; s--) inventado.append(SILABAS[azar.nextInt(SILABAS.length)]);
+        return inventado.toString();
+    }
+
+    private static String prefijo(Random azar, String palabra) {
+        return palabra.substring(0, 1 + azar.nextInt(palabra.length()));
+    }
+
+    // Mismo orden que IndiceNombres para coincidencias por prefijo: largo, palabras incompletas, posición
+    private static List<Integer> recorrer(byte[][] claves, byte[] consulta, int limite) {
+        String[] buscadas = new String(consulta).split(" ");
+        List<int[]> coincidencias = new ArrayList<>();
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] == null) continue;
+            String[] palabras = new String(claves[i]).split(" ");
+            int incompletas = 0;
+            boolean coincide = true;
+            for (String buscada : buscadas) {
+                boolean prefijo = false;
+                boolean completa = false;
+                for (String palabra : palabras) {
+                    prefijo |= palabra.startsWith(buscada);
+                    completa |= palabra.equals(buscada);
+                }
+                coincide &= prefijo;
+                if (!completa) incompletas++;
+            }
+            if (coincide) coincidencias.add(new int[]{claves[i].length, incompletas, i});
+        }
+        coincidencias.sort(Comparator.<int[]>comparingInt(c -> c[0]).thenComparingInt(c -> c[1]).thenComparingInt(c -> c[2]));
+        List<Integer> posiciones = new ArrayList<>();
+        for (int i = 0; i < Math.min(limite, coincidencias.size()); i++) posiciones.add(coincidencias.get(i)[2]);
+        return posiciones;
+    }
+}
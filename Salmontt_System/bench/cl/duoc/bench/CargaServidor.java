@@ -0,0 +1,141 @@
+package cl.duoc.bench;
+
+import cl.duoc.interfaces.InterfazUsuario;
+import cl.duoc.interfaces.ServidorTcp;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.Hilos;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clase CargaServidor.
+ * Cliente de carga para ServidorTcp: abre varias conexiones simultáneas, cada una registra
+ * empleados con RUT distintos (un comando a la vez, esperando su respuesta) y mide la latencia
+ * de cada petición. Reporta peticiones por segundo y percentiles de latencia.
+ *
+ * Si no se indica un puerto, levanta un servidor propio (sin persistencia) en un puerto libre.
+ *
+ * Uso: java cl.duoc.bench.CargaServidor [--conexiones 200] [--peticiones 500] [--puerto 5050]
+ */
+public class CargaServidor {
+
+    public static void main(String[] args) throws Exception {
+        int conexiones = 200;
+        int peticiones = 500;
+        int puerto = -1;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--conexiones" -> conexiones = Integer.parseInt(args[i + 1]);
+                case "--peticiones" -> peticiones = Integer.parseInt(args[i + 1]);
+                case "--puerto" -> puerto = Integer.parseInt(args[i + 1]);
+                default -> System.err.println("Opción desconocida: " + args[i]);
+            }
+        }
+
+        ServidorTcp propio = null;
+        InterfazUsuario interfaz = null;
+        if (puerto < 0) {
+            interfaz = new InterfazUsuario();
+            propio = new ServidorTcp(interfaz, 0);
+            ServidorTcp servidor = propio;
+            Thread aceptador = new Thread(servidor::atender, "aceptador");
+            aceptador.setDaemon(true);
+            aceptador.start();
+            puerto = propio.getPuerto();
+        }
+
+        System.out.println("Carga: " + conexiones + " conexiones x " + peticiones + " peticiones contra localhost:"
+                + puerto + (Hilos.hayHilosVirtuales() ? " (hilos virtuales)" : " (hilos de plataforma)"));
+
+        long[][] latencias = ejecutar(puerto, conexiones, peticiones, 0);           // calentamiento
+        long inicio = System.nanoTime();
+        latencias = ejecutar(puerto, conexiones, peticiones, conexiones * peticiones);
+        long nanos = System.nanoTime() - inicio;
+
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Peticiones: %,d en %d ms -> %,.0f peticiones/s%n", todas.length, nanos / 1_000_000,
+                todas.length * 1e9 / nanos);
+        System.out.printf("Latencia: p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, máx %.1f µs%n",
+                percentil(todas, 50), percentil(todas, 90), percentil(todas, 99), percentil(todas, 99.9),
+                todas[todas.length - 1] / 1000.0);
+
+        if (propio != null) {
+            System.out.println("Empleados registrados: " + interfaz.getEmpleados().tamano());
+            propio.close();
+        }
+    }
+
+    // Cada conexión registra sus propios RUT, a partir de un desplazamiento distinto por ronda
+    private static long[][] ejecutar(int puerto, int conexiones, int peticiones, int desplazamiento)
+            throws Exception {
+        long[][] latencias = new long[conexiones][];
+        CountDownLatch listas = new CountDownLatch(conexiones);
+        CountDownLatch partida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        ExecutorService clientes = Hilos.unoPorTarea("cliente");
+        try {
+            for (int c = 0; c < conexiones; c++) {
+                int conexion = c;
+                tareas.add(clientes.submit(() -> {
+                    latencias[conexion] = sesion(puerto, 20_000_000 + desplazamiento + conexion * peticiones,
+                            peticiones, listas, partida);
+                    return null;
+                }));
+            }
+            listas.await();
+            partida.countDown();
+            for (Future<?> tarea : tareas) tarea.get(5, TimeUnit.MINUTES);
+        } finally {
+            clientes.shutdownNow();
+        }
+        return latencias;
+    }
+
+    private static long[] sesion(int puerto, int primerRut, int peticiones,
+                                 CountDownLatch listas, CountDownLatch partida) throws InterruptedException {
+        long[] latencias = new long[peticiones];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), puerto);
+             BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter salida = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            listas.countDown();
+            partida.await();
+            for (int i = 0; i < peticiones; i++) {
+                int cuerpo = primerRut + i;
+                long inicio = System.nanoTime();
+                salida.write("EMPLEADO;JUAN;PEREZ;" + Rut.desdeCuerpo(cuerpo).getNumero()
+                        + ";CALLE " + i + ";PUERTO MONTT;LOS LAGOS;j" + cuerpo + "@salmontt.cl;OPERARIO;650000\n");
+                salida.flush();
+                String linea;
+                while ((linea = entrada.readLine()) != null && !linea.equals(ServidorTcp.FIN_RESPUESTA)) {
+                    if (!linea.startsWith("OK")) System.err.println("Respuesta inesperada: " + linea);
+                }
+                latencias[i] = System.nanoTime() - inicio;
+            }
+            salida.write("SALIR\n");
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return latencias;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int i = (int) Math.ceil(p / 100 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, i))] / 1000.0;
+    }
+}
@@ -0,0 +1,87 @@
+package cl.duoc.bench;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+import java.util.Random;
+
+/**
+ * Clase DatosPrueba.
+ * Genera conjuntos de datos deterministas (misma semilla, mismos datos) para los benchmarks.
+ */
+public final class DatosPrueba {
+
+    private static final String[] NOMBRES = {"JUAN", "MARIA", "PEDRO", "ANA", "JOSE", "CAMILA", "LUIS", "SOFÍA"};
+    private static final String[] APELLIDOS = {"SOTO", "ROJAS", "MUÑOZ", "DÍAZ", "PÉREZ", "GONZÁLEZ", "CHAMPIÑON"};
+    private static final String[] COMUNAS = {"PUERTO MONTT", "PUERTO VARAS", "OSORNO", "CASTRO", "CALBUCO", "ANCUD"};
+    private static final String[] REGIONES = {"LOS LAGOS", "LOS RÍOS", "AYSÉN"};
+    private static final String[] CARGOS = {"OPERARIO", "BUZO", "TÉCNICO", "SUPERVISOR", "ANALISTA", "CHOFER"};
+
+    private DatosPrueba() {
+    }
+
+    /**
+     * Genera empleados válidos con RUT distintos.
+     *
+     * @param cantidad cantidad de empleados
+     * @return arreglo de empleados
+     */
+    public static Empleado[] empleados(int cantidad) {
+        Random azar = new Random(42);
+        Empleado[] empleados = new Empleado[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            empleados[i] = new Empleado(elegir(azar, NOMBRES), elegir(azar, APELLIDOS),
+                    Rut.desdeCuerpo(10_000_000 + i), direccion(azar, i), "persona" + i + "@salmontt.cl",
+                    elegir(azar, CARGOS), 460_000 + azar.nextInt(2_000_000));
+        }
+        return empleados;
+    }
+
+    /**
+     * Genera clientes válidos con RUT distintos.
+     *
+     * @param cantidad cantidad de clientes
+     * @return arreglo de clientes
+     */
+    public static Cliente[] clientes(int cantidad) {
+        Random azar = new Random(7);
+        Cliente[] clientes = new Cliente[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            clientes[i] = new Cliente(elegir(azar, NOMBRES), elegir(azar, APELLIDOS),
+                    Rut.desdeCuerpo(30_000_000 + i), direccion(azar, i), "cliente" + i + "@correo.cl",
+                    "9" + (10_000_000 + azar.nextInt(89_999_999)));
+        }
+        return clientes;
+    }
+
+    /**
+     * Genera textos de RUT con formato, la mitad con puntos y uno de cada diez con dígito verificador erróneo.
+     *
+     * @param cantidad cantidad de RUT
+     * @return arreglo de textos
+     */
+    public static String[] textosRut(int cantidad) {
+        String[] textos = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            Rut rut = Rut.desdeCuerpo(5_000_000 + i * 7);
+            String texto = i % 10 == 0 ? rut.getCuerpo() + "-" + (rut.getDigitoVerificador() == '0' ? '1' : '0')
+                                       : rut.getNumero();
+            if (i % 2 == 1) {
+                String cuerpo = String.valueOf(rut.getCuerpo());
+                texto = cuerpo.substring(0, cuerpo.length() - 6) + "." + cuerpo.substring(cuerpo.length() - 6, cuerpo.length() - 3)
+                        + "." + cuerpo.substring(cuerpo.length() - 3) + "-" + rut.getDigitoVerificador();
+            }
+            textos[i] = texto;
+        }
+        return textos;
+    }
+
+    private static Direccion direccion(Random azar, int i) {
+        return new Direccion("CALLE " + (i % 997) + " #" + azar.nextInt(9999), elegir(azar, COMUNAS), elegir(azar, REGIONES));
+    }
+
+    private static String elegir(Random azar, String[] opciones) {
+        return opciones[azar.nextInt(opciones.length)];
+    }
+}
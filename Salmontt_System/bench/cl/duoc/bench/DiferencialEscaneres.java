@@ -0,0 +1,104 @@
+package cl.duoc.bench;
+
+import cl.duoc.utils.MotorReglas;
+import cl.duoc.utils.Regla;
+import java.util.Random;
+
+/**
+ * Clase DiferencialEscaneres.
+ * Comprueba que cada escáner de EscanerFormato acepta exactamente lo mismo que su expresión
+ * regular: evalúa casos límite escritos a mano y millones de textos aleatorios (la mitad
+ * armados con los caracteres que importan a cada regla y la otra mitad mutando textos
+ * válidos), y compara ambos resultados.
+ * Termina con código 1 si encuentra alguna diferencia.
+ *
+ * Uso: java cl.duoc.bench.DiferencialEscaneres [textosPorRegla] [semilla]
+ */
+public class DiferencialEscaneres {
+
+    private static final String[] CASOS = {
+        "", " ", "+", "@", ".", "a", "A B", "A  B", " A", "A ", "ÁÉÍÓÚ ÑÑ", "Ü", "JOSÉ\n", "José-Luis",
+        "123456789", "12345678", "1234567890", "+12345678", "+1234567", "+123456789012345", "+1234567890123456",
+        "++12345678", "12345678+", "１２３４５６７８９", "12345678\n",
+        "a@b.cl", "a@b.c", "a@b.abcdef", "a@b.abcdefg", "a@.cl", "@b.cl", "a@b..cl", "a@..cl", "a@b.c1",
+        "a@b-.cl", "a.b+c_d-e@x-y.z.com", "a@b@c.cl", "a@bcl", "a@b.cl.", "a@b.cl\n", "á@b.cl", "a@b.CL", "a@1.co"
+    };
+
+    // Alfabetos: caracteres válidos, sus vecinos y algunos fuera de rango
+    private static final String ALFABETO_CORREO = "aZ09+_.-@@..x-Ñ ";
+    private static final String ALFABETO_TELEFONO = "0123456789++ a";
+    private static final String ALFABETO_NOMBRE = "aZÁéÑñü   -'Ö";
+
+    // Textos válidos que se mutan
+    private static final String[] VALIDOS_CORREO = {"juan.perez@salmontt.cl", "a+b_c-d@x-y.z.com", "x@y.io", "a.@..abcdef"};
+    private static final String[] VALIDOS_TELEFONO = {"912345678", "+56912345678", "123456789012345"};
+    private static final String[] VALIDOS_NOMBRE = {"JUAN", "MARÍA JOSÉ", "Ñuñoa De La Cruz"};
+
+    public static void main(String[] args) {
+        int textos = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        Random azar = new Random(semilla);
+
+        long diferencias = 0;
+        diferencias += comprobar(MotorReglas.CORREO, ALFABETO_CORREO, 16, VALIDOS_CORREO, textos, azar);
+        diferencias += comprobar(MotorReglas.TELEFONO_CLIENTE, ALFABETO_TELEFONO, 18, VALIDOS_TELEFONO, textos, azar);
+        diferencias += comprobar(MotorReglas.TELEFONO, ALFABETO_TELEFONO, 11, VALIDOS_TELEFONO, textos, azar);
+        diferencias += comprobar(MotorReglas.NOMBRE, ALFABETO_NOMBRE, 8, VALIDOS_NOMBRE, textos, azar);
+
+        System.out.println(diferencias == 0 ? "Sin diferencias" : diferencias + " diferencias");
+        if (diferencias > 0) System.exit(1);
+    }
+
+    private static long comprobar(Regla regla, String alfabeto, int largoMaximo, String[] validos,
+                                  int textos, Random azar) {
+        long diferencias = 0;
+        long aceptados = 0;
+        for (String caso : CASOS) {
+            diferencias += comparar(regla, caso);
+        }
+        StringBuilder texto = new StringBuilder(largoMaximo);
+        for (int i = 0; i < textos; i++) {
+            texto.setLength(0);
+            if (i % 2 == 0) {
+                int largo = azar.nextInt(largoMaximo + 1);
+                for (int j = 0; j < largo; j++) {
+                    texto.append(alfabeto.charAt(azar.nextInt(alfabeto.length())));
+                }
+            } else {
+                texto.append(validos[azar.nextInt(validos.length)]);
+                mutar(texto, alfabeto, azar);
+            }
+            String valor = texto.toString();
+            diferencias += comparar(regla, valor);
+            if (regla.cumpleExpresion(valor)) aceptados++;
+        }
+        System.out.println(regla.getNombre() + ": " + textos + " textos aleatorios, "
+                + aceptados + " aceptados, " + diferencias + " diferencias");
+        return diferencias;
+    }
+
+    // Aplica de 0 a 3 cambios: reemplazar, insertar o borrar un carácter
+    private static void mutar(StringBuilder texto, String alfabeto, Random azar) {
+        int cambios = azar.nextInt(4);
+        for (int c = 0; c < cambios; c++) {
+            char nuevo = alfabeto.charAt(azar.nextInt(alfabeto.length()));
+            int posicion = azar.nextInt(texto.length() + 1);
+            switch (azar.nextInt(3)) {
+                case 0 -> {
+                    if (posicion < texto.length()) texto.setCharAt(posicion, nuevo);
+                }
+                case 1 -> texto.insert(posicion, nuevo);
+                default -> {
+                    if (posicion < texto.length()) texto.deleteCharAt(posicion);
+                }
+            }
+        }
+    }
+
+    private static int comparar(Regla regla, String valor) {
+        if (regla.cumple(valor) == regla.cumpleExpresion(valor)) return 0;
+        System.out.println("  diferencia en " + regla.getNombre() + ": \"" + valor + "\" escáner="
+                + regla.cumple(valor) + " expresión=" + regla.cumpleExpresion(valor));
+        return 1;
+    }
+}
@@ -0,0 +1,152 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase EstresRegistro.
+ * Prueba de estrés y de escalamiento de RegistroPersonas con varios hilos.
+ *
+ * Estrés: cada hilo inserta todos los empleados de un mismo conjunto (todos compiten por
+ * los mismos RUT) mientras otros hilos leen sin parar. Se comprueba que cada RUT quedó
+ * una sola vez, que no se perdió ninguno, que los rechazos por duplicado cuadran y que
+ * ningún lector vio una persona con un RUT distinto al buscado.
+ *
+ * Escalamiento: inserción con validación (esValida + agregar) de conjuntos disjuntos,
+ * con 1, 2, 4... hilos hasta la cantidad de núcleos.
+ *
+ * Uso: java cl.duoc.bench.EstresRegistro [cantidad] [rondas]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class EstresRegistro {
+
+    public static void main(String[] args) throws InterruptedException {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+
+        boolean correcto = true;
+        for (int r = 0; r < rondas; r++) {
+            correcto &= estres(empleados, Math.max(4, nucleos), Math.max(2, nucleos / 2));
+        }
+
+        System.out.println("\nEscalamiento (esValida + agregar, " + cantidad + " empleados):");
+        double base = 0;
+        for (int hilos = 1; hilos <= nucleos; hilos *= 2) {
+            double porSegundo = escalamiento(empleados, hilos);
+            if (hilos == 1) base = porSegundo;
+            System.out.printf("  %2d hilos: %,12.0f inserciones/s  (x%.2f)%n", hilos, porSegundo, porSegundo / base);
+        }
+
+        System.out.println(correcto ? "\nComprobaciones correctas" : "\nHubo comprobaciones fallidas");
+        if (!correcto) System.exit(1);
+    }
+
+    private static boolean estres(Empleado[] empleados, int escritores, int lectores) throws InterruptedException {
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>();
+        AtomicLong aceptados = new AtomicLong();
+        AtomicLong rechazados = new AtomicLong();
+        AtomicLong lecturasErroneas = new AtomicLong();
+        AtomicBoolean terminado = new AtomicBoolean();
+        CountDownLatch partida = new CountDownLatch(1);
+        List<Thread> hilos = new ArrayList<>();
+
+        for (int h = 0; h < escritores; h++) {
+            int desplazamiento = h * 7919; // cada hilo recorre el conjunto desde otro punto
+            hilos.add(new Thread(() -> {
+                esperar(partida);
+                for (int i = 0; i < empleados.length; i++) {
+                    Empleado e = empleados[(i + desplazamiento) % empleados.length];
+                    if (registro.agregar(e)) aceptados.incrementAndGet();
+                    else rechazados.incrementAndGet();
+                }
+            }));
+        }
+        List<Thread> hilosLectores = new ArrayList<>();
+        for (int h = 0; h < lectores; h++) {
+            int semilla = h;
+            hilosLectores.add(new Thread(() -> {
+                esperar(partida);
+                long i = semilla;
+                while (!terminado.get()) {
+                    Rut rut = empleados[(int) (i++ * 31 % empleados.length)].getRut();
+                    Empleado e = registro.obtener(rut);
+                    if (e != null && !e.getRut().equals(rut)) lecturasErroneas.incrementAndGet();
+                }
+            }));
+        }
+        hilos.forEach(Thread::start);
+        hilosLectores.forEach(Thread::start);
+        long inicio = System.nanoTime();
+        partida.countDown();
+        for (Thread t : hilos) t.join();
+        long nanos = System.nanoTime() - inicio;
+        terminado.set(true);
+        for (Thread t : hilosLectores) t.join();
+
+        // Comprobaciones
+        List<String> errores = new ArrayList<>();
+        int n = empleados.length;
+        if (aceptados.get() != n) errores.add("aceptados " + aceptados.get() + " != " + n);
+        if (rechazados.get() != (long) n * (escritores - 1)) errores.add("rechazados " + rechazados.get());
+        if (registro.tamano() != n) errores.add("tamano " + registro.tamano());
+        if (registro.getLimitePosiciones() != n) errores.add("posiciones " + registro.getLimitePosiciones());
+        if (lecturasErroneas.get() != 0) errores.add("lecturas erróneas " + lecturasErroneas.get());
+        long[] recorridos = {0};
+        registro.paraCada(e -> recorridos[0]++);
+        if (recorridos[0] != n) errores.add("recorridos " + recorridos[0]);
+        for (Empleado e : empleados) {
+            if (registro.obtener(e.getRut()) != e) {
+                errores.add("falta " + e.getRut());
+                break;
+            }
+        }
+
+        System.out.printf("Estrés: %d escritores, %d lectores, %,d intentos en %d ms -> %s%n",
+                escritores, lectores, (long) n * escritores, nanos / 1_000_000,
+                errores.isEmpty() ? "OK" : String.join(", ", errores));
+        return errores.isEmpty();
+    }
+
+    private static double escalamiento(Empleado[] empleados, int hilos) throws InterruptedException {
+        double mejor = 0;
+        for (int intento = 0; intento < 3; intento++) {
+            RegistroPersonas<Empleado> registro = new RegistroPersonas<>();
+            CountDownLatch partida = new CountDownLatch(1);
+            List<Thread> trabajadores = new ArrayList<>();
+            int porHilo = (empleados.length + hilos - 1) / hilos;
+            for (int h = 0; h < hilos; h++) {
+                int desde = h * porHilo;
+                int hasta = Math.min(empleados.length, desde + porHilo);
+                trabajadores.add(new Thread(() -> {
+                    esperar(partida);
+                    for (int i = desde; i < hasta; i++) {
+                        if (empleados[i].esValida()) registro.agregar(empleados[i]);
+                    }
+                }));
+            }
+            trabajadores.forEach(Thread::start);
+            long inicio = System.nanoTime();
+            partida.countDown();
+            for (Thread t : trabajadores) t.join();
+            long nanos = System.nanoTime() - inicio;
+            mejor = Math.max(mejor, empleados.length * 1e9 / nanos);
+        }
+        return mejor;
+    }
+
+    private static void esperar(CountDownLatch partida) {
+        try {
+            partida.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
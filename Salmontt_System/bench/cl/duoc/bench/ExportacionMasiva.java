@@ -0,0 +1,169 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.ExportadorPersonas;
+import cl.duoc.data.FormatoArchivo;
+import cl.duoc.data.ImportadorPersonas;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.data.ResultadoImportacion;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Clase ExportacionMasiva.
+ * Comprueba y mide ExportadorPersonas.
+ *
+ * Comprobaciones:
+ *   - el CSV exportado se vuelve a importar con ImportadorPersonas y da los mismos empleados,
+ *     también con ';', comillas y saltos de línea dentro de un campo;
+ *   - los textos con comillas, barras, controles, tildes y emojis se escapan bien en JSON y CSV;
+ *   - el gzip se descomprime con GZIPInputStream y coincide con la exportación sin comprimir;
+ *   - exportar no asigna memoria por registro (medido con ThreadMXBean).
+ * Medición: MB/s de cada formato, comparados con armar cada línea como String y
+ * escribirla con un BufferedWriter.
+ *
+ * Uso: java cl.duoc.bench.ExportacionMasiva [empleados] [directorio]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class ExportacionMasiva {
+
+    public static void main(String[] args) throws IOException {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directorio = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("exportacion");
+        List<String> errores = new ArrayList<>();
+
+        comprobarEscapes(directorio, errores);
+
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>(cantidad);
+        for (Empleado e : DatosPrueba.empleados(cantidad)) registro.agregar(e);
+        registro.obtener(Rut.desdeCuerpo(10_000_001)).setSueldoCentavos(123_456_789L); // un sueldo con centavos
+        // Textos que en el CSV van entre comillas: separador, comillas y salto de línea
+        registro.obtener(Rut.desdeCuerpo(10_000_002)).getDireccion().setCalle("AV. X; DEPTO 4");
+        registro.obtener(Rut.desdeCuerpo(10_000_003)).getDireccion().setCalle("PASAJE \"EL FARO\" 12");
+        registro.obtener(Rut.desdeCuerpo(10_000_004)).getDireccion().setCalle("AV. ANGELMÓ 1800\nLOCAL \"3\"; INTERIOR");
+
+        // CSV de ida y vuelta
+        Path csv = directorio.resolve("empleados.csv");
+        try (ExportadorPersonas exportador = new ExportadorPersonas(ExportadorPersonas.Formato.CSV, false)) {
+            exportador.exportar(registro, csv);
+        }
+        RegistroPersonas<Empleado> importados = new RegistroPersonas<>(cantidad);
+        ResultadoImportacion resultado = ImportadorPersonas.deEmpleados().importar(csv, importados::agregar);
+        if (resultado.getRechazadas() != 0) errores.add("reimportación: " + resultado);
+        for (int i = 0; i < registro.getLimitePosiciones() && errores.size() < 10; i++) {
+            Empleado original = registro.enPosicion(i);
+            Empleado copia = importados.obtener(original.getRut());
+            if (copia == null || !iguales(original, copia)) errores.add("reimportación distinta: " + original.getRut());
+        }
+
+        // gzip contra la exportación sin comprimir
+        Path jsonl = directorio.resolve("empleados.jsonl");
+        Path gzip = directorio.resolve("empleados.jsonl.gz");
+        try (ExportadorPersonas plano = new ExportadorPersonas(ExportadorPersonas.Formato.JSONL, false);
+             ExportadorPersonas comprimido = new ExportadorPersonas(ExportadorPersonas.Formato.JSONL, true)) {
+            plano.exportar(registro, jsonl);
+            comprimido.exportar(registro, gzip);
+        }
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(gzip))) {
+            if (!Arrays.equals(entrada.readAllBytes(), Files.readAllBytes(jsonl))) errores.add("gzip distinto del JSONL");
+        }
+        if (Files.lines(jsonl).count() != cantidad) errores.add("líneas JSONL distintas de " + cantidad);
+
+        // Memoria asignada por registro, y MB/s de la mejor de tres rondas
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.out.printf("%,d empleados:%n", cantidad);
+        for (ExportadorPersonas.Formato formato : ExportadorPersonas.Formato.values()) {
+            for (boolean comprimir : new boolean[]{false, true}) {
+                Path archivo = directorio.resolve("medicion" + formato.getExtension() + (comprimir ? ".gz" : ""));
+                try (ExportadorPersonas exportador = new ExportadorPersonas(formato, comprimir)) {
+                    ExportadorPersonas.Resultado mejor = null;
+                    long asignados = Long.MAX_VALUE;
+                    for (int r = 0; r < 3; r++) {
+                        long antes = hilos.getCurrentThreadAllocatedBytes();
+                        ExportadorPersonas.Resultado ronda = exportador.exportar(registro, archivo);
+                        asignados = Math.min(asignados, hilos.getCurrentThreadAllocatedBytes() - antes);
+                        if (mejor == null || ronda.getNanos() < mejor.getNanos()) mejor = ronda;
+                    }
+                    if (asignados > 64 * 1024) errores.add(formato + (comprimir ? "+gzip" : "") + " asigna " + asignados + " bytes");
+                    System.out.printf("  %-5s %-4s %s; %,d bytes asignados%n", formato, comprimir ? "gzip" : "", mejor, asignados);
+                }
+            }
+        }
+        long mejorCadenas = Long.MAX_VALUE;
+        for (int r = 0; r < 3; r++) mejorCadenas = Math.min(mejorCadenas, exportarConCadenas(registro, directorio.resolve("cadenas.csv")));
+        System.out.printf("  CSV con String y BufferedWriter: %.1f ms, %.0f MB/s%n", mejorCadenas / 1e6,
+                Files.size(directorio.resolve("cadenas.csv")) * 1e3 / mejorCadenas);
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    // Exporta un empleado con textos difíciles y compara con la salida esperada, escrita a mano
+    private static void comprobarEscapes(Path directorio, List<String> errores) throws IOException {
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>();
+        registro.agregar(Empleado.desdeCentavos("O\"BRIEN\\ \n\t\u0001", "ÑANDÚ 🐟", Rut.desdeCuerpo(12_345_678),
+                new Direccion("CALLE; 1", "PUERTO MONTT", "LOS LAGOS"), null, "BUZO", -5L));
+        registro.agregar(Empleado.desdeCentavos("ANA", "SOTO", Rut.desdeCuerpo(11_111_111), null, "a@b.cl", "OPERARIO", 50_000_000L));
+
+        String json = exportarTexto(registro, ExportadorPersonas.Formato.JSONL, directorio);
+        String esperadoJson = "{\"tipo\":\"EMPLEADO\",\"rut\":\"12345678-5\",\"nombre\":\"O\\\"BRIEN\\\\ \\n\\t\\u0001\","
+                + "\"apellido\":\"ÑANDÚ 🐟\",\"correo\":null,"
+                + "\"direccion\":{\"calle\":\"CALLE; 1\",\"comuna\":\"PUERTO MONTT\",\"region\":\"LOS LAGOS\"},"
+                + "\"cargo\":\"BUZO\",\"sueldoCentavos\":-5}\n"
+                + "{\"tipo\":\"EMPLEADO\",\"rut\":\"11111111-1\",\"nombre\":\"ANA\",\"apellido\":\"SOTO\",\"correo\":\"a@b.cl\","
+                + "\"direccion\":null,\"cargo\":\"OPERARIO\",\"sueldoCentavos\":50000000}\n";
+        if (!json.equals(esperadoJson)) errores.add("JSONL: " + json);
+
+        String csv = exportarTexto(registro, ExportadorPersonas.Formato.CSV, directorio);
+        String esperadoCsv = FormatoArchivo.ENCABEZADO_EMPLEADO + "\n"
+                + "\"O\"\"BRIEN\\ \n\t\u0001\";ÑANDÚ 🐟;12345678-5;\"CALLE; 1\";PUERTO MONTT;LOS LAGOS;;BUZO;-0.05\n"
+                + "ANA;SOTO;11111111-1;;;;a@b.cl;OPERARIO;500000\n";
+        if (!csv.equals(esperadoCsv)) errores.add("CSV: " + csv);
+    }
+
+    private static String exportarTexto(RegistroPersonas<Empleado> registro, ExportadorPersonas.Formato formato,
+                                        Path directorio) throws IOException {
+        Path archivo = directorio.resolve("escapes" + formato.getExtension());
+        try (ExportadorPersonas exportador = new ExportadorPersonas(formato, false, 0)) { // buffer mínimo
+            exportador.exportar(registro, archivo);
+        }
+        return Files.readString(archivo, StandardCharsets.UTF_8);
+    }
+
+    private static boolean iguales(Empleado a, Empleado b) {
+        Direccion da = a.getDireccion();
+        Direccion db = b.getDireccion();
+        return a.getNombre().equals(b.getNombre()) && a.getApellido().equals(b.getApellido())
+                && Objects.equals(a.getCorreo(), b.getCorreo()) && a.getCargo().equals(b.getCargo())
+                && a.getSueldoCentavos() == b.getSueldoCentavos()
+                && da.getCalle().equals(db.getCalle()) && da.getComuna().equals(db.getComuna())
+                && da.getRegion().equals(db.getRegion());
+    }
+
+    // Forma habitual: una cadena por línea; retorna los nanosegundos usados
+    private static long exportarConCadenas(RegistroPersonas<Empleado> registro, Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write(FormatoArchivo.ENCABEZADO_EMPLEADO + "\n");
+            for (Empleado e : registro.recorrer(RegistroPersonas.Orden.INSERCION)) {
+                Direccion d = e.getDireccion();
+                escritor.write(String.join(";", e.getNombre(), e.getApellido(), e.getRut().getNumero(), d.getCalle(),
+                        d.getComuna(), d.getRegion(), e.getCorreo(), e.getCargo(),
+                        String.valueOf(e.getSueldoCentavos() / 100.0)) + "\n");
+            }
+        }
+        return System.nanoTime() - inicio;
+    }
+}
@@ -0,0 +1,214 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.BitacoraPersonas;
+import cl.duoc.data.ExportadorPersonas;
+import cl.duoc.data.ImportadorPersonas;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.data.ResultadoImportacion;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.FiltroBloom;
+import cl.duoc.utils.Metricas;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase FiltroRut.
+ * Comprueba y mide el filtro de Bloom de RUT (FiltroBloom) y su uso en RegistroPersonas.
+ *
+ * Comprobaciones:
+ *   - el filtro no da falsos negativos, y su tasa de falsos positivos medida no supera la
+ *     configurada (1 % y 0,1 %), tanto con la capacidad justa como creciendo desde la mínima;
+ *   - un registro con filtro encuentra todos sus RUT, no encuentra los ausentes, y con una
+ *     instantánea enlazada sigue rechazando los RUT duplicados antes y después de completarFiltro();
+ *   - por defecto, un registro solo tiene filtro mientras tiene la instantánea enlazada.
+ * Medición: consultas de RUT ausentes y una importación de CSV con y sin filtro, en un registro
+ *   en memoria y en uno con la instantánea enlazada sin materializar.
+ *
+ * Uso: java cl.duoc.bench.FiltroRut [claves]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class FiltroRut {
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<String> errores = new ArrayList<>();
+
+        for (double tasa : new double[]{0.01, 0.001}) {
+            comprobarTasa(new FiltroBloom(cantidad, tasa), cantidad, errores);
+            comprobarTasa(new FiltroBloom(0, tasa), cantidad, errores);
+        }
+
+        int personas = Math.min(cantidad, 300_000);
+        Empleado[] empleados = DatosPrueba.empleados(personas);
+        comprobarRegistro(empleados, errores);
+
+        // Consultas de RUT ausentes
+        long[] ausentes = new long[personas];
+        for (int i = 0; i < personas; i++) ausentes[i] = Rut.desdeCuerpo(50_000_000 + i).getValor();
+        for (int r = 0; r < 4; r++) { // las primeras rondas calientan
+            double sin = consultar(empleados, ausentes, 0);
+            double con = consultar(empleados, ausentes, 0.01);
+            if (r < 3) continue;
+            System.out.printf("Consultas de %,d RUT ausentes en %,d empleados:%n", personas, personas);
+            System.out.printf("  sin filtro: %8.1f ns/consulta%n", sin);
+            System.out.printf("  con filtro: %8.1f ns/consulta%n", con);
+        }
+
+        // Importación de la mitad de los empleados sobre la otra mitad
+        Path directorio = Files.createTempDirectory("salmontt-filtro");
+        Path datos = directorio.resolve("datos");
+        int mitad = personas / 2;
+        Path csv = directorio.resolve("nuevos.csv");
+        RegistroPersonas<Empleado> nuevos = new RegistroPersonas<>(personas - mitad);
+        for (int i = mitad; i < personas; i++) nuevos.agregar(empleados[i]);
+        try (ExportadorPersonas exportador = new ExportadorPersonas(ExportadorPersonas.Formato.CSV, false)) {
+            exportador.exportar(nuevos, csv);
+        }
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            RegistroPersonas<Empleado> e = new RegistroPersonas<>(mitad);
+            for (int i = 0; i < mitad; i++) e.agregar(empleados[i]);
+            bitacora.compactar(e, new RegistroPersonas<>());
+        }
+        for (int r = 0; r < 3; r++) {
+            double memoriaSin = importar(empleados, mitad, csv, null, 0, errores);
+            double memoriaCon = importar(empleados, mitad, csv, null, 0.01, errores);
+            double instantaneaSin = importar(empleados, mitad, csv, datos, 0, errores);
+            double instantaneaCon = importar(empleados, mitad, csv, datos, 0.01, errores);
+            if (r < 2) continue;
+            System.out.printf("Importación de %,d empleados nuevos sobre %,d registrados:%n", personas - mitad, mitad);
+            System.out.printf("  en memoria,  sin filtro: %8.1f ms%n", memoriaSin);
+            System.out.printf("  en memoria,  con filtro: %8.1f ms%n", memoriaCon);
+            System.out.printf("  instantánea, sin filtro: %8.1f ms%n", instantaneaSin);
+            System.out.printf("  instantánea, con filtro: %8.1f ms%n", instantaneaCon);
+        }
+        limpiar(datos);
+        Files.delete(datos);
+        Files.delete(csv);
+        Files.delete(directorio);
+
+        System.out.println(Metricas.getInstancia().volcar().lines().filter(l -> l.startsWith("Filtro de Bloom")).findFirst().orElse(""));
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    private static void comprobarTasa(FiltroBloom filtro, int cantidad, List<String> errores) {
+        for (int i = 0; i < cantidad; i++) filtro.agregar(Rut.desdeCuerpo(10_000_000 + i).getValor());
+        int negativos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (!filtro.puedeContener(Rut.desdeCuerpo(10_000_000 + i).getValor())) negativos++;
+        }
+        int positivos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (filtro.puedeContener(Rut.desdeCuerpo(50_000_000 + i).getValor())) positivos++;
+        }
+        double medida = (double) positivos / cantidad;
+        System.out.printf("%s: medida %.3f %%%n", filtro, medida * 100);
+        if (negativos > 0) errores.add(negativos + " falsos negativos");
+        if (medida > filtro.getTasa()) errores.add(String.format("tasa medida %.4f sobre la configurada %.4f", medida, filtro.getTasa()));
+    }
+
+    private static void comprobarRegistro(Empleado[] empleados, List<String> errores) throws IOException {
+        RegistroPersonas<Empleado> e = new RegistroPersonas<>(16, 0.01);
+        for (Empleado empleado : empleados) e.agregar(empleado);
+        for (Empleado empleado : empleados) {
+            if (e.obtener(empleado.getRut()) != empleado) {
+                errores.add("no se encontró un RUT registrado");
+                break;
+            }
+        }
+        if (e.contiene(Rut.desdeCuerpo(50_000_000).getValor())) errores.add("se encontró un RUT ausente");
+        if (e.actualizar(DatosPrueba.empleados(1)[0]) == null) errores.add("no se actualizó un RUT registrado");
+
+        // Con instantánea enlazada: el filtro queda incompleto hasta completarFiltro()
+        Path datos = Files.createTempDirectory("salmontt-filtro-registro");
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.compactar(e, new RegistroPersonas<>());
+        }
+        RegistroPersonas<Empleado> perezoso = new RegistroPersonas<>(16, 0.01);
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.recuperarPerezoso(perezoso, new RegistroPersonas<Cliente>());
+        }
+        int n = empleados.length;
+        if (perezoso.agregar(empleados[n / 2])) errores.add("se aceptó un duplicado de la instantánea");
+        if (perezoso.obtener(empleados[n / 3].getRut()) == null) errores.add("no se encontró un RUT de la instantánea");
+        perezoso.completarFiltro();
+        if (perezoso.agregar(empleados[n / 4])) errores.add("se aceptó un duplicado tras completar el filtro");
+        if (perezoso.eliminar(empleados[n / 5].getRut()) == null) errores.add("no se eliminó un RUT de la instantánea");
+        if (perezoso.contiene(Rut.desdeCuerpo(50_000_000).getValor())) errores.add("se encontró un RUT ausente en la instantánea");
+        if (perezoso.getFiltro().getCantidad() < n) errores.add("el filtro no tiene todos los RUT de la instantánea");
+        perezoso.materializarPendientes();
+        for (Empleado empleado : empleados) {
+            if (empleado != empleados[n / 5] && !perezoso.contiene(empleado.getRut().getValor())) {
+                errores.add("falta un RUT tras materializar");
+                break;
+            }
+        }
+
+        // Por defecto, el filtro existe solo mientras hay un respaldo enlazado
+        RegistroPersonas<Empleado> porDefecto = new RegistroPersonas<>(16);
+        if (porDefecto.getFiltro() != null) errores.add("un registro sin respaldo tiene filtro por defecto");
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.recuperarPerezoso(porDefecto, new RegistroPersonas<Cliente>());
+        }
+        if (porDefecto.getFiltro() == null) errores.add("no se creó el filtro al enlazar el respaldo");
+        if (porDefecto.agregar(empleados[n / 2])) errores.add("se aceptó un duplicado con el filtro por defecto");
+        porDefecto.materializarPendientes();
+        if (porDefecto.getFiltro() != null) errores.add("el filtro del respaldo sigue tras materializarlo");
+        if (porDefecto.tamano() != n || !porDefecto.contiene(empleados[n / 3].getRut().getValor())) {
+            errores.add("registro por defecto distinto tras materializar");
+        }
+        limpiar(datos);
+        Files.delete(datos);
+    }
+
+    // Nanosegundos por consulta de RUT ausentes
+    private static double consultar(Empleado[] empleados, long[] ausentes, double tasa) {
+        RegistroPersonas<Empleado> e = new RegistroPersonas<>(empleados.length, tasa);
+        for (Empleado empleado : empleados) e.agregar(empleado);
+        int encontrados = 0;
+        System.gc();
+        long inicio = System.nanoTime();
+        for (int vuelta = 0; vuelta < 5; vuelta++) {
+            for (long clave : ausentes) {
+                if (e.contiene(clave)) encontrados++;
+            }
+        }
+        double ns = (double) (System.nanoTime() - inicio) / (5L * ausentes.length);
+        if (encontrados > 0) throw new IllegalStateException("se encontraron RUT ausentes");
+        return ns;
+    }
+
+    // Milisegundos de la importación, sobre un registro en memoria o con la instantánea enlazada
+    private static double importar(Empleado[] empleados, int mitad, Path csv, Path datos, double tasa,
+                                   List<String> errores) throws IOException {
+        RegistroPersonas<Empleado> e = new RegistroPersonas<>(empleados.length, tasa);
+        if (datos == null) {
+            for (int i = 0; i < mitad; i++) e.agregar(empleados[i]);
+        } else {
+            try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+                bitacora.recuperarPerezoso(e, new RegistroPersonas<>());
+            }
+            e.completarFiltro(); // lo que hace primero el hilo de carga de InterfazUsuario
+        }
+        System.gc();
+        long inicio = System.nanoTime();
+        ResultadoImportacion resultado = ImportadorPersonas.deEmpleados().importar(csv, e::agregar);
+        double ms = (System.nanoTime() - inicio) / 1e6;
+        if (e.tamano() != empleados.length) {
+            errores.add("importación incompleta: " + e.tamano() + " de " + empleados.length + " (" + resultado + ")");
+        }
+        return ms;
+    }
+
+    private static void limpiar(Path datos) throws IOException {
+        if (!Files.isDirectory(datos)) return;
+        try (var archivos = Files.list(datos)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) Files.delete(archivo);
+        }
+    }
+}
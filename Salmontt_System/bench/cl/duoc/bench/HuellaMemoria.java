@@ -0,0 +1,78 @@
+package cl.duoc.bench;
+
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+import java.util.Random;
+
+/**
+ * Clase HuellaMemoria.
+ * Mide la memoria retenida por registro al cargar empleados cuyos textos vienen de un archivo
+ * (una cadena nueva por campo y por línea, como los entrega un lector de texto).
+ * Compara la comuna, la región y el cargo guardados como cadenas propias de cada registro
+ * con los mismos valores guardados como códigos de diccionario (modelo actual).
+ *
+ * Uso: java cl.duoc.bench.HuellaMemoria [cantidad]
+ */
+public class HuellaMemoria {
+
+    private static final String[] COMUNAS = {"PUERTO MONTT", "PUERTO VARAS", "OSORNO", "CASTRO", "CALBUCO", "ANCUD"};
+    private static final String[] REGIONES = {"LOS LAGOS", "LOS RÍOS", "AYSÉN DEL GENERAL CARLOS IBÁÑEZ DEL CAMPO"};
+    private static final String[] CARGOS = {"OPERARIO", "BUZO", "TÉCNICO", "SUPERVISOR", "ANALISTA", "CHOFER"};
+
+    /**
+     * Forma anterior: una cadena propia por registro para comuna, región y cargo.
+     */
+    private static final class FilaTextos {
+        final String comuna;
+        final String region;
+        final String cargo;
+
+        FilaTextos(String comuna, String region, String cargo) {
+            this.comuna = comuna;
+            this.region = region;
+            this.cargo = cargo;
+        }
+    }
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+
+        long base = memoriaUsada();
+        FilaTextos[] filas = new FilaTextos[cantidad];
+        Random azar = new Random(1);
+        for (int i = 0; i < cantidad; i++) {
+            filas[i] = new FilaTextos(leido(azar, COMUNAS), leido(azar, REGIONES), leido(azar, CARGOS));
+        }
+        long conTextos = memoriaUsada() - base;
+        System.out.println("Textos por registro:  " + conTextos / cantidad + " B/registro (" + filas.length + ")");
+        filas = null;
+
+        // Se precalientan los diccionarios para no contar sus entradas
+        new Empleado("A", "B", Rut.desdeCuerpo(1), new Direccion("C", COMUNAS[0], REGIONES[0]), "a@b.cl", CARGOS[0], 1);
+
+        base = memoriaUsada();
+        Empleado[] empleados = new Empleado[cantidad];
+        azar = new Random(1);
+        for (int i = 0; i < cantidad; i++) {
+            Direccion d = new Direccion(null, leido(azar, COMUNAS), leido(azar, REGIONES));
+            empleados[i] = new Empleado(null, null, null, d, null, leido(azar, CARGOS), 0);
+        }
+        long conCodigos = memoriaUsada() - base;
+        System.out.println("Códigos de diccionario: " + conCodigos / cantidad + " B/registro (" + empleados.length + ")");
+        System.out.println("(incluye los objetos Empleado y Direccion; los textos leídos se descartan)");
+    }
+
+    // Simula una cadena recién leída de un archivo: mismo contenido, instancia nueva
+    private static String leido(Random azar, String[] opciones) {
+        return new String(opciones[azar.nextInt(opciones.length)].toCharArray());
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
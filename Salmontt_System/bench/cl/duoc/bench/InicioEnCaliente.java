@@ -0,0 +1,221 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.BitacoraPersonas;
+import cl.duoc.data.InstantaneaPersonas;
+import cl.duoc.data.Pagina;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.interfaces.InterfazUsuario;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase InicioEnCaliente.
+ * Comprueba y mide la recuperación perezosa de la instantánea (BitacoraPersonas.recuperarPerezoso).
+ *
+ * Comprobaciones:
+ *   - con la instantánea enlazada, el tamaño, las búsquedas por RUT y los listados coinciden con
+ *     los datos originales, y materializar no vuelve a escribir en la bitácora;
+ *   - un RUT que sigue en la instantánea se rechaza como duplicado, y se puede actualizar o eliminar;
+ *   - la bitácora posterior a la instantánea se repite encima de ella;
+ *   - compactar sin materializar copia los registros pendientes, y la nueva instantánea se
+ *     recupera completa igual que antes;
+ *   - una instantánea antigua, sin índice, también se abre de forma perezosa.
+ * Medición: tiempo hasta tener los datos disponibles con la recuperación completa y con la
+ * perezosa (con los índices de InterfazUsuario), hasta la primera página y una búsqueda por RUT,
+ * y lo que tarda el hilo de fondo en materializar el resto.
+ *
+ * Uso: java cl.duoc.bench.InicioEnCaliente [empleados] [directorio]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class InicioEnCaliente {
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        Path directorio = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("salmontt-inicio");
+        List<String> errores = new ArrayList<>();
+
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+        Cliente[] clientes = DatosPrueba.clientes(cantidad / 4);
+        Path datos = directorio.resolve("datos");
+        limpiar(datos);
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            RegistroPersonas<Empleado> e = new RegistroPersonas<>(cantidad);
+            RegistroPersonas<Cliente> c = new RegistroPersonas<>(clientes.length);
+            for (Empleado empleado : empleados) e.agregar(empleado);
+            for (Cliente cliente : clientes) c.agregar(cliente);
+            bitacora.compactar(e, c);
+        }
+
+        comprobar(datos, empleados, clientes, errores);
+        comprobarSinIndice(datos, empleados, errores);
+
+        for (int r = 0; r < 3; r++) { // las primeras rondas calientan
+            // Recuperación completa: todas las personas como objetos, con los índices de la interfaz
+            InterfazUsuario completa = new InterfazUsuario();
+            System.gc(); // que una pausa por la ronda anterior no caiga en la medición
+            long inicio = System.nanoTime();
+            try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+                bitacora.recuperar(completa.getEmpleados(), completa.getClientes());
+            }
+            double msCompleta = (System.nanoTime() - inicio) / 1e6;
+
+            // Recuperación perezosa, como la hace Main
+            completa = null;
+            InterfazUsuario perezosa = new InterfazUsuario();
+            System.gc();
+            inicio = System.nanoTime();
+            perezosa.habilitarPersistencia(datos);
+            double msPerezosa = (System.nanoTime() - inicio) / 1e6;
+            Pagina<Empleado> pagina = perezosa.getEmpleados().pagina(Pagina.INICIO, 20, RegistroPersonas.Orden.INSERCION_INVERSA);
+            Empleado buscado = perezosa.getEmpleados().obtener(empleados[cantidad / 2].getRut());
+            double msPrimeraPagina = (System.nanoTime() - inicio) / 1e6;
+            perezosa.completarCarga();
+            double msCompletarCarga = (System.nanoTime() - inicio) / 1e6;
+            if (pagina.getElementos().size() != 20 || buscado == null) errores.add("primera página o búsqueda vacía");
+            if (perezosa.getIndicesEmpleados().consulta().ejecutar().size() != cantidad) {
+                errores.add("los índices no quedaron completos tras completarCarga()");
+            }
+            perezosa.cerrar();
+            if (r < 2) continue;
+
+            System.out.printf("%,d empleados y %,d clientes (instantánea de %,d bytes):%n",
+                    cantidad, clientes.length, Files.size(datos.resolve(BitacoraPersonas.ARCHIVO_INSTANTANEA)));
+            System.out.printf("  recuperación completa:              %8.1f ms%n", msCompleta);
+            System.out.printf("  recuperación perezosa:              %8.1f ms%n", msPerezosa);
+            System.out.printf("  + primera página y búsqueda por RUT: %8.1f ms%n", msPrimeraPagina);
+            System.out.printf("  + materialización en segundo plano: %8.1f ms%n", msCompletarCarga);
+        }
+
+        limpiar(datos);
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    private static void comprobar(Path datos, Empleado[] empleados, Cliente[] clientes,
+                                  List<String> errores) throws IOException {
+        int n = empleados.length;
+        RegistroPersonas<Empleado> e = new RegistroPersonas<>();
+        RegistroPersonas<Cliente> c = new RegistroPersonas<>();
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            InstantaneaPersonas instantanea = bitacora.recuperarPerezoso(e, c);
+            if (instantanea == null || !instantanea.isIndexada()) errores.add("la instantánea no trae índice");
+            e.agregarOyente(bitacora);
+            c.agregarOyente(bitacora);
+
+            if (e.tamano() != n || c.tamano() != clientes.length) errores.add("tamaños distintos tras enlazar");
+            if (e.getPendientes() != n) errores.add("se materializaron personas al enlazar");
+            if (!igual(e.obtener(empleados[n - 1].getRut()), empleados[n - 1])) errores.add("búsqueda por RUT distinta");
+            if (!igual(c.enPosicion(0), clientes[0])) errores.add("cliente en posición 0 distinto");
+            List<Empleado> ultimos = e.ultimos(3);
+            for (int i = 0; i < 3; i++) {
+                if (!igual(ultimos.get(i), empleados[n - 3 + i])) errores.add("últimos empleados distintos");
+            }
+            if (e.getPendientes() != n - 3) errores.add("pendientes " + e.getPendientes() + " en vez de " + (n - 3));
+            if (bitacora.getTamano() != 0) errores.add("materializar escribió en la bitácora");
+
+            // Cambios sobre personas que siguen en la instantánea
+            if (e.agregar(copia(empleados[10]))) errores.add("se aceptó un RUT duplicado de la instantánea");
+            Empleado cambiado = copia(empleados[11]);
+            cambiado.setCargo("GERENTE");
+            if (e.actualizar(cambiado) == null) errores.add("no se actualizó una persona pendiente");
+            if (e.eliminar(empleados[12].getRut()) == null) errores.add("no se eliminó una persona pendiente");
+            if (e.obtener(empleados[12].getRut()) != null || e.enPosicion(12) != null) errores.add("la eliminada sigue visible");
+            if (e.tamano() != n - 1) errores.add("tamaño tras eliminar: " + e.tamano());
+        }
+
+        // La bitácora se repite sobre la instantánea enlazada
+        e = new RegistroPersonas<>();
+        c = new RegistroPersonas<>();
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.recuperarPerezoso(e, c);
+            if (e.tamano() != n - 1 || e.obtener(empleados[12].getRut()) != null) errores.add("no se repitió la eliminación");
+            Empleado reabierto = e.obtener(empleados[11].getRut());
+            if (reabierto == null || !reabierto.getCargo().equals("GERENTE")) errores.add("no se repitió la actualización");
+            if (e.getPendientes() != n - 2) errores.add("la bitácora materializó de más: " + (n - e.getPendientes()));
+
+            // Compactar con casi todo pendiente y recuperar completo
+            bitacora.compactar(e, c);
+        }
+        e = new RegistroPersonas<>();
+        c = new RegistroPersonas<>();
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.recuperar(e, c);
+        }
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            Empleado esperado = i == 12 ? null : empleados[i];
+            Empleado leido = e.obtener(empleados[i].getRut());
+            if (i == 11) {
+                if (leido == null || !leido.getCargo().equals("GERENTE")) distintos++;
+            } else if (esperado == null ? leido != null : !igual(leido, esperado)) {
+                distintos++;
+            }
+        }
+        for (Cliente cliente : clientes) {
+            if (!igual(c.obtener(cliente.getRut()), cliente)) distintos++;
+        }
+        if (distintos > 0) errores.add(distintos + " personas distintas tras compactar sin materializar");
+
+        // Se deja la instantánea como estaba, para las mediciones
+        RegistroPersonas<Empleado> originales = new RegistroPersonas<>(n);
+        for (Empleado empleado : empleados) originales.agregar(empleado);
+        try (BitacoraPersonas bitacora = BitacoraPersonas.abrir(datos)) {
+            bitacora.compactar(originales, c);
+        }
+    }
+
+    // Quita el índice de la instantánea (formato anterior) y la abre de forma perezosa
+    private static void comprobarSinIndice(Path datos, Empleado[] empleados, List<String> errores) throws IOException {
+        byte[] bytes = Files.readAllBytes(datos.resolve(BitacoraPersonas.ARCHIVO_INSTANTANEA));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int fin = 0;
+        while (buffer.getInt(fin) > 0) fin += Integer.BYTES + buffer.getInt(fin);
+        Path antigua = datos.resolve("antigua.snap");
+        Files.write(antigua, Arrays.copyOf(bytes, fin));
+        InstantaneaPersonas instantanea = InstantaneaPersonas.abrir(antigua);
+        if (instantanea.isIndexada()) errores.add("la instantánea antigua se leyó como indexada");
+        RegistroPersonas<Empleado> e = new RegistroPersonas<>();
+        e.enlazarRespaldo(instantanea.getEmpleados());
+        int n = empleados.length;
+        if (e.tamano() != n || !igual(e.obtener(empleados[n / 3].getRut()), empleados[n / 3])) {
+            errores.add("la instantánea antigua no se leyó bien");
+        }
+        Files.delete(antigua);
+    }
+
+    private static Empleado copia(Empleado e) {
+        Direccion d = e.getDireccion();
+        return Empleado.desdeCentavos(e.getNombre(), e.getApellido(), e.getRut(),
+                new Direccion(d.getCalle(), d.getComuna(), d.getRegion()), e.getCorreo(), e.getCargo(), e.getSueldoCentavos());
+    }
+
+    private static boolean igual(Persona a, Persona b) {
+        return a != null && b != null && describir(a).equals(describir(b));
+    }
+
+    private static String describir(Persona p) {
+        Direccion d = p.getDireccion();
+        String datos = p.getNombre() + "|" + p.getApellido() + "|" + p.getRut() + "|" + p.getCorreo()
+                + "|" + d.getCalle() + "|" + d.getComuna() + "|" + d.getRegion();
+        if (p instanceof Empleado) {
+            return datos + "|" + ((Empleado) p).getCargo() + "|" + ((Empleado) p).getSueldoCentavos();
+        }
+        return datos + "|" + ((Cliente) p).getTelefono();
+    }
+
+    private static void limpiar(Path datos) throws IOException {
+        if (!Files.isDirectory(datos)) return;
+        try (var archivos = Files.list(datos)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) Files.delete(archivo);
+        }
+    }
+}
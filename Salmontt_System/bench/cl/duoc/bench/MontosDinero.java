@@ -0,0 +1,131 @@
+package cl.duoc.bench;
+
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Empleado;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase MontosDinero.
+ * Comprueba Dinero y compara la suma de sueldos en centavos (long) con double y BigDecimal.
+ *
+ * Comprobaciones:
+ *   - lectura y formato de montos, incluidos los casos límite y los textos inválidos;
+ *   - porcentaje() coincide con BigDecimal redondeando HALF_UP;
+ *   - las operaciones lanzan ArithmeticException al desbordarse;
+ *   - la suma en centavos es igual a la de BigDecimal.
+ * Luego mide sumar y formatear los sueldos de todos los empleados.
+ *
+ * Uso: java cl.duoc.bench.MontosDinero [empleados]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class MontosDinero {
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<String> errores = new ArrayList<>();
+
+        // Lectura
+        Object[][] lecturas = {
+                {"750000", 75_000_000L}, {"750000.5", 75_000_050L}, {"750000,05", 75_000_005L},
+                {"1234.567", 123_457L}, {"1234.5649", 123_456L}, {"$990", 99_000L}, {"-0.5", -50L},
+                {"+12", 1_200L}, {"0", 0L}, {".5", 50L}
+        };
+        for (Object[] caso : lecturas) {
+            long obtenido = Dinero.parsear((String) caso[0]);
+            if (obtenido != (Long) caso[1]) errores.add("parsear '" + caso[0] + "' = " + obtenido);
+        }
+        for (String invalido : new String[]{"", "abc", "1.2.3", "12a", "$", "-", "1e5", "NaN", "99999999999999999999"}) {
+            try {
+                Dinero.parsear(invalido);
+                errores.add("parsear acepta '" + invalido + "'");
+            } catch (NumberFormatException e) {
+                // Esperado
+            }
+        }
+
+        // Formato
+        Object[][] formatos = {
+                {0L, "$0"}, {5L, "$0,05"}, {99_900L, "$999"}, {100_000L, "$1.000"},
+                {123_456_789L, "$1.234.567,89"}, {-100_000_000L, "-$1.000.000"},
+                {Long.MIN_VALUE, "-$92.233.720.368.547.758,08"}
+        };
+        for (Object[] caso : formatos) {
+            String obtenido = Dinero.aTexto((Long) caso[0]);
+            if (!obtenido.equals(caso[1])) errores.add("aTexto " + caso[0] + " = " + obtenido);
+        }
+
+        // Porcentajes contra BigDecimal
+        Random azar = new Random(21);
+        for (int i = 0; i < 100_000 && errores.size() < 10; i++) {
+            long monto = azar.nextLong() % 10_000_000_000_000L;
+            int tasa = azar.nextInt(20_001) - 10_000;
+            long esperado = BigDecimal.valueOf(monto).multiply(BigDecimal.valueOf(tasa))
+                    .divide(BigDecimal.valueOf(Dinero.PUNTOS_BASE), 0, RoundingMode.HALF_UP).longValueExact();
+            if (Dinero.porcentaje(monto, tasa) != esperado) errores.add("porcentaje(" + monto + ", " + tasa + ")");
+        }
+
+        // Desbordes
+        Runnable[] desbordes = {
+                () -> Dinero.sumar(Long.MAX_VALUE, 1), () -> Dinero.restar(Long.MIN_VALUE, 1),
+                () -> Dinero.multiplicar(Long.MAX_VALUE / 2, 3), () -> Dinero.porcentaje(Long.MAX_VALUE / 100, 200),
+                () -> Dinero.dePesos(Long.MAX_VALUE / 10), () -> Dinero.dePesos(Double.NaN), () -> Dinero.dePesos(1e300)
+        };
+        for (int i = 0; i < desbordes.length; i++) {
+            try {
+                desbordes[i].run();
+                errores.add("desborde " + i + " no detectado");
+            } catch (ArithmeticException e) {
+                // Esperado
+            }
+        }
+
+        // Sumas
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            empleados[i].setSueldoCentavos(46_000_000L + azar.nextInt(200_000_000)); // con centavos
+        }
+        BigDecimal exacta = BigDecimal.ZERO;
+        long inicio = System.nanoTime();
+        for (Empleado e : empleados) exacta = exacta.add(BigDecimal.valueOf(e.getSueldoCentavos(), 2));
+        long nanosBigDecimal = System.nanoTime() - inicio;
+
+        double enDouble = 0;
+        inicio = System.nanoTime();
+        for (Empleado e : empleados) enDouble += e.getSueldo();
+        long nanosDouble = System.nanoTime() - inicio;
+
+        long enCentavos = 0;
+        inicio = System.nanoTime();
+        for (Empleado e : empleados) enCentavos = Dinero.sumar(enCentavos, e.getSueldoCentavos());
+        long nanosCentavos = System.nanoTime() - inicio;
+        if (BigDecimal.valueOf(enCentavos, 2).compareTo(exacta) != 0) errores.add("suma en centavos distinta de BigDecimal");
+
+        // Formato de listados
+        StringBuilder sb = new StringBuilder(64);
+        long largo = 0;
+        inicio = System.nanoTime();
+        for (Empleado e : empleados) {
+            sb.setLength(0);
+            largo += Dinero.escribirEn(sb, e.getSueldoCentavos()).length();
+        }
+        long nanosFormato = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        for (Empleado e : empleados) largo += String.format("$%,.2f", e.getSueldo()).length();
+        long nanosFormatoJdk = System.nanoTime() - inicio;
+
+        System.out.printf("%,d sueldos:%n", cantidad);
+        System.out.printf("  suma BigDecimal: %7.1f ms  %s%n", nanosBigDecimal / 1e6, exacta.toPlainString());
+        System.out.printf("  suma double:     %7.1f ms  %.2f (diferencia %s)%n", nanosDouble / 1e6, enDouble,
+                new BigDecimal(enDouble).subtract(exacta).setScale(6, RoundingMode.HALF_UP).toPlainString());
+        System.out.printf("  suma centavos:   %7.1f ms  %s%n", nanosCentavos / 1e6, Dinero.aTexto(enCentavos));
+        System.out.printf("  formato Dinero.escribirEn: %7.1f ms; String.format: %7.1f ms (%d)%n",
+                nanosFormato / 1e6, nanosFormatoJdk / 1e6, largo % 10);
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+}
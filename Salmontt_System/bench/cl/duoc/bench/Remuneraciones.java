@@ -0,0 +1,109 @@
+package cl.duoc.bench;
+
+import cl.duoc.model.MotorRemuneraciones;
+import cl.duoc.model.TablaRemuneraciones;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase Remuneraciones.
+ * Comprueba y mide MotorRemuneraciones con la tabla referencial.
+ *
+ * Comprobaciones:
+ *   - una liquidación calculada a mano (bruto $3.000.000: impuesto $75.984, líquido $2.352.816);
+ *   - el cálculo en paralelo es idéntico al secuencial, columna por columna y en los totales;
+ *   - la suma del impuesto por tramo es igual al impuesto de cada fila y al total;
+ *   - las filas no incluidas quedan en cero y no cuentan en los totales.
+ * Luego mide el mejor tiempo de varias ejecuciones de cada camino.
+ *
+ * Uso: java cl.duoc.bench.Remuneraciones [empleados] [repeticiones]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class Remuneraciones {
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        MotorRemuneraciones motor = new MotorRemuneraciones(TablaRemuneraciones.referencial());
+        List<String> errores = new ArrayList<>();
+
+        // Liquidación calculada a mano
+        MotorRemuneraciones.Liquidaciones una = motor.liquidar(300_000_000L);
+        if (una.getImpuestos()[0] != 7_598_400L) errores.add("impuesto de $3.000.000: " + una.getImpuestos()[0]);
+        if (una.getLiquidos()[0] != 235_281_600L) errores.add("líquido de $3.000.000: " + una.getLiquidos()[0]);
+
+        // Sueldos entre $500.000 y $12.000.000 (algunos sobre los topes), 1 de cada 50 inactivo
+        Random azar = new Random(18);
+        long[] brutos = new long[cantidad];
+        boolean[] incluidos = new boolean[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            brutos[i] = 50_000_000L + (long) (azar.nextDouble() * azar.nextDouble() * 1_150_000_000L) + azar.nextInt(100);
+            incluidos[i] = azar.nextInt(50) != 0;
+        }
+
+        MotorRemuneraciones.Liquidaciones serial = motor.liquidar(brutos, incluidos, cantidad);
+        MotorRemuneraciones.Liquidaciones paralelo = motor.liquidarEnParalelo(brutos, incluidos, cantidad);
+        comparar(serial, paralelo, errores);
+
+        MotorRemuneraciones.Totales t = serial.getTotales();
+        long sumaTramos = 0;
+        for (int k = 0; k < t.cantidadTramos(); k++) sumaTramos += t.getImpuestoEnTramo(k);
+        if (sumaTramos != t.getImpuesto()) errores.add("tramos " + sumaTramos + " != impuesto " + t.getImpuesto());
+        long activos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (!incluidos[i]) {
+                if (serial.getLiquidos()[i] != 0 || serial.getCostosEmpleador()[i] != 0) errores.add("fila inactiva " + i + " liquidada");
+                continue;
+            }
+            activos++;
+            long porTramos = 0;
+            for (int k = 0; k < t.cantidadTramos(); k++) porTramos += serial.impuestoEnTramo(i, k);
+            if (porTramos != serial.getImpuestos()[i]) errores.add("fila " + i + ": tramos " + porTramos + " != " + serial.getImpuestos()[i]);
+            if (errores.size() > 5) break;
+        }
+        if (activos != t.getCantidad() && errores.size() <= 5) errores.add("cantidad " + t.getCantidad() + " != " + activos);
+
+        // Tiempos: mejor de varias ejecuciones
+        long mejorSerial = Long.MAX_VALUE;
+        long mejorParalelo = Long.MAX_VALUE;
+        for (int r = 0; r < repeticiones; r++) {
+            long inicio = System.nanoTime();
+            motor.liquidar(brutos, incluidos, cantidad);
+            mejorSerial = Math.min(mejorSerial, System.nanoTime() - inicio);
+            inicio = System.nanoTime();
+            motor.liquidarEnParalelo(brutos, incluidos, cantidad);
+            mejorParalelo = Math.min(mejorParalelo, System.nanoTime() - inicio);
+        }
+        System.out.printf("%,d empleados (%,d activos), %d núcleos%n", cantidad, t.getCantidad(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("  secuencial: %.1f ms%n", mejorSerial / 1e6);
+        System.out.printf("  paralelo:   %.1f ms%n", mejorParalelo / 1e6);
+        System.out.printf("  bruto $%,d, impuesto $%,d, líquido $%,d, costo empleador $%,d%n",
+                t.getBruto() / 100, t.getImpuesto() / 100, t.getLiquido() / 100, t.getCostoEmpleador() / 100);
+        if (mejorParalelo > 1_000_000_000L) errores.add("liquidación completa sobre 1 s");
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    private static void comparar(MotorRemuneraciones.Liquidaciones a, MotorRemuneraciones.Liquidaciones b, List<String> errores) {
+        if (!Arrays.equals(a.getAfp(), b.getAfp())) errores.add("AFP distinta");
+        if (!Arrays.equals(a.getSalud(), b.getSalud())) errores.add("salud distinta");
+        if (!Arrays.equals(a.getCesantia(), b.getCesantia())) errores.add("cesantía distinta");
+        if (!Arrays.equals(a.getBasesTributables(), b.getBasesTributables())) errores.add("base tributable distinta");
+        if (!Arrays.equals(a.getImpuestos(), b.getImpuestos())) errores.add("impuesto distinto");
+        if (!Arrays.equals(a.getTramos(), b.getTramos())) errores.add("tramo distinto");
+        if (!Arrays.equals(a.getLiquidos(), b.getLiquidos())) errores.add("líquido distinto");
+        if (!Arrays.equals(a.getCostosEmpleador(), b.getCostosEmpleador())) errores.add("costo empleador distinto");
+        MotorRemuneraciones.Totales x = a.getTotales();
+        MotorRemuneraciones.Totales y = b.getTotales();
+        boolean iguales = x.getCantidad() == y.getCantidad() && x.getBruto() == y.getBruto()
+                && x.getAfp() == y.getAfp() && x.getSalud() == y.getSalud() && x.getCesantia() == y.getCesantia()
+                && x.getImpuesto() == y.getImpuesto() && x.getLiquido() == y.getLiquido()
+                && x.getCostoEmpleador() == y.getCostoEmpleador();
+        for (int k = 0; k < x.cantidadTramos(); k++) iguales &= x.getImpuestoEnTramo(k) == y.getImpuestoEnTramo(k);
+        if (!iguales) errores.add("totales distintos");
+    }
+}
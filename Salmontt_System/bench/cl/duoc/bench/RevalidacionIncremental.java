@@ -0,0 +1,106 @@
+package cl.duoc.bench;
+
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.utils.ColectorViolaciones;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Clase RevalidacionIncremental.
+ * Comprueba y mide la validez en caché de Persona, Empleado y Direccion.
+ *
+ * Comprobación: después de cada ronda de modificaciones al azar (valores válidos e inválidos,
+ * con setters de todos los campos, del RUT y de la dirección), esValida() coincide para cada
+ * empleado con validar(colector), que aplica siempre todas las reglas.
+ * Medición: validar el registro completo sin caché, la primera vez con caché (todo pendiente)
+ * y después de modificar el 1 % de los empleados.
+ *
+ * Uso: java cl.duoc.bench.RevalidacionIncremental [empleados] [rondas]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class RevalidacionIncremental {
+
+    private static final String LARGO = "X".repeat(120);
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+        Random azar = new Random(20);
+        List<String> errores = new ArrayList<>();
+        ColectorViolaciones colector = ColectorViolaciones.primera();
+
+        long inicio = System.nanoTime();
+        int validos = 0;
+        for (Empleado e : empleados) {
+            colector.limpiar();
+            if (e.validar(colector)) validos++;
+        }
+        long sinCache = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (Empleado e : empleados) if (e.esValida()) validos--;
+        long primera = System.nanoTime() - inicio;
+        if (validos != 0) errores.add("primera validación distinta en " + Math.abs(validos) + " empleados");
+
+        long mejorIncremental = Long.MAX_VALUE;
+        for (int r = 0; r < rondas && errores.size() < 5; r++) {
+            int[] modificados = new int[cantidad / 100];
+            for (int k = 0; k < modificados.length; k++) {
+                modificados[k] = azar.nextInt(cantidad);
+                modificar(empleados[modificados[k]], azar);
+            }
+            inicio = System.nanoTime();
+            int conCache = 0;
+            for (Empleado e : empleados) if (e.esValida()) conCache++;
+            mejorIncremental = Math.min(mejorIncremental, System.nanoTime() - inicio);
+
+            int completos = 0;
+            for (Empleado e : empleados) {
+                colector.limpiar();
+                if (e.validar(colector)) completos++;
+            }
+            if (conCache != completos) errores.add("ronda " + r + ": " + conCache + " válidos con caché, " + completos + " sin caché");
+            for (int i : modificados) {
+                colector.limpiar();
+                if (empleados[i].esValida() != empleados[i].validar(colector)) errores.add("ronda " + r + ": empleado " + i);
+            }
+        }
+
+        System.out.printf("%,d empleados:%n", cantidad);
+        System.out.printf("  todas las reglas (sin caché): %6.1f ms%n", sinCache / 1e6);
+        System.out.printf("  primera validación con caché: %6.1f ms%n", primera / 1e6);
+        System.out.printf("  revalidación tras modificar 1 %%: %6.1f ms%n", mejorIncremental / 1e6);
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    // Cambia un campo al azar, a veces por un valor inválido
+    private static void modificar(Empleado e, Random azar) {
+        boolean invalido = azar.nextInt(3) == 0;
+        if (e.getDireccion() == null) e.setDireccion(new Direccion("CALLE 1", "ANCUD", "LOS LAGOS"));
+        switch (azar.nextInt(10)) {
+            case 0 -> e.setNombre(invalido ? texto(azar) : "NUEVO");
+            case 1 -> e.setApellido(invalido ? texto(azar) : "APELLIDO");
+            case 2 -> e.setCargo(invalido ? texto(azar) : "OPERARIO");
+            case 3 -> e.setSueldo(invalido ? -azar.nextInt(10) : 500_000 + azar.nextInt(1_000_000));
+            case 4 -> e.getRut().setNumero(invalido ? "12.345.678-0" : "12.345.678-5");
+            case 5 -> e.getDireccion().setCalle(invalido ? texto(azar) : "NUEVA 123");
+            case 6 -> e.getDireccion().setComuna(invalido ? texto(azar) : "OSORNO");
+            case 7 -> e.getDireccion().setRegion(invalido ? texto(azar) : "LOS LAGOS");
+            case 8 -> e.setDireccion(invalido && azar.nextBoolean() ? null
+                    : new Direccion(invalido ? "" : "OTRA 1", "CASTRO", "LOS LAGOS"));
+            default -> e.setCorreo("nuevo@correo.cl");
+        }
+    }
+
+    private static String texto(Random azar) {
+        return switch (azar.nextInt(3)) {
+            case 0 -> null;
+            case 1 -> "   ";
+            default -> LARGO;
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package cl.duoc.bench;
+
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.model.Empleado;
+import cl.duoc.utils.Histograma;
+import cl.duoc.utils.Metricas;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.management.ObjectName;
+
+/**
+ * Clase SobrecostoMetricas.
+ * Comprueba Histograma y la vista JMX de Metricas, y mide cuánto cuestan las métricas
+ * al insertar y validar empleados, habilitadas y deshabilitadas.
+ *
+ * Comprobaciones:
+ *   - los percentiles del histograma quedan dentro del 12,5 % del valor exacto;
+ *   - los atributos JMX coinciden con los contadores;
+ *   - con las métricas deshabilitadas no se cuenta nada.
+ *
+ * Uso: java cl.duoc.bench.SobrecostoMetricas [empleados] [rondas]
+ * Termina con código 1 si alguna comprobación falla.
+ */
+public class SobrecostoMetricas {
+
+    public static void main(String[] args) throws Exception {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<String> errores = new ArrayList<>();
+
+        // Percentiles contra los valores exactos
+        Random azar = new Random(19);
+        Histograma histograma = new Histograma("prueba");
+        long[] valores = new long[200_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = (long) Math.exp(azar.nextDouble() * 20); // de 1 ns a ~0,5 s
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            long exacto = valores[(int) Math.ceil(valores.length * p / 100) - 1];
+            long aproximado = histograma.percentil(p);
+            if (aproximado < exacto || aproximado > exacto + exacto / 8 + 1) errores.add("p" + p + ": " + aproximado + " vs " + exacto);
+        }
+
+        Empleado[] empleados = DatosPrueba.empleados(cantidad);
+        Metricas metricas = Metricas.getInstancia();
+        Metricas.registrarJmx();
+
+        // Deshabilitadas no cuentan
+        metricas.reiniciar();
+        metricas.setHabilitadas(false);
+        insertarYValidar(empleados);
+        if (metricas.getInserciones() != 0 || metricas.getValidaciones() != 0) errores.add("cuenta con las métricas deshabilitadas");
+
+        // Habilitadas cuentan, y JMX informa lo mismo
+        metricas.setHabilitadas(true);
+        insertarYValidar(empleados);
+        if (metricas.getInserciones() != cantidad) errores.add("inserciones: " + metricas.getInserciones());
+        if (metricas.getValidaciones() != cantidad) errores.add("validaciones: " + metricas.getValidaciones());
+        Object jmx = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(Metricas.NOMBRE_JMX), "Inserciones");
+        if (!Long.valueOf(cantidad).equals(jmx)) errores.add("JMX Inserciones: " + jmx);
+
+        // Costo: mejor ronda de cada modo, alternando
+        long mejorSin = Long.MAX_VALUE;
+        long mejorCon = Long.MAX_VALUE;
+        for (int r = 0; r < rondas; r++) {
+            metricas.setHabilitadas(false);
+            mejorSin = Math.min(mejorSin, insertarYValidar(empleados));
+            metricas.setHabilitadas(true);
+            mejorCon = Math.min(mejorCon, insertarYValidar(empleados));
+        }
+        System.out.printf("%,d empleados, insertar y validar:%n", cantidad);
+        System.out.printf("  métricas deshabilitadas: %6.1f ms (%.0f ns por empleado)%n", mejorSin / 1e6, (double) mejorSin / cantidad);
+        System.out.printf("  métricas habilitadas:    %6.1f ms (%.0f ns por empleado)%n", mejorCon / 1e6, (double) mejorCon / cantidad);
+        System.out.println();
+        System.out.print(metricas.volcar());
+
+        System.out.println(errores.isEmpty() ? "Comprobaciones correctas" : "Fallas: " + errores);
+        if (!errores.isEmpty()) System.exit(1);
+    }
+
+    // Valida e inserta todos los empleados en un registro nuevo; retorna los nanosegundos usados
+    private static long insertarYValidar(Empleado[] empleados) {
+        RegistroPersonas<Empleado> registro = new RegistroPersonas<>(empleados.length);
+        long inicio = System.nanoTime();
+        for (Empleado empleado : empleados) {
+            long t = Metricas.inicio();
+            boolean valido = empleado.esValida();
+            Metricas.validacion(t, valido);
+            if (valido) registro.agregar(empleado);
+        }
+        return System.nanoTime() - inicio;
+    }
+}
@@ -5,25 +5,177 @@ package cl.duoc.app;
  * Contiene el método main, que es el punto de entrada de la aplicación.
  * Desde aquí se ejecuta el flujo principal del programa, inicializando los objetos,
  * cargando los datos necesarios y llamando a otros métodos o clases según la lógica del sistema.
+ *
+ * Uso:
+ *   java cl.duoc.app.Main                  menú interactivo
+ *   java cl.duoc.app.Main --lote [script]  ejecuta comandos desde un archivo o la entrada estándar
+ *   java cl.duoc.app.Main --servidor [puerto]  atiende los mismos comandos por TCP en localhost
  */
 
 import cl.duoc.interfaces.*; // Importa la interfaz de usuario
 import cl.duoc.model.Direccion; // Importa la clase Direccion
 import cl.duoc.model.Empleado;  // Importa la clase Empleado
 import cl.duoc.model.Rut;       // Importa la clase Rut
+import cl.duoc.utils.Hilos;     // Ejecutores de un hilo por tarea
+import cl.duoc.utils.Metricas;  // Contadores y latencias (también por JMX)
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;      // Ruta del directorio de datos
 
 public class Main {
 	
 	public static void main(String[] args) {
 		
+		// El puerto se valida antes de abrir la persistencia: un error no deja la bitácora abierta
+		boolean modoServidor = args.length > 0 && args[0].equals("--servidor");
+		int puerto = ServidorTcp.PUERTO_POR_DEFECTO;
+		if (modoServidor && args.length > 1) {
+			puerto = leerPuerto(args[1]);
+			if (puerto < 0) {
+				System.err.println("Puerto inválido '" + args[1] + "': se espera un número entre 0 y 65535 (0 elige uno libre).");
+				System.err.println("Uso: java cl.duoc.app.Main --servidor [puerto]");
+				System.exit(2);
+			}
+		}
+		
 		// Se crea una instancia de la interfaz de usuario, que gestiona la interacción con el sistema
 		InterfazUsuario interfazUsuario = new InterfazUsuario();
 		
+		// Las métricas quedan visibles por JMX (jconsole, cl.duoc:type=Metricas)
+		Metricas.registrarJmx();
+		
+		// Se recuperan los datos guardados en ejecuciones anteriores
+		interfazUsuario.habilitarPersistencia(Path.of("datos"));
+		
+		// Modo por lotes: ejecuta un script de comandos sin menú
+		if (args.length > 0 && args[0].equals("--lote")) {
+			ejecutarLote(interfazUsuario, args.length > 1 ? Path.of(args[1]) : null);
+			return;
+		}
+		
+		// Modo servidor: varias sesiones por TCP comparten los mismos registros
+		if (modoServidor) {
+			informarInicio(interfazUsuario);
+			ejecutarServidor(interfazUsuario, puerto);
+			return;
+		}
+		
+		// Los empleados de ejemplo solo se cargan la primera vez
+		if (interfazUsuario.getEmpleados().estaVacio()) {
+			cargarEmpleadosIniciales(interfazUsuario);
+		}
+		
+		informarInicio(interfazUsuario);
+		
+		// Se inicia la interfaz de usuario, que inicia el menú.
+		interfazUsuario.iniciar();
+	}
+
+	/**
+	 * Interpreta el puerto del modo servidor.
+	 * 
+	 * @param texto argumento de la línea de comandos
+	 * @return puerto entre 0 y 65535 (0: uno libre), o -1 si no es válido
+	 */
+	private static int leerPuerto(String texto) {
+		try {
+			int puerto = Integer.parseInt(texto.strip());
+			return puerto >= 0 && puerto <= 65535 ? puerto : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Muestra cuánto tardó el sistema en quedar disponible, desde que partió la JVM,
+	 * y cuánto de eso fue recuperar los datos guardados.
+	 * 
+	 * @param interfazUsuario interfaz con los registros recuperados
+	 */
+	private static void informarInicio(InterfazUsuario interfazUsuario) {
+		long pendientes = interfazUsuario.getEmpleados().getPendientes() + interfazUsuario.getClientes().getPendientes();
+		System.out.printf("Sistema listo en %d ms (datos recuperados en %.1f ms: %d empleados y %d clientes%s)%n",
+				ManagementFactory.getRuntimeMXBean().getUptime(),
+				interfazUsuario.getNanosRecuperacion() / 1e6,
+				interfazUsuario.getEmpleados().tamano(),
+				interfazUsuario.getClientes().tamano(),
+				pendientes > 0 ? ", " + pendientes + " por leer de la instantánea" : "");
+	}
+
+	/**
+	 * Ejecuta el modo por lotes y termina.
+	 * Las respuestas se escriben en la salida estándar; los errores no detienen el script.
+	 * 
+	 * @param interfazUsuario interfaz con los registros
+	 * @param script archivo de comandos, o null para leer la entrada estándar
+	 */
+	private static void ejecutarLote(InterfazUsuario interfazUsuario, Path script) {
+		Writer salida = new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), Charset.defaultCharset());
+		try (Reader entrada = script != null
+				? Files.newBufferedReader(script, StandardCharsets.UTF_8)
+				: new InputStreamReader(new FileInputStream(FileDescriptor.in), Charset.defaultCharset())) {
+			long errores = new ModoLote(interfazUsuario).ejecutar(entrada, salida);
+			if (errores > 0) {
+				System.err.println(errores + " comandos con error.");
+			}
+		} catch (IOException e) {
+			System.err.println("Error en modo por lotes: " + e.getMessage());
+		} finally {
+			interfazUsuario.cerrar();
+		}
+	}
+
+	/**
+	 * Ejecuta el modo servidor hasta que se detenga el proceso (Ctrl+C).
+	 * Al detenerse se cierran las sesiones y se guardan los datos.
+	 * 
+	 * @param interfazUsuario interfaz con los registros compartidos
+	 * @param puerto puerto TCP en localhost
+	 */
+	private static void ejecutarServidor(InterfazUsuario interfazUsuario, int puerto) {
+		ServidorTcp servidor;
+		try {
+			servidor = new ServidorTcp(interfazUsuario, puerto);
+		} catch (IOException e) {
+			System.err.println("No se pudo abrir el puerto " + puerto + ": " + e.getMessage());
+			interfazUsuario.cerrar();
+			return;
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				servidor.close(); // espera a las sesiones: después nadie escribe en la bitácora
+			} catch (IOException e) {
+				System.err.println("Error al cerrar el servidor: " + e.getMessage());
+			}
+			interfazUsuario.cerrar();
+		}));
+		System.out.println("Servidor escuchando en localhost:" + servidor.getPuerto()
+				+ (Hilos.hayHilosVirtuales() ? " (hilos virtuales)" : " (hilos de plataforma)"));
+		servidor.atender();
+	}
+
+	/**
+	 * Carga los empleados de ejemplo y muestra su información.
+	 * 
+	 * @param interfazUsuario interfaz donde se agregan los empleados
+	 */
+	private static void cargarEmpleadosIniciales(InterfazUsuario interfazUsuario) {
+		
 		// Se crea el primer empleado con sus datos personales, rut, dirección, correo, cargo y sueldo
 		Empleado empleado1 = new Empleado(
 			"KAKAROTO", // Nombre
 	        "ROJAS",    // Apellido
-	        new Rut("12345678-9"), // Rut validado
+	        new Rut("12345678-5"), // Rut validado (dígito verificador módulo 11)
 	        new Direccion("Av. Los Pinos 123", "Paine", "Santiago"), // Dirección completa
 	        "KAKAROTOWINS@gmail.com", // Correo electrónico
 	        "PELEADOR", // Cargo
@@ -37,7 +189,7 @@ public class Main {
 	    Empleado empleado2 = new Empleado(
 	        "MARIO",
 	        "CHAMPIÑON",
-	        new Rut("87654321-K"),
+	        new Rut("87654321-4"),
 	        new Direccion("Calle El Roble 456", "Puente Alto", "Santiago"),
 	        "MARIOSALTA@gmail.com",
 	        "FONTANERO",
@@ -49,7 +201,7 @@ public class Main {
 	    Empleado empleado3 = new Empleado(
 	        "KAIMAN",
 	        "MAGIC",
-	        new Rut("11223344-5"),
+	        new Rut("11223344-K"),
 	        new Direccion("Camino Real 789", "La Florida", "Santiago"),
 	        "VIVAHOLE@gmail.com",
 	        "ASESINO",
@@ -60,10 +212,7 @@ public class Main {
 	    // Se imprime la información de cada empleado en consola
 	    System.out.println(empleado1);
         System.out.println(empleado2);
-        System.out.println(empleado3); 
-		
-		// Se inicia la interfaz de usuario, que inicia el menú.
-		interfazUsuario.iniciar();
+        System.out.println(empleado3);
 	}
 
 }
\ No newline at end of file
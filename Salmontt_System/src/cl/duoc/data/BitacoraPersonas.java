@@ -0,0 +1,483 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Clase BitacoraPersonas.
+ * Persistencia de los registros de empleados y clientes en un directorio de datos.
+ *
+ * Cada cambio aceptado por un RegistroPersonas se agrega al final de una bitácora binaria
+ * (personas.log) escrita a través de un archivo mapeado en memoria, por lo que escribir
+ * es una copia en memoria. La sincronización a disco (fsync) depende de la política elegida.
+ * Cuando la bitácora crece, se compacta en una instantánea (personas.snap) con el estado
+ * completo de los registros y la bitácora vuelve a empezar.
+ * Al iniciar, se recupera el estado mapeando la instantánea y repitiendo la bitácora.
+ *
+ * Formato de la bitácora: [int MAGIA][int VERSION] y luego los registros de CodificadorPersonas,
+ * cada uno seguido de [int CRC32] del registro completo. La recuperación se detiene en el primer
+ * registro que no cuadra con su suma o no se puede decodificar (una escritura interrumpida o un
+ * archivo dañado): lo que sigue se descarta y el archivo se trunca ahí. Una bitácora antigua,
+ * sin encabezado ni sumas, se repite igual y se compacta de inmediato.
+ * La recuperación perezosa (recuperarPerezoso) no lee las personas de la instantánea:
+ * las enlaza a los registros, que las materializan al primer acceso.
+ */
+public class BitacoraPersonas implements OyenteRegistro<Persona>, Closeable {
+
+    /**
+     * Cuándo se fuerza la escritura de la bitácora a disco.
+     */
+    public enum PoliticaSincronizacion {
+        /** Después de cada registro (más seguro, más lento). */
+        SIEMPRE,
+        /** Cada cierto intervalo, en un hilo aparte (no detiene las inserciones). */
+        PERIODICA,
+        /** Solo al compactar o cerrar; el resto queda a cargo del sistema operativo. */
+        AL_CERRAR
+    }
+
+    /** Nombre del archivo de bitácora dentro del directorio de datos. */
+    public static final String ARCHIVO_BITACORA = "personas.log";
+
+    /** Nombre del archivo de instantánea dentro del directorio de datos. */
+    public static final String ARCHIVO_INSTANTANEA = "personas.snap";
+
+    /** Marca del encabezado de la bitácora ("SLOG"). */
+    static final int MAGIA = 0x534C4F47;
+
+    /** Versión del formato de la bitácora. */
+    static final int VERSION = 1;
+
+    // Bytes del encabezado (marca y versión) y de la suma que sigue a cada registro
+    private static final int ENCABEZADO_BITACORA = Integer.BYTES * 2;
+    private static final int SUMA = Integer.BYTES;
+
+    // Crecimiento del mapeo de la bitácora (16 MB)
+    private static final int TAMANO_SEGMENTO = 16 << 20;
+
+    private final Path directorio;
+    private final PoliticaSincronizacion politica;
+
+    // Tamaño de bitácora a partir del cual conviene compactar
+    private final long umbralCompactacion;
+
+    private FileChannel canal;
+    private MappedByteBuffer mapa;
+
+    // Fin de los datos escritos en la bitácora y fin de lo ya sincronizado a disco
+    private int posicion;
+    private int sincronizadoHasta;
+
+    // Una llamada a sincronizar() está forzando fuera del monitor: compactar y cerrar la esperan
+    private boolean forzando;
+
+    // La bitácora es de antes de las sumas: se repite sin comprobarlas y se compacta al recuperar
+    private boolean antigua;
+
+    private final CRC32 suma = new CRC32();
+
+    private ScheduledExecutorService sincronizador;
+
+    /**
+     * Abre (o crea) la bitácora en el directorio indicado.
+     *
+     * @param directorio         directorio de datos
+     * @param politica           política de sincronización a disco
+     * @param intervaloMs        intervalo de sincronización para la política PERIODICA
+     * @param umbralCompactacion tamaño en bytes de bitácora que activa la compactación
+     * @throws IOException si no se puede crear o mapear la bitácora
+     */
+    public BitacoraPersonas(Path directorio, PoliticaSincronizacion politica, long intervaloMs,
+                            long umbralCompactacion) throws IOException {
+        this.directorio = directorio;
+        this.politica = politica;
+        this.umbralCompactacion = umbralCompactacion;
+        Files.createDirectories(directorio);
+        canal = FileChannel.open(directorio.resolve(ARCHIVO_BITACORA),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapear(Math.max(TAMANO_SEGMENTO, canal.size()));
+        int marca = mapa.getInt(0);
+        if (marca == 0) {
+            iniciar();
+        } else if (marca != MAGIA) {
+            antigua = true;
+        } else if (mapa.getInt(Integer.BYTES) != VERSION) {
+            canal.close();
+            throw new IOException("Versión de bitácora desconocida: " + mapa.getInt(Integer.BYTES));
+        } else {
+            posicion = ENCABEZADO_BITACORA;
+        }
+
+        if (politica == PoliticaSincronizacion.PERIODICA) {
+            sincronizador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "sincronizador-bitacora");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            sincronizador.scheduleWithFixedDelay(this::sincronizar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Abre la bitácora con la configuración por defecto:
+     * sincronización periódica cada segundo y compactación sobre 64 MB.
+     *
+     * @param directorio directorio de datos
+     * @return bitácora abierta
+     * @throws IOException si no se puede crear o mapear la bitácora
+     */
+    public static BitacoraPersonas abrir(Path directorio) throws IOException {
+        return new BitacoraPersonas(directorio, PoliticaSincronizacion.PERIODICA, 1000, 64L << 20);
+    }
+
+    /**
+     * Recupera el estado guardado: carga la instantánea y repite la bitácora sobre ella.
+     * Debe llamarse antes de registrar la bitácora como oyente de los registros.
+     *
+     * @param empleados registro de empleados a completar
+     * @param clientes  registro de clientes a completar
+     * @throws IOException si no se puede leer la instantánea
+     */
+    public synchronized void recuperar(RegistroPersonas<Empleado> empleados,
+                                       RegistroPersonas<Cliente> clientes) throws IOException {
+        Path instantanea = directorio.resolve(ARCHIVO_INSTANTANEA);
+        if (Files.exists(instantanea)) {
+            try (FileChannel lectura = FileChannel.open(instantanea, StandardOpenOption.READ)) {
+                ByteBuffer datos = lectura.map(FileChannel.MapMode.READ_ONLY, 0, lectura.size());
+                aplicar(datos, empleados, clientes, false);
+            }
+        }
+        repetirBitacora(empleados, clientes);
+    }
+
+    /**
+     * Recupera el estado guardado sin materializar la instantánea: la mapea, enlaza sus empleados
+     * y clientes como respaldo de los registros (ver RegistroPersonas.enlazarRespaldo) y repite la
+     * bitácora sobre ellos. El tiempo no depende de la cantidad de personas de la instantánea,
+     * solo del largo de la bitácora. Debe llamarse con los registros vacíos y antes de registrar
+     * la bitácora como oyente.
+     *
+     * @param empleados registro de empleados, vacío
+     * @param clientes  registro de clientes, vacío
+     * @return instantánea enlazada, o null si no había
+     * @throws IOException si no se puede leer la instantánea o descartar la cola de la bitácora
+     */
+    public synchronized InstantaneaPersonas recuperarPerezoso(RegistroPersonas<Empleado> empleados,
+                                                              RegistroPersonas<Cliente> clientes) throws IOException {
+        Path archivo = directorio.resolve(ARCHIVO_INSTANTANEA);
+        InstantaneaPersonas instantanea = null;
+        if (Files.exists(archivo)) {
+            instantanea = InstantaneaPersonas.abrir(archivo);
+            empleados.enlazarRespaldo(instantanea.getEmpleados());
+            clientes.enlazarRespaldo(instantanea.getClientes());
+        }
+        repetirBitacora(empleados, clientes);
+        return instantanea;
+    }
+
+    private void repetirBitacora(RegistroPersonas<Empleado> empleados,
+                                 RegistroPersonas<Cliente> clientes) throws IOException {
+        ByteBuffer datos = mapa.duplicate();
+        datos.position(antigua ? 0 : ENCABEZADO_BITACORA);
+        posicion = aplicar(datos, empleados, clientes, !antigua);
+        sincronizadoHasta = posicion;
+        if (antigua) {
+            compactar(empleados, clientes); // desde aquí, todos los registros llevan suma
+        } else {
+            descartarCola();
+        }
+    }
+
+    /**
+     * Aplica los registros de un buffer sobre los registros de personas.
+     * Se detiene en el primer registro incompleto, con la suma equivocada o que no se puede decodificar.
+     *
+     * @param conSuma true si cada registro va seguido de su CRC32 (bitácora); false en la instantánea
+     * @return posición donde terminan los registros válidos
+     */
+    private static int aplicar(ByteBuffer datos, RegistroPersonas<Empleado> empleados,
+                               RegistroPersonas<Cliente> clientes, boolean conSuma) {
+        int cola = conSuma ? SUMA : 0;
+        CRC32 suma = new CRC32();
+        while (datos.remaining() >= CodificadorPersonas.ENCABEZADO + cola) {
+            int inicio = datos.position();
+            int largo = datos.getInt();
+            // Largo 0 (fin) o registro incompleto por una escritura interrumpida
+            if (largo <= 0 || largo > datos.remaining() - cola) {
+                return inicio;
+            }
+            int fin = inicio + Integer.BYTES + largo;
+            if (conSuma) {
+                suma.reset();
+                suma.update(datos.duplicate().limit(fin).position(inicio));
+                if ((int) suma.getValue() != datos.getInt(fin)) return inicio;
+            }
+            // El registro se decodifica de una vista limitada a su largo
+            if (!aplicarRegistro(datos.slice(inicio + Integer.BYTES, largo), empleados, clientes)) {
+                return inicio;
+            }
+            datos.position(fin + cola);
+        }
+        return datos.position();
+    }
+
+    // Decodifica un registro completo y lo aplica; false (sin aplicar nada) si está dañado
+    private static boolean aplicarRegistro(ByteBuffer registro, RegistroPersonas<Empleado> empleados,
+                                           RegistroPersonas<Cliente> clientes) {
+        byte tipo = registro.get();
+        Persona alta = null;
+        long baja = 0;
+        try {
+            switch (tipo) {
+                case CodificadorPersonas.ALTA_EMPLEADO, CodificadorPersonas.ALTA_EMPLEADO_CENTAVOS,
+                     CodificadorPersonas.ALTA_CLIENTE -> alta = CodificadorPersonas.leerAlta(tipo, registro);
+                case CodificadorPersonas.BAJA_EMPLEADO, CodificadorPersonas.BAJA_CLIENTE -> baja = registro.getLong();
+                default -> {
+                    return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            return false; // campos más largos que el registro, textos con largo imposible, etc.
+        }
+        if (registro.hasRemaining()) return false;
+        switch (tipo) {
+            case CodificadorPersonas.ALTA_CLIENTE -> clientes.guardar((Cliente) alta);
+            case CodificadorPersonas.BAJA_EMPLEADO -> empleados.eliminar(baja);
+            case CodificadorPersonas.BAJA_CLIENTE -> clientes.eliminar(baja);
+            default -> empleados.guardar((Empleado) alta);
+        }
+        return true;
+    }
+
+    // Cambios del registro: se agregan al final de la bitácora
+
+    @Override
+    public synchronized void alAgregar(int posicionRegistro, Persona persona) {
+        reservar(CodificadorPersonas.tamanoMaximo(persona));
+        CodificadorPersonas.escribirAlta(persona, mapa);
+        terminarEscritura();
+    }
+
+    @Override
+    public synchronized void alActualizar(int posicionRegistro, Persona anterior, Persona nueva) {
+        alAgregar(posicionRegistro, nueva);
+    }
+
+    // Una persona materializada desde la instantánea ya está guardada
+    @Override
+    public void alCargar(int posicionRegistro, Persona persona) {
+    }
+
+    @Override
+    public synchronized void alEliminar(int posicionRegistro, Persona persona) {
+        reservar(CodificadorPersonas.ENCABEZADO + Long.BYTES);
+        CodificadorPersonas.escribirBaja(persona, mapa);
+        terminarEscritura();
+    }
+
+    /**
+     * Indica si la bitácora superó el umbral de compactación.
+     *
+     * @return true si conviene llamar a compactar()
+     */
+    public synchronized boolean necesitaCompactar() {
+        return posicion >= umbralCompactacion;
+    }
+
+    /**
+     * Compacta solo si la bitácora superó el umbral, comprobándolo de forma atómica:
+     * si varios hilos lo llaman a la vez, compacta uno solo.
+     *
+     * @param empleados registro de empleados
+     * @param clientes  registro de clientes
+     * @return true si compactó
+     * @throws IOException si no se puede escribir la instantánea
+     */
+    public synchronized boolean compactarSiHaceFalta(RegistroPersonas<Empleado> empleados,
+                                                     RegistroPersonas<Cliente> clientes) throws IOException {
+        if (!necesitaCompactar()) return false;
+        compactar(empleados, clientes);
+        return true;
+    }
+
+    /**
+     * Escribe una instantánea con el estado completo de los registros y reinicia la bitácora.
+     * La instantánea se escribe en un archivo temporal y luego reemplaza a la anterior,
+     * por lo que una interrupción nunca deja una instantánea a medias; si la escritura falla,
+     * el temporal se borra y la bitácora queda como estaba. Las personas que los
+     * registros aún no materializan se copian desde la instantánea anterior sin leerlas.
+     *
+     * @param empleados registro de empleados
+     * @param clientes  registro de clientes
+     * @throws IOException si no se puede escribir la instantánea
+     */
+    public synchronized void compactar(RegistroPersonas<Empleado> empleados,
+                                       RegistroPersonas<Cliente> clientes) throws IOException {
+        esperarSincronizacion(); // no se trunca un archivo que se está forzando
+        Path temporal = directorio.resolve(ARCHIVO_INSTANTANEA + ".tmp");
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            InstantaneaPersonas.escribir(empleados, clientes, salida);
+            salida.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO_INSTANTANEA),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // La instantánea ya contiene todo: la bitácora vuelve a empezar vacía
+        mapa = null;
+        canal.truncate(0);
+        posicion = 0;
+        sincronizadoHasta = 0;
+        mapear(TAMANO_SEGMENTO);
+        iniciar();
+    }
+
+    /**
+     * Fuerza a disco lo escrito en la bitácora desde la última sincronización.
+     * El rango se lee con el monitor, pero el force se hace fuera de él: las inserciones
+     * (que notifican con el bloqueo de su segmento tomado) siguen escribiendo mientras tanto.
+     */
+    public void sincronizar() {
+        MappedByteBuffer actual;
+        int desde;
+        int hasta;
+        synchronized (this) {
+            if (forzando || mapa == null || posicion <= sincronizadoHasta) return;
+            actual = mapa;
+            desde = sincronizadoHasta;
+            hasta = posicion;
+            forzando = true;
+        }
+        try {
+            actual.force(desde, hasta - desde); // un mapeo reemplazado al crecer cubre el mismo archivo
+        } finally {
+            synchronized (this) {
+                sincronizadoHasta = Math.max(sincronizadoHasta, hasta);
+                forzando = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Sincroniza lo pendiente y cierra la bitácora.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (sincronizador != null) {
+            sincronizador.shutdownNow();
+        }
+        esperarSincronizacion();
+        forzarPendiente();
+        mapa = null;
+        canal.close();
+    }
+
+    public PoliticaSincronizacion getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Tamaño actual de la bitácora en bytes.
+     *
+     * @return bytes de registros escritos desde la última compactación
+     */
+    public synchronized int getTamano() {
+        return Math.max(0, posicion - ENCABEZADO_BITACORA);
+    }
+
+    // Métodos internos
+
+    private void mapear(long capacidad) throws IOException {
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidad);
+        mapa.position(posicion);
+    }
+
+    // Escribe el encabezado de una bitácora vacía y lo fuerza a disco
+    private void iniciar() {
+        mapa.putInt(0, MAGIA).putInt(Integer.BYTES, VERSION);
+        mapa.force(0, ENCABEZADO_BITACORA);
+        posicion = ENCABEZADO_BITACORA;
+        sincronizadoHasta = posicion;
+        mapa.position(posicion);
+        antigua = false;
+    }
+
+    // Tras recuperar: trunca el archivo después del último registro válido y lo vuelve a mapear,
+    // para que un registro dañado o a medio escribir no quede en la cola (el mapeo crece con ceros)
+    private void descartarCola() throws IOException {
+        esperarSincronizacion();
+        long capacidad = mapa.capacity();
+        mapa = null;
+        canal.truncate(posicion);
+        mapear(capacidad);
+    }
+
+    // Asegura espacio en el mapeo para el siguiente registro y su suma (crece por segmentos, hasta 2 GB)
+    private void reservar(int bytes) {
+        long necesario = (long) posicion + bytes + SUMA + CodificadorPersonas.ENCABEZADO;
+        if (necesario > mapa.capacity()) {
+            if (necesario > Integer.MAX_VALUE) {
+                // Un mapeo no puede superar los 2 GB: sin compactar, no hay dónde escribir
+                throw new IllegalStateException("La bitácora llegó al máximo de 2 GB; hay que compactarla");
+            }
+            try {
+                forzarPendiente();
+                mapear(Math.min(Integer.MAX_VALUE, (long) mapa.capacity() + Math.max(TAMANO_SEGMENTO, bytes)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo ampliar la bitácora", e);
+            }
+        }
+        mapa.position(posicion);
+    }
+
+    // Agrega la suma del registro recién escrito (desde posicion) y lo da por escrito
+    private void terminarEscritura() {
+        suma.reset();
+        suma.update(mapa.duplicate().limit(mapa.position()).position(posicion));
+        mapa.putInt((int) suma.getValue());
+        posicion = mapa.position();
+        if (politica == PoliticaSincronizacion.SIEMPRE) {
+            forzarPendiente();
+        }
+    }
+
+    // Con el monitor: fuerza lo pendiente sin soltarlo (SIEMPRE, al crecer y al cerrar)
+    private void forzarPendiente() {
+        if (mapa != null && posicion > sincronizadoHasta) {
+            mapa.force(sincronizadoHasta, posicion - sincronizadoHasta);
+            sincronizadoHasta = posicion;
+        }
+    }
+
+    // Con el monitor: espera a que termine un sincronizar() en curso
+    private void esperarSincronizacion() {
+        boolean interrumpido = false;
+        while (forzando) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+    }
+}
@@ -0,0 +1,471 @@
+package cl.duoc.data;
+
+import cl.duoc.model.OyenteCambios;
+import cl.duoc.model.Persona;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clase BusCambios.
+ * Publica los cambios de los registros de personas (altas, reemplazos, eliminaciones y
+ * cambios hechos por los setters) a suscriptores asíncronos, sin que quien inserta espere
+ * a quien escucha.
+ *
+ * Los eventos se escriben en un anillo de celdas EventoCambio preasignadas (capacidad potencia
+ * de 2). Quien publica reserva la siguiente secuencia con una comparación atómica, llena la celda
+ * y la publica escribiendo su secuencia al final; no toma cerrojos ni crea objetos, por lo que el
+ * costo de publicar no depende de cuántos suscriptores haya ni de lo lentos que sean.
+ * Cada suscriptor tiene su propio hilo, que recorre el anillo a su ritmo y recibe los eventos
+ * en lotes de hasta tamanoLote. Una celda se reutiliza solo cuando todos los suscriptores la
+ * procesaron; si el anillo está lleno se aplica la política de saturación:
+ *   DESCARTAR: el evento se descarta y se cuenta (la inserción nunca espera; por defecto).
+ *   BLOQUEAR:  quien publica espera a que el suscriptor más lento libere una celda (no se pierde nada,
+ *              pero la inserción espera mientras tanto, con el cerrojo de su segmento tomado).
+ * Sin suscriptores no se publica nada.
+ *
+ * Uso:
+ * <pre>
+ *     BusCambios bus = BusCambios.crear();
+ *     bus.observar(empleados);
+ *     bus.suscribir("auditoria", lote -> { for (int i = 0; i < lote.tamano(); i++) ... lote.get(i) ... });
+ * </pre>
+ */
+public class BusCambios implements OyenteRegistro<Persona>, OyenteCambios, Closeable {
+
+    /**
+     * Qué hacer cuando el anillo está lleno porque un suscriptor no alcanza a procesar.
+     */
+    public enum PoliticaSaturacion {
+        /** Descartar el evento nuevo y contarlo; publicar nunca espera. */
+        DESCARTAR,
+        /** Esperar a que se libere una celda; no se pierden eventos. */
+        BLOQUEAR
+    }
+
+    /** Capacidad por defecto del anillo (eventos). */
+    public static final int CAPACIDAD = 1 << 14;
+
+    /** Tamaño máximo por defecto de un lote entregado a un suscriptor. */
+    public static final int TAMANO_LOTE = 256;
+
+    // Espera de un suscriptor sin eventos: empieza corta y se duplica hasta el máximo mientras no lleguen
+    private static final long ESPERA_MINIMA_NANOS = 50_000;
+    private static final long ESPERA_MAXIMA_NANOS = 10_000_000;
+
+    // Espera de quien publica con el anillo lleno (BLOQUEAR)
+    private static final long ESPERA_PUBLICACION_NANOS = 10_000;
+
+    // Tiempo máximo para que los suscriptores terminen de procesar al cerrar
+    private static final long ESPERA_CIERRE_MS = 5_000;
+
+    private static final Suscripcion[] SIN_SUSCRIPCIONES = new Suscripcion[0];
+
+    private final EventoCambio[] anillo;
+    private final int mascara;
+    private final int tamanoLote;
+    private final PoliticaSaturacion politica;
+
+    // Siguiente secuencia a reservar
+    private final AtomicLong cursor = new AtomicLong();
+
+    // Menor secuencia pendiente entre los suscriptores, recalculada solo cuando el anillo parece lleno
+    private volatile long minimoPendiente;
+
+    // Se reemplaza completo al suscribir o cancelar (se lee en cada publicación)
+    private volatile Suscripcion[] suscripciones = SIN_SUSCRIPCIONES;
+
+    private final LongAdder publicados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    private volatile boolean cerrado;
+
+    /**
+     * Constructor del bus.
+     *
+     * @param capacidad  eventos del anillo (se redondea a la potencia de 2 siguiente)
+     * @param tamanoLote máximo de eventos por entrega a un suscriptor
+     * @param politica   qué hacer con el anillo lleno
+     */
+    public BusCambios(int capacidad, int tamanoLote, PoliticaSaturacion politica) {
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.anillo = new EventoCambio[tamano];
+        for (int i = 0; i < tamano; i++) anillo[i] = new EventoCambio();
+        this.mascara = tamano - 1;
+        this.tamanoLote = Math.max(1, Math.min(tamanoLote, tamano));
+        this.politica = politica;
+    }
+
+    /**
+     * Bus con la capacidad y el lote por defecto, que descarta eventos si el anillo se llena.
+     *
+     * @return bus sin suscriptores
+     */
+    public static BusCambios crear() {
+        return new BusCambios(CAPACIDAD, TAMANO_LOTE, PoliticaSaturacion.DESCARTAR);
+    }
+
+    /**
+     * Publica los cambios de un registro: se registra como oyente y empieza a escuchar los
+     * setters de las personas que ya contiene (las nuevas se escuchan al agregarse, y las que
+     * siguen en un respaldo, al materializarse).
+     *
+     * @param registro registro a observar
+     */
+    public void observar(RegistroPersonas<? extends Persona> registro) {
+        registro.agregarOyente(this);
+        for (int i = 0; i < registro.getLimitePosiciones(); i++) {
+            if (registro.esPendiente(i)) continue;
+            Persona persona = registro.enPosicion(i);
+            if (persona != null) persona.setOyenteCambios(this);
+        }
+    }
+
+    /**
+     * Agrega un suscriptor, que recibirá los eventos publicados desde ahora en su propio hilo.
+     *
+     * @param nombre     nombre de la suscripción (y de su hilo)
+     * @param suscriptor quien procesa los lotes
+     * @return suscripción, para consultar su avance o cancelarla
+     */
+    public synchronized Suscripcion suscribir(String nombre, SuscriptorCambios suscriptor) {
+        if (cerrado) throw new IllegalStateException("El bus de cambios está cerrado");
+        Suscripcion suscripcion = new Suscripcion(nombre, suscriptor, cursor.get());
+        Suscripcion[] nuevas = Arrays.copyOf(suscripciones, suscripciones.length + 1);
+        nuevas[nuevas.length - 1] = suscripcion;
+        minimoPendiente = Math.min(minimoPendiente, suscripcion.siguiente);
+        suscripciones = nuevas;
+        suscripcion.hilo.start();
+        return suscripcion;
+    }
+
+    // Cambios del registro
+
+    @Override
+    public void alAgregar(int posicion, Persona persona) {
+        persona.setOyenteCambios(this);
+        long secuencia = reservar();
+        if (secuencia < 0) return;
+        EventoCambio evento = anillo[(int) secuencia & mascara];
+        try {
+            evento.iniciar(secuencia, EventoCambio.Tipo.CREADO, persona);
+            evento.cargarNuevos(persona);
+        } finally {
+            publicar(evento, secuencia);
+        }
+    }
+
+    // Una persona materializada desde un respaldo no es un cambio: solo se escuchan sus setters
+    @Override
+    public void alCargar(int posicion, Persona persona) {
+        persona.setOyenteCambios(this);
+    }
+
+    @Override
+    public void alActualizar(int posicion, Persona anterior, Persona nueva) {
+        if (anterior.getOyenteCambios() == this) anterior.setOyenteCambios(null);
+        nueva.setOyenteCambios(this);
+        long secuencia = reservar();
+        if (secuencia < 0) return;
+        EventoCambio evento = anillo[(int) secuencia & mascara];
+        try {
+            evento.iniciar(secuencia, EventoCambio.Tipo.ACTUALIZADO, nueva);
+            evento.cargarAnteriores(anterior);
+            evento.cargarNuevos(nueva);
+            evento.conservarDiferencias();
+        } finally {
+            publicar(evento, secuencia);
+        }
+    }
+
+    @Override
+    public void alEliminar(int posicion, Persona persona) {
+        if (persona.getOyenteCambios() == this) persona.setOyenteCambios(null);
+        long secuencia = reservar();
+        if (secuencia < 0) return;
+        EventoCambio evento = anillo[(int) secuencia & mascara];
+        try {
+            evento.iniciar(secuencia, EventoCambio.Tipo.ELIMINADO, persona);
+            evento.cargarAnteriores(persona);
+        } finally {
+            publicar(evento, secuencia);
+        }
+    }
+
+    // Cambios de los setters
+
+    @Override
+    public void alCambiarTexto(Persona persona, int campo, String anterior, String nuevo) {
+        long secuencia = reservar();
+        if (secuencia < 0) return;
+        EventoCambio evento = anillo[(int) secuencia & mascara];
+        try {
+            evento.iniciar(secuencia, EventoCambio.Tipo.ACTUALIZADO, persona);
+            evento.cargarTexto(campo, anterior, nuevo);
+        } finally {
+            publicar(evento, secuencia);
+        }
+    }
+
+    @Override
+    public void alCambiarMonto(Persona persona, int campo, long anterior, long nuevo) {
+        long secuencia = reservar();
+        if (secuencia < 0) return;
+        EventoCambio evento = anillo[(int) secuencia & mascara];
+        try {
+            evento.iniciar(secuencia, EventoCambio.Tipo.ACTUALIZADO, persona);
+            evento.cargarMonto(campo, anterior, nuevo);
+        } finally {
+            publicar(evento, secuencia);
+        }
+    }
+
+    /**
+     * Deja de aceptar eventos, espera a que los suscriptores procesen lo pendiente
+     * (hasta unos segundos) y detiene sus hilos.
+     */
+    @Override
+    public void close() {
+        Suscripcion[] actuales;
+        synchronized (this) {
+            if (cerrado) return;
+            cerrado = true;
+            actuales = suscripciones;
+        }
+        long limite = System.currentTimeMillis() + ESPERA_CIERRE_MS;
+        for (Suscripcion s : actuales) {
+            if (s.cancelada) continue; // ya no entrega lo pendiente: sale al terminar su lote
+            LockSupport.unpark(s.hilo);
+            try {
+                s.hilo.join(Math.max(1, limite - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Suscripcion s : actuales) s.cancelar();
+    }
+
+    public PoliticaSaturacion getPolitica() {
+        return politica;
+    }
+
+    public int getCapacidad() {
+        return anillo.length;
+    }
+
+    public int getTamanoLote() {
+        return tamanoLote;
+    }
+
+    /**
+     * @return eventos publicados a los suscriptores
+     */
+    public long getPublicados() {
+        return publicados.sum();
+    }
+
+    /**
+     * @return eventos descartados por tener el anillo lleno (política DESCARTAR)
+     */
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public Suscripcion[] getSuscripciones() {
+        return suscripciones.clone();
+    }
+
+    // Anillo
+
+    /**
+     * Reserva la siguiente celda del anillo.
+     *
+     * @return secuencia reservada, o -1 si no hay suscriptores, el bus está cerrado
+     *         o el anillo está lleno con la política DESCARTAR
+     */
+    private long reservar() {
+        if (suscripciones.length == 0 || cerrado) return -1;
+        while (true) {
+            long secuencia = cursor.get();
+            if (secuencia - anillo.length >= minimoPendiente) {
+                long minimo = minimoPendiente(secuencia);
+                minimoPendiente = minimo;
+                if (secuencia - anillo.length >= minimo) { // lleno
+                    if (politica == PoliticaSaturacion.DESCARTAR || cerrado) {
+                        descartados.increment();
+                        return -1;
+                    }
+                    LockSupport.parkNanos(ESPERA_PUBLICACION_NANOS);
+                    continue;
+                }
+            }
+            if (cursor.compareAndSet(secuencia, secuencia + 1)) return secuencia;
+        }
+    }
+
+    private synchronized void quitar(Suscripcion suscripcion) {
+        Suscripcion[] actuales = suscripciones;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] != suscripcion) continue;
+            Suscripcion[] nuevas = Arrays.copyOf(actuales, actuales.length - 1);
+            System.arraycopy(actuales, i + 1, nuevas, i, actuales.length - i - 1);
+            suscripciones = nuevas;
+            return;
+        }
+    }
+
+    private void publicar(EventoCambio evento, long secuencia) {
+        evento.publicada = secuencia; // escritura volatile: el suscriptor ve la celda completa
+        publicados.increment();
+    }
+
+    // Menor secuencia aún no procesada por algún suscriptor (o la actual, si no hay)
+    private long minimoPendiente(long actual) {
+        long minimo = actual;
+        for (Suscripcion s : suscripciones) minimo = Math.min(minimo, s.siguiente);
+        return minimo;
+    }
+
+    /**
+     * Clase Lote.
+     * Vista reutilizable de los eventos entregados a un suscriptor en una llamada.
+     */
+    public static final class Lote {
+
+        private final EventoCambio[] eventos;
+        private int tamano;
+
+        Lote(int capacidad) {
+            eventos = new EventoCambio[capacidad];
+        }
+
+        public int tamano() {
+            return tamano;
+        }
+
+        /**
+         * @param i índice en el lote, desde 0
+         * @return evento (válido solo durante alRecibir)
+         */
+        public EventoCambio get(int i) {
+            if (i >= tamano) throw new IndexOutOfBoundsException("Índice " + i + " fuera del lote de " + tamano);
+            return eventos[i];
+        }
+    }
+
+    /**
+     * Clase Suscripcion.
+     * Avance de un suscriptor en el anillo, con su hilo de entrega.
+     */
+    public final class Suscripcion {
+
+        private final String nombre;
+        private final SuscriptorCambios suscriptor;
+        private final Thread hilo;
+        private final Lote lote = new Lote(tamanoLote);
+        private final long inicio;
+
+        // Siguiente secuencia a entregar: las anteriores ya se procesaron y sus celdas se pueden reutilizar
+        private volatile long siguiente;
+        private volatile boolean cancelada;
+
+        private final LongAdder lotes = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+
+        private Suscripcion(String nombre, SuscriptorCambios suscriptor, long inicio) {
+            this.nombre = nombre;
+            this.suscriptor = suscriptor;
+            this.inicio = inicio;
+            this.siguiente = inicio;
+            this.hilo = new Thread(this::entregar, "bus-cambios-" + nombre);
+            hilo.setDaemon(true);
+        }
+
+        /**
+         * Deja de entregar eventos y libera las celdas que retenía.
+         * El lote en curso, si lo hay, termina de entregarse: la suscripción se quita del bus
+         * (y sus celdas quedan libres para quien publica) recién cuando su hilo sale, así
+         * ninguna celda se reescribe mientras alRecibir aún la lee.
+         */
+        public void cancelar() {
+            cancelada = true;
+            LockSupport.unpark(hilo);
+        }
+
+        // Hilo de entrega: al salir (cancelada o bus cerrado y vacío) se quita del bus
+        private void entregar() {
+            try {
+                entregarLotes();
+            } finally {
+                quitar(this);
+            }
+        }
+
+        // Bucle del hilo: entrega los eventos publicados en lotes consecutivos
+        private void entregarLotes() {
+            long espera = ESPERA_MINIMA_NANOS;
+            while (!cancelada) {
+                long desde = siguiente;
+                int cantidad = 0;
+                while (cantidad < tamanoLote) {
+                    EventoCambio evento = anillo[(int) (desde + cantidad) & mascara];
+                    if (evento.publicada != desde + cantidad) break;
+                    lote.eventos[cantidad++] = evento;
+                }
+                if (cantidad == 0) {
+                    if (cerrado && desde >= cursor.get()) break;
+                    LockSupport.parkNanos(espera);
+                    espera = Math.min(espera * 2, ESPERA_MAXIMA_NANOS);
+                    continue;
+                }
+                espera = ESPERA_MINIMA_NANOS;
+                lote.tamano = cantidad;
+                try {
+                    suscriptor.alRecibir(lote);
+                } catch (RuntimeException e) {
+                    errores.increment();
+                }
+                lotes.increment();
+                lote.tamano = 0;
+                Arrays.fill(lote.eventos, 0, cantidad, null);
+                siguiente = desde + cantidad; // libera las celdas para quien publica
+            }
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        /**
+         * @return eventos publicados que este suscriptor aún no procesa
+         */
+        public long getPendientes() {
+            return Math.max(0, cursor.get() - siguiente);
+        }
+
+        /**
+         * @return eventos procesados (incluye los de lotes que lanzaron excepción)
+         */
+        public long getProcesados() {
+            return siguiente - inicio;
+        }
+
+        public long getLotes() {
+            return lotes.sum();
+        }
+
+        /**
+         * @return lotes en que el suscriptor lanzó una excepción
+         */
+        public long getErrores() {
+            return errores.sum();
+        }
+
+        public boolean isCancelada() {
+            return cancelada;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.model.Rut;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase CodificadorPersonas.
+ * Convierte empleados y clientes a un formato binario compacto y viceversa.
+ * Es el formato usado por la bitácora y las instantáneas de persistencia.
+ *
+ * Cada registro tiene la forma: [int largo][byte tipo][datos], donde largo cuenta
+ * el tipo más los datos. Un largo 0 indica el fin de los registros escritos.
+ * Los textos se guardan como [int largo][bytes UTF-8] (largo -1 para null).
+ * Para leer un registro conviene pasar una vista limitada a su largo: un texto con un largo
+ * negativo o mayor que lo que queda se rechaza en vez de leer más allá del registro.
+ */
+public final class CodificadorPersonas {
+
+    /** Alta o reemplazo de un empleado con el sueldo en pesos (double); solo se lee, de bitácoras antiguas. */
+    public static final byte ALTA_EMPLEADO = 1;
+
+    /** Alta o reemplazo de un cliente. */
+    public static final byte ALTA_CLIENTE = 2;
+
+    /** Eliminación de un empleado (datos: RUT empaquetado). */
+    public static final byte BAJA_EMPLEADO = 3;
+
+    /** Eliminación de un cliente (datos: RUT empaquetado). */
+    public static final byte BAJA_CLIENTE = 4;
+
+    /** Alta o reemplazo de un empleado con el sueldo en centavos (long). */
+    public static final byte ALTA_EMPLEADO_CENTAVOS = 5;
+
+    /** Bytes del encabezado de cada registro (largo + tipo). */
+    public static final int ENCABEZADO = Integer.BYTES + 1;
+
+    private CodificadorPersonas() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Tamaño máximo en bytes que puede ocupar una persona codificada.
+     *
+     * @param persona persona a codificar
+     * @return cota superior del tamaño del registro completo
+     */
+    public static int tamanoMaximo(Persona persona) {
+        int tamano = ENCABEZADO + Long.BYTES + 1 + Long.BYTES;
+        tamano += maximo(persona.getNombre()) + maximo(persona.getApellido()) + maximo(persona.getCorreo());
+        Direccion d = persona.getDireccion();
+        if (d != null) {
+            tamano += maximo(d.getCalle()) + maximo(d.getComuna()) + maximo(d.getRegion());
+        }
+        if (persona instanceof Empleado) {
+            tamano += maximo(((Empleado) persona).getCargo());
+        } else if (persona instanceof Cliente) {
+            tamano += maximo(((Cliente) persona).getTelefono());
+        }
+        return tamano;
+    }
+
+    /**
+     * Escribe el alta de un empleado o cliente en la posición actual del buffer.
+     *
+     * @param persona empleado o cliente
+     * @param buffer  buffer de destino (debe tener al menos tamanoMaximo() bytes libres)
+     */
+    public static void escribirAlta(Persona persona, ByteBuffer buffer) {
+        int inicio = buffer.position();
+        buffer.position(inicio + Integer.BYTES); // el largo se escribe al final
+        buffer.put(persona instanceof Empleado ? ALTA_EMPLEADO_CENTAVOS : ALTA_CLIENTE);
+        buffer.putLong(persona.getRut().getValor());
+        escribirTexto(buffer, persona.getNombre());
+        escribirTexto(buffer, persona.getApellido());
+        escribirTexto(buffer, persona.getCorreo());
+        Direccion d = persona.getDireccion();
+        buffer.put((byte) (d == null ? 0 : 1));
+        if (d != null) {
+            escribirTexto(buffer, d.getCalle());
+            escribirTexto(buffer, d.getComuna());
+            escribirTexto(buffer, d.getRegion());
+        }
+        if (persona instanceof Empleado) {
+            Empleado e = (Empleado) persona;
+            escribirTexto(buffer, e.getCargo());
+            buffer.putLong(e.getSueldoCentavos());
+        } else {
+            escribirTexto(buffer, ((Cliente) persona).getTelefono());
+        }
+        // Escribir el largo al final evita que un registro incompleto parezca válido
+        buffer.putInt(inicio, buffer.position() - inicio - Integer.BYTES);
+    }
+
+    /**
+     * Escribe la eliminación de una persona en la posición actual del buffer.
+     *
+     * @param persona persona eliminada
+     * @param buffer  buffer de destino
+     */
+    public static void escribirBaja(Persona persona, ByteBuffer buffer) {
+        buffer.putInt(1 + Long.BYTES);
+        buffer.put(persona instanceof Empleado ? BAJA_EMPLEADO : BAJA_CLIENTE);
+        buffer.putLong(persona.getRut().getValor());
+    }
+
+    /**
+     * Lee los datos de un alta (la posición debe estar justo después del byte de tipo).
+     *
+     * @param tipo   ALTA_EMPLEADO_CENTAVOS, ALTA_EMPLEADO o ALTA_CLIENTE
+     * @param buffer buffer de origen, idealmente limitado al registro
+     * @return empleado o cliente decodificado
+     * @throws IllegalArgumentException si un texto tiene un largo imposible
+     * @throws java.nio.BufferUnderflowException si el registro es más corto que sus campos
+     */
+    public static Persona leerAlta(byte tipo, ByteBuffer buffer) {
+        Rut rut = Rut.desdeValor(buffer.getLong());
+        String nombre = leerTexto(buffer);
+        String apellido = leerTexto(buffer);
+        String correo = leerTexto(buffer);
+        Direccion direccion = null;
+        if (buffer.get() == 1) {
+            direccion = new Direccion(leerTexto(buffer), leerTexto(buffer), leerTexto(buffer));
+        }
+        if (tipo == ALTA_EMPLEADO_CENTAVOS) {
+            String cargo = leerTexto(buffer);
+            return Empleado.desdeCentavos(nombre, apellido, rut, direccion, correo, cargo, buffer.getLong());
+        }
+        if (tipo == ALTA_EMPLEADO) {
+            String cargo = leerTexto(buffer);
+            return Empleado.desdeCentavos(nombre, apellido, rut, direccion, correo, cargo, centavosAntiguos(buffer.getDouble()));
+        }
+        return new Cliente(nombre, apellido, rut, direccion, correo, leerTexto(buffer));
+    }
+
+    // Sueldo en pesos de los registros antiguos; uno no representable queda en 0 (no pasa la validación)
+    private static long centavosAntiguos(double pesos) {
+        try {
+            return Dinero.dePesos(pesos);
+        } catch (ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    private static int maximo(String texto) {
+        return Integer.BYTES + (texto == null ? 0 : texto.length() * 3); // UTF-8 usa hasta 3 bytes por char
+    }
+
+    private static void escribirTexto(ByteBuffer buffer, String texto) {
+        if (texto == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int largo = buffer.getInt();
+        if (largo == -1) return null;
+        if (largo < 0 || largo > buffer.remaining()) {
+            throw new IllegalArgumentException("Largo de texto inválido: " + largo);
+        }
+        byte[] bytes = new byte[largo];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,238 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Campos;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.model.Rut;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Clase EventoCambio.
+ * Cambio de una persona publicado por BusCambios: alta, actualización o eliminación,
+ * con los valores anteriores y nuevos de los campos afectados.
+ *
+ * Los eventos son las celdas preasignadas del anillo del bus y se reutilizan: un suscriptor
+ * puede leerlos solo mientras procesa su lote y debe copiar lo que necesite conservar.
+ * Los textos se guardan por referencia (las cadenas son inmutables) y el sueldo en centavos,
+ * por lo que publicar un evento no crea objetos.
+ */
+public final class EventoCambio {
+
+    /**
+     * Tipo de cambio.
+     */
+    public enum Tipo {
+        /** Se agregó la persona a un registro (solo hay valores nuevos). */
+        CREADO,
+        /** Se reemplazó la persona en su registro o un setter cambió un campo. */
+        ACTUALIZADO,
+        /** Se eliminó la persona de su registro (solo hay valores anteriores). */
+        ELIMINADO
+    }
+
+    // Campos comunes a todas las personas
+    private static final int CAMPOS_PERSONA = Campos.bit(Campos.NOMBRE) | Campos.bit(Campos.APELLIDO)
+            | Campos.bit(Campos.RUT) | Campos.bit(Campos.CALLE) | Campos.bit(Campos.COMUNA)
+            | Campos.bit(Campos.REGION) | Campos.bit(Campos.CORREO);
+
+    // Secuencia con que se publicó la celda; el bus la escribe al final, después de los datos
+    volatile long publicada = -1;
+
+    private long secuencia;
+    private Tipo tipo;
+    private long instante;
+    private long claveRut;
+    private Class<? extends Persona> clase;
+    private int campos;
+    private final String[] anteriores = new String[Campos.CANTIDAD];
+    private final String[] nuevos = new String[Campos.CANTIDAD];
+    private long sueldoAnterior;
+    private long sueldoNuevo;
+
+    EventoCambio() {
+    }
+
+    // Carga del evento (solo el bus, antes de publicar la celda)
+
+    void iniciar(long secuencia, Tipo tipo, Persona persona) {
+        this.secuencia = secuencia;
+        this.tipo = tipo;
+        this.instante = System.currentTimeMillis();
+        this.claveRut = persona.getRut() == null ? Rut.INVALIDO : persona.getRut().getValor();
+        this.clase = persona.getClass();
+        this.campos = 0;
+        this.sueldoAnterior = 0;
+        this.sueldoNuevo = 0;
+        Arrays.fill(anteriores, null);
+        Arrays.fill(nuevos, null);
+    }
+
+    void cargarAnteriores(Persona persona) {
+        campos |= copiar(persona, anteriores);
+        if (persona instanceof Empleado) sueldoAnterior = ((Empleado) persona).getSueldoCentavos();
+    }
+
+    void cargarNuevos(Persona persona) {
+        campos |= copiar(persona, nuevos);
+        if (persona instanceof Empleado) sueldoNuevo = ((Empleado) persona).getSueldoCentavos();
+    }
+
+    // Después de cargar ambas versiones, deja marcados solo los campos que difieren
+    void conservarDiferencias() {
+        int distintos = 0;
+        for (int campo = 0; campo < Campos.CANTIDAD; campo++) {
+            if ((campos & Campos.bit(campo)) == 0) continue;
+            boolean igual = campo == Campos.SUELDO ? sueldoAnterior == sueldoNuevo
+                                                   : Objects.equals(anteriores[campo], nuevos[campo]);
+            if (!igual) distintos |= Campos.bit(campo);
+        }
+        campos = distintos;
+    }
+
+    void cargarTexto(int campo, String anterior, String nuevo) {
+        campos |= Campos.bit(campo);
+        anteriores[campo] = anterior;
+        nuevos[campo] = nuevo;
+    }
+
+    void cargarMonto(int campo, long anterior, long nuevo) {
+        campos |= Campos.bit(campo);
+        sueldoAnterior = anterior;
+        sueldoNuevo = nuevo;
+    }
+
+    private static int copiar(Persona persona, String[] destino) {
+        destino[Campos.NOMBRE] = persona.getNombre();
+        destino[Campos.APELLIDO] = persona.getApellido();
+        destino[Campos.RUT] = persona.getRut() == null ? null : persona.getRut().getNumero();
+        Direccion d = persona.getDireccion();
+        if (d != null) {
+            destino[Campos.CALLE] = d.getCalle();
+            destino[Campos.COMUNA] = d.getComuna();
+            destino[Campos.REGION] = d.getRegion();
+        }
+        destino[Campos.CORREO] = persona.getCorreo();
+        if (persona instanceof Empleado) {
+            destino[Campos.CARGO] = ((Empleado) persona).getCargo();
+            return CAMPOS_PERSONA | Campos.bit(Campos.CARGO) | Campos.bit(Campos.SUELDO);
+        }
+        if (persona instanceof Cliente) {
+            destino[Campos.TELEFONO] = ((Cliente) persona).getTelefono();
+            return CAMPOS_PERSONA | Campos.bit(Campos.TELEFONO);
+        }
+        return CAMPOS_PERSONA;
+    }
+
+    // Consultas del suscriptor
+
+    /**
+     * @return número de orden del evento en el bus (consecutivo, desde 0)
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * @return momento del cambio, en milisegundos desde 1970 (System.currentTimeMillis)
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    /**
+     * @return valor empaquetado del RUT de la persona (ver Rut.getValor), el de después del cambio
+     */
+    public long getClaveRut() {
+        return claveRut;
+    }
+
+    public Rut getRut() {
+        return Rut.desdeValor(claveRut);
+    }
+
+    /**
+     * @return clase de la persona (Empleado o Cliente)
+     */
+    public Class<? extends Persona> getClase() {
+        return clase;
+    }
+
+    /**
+     * @return máscara de los campos informados (ver Campos.bit): todos en un alta o eliminación,
+     *         solo los que cambiaron en una actualización
+     */
+    public int getCampos() {
+        return campos;
+    }
+
+    /**
+     * @param campo número del campo (ver Campos)
+     * @return true si el evento informa ese campo
+     */
+    public boolean incluye(int campo) {
+        return (campos & Campos.bit(campo)) != 0;
+    }
+
+    /**
+     * Valor de un campo de texto antes del cambio (el RUT se informa como texto).
+     * El sueldo se consulta con getSueldoAnterior().
+     *
+     * @param campo número del campo (ver Campos)
+     * @return valor anterior, o null si no lo había o el evento no informa el campo
+     */
+    public String getAnterior(int campo) {
+        return anteriores[campo];
+    }
+
+    /**
+     * Valor de un campo de texto después del cambio.
+     *
+     * @param campo número del campo (ver Campos)
+     * @return valor nuevo, o null si no lo hay o el evento no informa el campo
+     */
+    public String getNuevo(int campo) {
+        return nuevos[campo];
+    }
+
+    public long getSueldoAnterior() {
+        return sueldoAnterior;
+    }
+
+    public long getSueldoNuevo() {
+        return sueldoNuevo;
+    }
+
+    /**
+     * Representación del evento, ej: "#12 ACTUALIZADO Empleado 12345678-5: sueldo $500.000 -> $650.000".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append('#').append(secuencia).append(' ').append(tipo).append(' ')
+          .append(clase == null ? "?" : clase.getSimpleName()).append(' ').append(getRut()).append(':');
+        for (int campo = 0; campo < Campos.CANTIDAD; campo++) {
+            if (!incluye(campo)) continue;
+            sb.append(' ').append(Campos.nombre(campo)).append(' ');
+            if (campo == Campos.SUELDO) {
+                if (tipo != Tipo.CREADO) Dinero.escribirEn(sb, sueldoAnterior);
+                if (tipo == Tipo.ACTUALIZADO) sb.append(" -> ");
+                if (tipo != Tipo.ELIMINADO) Dinero.escribirEn(sb, sueldoNuevo);
+            } else {
+                if (tipo != Tipo.CREADO) sb.append(anteriores[campo]);
+                if (tipo == Tipo.ACTUALIZADO) sb.append(" -> ");
+                if (tipo != Tipo.ELIMINADO) sb.append(nuevos[campo]);
+            }
+            sb.append(',');
+        }
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,537 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.model.Rut;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Clase ExportadorPersonas.
+ * Extracción completa de un registro de empleados o clientes a un archivo CSV o JSON Lines,
+ * opcionalmente comprimido con gzip.
+ *
+ * Cada persona se codifica directamente en UTF-8 sobre un arreglo de bytes reutilizable que,
+ * al llenarse, se copia de una vez a un ByteBuffer directo y se escribe con un FileChannel;
+ * no se arman cadenas por registro ni por archivo, así que la memoria usada no depende de la
+ * cantidad de registros. Con gzip, el buffer directo se comprime con un Deflater hacia un
+ * segundo buffer directo.
+ * El archivo se escribe primero con extensión .tmp y luego reemplaza al destino, por lo que
+ * quien lo lea nunca ve una extracción a medias.
+ *
+ * Formatos:
+ *   CSV:   el de FormatoArchivo (separador ';', con encabezado), que se puede volver a importar.
+ *          Los campos que contienen ';', comillas o saltos de línea van entre comillas dobles.
+ *          El sueldo va en pesos con punto decimal (ej: 750000.50).
+ *   JSONL: un objeto por línea, ej:
+ *          {"tipo":"EMPLEADO","rut":"12345678-5","nombre":"ANA",...,"sueldoCentavos":75000050}
+ *
+ * Una instancia no es segura para varios hilos a la vez; exportar() se sincroniza.
+ */
+public class ExportadorPersonas implements Closeable {
+
+    /**
+     * Formato de la extracción.
+     */
+    public enum Formato {
+        CSV(".csv"),
+        JSONL(".jsonl");
+
+        private final String extension;
+
+        Formato(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /** Tamaño por defecto del buffer de codificación (256 KB). */
+    public static final int TAMANO_BUFFER = 1 << 18;
+
+    // Tamaño mínimo del buffer: debe caber cualquier fragmento fijo y un carácter escapado
+    private static final int TAMANO_MINIMO = 1 << 10;
+
+    // Bytes que puede ocupar un carácter: 6 si es un control escapado en JSON, 4 si es un par sustituto
+    private static final int MAXIMO_POR_CARACTER = 6;
+
+    // Prioriza la velocidad: la extracción no debe quedar limitada por la compresión
+    private static final int NIVEL_COMPRESION = Deflater.BEST_SPEED;
+
+    // Encabezado gzip: mágico, método deflate, sin opciones, sin fecha, sin indicaciones, SO desconocido
+    private static final byte[] ENCABEZADO_GZIP = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final byte[] SIN_DATOS = new byte[0];
+
+    private static final byte[] HEXADECIMAL = ascii("0123456789abcdef");
+
+    // Fragmentos fijos del formato JSON Lines
+    private static final byte[] JSON_EMPLEADO = ascii("{\"tipo\":\"EMPLEADO\",\"rut\":");
+    private static final byte[] JSON_CLIENTE = ascii("{\"tipo\":\"CLIENTE\",\"rut\":");
+    private static final byte[] JSON_NOMBRE = ascii(",\"nombre\":");
+    private static final byte[] JSON_APELLIDO = ascii(",\"apellido\":");
+    private static final byte[] JSON_CORREO = ascii(",\"correo\":");
+    private static final byte[] JSON_CALLE = ascii(",\"direccion\":{\"calle\":");
+    private static final byte[] JSON_COMUNA = ascii(",\"comuna\":");
+    private static final byte[] JSON_REGION = ascii(",\"region\":");
+    private static final byte[] JSON_SIN_DIRECCION = ascii(",\"direccion\":null");
+    private static final byte[] JSON_CARGO = ascii(",\"cargo\":");
+    private static final byte[] JSON_SUELDO = ascii(",\"sueldoCentavos\":");
+    private static final byte[] JSON_TELEFONO = ascii(",\"telefono\":");
+    private static final byte[] JSON_NULL = ascii("null");
+
+    private final Formato formato;
+    private final boolean comprimir;
+
+    // Bytes codificados pendientes: se escriben por índice, que es mucho más barato que un put()
+    // por byte sobre un buffer directo, y se copian de una vez al buffer directo al vaciar
+    private final byte[] codificados;
+    private int usados;
+
+    // Buffer directo de escritura y, con gzip, buffer de salida comprimida
+    private final ByteBuffer datos;
+    private final ByteBuffer comprimidos;
+    private final Deflater deflater;
+    private final CRC32 crc;
+
+    // Dígitos de un número, escritos de derecha a izquierda
+    private final byte[] digitos = new byte[20];
+
+    // Estado de la exportación en curso
+    private FileChannel canal;
+    private long bytesSinComprimir;
+
+    /**
+     * Exportador con el buffer por defecto.
+     *
+     * @param formato   formato de la extracción
+     * @param comprimir true para comprimir con gzip
+     */
+    public ExportadorPersonas(Formato formato, boolean comprimir) {
+        this(formato, comprimir, TAMANO_BUFFER);
+    }
+
+    /**
+     * Constructor del exportador.
+     *
+     * @param formato      formato de la extracción
+     * @param comprimir    true para comprimir con gzip
+     * @param tamanoBuffer bytes del buffer de codificación (mínimo 1 KB)
+     */
+    public ExportadorPersonas(Formato formato, boolean comprimir, int tamanoBuffer) {
+        this.formato = formato;
+        this.comprimir = comprimir;
+        this.codificados = new byte[Math.max(TAMANO_MINIMO, tamanoBuffer)];
+        this.datos = ByteBuffer.allocateDirect(codificados.length);
+        if (comprimir) {
+            comprimidos = ByteBuffer.allocateDirect(datos.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+            deflater = new Deflater(NIVEL_COMPRESION, true); // deflate sin envoltura: el formato gzip se escribe aquí
+            crc = new CRC32();
+        } else {
+            comprimidos = null;
+            deflater = null;
+            crc = null;
+        }
+    }
+
+    /**
+     * Exporta todas las personas de un registro, en el orden de sus posiciones.
+     * En CSV, el encabezado corresponde al tipo de la primera persona; un registro vacío
+     * produce un archivo vacío.
+     *
+     * @param registro registro de empleados o clientes
+     * @param archivo  archivo de destino (se reemplaza si existe)
+     * @return resumen de la exportación
+     * @throws IOException si no se puede escribir el archivo (el destino queda como estaba)
+     */
+    public synchronized Resultado exportar(RegistroPersonas<? extends Persona> registro, Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        long registros = 0;
+        long bytesEnDisco;
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            iniciar(salida);
+            for (int i = 0; i < registro.getLimitePosiciones(); i++) {
+                Persona persona = registro.enPosicion(i);
+                if (persona == null) continue;
+                if (registros++ == 0 && formato == Formato.CSV) {
+                    escribirTexto(persona instanceof Empleado
+                            ? FormatoArchivo.ENCABEZADO_EMPLEADO : FormatoArchivo.ENCABEZADO_CLIENTE, false);
+                    escribirByte('\n');
+                }
+                if (formato == Formato.CSV) {
+                    escribirCsv(persona);
+                } else {
+                    escribirJson(persona);
+                }
+            }
+            terminar();
+            salida.force(false);
+            bytesEnDisco = salida.position();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        } finally {
+            canal = null;
+            usados = 0;
+            datos.clear();
+            if (comprimir) {
+                comprimidos.clear();
+                deflater.reset();
+                crc.reset();
+            }
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Resultado(registros, bytesSinComprimir, bytesEnDisco, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Libera la memoria nativa del compresor. El exportador no se puede usar después.
+     */
+    @Override
+    public synchronized void close() {
+        if (deflater != null) deflater.end();
+    }
+
+    public Formato getFormato() {
+        return formato;
+    }
+
+    public boolean isComprimir() {
+        return comprimir;
+    }
+
+    // Registros
+
+    private void escribirCsv(Persona persona) throws IOException {
+        escribirCampoCsv(persona.getNombre());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        escribirCampoCsv(persona.getApellido());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        escribirRut(persona.getRut());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        Direccion d = persona.getDireccion();
+        escribirCampoCsv(d == null ? null : d.getCalle());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        escribirCampoCsv(d == null ? null : d.getComuna());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        escribirCampoCsv(d == null ? null : d.getRegion());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        escribirCampoCsv(persona.getCorreo());
+        escribirByte(FormatoArchivo.SEPARADOR);
+        if (persona instanceof Empleado) {
+            Empleado e = (Empleado) persona;
+            escribirCampoCsv(e.getCargo());
+            escribirByte(FormatoArchivo.SEPARADOR);
+            escribirMonto(e.getSueldoCentavos());
+        } else {
+            escribirCampoCsv(((Cliente) persona).getTelefono());
+        }
+        escribirByte('\n');
+    }
+
+    private void escribirJson(Persona persona) throws IOException {
+        boolean esEmpleado = persona instanceof Empleado;
+        escribir(esEmpleado ? JSON_EMPLEADO : JSON_CLIENTE);
+        escribirByte('"');
+        escribirRut(persona.getRut());
+        escribirByte('"');
+        escribir(JSON_NOMBRE);
+        escribirCadenaJson(persona.getNombre());
+        escribir(JSON_APELLIDO);
+        escribirCadenaJson(persona.getApellido());
+        escribir(JSON_CORREO);
+        escribirCadenaJson(persona.getCorreo());
+        Direccion d = persona.getDireccion();
+        if (d == null) {
+            escribir(JSON_SIN_DIRECCION);
+        } else {
+            escribir(JSON_CALLE);
+            escribirCadenaJson(d.getCalle());
+            escribir(JSON_COMUNA);
+            escribirCadenaJson(d.getComuna());
+            escribir(JSON_REGION);
+            escribirCadenaJson(d.getRegion());
+            escribirByte('}');
+        }
+        if (esEmpleado) {
+            Empleado e = (Empleado) persona;
+            escribir(JSON_CARGO);
+            escribirCadenaJson(e.getCargo());
+            escribir(JSON_SUELDO);
+            escribirEntero(e.getSueldoCentavos());
+        } else {
+            escribir(JSON_TELEFONO);
+            escribirCadenaJson(((Cliente) persona).getTelefono());
+        }
+        escribirByte('}');
+        escribirByte('\n');
+    }
+
+    // Campos
+
+    // RUT normalizado sin crear su texto; uno inválido se escribe como se ingresó
+    private void escribirRut(Rut rut) throws IOException {
+        if (rut == null) return;
+        if (rut.getValor() == Rut.INVALIDO) {
+            if (formato == Formato.JSONL) {
+                escribirTexto(rut.getNumero(), true);
+            } else {
+                escribirCampoCsv(rut.getNumero());
+            }
+            return;
+        }
+        escribirEntero(rut.getCuerpo());
+        escribirByte('-');
+        escribirByte(rut.getDigitoVerificador());
+    }
+
+    private void escribirCampoCsv(String texto) throws IOException {
+        if (texto == null) return;
+        boolean comillas = false;
+        for (int i = 0; i < texto.length() && !comillas; i++) {
+            char c = texto.charAt(i);
+            comillas = c == FormatoArchivo.SEPARADOR || c == '"' || c == '\n' || c == '\r';
+        }
+        if (comillas) escribirByte('"');
+        escribirTexto(texto, false);
+        if (comillas) escribirByte('"');
+    }
+
+    private void escribirCadenaJson(String texto) throws IOException {
+        if (texto == null) {
+            escribir(JSON_NULL);
+            return;
+        }
+        escribirByte('"');
+        escribirTexto(texto, true);
+        escribirByte('"');
+    }
+
+    // Sueldo en pesos con punto decimal, sin separador de miles (lo lee Dinero.parsear)
+    private void escribirMonto(long centavos) throws IOException {
+        if (centavos < 0) escribirByte('-');
+        long negativo = centavos < 0 ? centavos : -centavos; // negativo para incluir Long.MIN_VALUE
+        escribirNegado(negativo / Dinero.CENTAVOS_POR_PESO);
+        int resto = (int) -(negativo % Dinero.CENTAVOS_POR_PESO);
+        if (resto != 0) {
+            asegurar(3);
+            codificados[usados++] = '.';
+            codificados[usados++] = (byte) ('0' + resto / 10);
+            codificados[usados++] = (byte) ('0' + resto % 10);
+        }
+    }
+
+    private void escribirEntero(long valor) throws IOException {
+        if (valor < 0) {
+            escribirByte('-');
+            escribirNegado(valor);
+        } else {
+            escribirNegado(-valor);
+        }
+    }
+
+    // Escribe el valor absoluto de un número no positivo
+    private void escribirNegado(long negativo) throws IOException {
+        int i = digitos.length;
+        do {
+            digitos[--i] = (byte) ('0' - negativo % 10);
+            negativo /= 10;
+        } while (negativo != 0);
+        asegurar(digitos.length - i);
+        System.arraycopy(digitos, i, codificados, usados, digitos.length - i);
+        usados += digitos.length - i;
+    }
+
+    /**
+     * Codifica un texto en UTF-8 sobre el buffer.
+     * En JSON escapa comillas, barras invertidas y caracteres de control; en CSV duplica las comillas.
+     */
+    private void escribirTexto(String texto, boolean json) throws IOException {
+        byte[] b = codificados;
+        for (int i = 0; i < texto.length(); i++) {
+            if (b.length - usados < MAXIMO_POR_CARACTER) vaciar();
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                if (json && (c == '"' || c == '\\')) {
+                    b[usados++] = '\\';
+                    b[usados++] = (byte) c;
+                } else if (json && c < 0x20) {
+                    escaparControl(c);
+                } else if (!json && c == '"') {
+                    b[usados++] = '"';
+                    b[usados++] = '"';
+                } else {
+                    b[usados++] = (byte) c;
+                }
+            } else if (c < 0x800) {
+                b[usados++] = (byte) (0xC0 | c >> 6);
+                b[usados++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, texto.charAt(++i));
+                b[usados++] = (byte) (0xF0 | cp >> 18);
+                b[usados++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[usados++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[usados++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                b[usados++] = '?'; // sustituto sin pareja: no es representable en UTF-8
+            } else {
+                b[usados++] = (byte) (0xE0 | c >> 12);
+                b[usados++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[usados++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    private void escaparControl(char c) {
+        codificados[usados++] = '\\';
+        switch (c) {
+            case '\n' -> codificados[usados++] = 'n';
+            case '\r' -> codificados[usados++] = 'r';
+            case '\t' -> codificados[usados++] = 't';
+            default -> {
+                codificados[usados++] = 'u';
+                codificados[usados++] = '0';
+                codificados[usados++] = '0';
+                codificados[usados++] = HEXADECIMAL[c >> 4];
+                codificados[usados++] = HEXADECIMAL[c & 0xF];
+            }
+        }
+    }
+
+    // Buffer y canal
+
+    private void escribir(byte[] fragmento) throws IOException {
+        asegurar(fragmento.length);
+        System.arraycopy(fragmento, 0, codificados, usados, fragmento.length);
+        usados += fragmento.length;
+    }
+
+    private void escribirByte(char c) throws IOException {
+        if (usados == codificados.length) vaciar();
+        codificados[usados++] = (byte) c;
+    }
+
+    private void asegurar(int bytes) throws IOException {
+        if (codificados.length - usados < bytes) vaciar();
+    }
+
+    private void iniciar(FileChannel salida) throws IOException {
+        canal = salida;
+        bytesSinComprimir = 0;
+        if (comprimir) {
+            comprimidos.put(ENCABEZADO_GZIP);
+        }
+    }
+
+    // Entrega al canal lo codificado hasta ahora (comprimiéndolo si corresponde) y deja el buffer vacío
+    private void vaciar() throws IOException {
+        datos.put(codificados, 0, usados).flip();
+        bytesSinComprimir += usados;
+        usados = 0;
+        if (comprimir) {
+            int inicio = datos.position();
+            crc.update(datos);
+            datos.position(inicio);
+            deflater.setInput(datos);
+            while (!deflater.needsInput()) {
+                deflater.deflate(comprimidos);
+                if (!comprimidos.hasRemaining()) escribirComprimidos();
+            }
+            deflater.setInput(SIN_DATOS); // al limpiar el buffer, el deflater lo volvería a ver con datos
+        } else {
+            while (datos.hasRemaining()) canal.write(datos);
+        }
+        datos.clear();
+    }
+
+    // Vacía lo pendiente y, con gzip, cierra el flujo deflate y agrega CRC-32 y tamaño original
+    private void terminar() throws IOException {
+        vaciar();
+        if (!comprimir) return;
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflater.deflate(comprimidos);
+            if (!comprimidos.hasRemaining()) escribirComprimidos();
+        }
+        if (comprimidos.remaining() < 2 * Integer.BYTES) escribirComprimidos();
+        comprimidos.putInt((int) crc.getValue());
+        comprimidos.putInt((int) bytesSinComprimir); // módulo 2^32, como exige gzip
+        escribirComprimidos();
+    }
+
+    private void escribirComprimidos() throws IOException {
+        comprimidos.flip();
+        while (comprimidos.hasRemaining()) canal.write(comprimidos);
+        comprimidos.clear();
+    }
+
+    private static byte[] ascii(String texto) {
+        return texto.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Clase Resultado.
+     * Resume una exportación: registros, bytes generados y tiempo.
+     */
+    public static final class Resultado {
+
+        private final long registros;
+        private final long bytesSinComprimir;
+        private final long bytesEnDisco;
+        private final long nanos;
+
+        Resultado(long registros, long bytesSinComprimir, long bytesEnDisco, long nanos) {
+            this.registros = registros;
+            this.bytesSinComprimir = bytesSinComprimir;
+            this.bytesEnDisco = bytesEnDisco;
+            this.nanos = nanos;
+        }
+
+        public long getRegistros() {
+            return registros;
+        }
+
+        public long getBytesSinComprimir() {
+            return bytesSinComprimir;
+        }
+
+        public long getBytesEnDisco() {
+            return bytesEnDisco;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return megabytes sin comprimir generados por segundo
+         */
+        public double getMegabytesPorSegundo() {
+            return nanos <= 0 ? 0 : bytesSinComprimir * 1e3 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d registros, %,d bytes (%,d en disco) en %.1f ms, %.0f MB/s",
+                    registros, bytesSinComprimir, bytesEnDisco, nanos / 1e6, getMegabytesPorSegundo());
+        }
+    }
+}
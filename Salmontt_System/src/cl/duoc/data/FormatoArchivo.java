@@ -0,0 +1,197 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Rut;
+
+/**
+ * Clase FormatoArchivo.
+ * Define el formato de texto de los archivos de empleados y clientes
+ * y convierte cada línea en el objeto del modelo correspondiente.
+ *
+ * Los campos se separan con ';' (las direcciones pueden contener comas):
+ *   Empleado: nombre;apellido;rut;calle;comuna;region;correo;cargo;sueldo
+ *   Cliente:  nombre;apellido;rut;calle;comuna;region;correo;telefono
+ *
+ * Un campo puede ir entre comillas dobles (RFC 4180), como los escribe ExportadorPersonas cuando
+ * contiene ';', comillas o saltos de línea: dentro de él, "" es una comilla y el separador y los
+ * saltos de línea son texto. Un registro con saltos de línea dentro de un campo ocupa varias
+ * líneas del archivo (ver tieneComillaAbierta); esos saltos se leen siempre como '\n'.
+ * Una comilla que no está al inicio del campo es texto común.
+ *
+ * Los textos se normalizan a mayúsculas igual que en el ingreso por consola.
+ */
+public final class FormatoArchivo {
+
+    /** Separador de campos. */
+    public static final char SEPARADOR = ';';
+
+    /** Cantidad de campos de una línea de empleado. */
+    public static final int CAMPOS_EMPLEADO = 9;
+
+    /** Cantidad de campos de una línea de cliente. */
+    public static final int CAMPOS_CLIENTE = 8;
+
+    /** Encabezado de un archivo de empleados (esIgnorable() lo omite al importar). */
+    public static final String ENCABEZADO_EMPLEADO = "nombre;apellido;rut;calle;comuna;region;correo;cargo;sueldo";
+
+    /** Encabezado de un archivo de clientes (esIgnorable() lo omite al importar). */
+    public static final String ENCABEZADO_CLIENTE = "nombre;apellido;rut;calle;comuna;region;correo;telefono";
+
+    private FormatoArchivo() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Indica si la línea debe ignorarse: vacía, comentario (#) o encabezado.
+     *
+     * @param linea línea leída
+     * @return true si no contiene datos
+     */
+    public static boolean esIgnorable(String linea) {
+        return linea.isBlank()
+            || linea.charAt(0) == '#'
+            || linea.regionMatches(true, 0, "nombre" + SEPARADOR, 0, 7);
+    }
+
+    /**
+     * Indica si el texto termina dentro de un campo entre comillas, es decir, si el registro
+     * sigue en la línea siguiente.
+     *
+     * @param texto línea, o líneas ya unidas con '\n'
+     * @return true si quedó una comilla de apertura sin cerrar
+     */
+    public static boolean tieneComillaAbierta(String texto) {
+        if (texto.indexOf('"') < 0) return false;
+        boolean inicioCampo = true;
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c != '"') continue;
+                if (i + 1 < texto.length() && texto.charAt(i + 1) == '"') i++; // comilla escapada
+                else entreComillas = false;
+            } else if (c == SEPARADOR) {
+                inicioCampo = true;
+            } else if (inicioCampo && c == '"') {
+                entreComillas = true;
+                inicioCampo = false;
+            } else if (!Character.isWhitespace(c)) {
+                inicioCampo = false;
+            }
+        }
+        return entreComillas;
+    }
+
+    /**
+     * Separa una línea en exactamente la cantidad de campos esperada.
+     *
+     * @param linea   línea a separar
+     * @param cantidad cantidad de campos esperada
+     * @return campos sin espacios al inicio ni al final (los entre comillas, tal cual),
+     *         o null si la cantidad no coincide o hay comillas mal cerradas
+     */
+    public static String[] separar(String linea, int cantidad) {
+        if (linea.indexOf('"') >= 0) return separarConComillas(linea, cantidad);
+        String[] campos = new String[cantidad];
+        int inicio = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int fin = linea.indexOf(SEPARADOR, inicio);
+            if (i == cantidad - 1) {
+                if (fin >= 0) return null; // sobran campos
+                fin = linea.length();
+            } else if (fin < 0) {
+                return null; // faltan campos
+            }
+            campos[i] = linea.substring(inicio, fin).strip();
+            inicio = fin + 1;
+        }
+        return campos;
+    }
+
+    // Separación con campos entre comillas, más lenta: solo para las líneas que tienen alguna
+    private static String[] separarConComillas(String linea, int cantidad) {
+        String[] campos = new String[cantidad];
+        StringBuilder campo = new StringBuilder();
+        int largo = linea.length();
+        int i = 0;
+        for (int c = 0; c < cantidad; c++) {
+            int j = saltarEspacios(linea, i);
+            if (j < largo && linea.charAt(j) == '"') {
+                campo.setLength(0);
+                j++;
+                while (true) {
+                    if (j == largo) return null; // comilla sin cerrar
+                    char caracter = linea.charAt(j++);
+                    if (caracter != '"') {
+                        campo.append(caracter);
+                    } else if (j < largo && linea.charAt(j) == '"') {
+                        campo.append('"');
+                        j++;
+                    } else {
+                        break;
+                    }
+                }
+                i = saltarEspacios(linea, j);
+                if (i < largo && linea.charAt(i) != SEPARADOR) return null; // texto después de la comilla
+                campos[c] = campo.toString();
+            } else {
+                int fin = linea.indexOf(SEPARADOR, i);
+                if (fin < 0) fin = largo;
+                campos[c] = linea.substring(i, fin).strip();
+                i = fin;
+            }
+            if (c == cantidad - 1) {
+                if (i < largo) return null; // sobran campos
+            } else if (i == largo) {
+                return null; // faltan campos
+            } else {
+                i++; // separador
+            }
+        }
+        return campos;
+    }
+
+    private static int saltarEspacios(String linea, int i) {
+        while (i < linea.length() && Character.isWhitespace(linea.charAt(i))) i++;
+        return i;
+    }
+
+    /**
+     * Convierte una línea en un Empleado.
+     *
+     * @param linea línea con formato de empleado
+     * @return empleado (aún sin validar), o null si la línea no tiene el formato esperado
+     */
+    public static Empleado aEmpleado(String linea) {
+        String[] c = separar(linea, CAMPOS_EMPLEADO);
+        if (c == null) return null;
+        long sueldo;
+        try {
+            sueldo = Dinero.parsear(c[8]); // Directo a centavos, sin pasar por double
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return Empleado.desdeCentavos(c[0].toUpperCase(), c[1].toUpperCase(), new Rut(c[2]), aDireccion(c),
+                c[6], c[7].toUpperCase(), sueldo);
+    }
+
+    /**
+     * Convierte una línea en un Cliente.
+     *
+     * @param linea línea con formato de cliente
+     * @return cliente (aún sin validar), o null si la línea no tiene el formato esperado
+     */
+    public static Cliente aCliente(String linea) {
+        String[] c = separar(linea, CAMPOS_CLIENTE);
+        if (c == null) return null;
+        return new Cliente(c[0].toUpperCase(), c[1].toUpperCase(), new Rut(c[2]), aDireccion(c),
+                c[6], c[7]);
+    }
+
+    private static Direccion aDireccion(String[] c) {
+        return new Direccion(c[3].toUpperCase(), c[4].toUpperCase(), c[5].toUpperCase());
+    }
+}
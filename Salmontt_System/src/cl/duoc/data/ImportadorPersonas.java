@@ -0,0 +1,250 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.utils.ColectorViolaciones;
+import cl.duoc.utils.Metricas;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Clase genérica ImportadorPersonas<T>.
+ * Carga masiva de empleados o clientes desde archivos .txt/.csv (ver FormatoArchivo).
+ *
+ * El archivo se lee en forma secuencial con un buffer grande y se divide en lotes de líneas.
+ * Cada lote se convierte y valida (validar(), en modo rápido) en paralelo, pero los lotes se entregan
+ * al destino en el orden del archivo, por lo que los duplicados se detectan igual que
+ * en una carga secuencial. Solo hay una cantidad fija de lotes en proceso a la vez,
+ * así que la memoria usada no depende del tamaño del archivo.
+ * Las líneas con errores se informan con su número de línea y el campo que falló,
+ * sin detener la carga.
+ * Un registro con un salto de línea dentro de un campo entre comillas se une con las líneas
+ * siguientes (hasta MAXIMO_LINEAS_REGISTRO) y se informa con el número de su primera línea;
+ * si la comilla no se cierra, la línea se procesa sola y las siguientes se leen como registros aparte.
+ */
+public class ImportadorPersonas<T extends Persona> {
+
+    /** Cantidad de líneas por lote. */
+    public static final int TAMANO_LOTE = 2048;
+
+    /** Máximo de líneas que puede ocupar un registro con saltos de línea entre comillas. */
+    public static final int MAXIMO_LINEAS_REGISTRO = 32;
+
+    // Tamaño del buffer de lectura (64 KB)
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    // Convierte una línea en una persona, o null si el formato es inválido
+    private final Function<String, T> conversor;
+
+    // Cantidad de hilos de validación
+    private final int hilos;
+
+    // Máximo de rechazos que se guardan con detalle en el resultado
+    private int limiteRechazos = 1000;
+
+    /**
+     * Constructor del importador.
+     *
+     * @param conversor función que convierte una línea en una persona (null si no tiene formato válido)
+     * @param hilos     cantidad de hilos de validación
+     */
+    public ImportadorPersonas(Function<String, T> conversor, int hilos) {
+        this.conversor = conversor;
+        this.hilos = Math.max(1, hilos);
+    }
+
+    /**
+     * Importador de empleados con un hilo por procesador disponible.
+     *
+     * @return importador de empleados
+     */
+    public static ImportadorPersonas<Empleado> deEmpleados() {
+        return new ImportadorPersonas<>(FormatoArchivo::aEmpleado, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Importador de clientes con un hilo por procesador disponible.
+     *
+     * @return importador de clientes
+     */
+    public static ImportadorPersonas<Cliente> deClientes() {
+        return new ImportadorPersonas<>(FormatoArchivo::aCliente, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Importa un archivo de texto codificado en UTF-8.
+     *
+     * @param archivo ruta del archivo
+     * @param destino recibe cada persona válida; retorna false si la rechaza (ej: RUT duplicado)
+     * @return resumen de la importación
+     * @throws IOException si ocurre un error de lectura
+     */
+    public ResultadoImportacion importar(Path archivo, Predicate<? super T> destino) throws IOException {
+        try (Reader lector = new InputStreamReader(Files.newInputStream(archivo), StandardCharsets.UTF_8)) {
+            return importar(lector, destino);
+        }
+    }
+
+    /**
+     * Importa las líneas entregadas por un lector.
+     *
+     * @param entrada lector de texto (no se cierra)
+     * @param destino recibe cada persona válida; retorna false si la rechaza (ej: RUT duplicado)
+     * @return resumen de la importación
+     * @throws IOException si ocurre un error de lectura
+     */
+    public ResultadoImportacion importar(Reader entrada, Predicate<? super T> destino) throws IOException {
+        long inicio = Metricas.inicio();
+        ResultadoImportacion resultado = new ResultadoImportacion(limiteRechazos);
+        BufferedReader lector = new BufferedReader(entrada, TAMANO_BUFFER);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        ArrayDeque<Future<Lote<T>>> enProceso = new ArrayDeque<>();
+        int maximoEnProceso = hilos * 2;
+        try {
+            Lote<T> lote = new Lote<>();
+            ArrayDeque<String> devueltas = new ArrayDeque<>(); // leídas de más al buscar el fin de un registro
+            long numeroLinea = 0;
+            String linea;
+            while ((linea = leerLinea(lector, devueltas)) != null) {
+                numeroLinea++;
+                if (FormatoArchivo.esIgnorable(linea)) continue;
+                long numeroRegistro = numeroLinea;
+                if (FormatoArchivo.tieneComillaAbierta(linea)) {
+                    String registro = unirLineas(linea, lector, devueltas);
+                    if (registro != null) {
+                        numeroLinea += registro.chars().filter(c -> c == '\n').count();
+                        linea = registro;
+                    }
+                }
+                resultado.contarLinea();
+                lote.agregar(numeroRegistro, linea);
+                if (lote.cantidad == TAMANO_LOTE) {
+                    enProceso.add(ejecutor.submit(procesar(lote)));
+                    lote = new Lote<>();
+                    // Limita los lotes en memoria: espera el más antiguo y lo entrega
+                    if (enProceso.size() >= maximoEnProceso) {
+                        entregar(esperar(enProceso.poll()), destino, resultado);
+                    }
+                }
+            }
+            if (lote.cantidad > 0) {
+                enProceso.add(ejecutor.submit(procesar(lote)));
+            }
+            while (!enProceso.isEmpty()) {
+                entregar(esperar(enProceso.poll()), destino, resultado);
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        Metricas.importacion(inicio, resultado.getAceptadas(), resultado.getRechazadas());
+        return resultado;
+    }
+
+    public void setLimiteRechazos(int limiteRechazos) {
+        this.limiteRechazos = limiteRechazos;
+    }
+
+    private static String leerLinea(BufferedReader lector, ArrayDeque<String> devueltas) throws IOException {
+        return devueltas.isEmpty() ? lector.readLine() : devueltas.poll();
+    }
+
+    // Une una línea con comilla abierta con las siguientes hasta cerrarla; si no se cierra
+    // dentro del máximo, devuelve las líneas leídas y retorna null
+    private static String unirLineas(String primera, BufferedReader lector, ArrayDeque<String> devueltas) throws IOException {
+        StringBuilder registro = new StringBuilder(primera);
+        String[] leidas = new String[MAXIMO_LINEAS_REGISTRO - 1];
+        int cantidad = 0;
+        String linea;
+        while (cantidad < leidas.length && (linea = leerLinea(lector, devueltas)) != null) {
+            leidas[cantidad++] = linea;
+            registro.append('\n').append(linea);
+            String texto = registro.toString();
+            if (!FormatoArchivo.tieneComillaAbierta(texto)) return texto;
+        }
+        for (int i = cantidad - 1; i >= 0; i--) devueltas.addFirst(leidas[i]);
+        return null;
+    }
+
+    // Tarea que convierte y valida un lote completo en un hilo de trabajo
+    private Callable<Lote<T>> procesar(Lote<T> lote) {
+        return () -> {
+            long inicioLote = Metricas.inicio();
+            ColectorViolaciones colector = ColectorViolaciones.primera(); // uno por lote, se limpia en cada línea
+            for (int i = 0; i < lote.cantidad; i++) {
+                T persona = conversor.apply(lote.lineas[i]);
+                colector.limpiar();
+                if (persona == null) {
+                    lote.motivos[i] = ResultadoImportacion.FORMATO_INVALIDO;
+                    continue;
+                }
+                long inicio = Metricas.inicio();
+                boolean valida = persona.validar(colector);
+                Metricas.validacion(inicio, valida);
+                if (!valida) {
+                    lote.motivos[i] = ResultadoImportacion.motivoDatos(colector);
+                } else {
+                    lote.personas[i] = persona;
+                }
+            }
+            Metricas.LOTE_IMPORTACION.registrarDesde(inicioLote);
+            return lote;
+        };
+    }
+
+    // Entrega un lote procesado al destino, en el orden original de las líneas
+    private void entregar(Lote<T> lote, Predicate<? super T> destino, ResultadoImportacion resultado) {
+        for (int i = 0; i < lote.cantidad; i++) {
+            T persona = lote.personas[i];
+            if (persona == null) {
+                resultado.rechazar(lote.numeros[i], lote.motivos[i], lote.lineas[i]);
+            } else if (destino.test(persona)) {
+                resultado.contarAceptada();
+            } else {
+                resultado.rechazar(lote.numeros[i], ResultadoImportacion.RUT_DUPLICADO, lote.lineas[i]);
+            }
+        }
+    }
+
+    private Lote<T> esperar(Future<Lote<T>> tarea) throws IOException {
+        try {
+            return tarea.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importación interrumpida");
+        } catch (ExecutionException e) {
+            throw new IOException("Error al validar un lote", e.getCause());
+        }
+    }
+
+    /**
+     * Lote de líneas con su número de línea y el resultado de su validación.
+     */
+    private static final class Lote<T> {
+        final String[] lineas = new String[TAMANO_LOTE];
+        final long[] numeros = new long[TAMANO_LOTE];
+        @SuppressWarnings("unchecked")
+        final T[] personas = (T[]) new Persona[TAMANO_LOTE];
+        final String[] motivos = new String[TAMANO_LOTE];
+        int cantidad;
+
+        void agregar(long numero, String linea) {
+            numeros[cantidad] = numero;
+            lineas[cantidad++] = linea;
+        }
+    }
+}
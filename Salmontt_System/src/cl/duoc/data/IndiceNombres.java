@@ -0,0 +1,495 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Persona;
+import cl.duoc.utils.NormalizadorTexto;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase genérica IndiceNombres<T>.
+ * Índice invertido de trigramas sobre el nombre y el apellido de las personas de un registro,
+ * para búsquedas mientras se escribe. Los textos se normalizan con NormalizadorTexto, por lo que
+ * "champinon" o "champ" encuentran a "CHAMPIÑON".
+ *
+ * Cada palabra se indexa con sus trigramas, incluidos los del inicio de palabra ("$$C", "$CH"),
+ * de modo que una palabra de la búsqueda es prefijo de una palabra del nombre solo si sus
+ * trigramas están en la lista de esa persona. La búsqueda se hace en dos fases:
+ *   1. por prefijo: intersecta las listas de los trigramas de la búsqueda y confirma cada candidato;
+ *   2. aproximada (solo si la primera no llenó el límite): busca en el vocabulario (las palabras
+ *      distintas de los nombres, con su propio índice de trigramas) las palabras parecidas a una de
+ *      la búsqueda según una distancia de edición sobre prefijos (1 error en palabras de hasta 5
+ *      letras, 2 en las más largas) y recorre solo las personas que tienen esas palabras.
+ * Los resultados se ordenan por errores, luego por largo del nombre (las completaciones más
+ * cortas primero), luego por palabras completas y por último por orden de inserción. Con ese
+ * orden, una vez lleno el ranking se descartan sin leer su nombre los candidatos cuyo largo
+ * ya no les permite entrar.
+ *
+ * Se mantiene actualizado como oyente del registro. Si se modifica una persona con sus setters,
+ * hay que llamar a registro.actualizar(persona) para que el índice la vuelva a indexar.
+ *
+ * @param <T> tipo de persona indexada
+ */
+public class IndiceNombres<T extends Persona> implements OyenteRegistro<T> {
+
+    /** Cantidad de resultados por defecto. */
+    public static final int LIMITE_POR_DEFECTO = 20;
+
+    // Alfabeto de los trigramas: 0 = borde de palabra, 1-26 = A-Z, 27-36 = 0-9
+    private static final int BASE = 37;
+    private static final int TRIGRAMAS = BASE * BASE * BASE;
+
+    // Bits de un identificador de palabra en los candidatos de la búsqueda aproximada (sobre ellos, la distancia)
+    private static final int BITS_PALABRA = 28;
+    private static final int MASCARA_PALABRA = (1 << BITS_PALABRA) - 1;
+
+    private final RegistroPersonas<T> registro;
+
+    // Posiciones de las personas que contienen cada trigrama (null si ninguna)
+    private final ListaPosiciones[] porTrigrama = new ListaPosiciones[TRIGRAMAS];
+
+    // Nombre normalizado indexado en cada posición (null si no hay), para quitarlo aunque la persona cambie
+    private byte[][] claves = new byte[64][];
+
+    // Largo de cada nombre normalizado (hasta 1023), en un arreglo compacto para descartar candidatos
+    private short[] largos = new short[64];
+
+    // Vocabulario: cada palabra distinta recibe un número, y por número se guardan sus personas.
+    // Las palabras no se quitan aunque nadie las use (su lista de personas queda vacía).
+    private final Map<String, Integer> numeroPalabra = new HashMap<>();
+    private byte[][] palabras = new byte[64][];
+    private ListaPosiciones[] personasDePalabra = new ListaPosiciones[64];
+    private int cantidadPalabras;
+
+    // Números de las palabras del vocabulario que contienen cada trigrama
+    private final ListaPosiciones[] palabrasPorTrigrama = new ListaPosiciones[TRIGRAMAS];
+
+    // Memoria de trabajo, reutilizada entre llamadas (protegida por el monitor del índice)
+    private int[] conteos = new int[64]; // por número de palabra
+    private int[] codigos = new int[64];
+    private int[] filaAnterior = new int[32];
+    private int[] filaActual = new int[32];
+    private int[] filaSiguiente = new int[32];
+
+    /**
+     * Constructor del índice de un registro.
+     *
+     * @param registro registro cuyas posiciones se indexan
+     */
+    public IndiceNombres(RegistroPersonas<T> registro) {
+        this.registro = registro;
+    }
+
+    // Sincronización con el registro
+
+    @Override
+    public synchronized void alAgregar(int posicion, T persona) {
+        asegurarCapacidad(posicion + 1);
+        indexar(posicion, NormalizadorTexto.normalizar(persona.getNombre(), persona.getApellido()));
+    }
+
+    @Override
+    public synchronized void alActualizar(int posicion, T anterior, T nueva) {
+        byte[] clave = NormalizadorTexto.normalizar(nueva.getNombre(), nueva.getApellido());
+        if (Arrays.equals(clave, claves[posicion])) return; // cambió otro campo
+        desindexar(posicion);
+        indexar(posicion, clave);
+    }
+
+    @Override
+    public synchronized void alEliminar(int posicion, T persona) {
+        desindexar(posicion);
+    }
+
+    /**
+     * Busca personas por nombre y apellido, con el límite por defecto.
+     *
+     * @param texto palabras a buscar (o sus comienzos), en cualquier orden
+     * @return personas encontradas, de la más a la menos parecida
+     */
+    public List<T> buscar(String texto) {
+        return buscar(texto, LIMITE_POR_DEFECTO);
+    }
+
+    /**
+     * Busca personas por nombre y apellido.
+     * Cada palabra de la búsqueda debe coincidir con el comienzo de alguna palabra del nombre
+     * o del apellido; si hay menos de {@code limite} coincidencias, se completan con resultados
+     * aproximados.
+     *
+     * @param texto  palabras a buscar (o sus comienzos), en cualquier orden
+     * @param limite máximo de resultados
+     * @return personas encontradas, de la más a la menos parecida
+     */
+    public List<T> buscar(String texto, int limite) {
+        long[] mejores = posicionesDe(NormalizadorTexto.normalizar(texto), Math.max(1, limite));
+        List<T> resultado = new ArrayList<>(mejores.length);
+        for (long puntaje : mejores) {
+            T persona = registro.enPosicion((int) puntaje);
+            if (persona != null) resultado.add(persona);
+        }
+        return resultado;
+    }
+
+    // Resuelve una búsqueda normalizada; retorna los puntajes ordenados (la posición va en los 32 bits bajos)
+    private synchronized long[] posicionesDe(byte[] consulta, int limite) {
+        int buscadas = contarPalabras(consulta);
+        if (buscadas == 0) return new long[0];
+        int[] inicios = new int[buscadas];
+        int[] finales = new int[buscadas];
+        boolean hayLargas = false;
+        for (int p = 0, i = 0; p < buscadas; p++) {
+            inicios[p] = i;
+            while (i < consulta.length && consulta[i] != ' ') i++;
+            finales[p] = i++;
+            hayLargas |= finales[p] - inicios[p] >= 3;
+        }
+
+        Ranking ranking = new Ranking(limite);
+
+        // Fase 1: por prefijo
+        int n = trigramasDe(consulta, 0, consulta.length, false, true);
+        int[] candidatos;
+        int cantidadCandidatos;
+        if (n == 1 && porTrigrama[codigos[0]] != null) { // una letra: se recorre la lista sin copiarla
+            candidatos = porTrigrama[codigos[0]].getArreglo();
+            cantidadCandidatos = porTrigrama[codigos[0]].tamano();
+        } else {
+            candidatos = intersectarListas(n);
+            cantidadCandidatos = candidatos.length;
+        }
+        for (int i = 0; i < cantidadCandidatos; i++) {
+            int posicion = candidatos[i];
+            if (ranking.descarta(((long) largos[posicion] << 40) | posicion)) continue;
+            long puntaje = puntuar(claves[posicion], consulta, inicios, finales, false);
+            if (puntaje >= 0) ranking.agregar(puntaje | posicion);
+        }
+        if (ranking.cantidad == limite || !hayLargas) return ranking.ordenados();
+
+        // Fase 2: aproximada. Guía la palabra de 3 o más letras cuyas parecidas suman menos personas;
+        // puntuar revisa el resto de la búsqueda en cada candidato
+        ranking = new Ranking(limite);
+        int[] guia = null;
+        long personasGuia = Long.MAX_VALUE;
+        for (int p = 0; p < buscadas; p++) {
+            if (finales[p] - inicios[p] < 3) continue;
+            int[] parecidas = palabrasParecidas(consulta, inicios[p], finales[p]);
+            long total = 0;
+            for (int parecida : parecidas) total += personasDePalabra[parecida & MASCARA_PALABRA].tamano();
+            if (total < personasGuia) {
+                guia = parecidas;
+                personasGuia = total;
+            }
+        }
+        for (int parecida : guia) { // de la menor a la mayor distancia
+            long errores = (long) (parecida >>> BITS_PALABRA) << 50;
+            if (ranking.descarta(errores)) break;
+            ListaPosiciones lista = personasDePalabra[parecida & MASCARA_PALABRA];
+            int[] posiciones = lista.getArreglo();
+            for (int j = 0, tamano = lista.tamano(); j < tamano; j++) {
+                int posicion = posiciones[j];
+                if (ranking.descarta(errores | ((long) largos[posicion] << 40) | posicion)) continue;
+                long puntaje = puntuar(claves[posicion], consulta, inicios, finales, true);
+                if (puntaje >= 0) ranking.agregar(puntaje | posicion);
+            }
+        }
+        return ranking.ordenados();
+    }
+
+    // Intersección de las listas de los primeros n códigos, empezando por la más corta
+    private int[] intersectarListas(int n) {
+        ListaPosiciones[] listas = new ListaPosiciones[n];
+        for (int i = 0; i < n; i++) {
+            listas[i] = porTrigrama[codigos[i]];
+            if (listas[i] == null) return new int[0];
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamano(), b.tamano()));
+        int[] resultado = listas[0].copiar();
+        for (int i = 1; i < n && resultado.length > 0; i++) {
+            resultado = ListaPosiciones.intersectar(resultado, resultado.length, listas[i].getArreglo(), listas[i].tamano());
+        }
+        return resultado;
+    }
+
+    /*
+     * Palabras del vocabulario a distancia permitida de la palabra buscada (o de un prefijo de ellas),
+     * codificadas como distancia << BITS_PALABRA | número, ordenadas de la más cercana a la más lejana.
+     * Solo se mide la distancia de las que comparten al menos la mitad de los trigramas, y no menos de
+     * los que deja un texto con esa cantidad de errores (un error quita a lo más 4: una transposición).
+     */
+    private int[] palabrasParecidas(byte[] consulta, int desde, int hasta) {
+        int largo = hasta - desde;
+        int permitidos = erroresPermitidos(largo);
+        int n = trigramasDe(consulta, desde, hasta, false, false);
+        int minimo = Math.max(1, Math.max(n - 4 * permitidos, (n + 1) / 2));
+        int[] tocadas = new int[16];
+        int cantidadTocadas = 0;
+        for (int i = 0; i < n; i++) {
+            ListaPosiciones lista = palabrasPorTrigrama[codigos[i]];
+            if (lista == null) continue;
+            int[] numeros = lista.getArreglo();
+            for (int j = 0, tamano = lista.tamano(); j < tamano; j++) {
+                if (conteos[numeros[j]]++ == 0) {
+                    if (cantidadTocadas == tocadas.length) tocadas = Arrays.copyOf(tocadas, cantidadTocadas * 2);
+                    tocadas[cantidadTocadas++] = numeros[j];
+                }
+            }
+        }
+        int[] parecidas = new int[cantidadTocadas];
+        int cantidad = 0;
+        for (int i = 0; i < cantidadTocadas; i++) {
+            int numero = tocadas[i];
+            if (conteos[numero] >= minimo) {
+                byte[] palabra = palabras[numero];
+                int d = distanciaPrefijo(consulta, desde, largo, palabra, 0, palabra.length, permitidos);
+                if (d <= permitidos) parecidas[cantidad++] = d << BITS_PALABRA | numero;
+            }
+            conteos[numero] = 0;
+        }
+        parecidas = Arrays.copyOf(parecidas, cantidad);
+        Arrays.sort(parecidas);
+        return parecidas;
+    }
+
+    /*
+     * Compara el nombre indexado con la búsqueda. Retorna -1 si alguna palabra de la búsqueda
+     * no coincide, o el puntaje (menor es mejor) con los 32 bits bajos libres para la posición:
+     * errores en los bits 50 y siguientes, largo del nombre desde el 40 y palabras incompletas desde el 32.
+     */
+    private long puntuar(byte[] clave, byte[] consulta, int[] inicios, int[] finales, boolean aproximada) {
+        if (clave == null) return -1;
+        int errores = 0;
+        int incompletas = 0;
+        for (int p = 0; p < inicios.length; p++) {
+            int desde = inicios[p];
+            int largo = finales[p] - desde;
+            int permitidos = aproximada ? erroresPermitidos(largo) : 0;
+            int mejor = Integer.MAX_VALUE;
+            boolean completa = false;
+            for (int i = 0; i < clave.length; ) {
+                int fin = i;
+                while (fin < clave.length && clave[fin] != ' ') fin++;
+                int d = permitidos == 0
+                        ? (esPrefijo(consulta, desde, largo, clave, i, fin) ? 0 : 1)
+                        : distanciaPrefijo(consulta, desde, largo, clave, i, fin, permitidos);
+                if (d < mejor) mejor = d;
+                if (d == 0 && fin - i == largo) completa = true;
+                i = fin + 1;
+            }
+            if (mejor > permitidos) return -1;
+            errores += mejor;
+            if (!completa) incompletas++;
+        }
+        return ((long) errores << 50) | ((long) Math.min(clave.length, 1023) << 40)
+                | ((long) Math.min(incompletas, 255) << 32);
+    }
+
+    private static boolean esPrefijo(byte[] consulta, int desde, int largo, byte[] clave, int inicio, int fin) {
+        if (fin - inicio < largo) return false;
+        for (int k = 0; k < largo; k++) {
+            if (consulta[desde + k] != clave[inicio + k]) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Menor distancia de edición (inserción, borrado, sustitución o transposición de dos letras
+     * vecinas) entre la palabra buscada y algún prefijo de la palabra del nombre.
+     * Retorna tope + 1 apenas se sabe que la distancia supera el tope.
+     */
+    private int distanciaPrefijo(byte[] consulta, int desde, int largo, byte[] clave, int inicio, int fin, int tope) {
+        int columnas = Math.min(fin - inicio, largo + tope);
+        if (filaActual.length <= columnas) {
+            filaAnterior = new int[columnas + 1];
+            filaActual = new int[columnas + 1];
+            filaSiguiente = new int[columnas + 1];
+        }
+        int[] previa = filaAnterior;
+        int[] actual = filaActual;
+        int[] siguiente = filaSiguiente;
+        for (int j = 0; j <= columnas; j++) actual[j] = j;
+        int minimoPrevio = 0;
+        for (int i = 1; i <= largo; i++) {
+            byte a = consulta[desde + i - 1];
+            siguiente[0] = i;
+            int minimoFila = i;
+            for (int j = 1; j <= columnas; j++) {
+                byte b = clave[inicio + j - 1];
+                int costo = a == b ? 0 : 1;
+                int d = Math.min(Math.min(actual[j] + 1, siguiente[j - 1] + 1), actual[j - 1] + costo);
+                if (i > 1 && j > 1 && a == clave[inicio + j - 2] && consulta[desde + i - 2] == b) {
+                    d = Math.min(d, previa[j - 2] + 1);
+                }
+                siguiente[j] = d;
+                if (d < minimoFila) minimoFila = d;
+            }
+            if (minimoFila > tope && minimoPrevio > tope) return tope + 1;
+            minimoPrevio = minimoFila;
+            int[] temporal = previa;
+            previa = actual;
+            actual = siguiente;
+            siguiente = temporal;
+        }
+        int mejor = tope + 1;
+        for (int j = 0; j <= columnas; j++) {
+            if (actual[j] < mejor) mejor = actual[j];
+        }
+        return mejor;
+    }
+
+    private static int erroresPermitidos(int largo) {
+        if (largo <= 2) return 0;
+        return largo <= 5 ? 1 : 2;
+    }
+
+    private void indexar(int posicion, byte[] clave) {
+        claves[posicion] = clave;
+        largos[posicion] = (short) Math.min(clave.length, 1023);
+        int n = trigramasDe(clave, 0, clave.length, true, true);
+        for (int i = 0; i < n; i++) {
+            ListaPosiciones lista = porTrigrama[codigos[i]];
+            if (lista == null) porTrigrama[codigos[i]] = lista = new ListaPosiciones();
+            lista.agregar(posicion);
+        }
+        for (int i = 0; i < clave.length; ) {
+            int fin = i;
+            while (fin < clave.length && clave[fin] != ' ') fin++;
+            int numero = numeroDe(clave, i, fin); // puede agrandar personasDePalabra
+            personasDePalabra[numero].agregar(posicion);
+            i = fin + 1;
+        }
+    }
+
+    private void desindexar(int posicion) {
+        byte[] clave = claves[posicion];
+        if (clave == null) return;
+        int n = trigramasDe(clave, 0, clave.length, true, true);
+        for (int i = 0; i < n; i++) {
+            ListaPosiciones lista = porTrigrama[codigos[i]];
+            if (lista != null) lista.quitar(posicion);
+        }
+        for (int i = 0; i < clave.length; ) {
+            int fin = i;
+            while (fin < clave.length && clave[fin] != ' ') fin++;
+            personasDePalabra[numeroDe(clave, i, fin)].quitar(posicion);
+            i = fin + 1;
+        }
+        claves[posicion] = null;
+    }
+
+    // Número de una palabra en el vocabulario; la agrega (con sus trigramas) si es nueva
+    private int numeroDe(byte[] texto, int desde, int hasta) {
+        String palabra = new String(texto, desde, hasta - desde, StandardCharsets.US_ASCII);
+        Integer numero = numeroPalabra.get(palabra);
+        if (numero != null) return numero;
+        int nuevo = cantidadPalabras++;
+        if (nuevo == palabras.length) {
+            palabras = Arrays.copyOf(palabras, nuevo * 2);
+            personasDePalabra = Arrays.copyOf(personasDePalabra, nuevo * 2);
+            conteos = Arrays.copyOf(conteos, nuevo * 2);
+        }
+        palabras[nuevo] = Arrays.copyOfRange(texto, desde, hasta);
+        personasDePalabra[nuevo] = new ListaPosiciones();
+        numeroPalabra.put(palabra, nuevo);
+        int n = trigramasDe(texto, desde, hasta, false, true);
+        for (int i = 0; i < n; i++) {
+            ListaPosiciones lista = palabrasPorTrigrama[codigos[i]];
+            if (lista == null) palabrasPorTrigrama[codigos[i]] = lista = new ListaPosiciones();
+            lista.agregar(nuevo);
+        }
+        return nuevo;
+    }
+
+    /*
+     * Deja en codigos los trigramas distintos de las palabras del texto, ordenados, y retorna cuántos son.
+     * Por palabra: "$$a" (si conInicial, o si la palabra tiene una letra), "$ab" y los trigramas internos.
+     * Si cortas es false, se omiten las palabras de menos de 3 letras.
+     */
+    private int trigramasDe(byte[] texto, int desde, int hasta, boolean conInicial, boolean cortas) {
+        if (codigos.length < 2 * (hasta - desde) + 2) codigos = new int[2 * (hasta - desde) + 2];
+        int n = 0;
+        for (int i = desde; i < hasta; ) {
+            int fin = i;
+            while (fin < hasta && texto[fin] != ' ') fin++;
+            int largo = fin - i;
+            if (largo > 0 && (cortas || largo >= 3)) {
+                if (conInicial || largo == 1) codigos[n++] = codigo(0, 0, simbolo(texto[i]));
+                if (largo >= 2) codigos[n++] = codigo(0, simbolo(texto[i]), simbolo(texto[i + 1]));
+                for (int k = i + 2; k < fin; k++) {
+                    codigos[n++] = codigo(simbolo(texto[k - 2]), simbolo(texto[k - 1]), simbolo(texto[k]));
+                }
+            }
+            i = fin + 1;
+        }
+        Arrays.sort(codigos, 0, n);
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (distintos == 0 || codigos[distintos - 1] != codigos[i]) codigos[distintos++] = codigos[i];
+        }
+        return distintos;
+    }
+
+    private static int codigo(int a, int b, int c) {
+        return (a * BASE + b) * BASE + c;
+    }
+
+    private static int simbolo(byte caracter) {
+        return caracter <= '9' ? 27 + (caracter - '0') : caracter - 'A' + 1;
+    }
+
+    private static int contarPalabras(byte[] texto) {
+        if (texto.length == 0) return 0;
+        int palabras = 1;
+        for (byte caracter : texto) {
+            if (caracter == ' ') palabras++;
+        }
+        return palabras;
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo <= claves.length) return;
+        int nueva = Math.max(minimo, claves.length * 2);
+        claves = Arrays.copyOf(claves, nueva);
+        largos = Arrays.copyOf(largos, nueva);
+    }
+
+    /**
+     * Los mejores puntajes vistos, ordenados de menor a mayor.
+     */
+    private static final class Ranking {
+        final long[] puntajes;
+        int cantidad;
+
+        Ranking(int limite) {
+            puntajes = new long[limite];
+        }
+
+        void agregar(long puntaje) {
+            for (int i = 0; i < cantidad; i++) {
+                if (puntajes[i] == puntaje) return; // la misma persona, encontrada por otra palabra
+            }
+            if (cantidad == puntajes.length) {
+                if (puntaje >= puntajes[cantidad - 1]) return;
+                cantidad--;
+            }
+            int i = cantidad++;
+            while (i > 0 && puntajes[i - 1] > puntaje) {
+                puntajes[i] = puntajes[i - 1];
+                i--;
+            }
+            puntajes[i] = puntaje;
+        }
+
+        // true si un candidato con esa cota inferior de puntaje ya no puede entrar
+        boolean descarta(long cota) {
+            return cantidad == puntajes.length && cota >= puntajes[cantidad - 1];
+        }
+
+        long[] ordenados() {
+            return Arrays.copyOf(puntajes, cantidad);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package cl.duoc.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Clase IndiceSueldos.
+ * Índice ordenado de pares (sueldo, posición) para consultas por rango de sueldo.
+ *
+ * Las entradas están en dos arreglos primitivos ordenados: uno principal y uno pequeño
+ * de entradas recientes. Agregar solo desplaza el arreglo pequeño; cuando este crece
+ * (del orden de la raíz cuadrada del total) se fusiona con el principal en una pasada.
+ * Las entradas quitadas del principal se marcan como borradas y se descartan en la fusión.
+ * Los sueldos están en centavos.
+ */
+final class IndiceSueldos {
+
+    // Arreglo principal, ordenado por (sueldo, posición)
+    private long[] sueldos = new long[0];
+    private int[] posiciones = new int[0];
+    private int tamano;
+    private final BitSet borrados = new BitSet();
+    private int cantidadBorrados;
+
+    // Entradas recientes, también ordenadas
+    private long[] nuevosSueldos = new long[64];
+    private int[] nuevasPosiciones = new int[64];
+    private int tamanoNuevos;
+
+    void agregar(long sueldo, int posicion) {
+        int i = -buscar(nuevosSueldos, nuevasPosiciones, tamanoNuevos, sueldo, posicion) - 1;
+        if (i < 0) return; // ya estaba
+        if (tamanoNuevos == nuevosSueldos.length) {
+            nuevosSueldos = Arrays.copyOf(nuevosSueldos, tamanoNuevos * 2);
+            nuevasPosiciones = Arrays.copyOf(nuevasPosiciones, tamanoNuevos * 2);
+        }
+        System.arraycopy(nuevosSueldos, i, nuevosSueldos, i + 1, tamanoNuevos - i);
+        System.arraycopy(nuevasPosiciones, i, nuevasPosiciones, i + 1, tamanoNuevos - i);
+        nuevosSueldos[i] = sueldo;
+        nuevasPosiciones[i] = posicion;
+        tamanoNuevos++;
+        if (tamanoNuevos >= limiteNuevos()) fusionar();
+    }
+
+    void quitar(long sueldo, int posicion) {
+        int i = buscar(nuevosSueldos, nuevasPosiciones, tamanoNuevos, sueldo, posicion);
+        if (i >= 0) {
+            System.arraycopy(nuevosSueldos, i + 1, nuevosSueldos, i, tamanoNuevos - i - 1);
+            System.arraycopy(nuevasPosiciones, i + 1, nuevasPosiciones, i, tamanoNuevos - i - 1);
+            tamanoNuevos--;
+            return;
+        }
+        i = buscar(sueldos, posiciones, tamano, sueldo, posicion);
+        if (i >= 0 && !borrados.get(i)) {
+            borrados.set(i);
+            cantidadBorrados++;
+            if (cantidadBorrados > tamano / 4) fusionar();
+        }
+    }
+
+    /**
+     * Recorre, en orden de sueldo, las posiciones con sueldo dentro del rango.
+     *
+     * @param minimo  sueldo mínimo (inclusive)
+     * @param maximo  sueldo máximo (inclusive)
+     * @param destino recibe cada posición
+     */
+    void recorrerRango(long minimo, long maximo, IntConsumer destino) {
+        int i = primeroDesde(sueldos, tamano, minimo);
+        int j = primeroDesde(nuevosSueldos, tamanoNuevos, minimo);
+        while (true) {
+            while (i < tamano && borrados.get(i)) i++;
+            boolean hayPrincipal = i < tamano && sueldos[i] <= maximo;
+            boolean hayNuevo = j < tamanoNuevos && nuevosSueldos[j] <= maximo;
+            if (!hayPrincipal && !hayNuevo) return;
+            if (hayPrincipal && (!hayNuevo || compara(sueldos[i], posiciones[i], nuevosSueldos[j], nuevasPosiciones[j]) < 0)) {
+                destino.accept(posiciones[i++]);
+            } else {
+                destino.accept(nuevasPosiciones[j++]);
+            }
+        }
+    }
+
+    /**
+     * Cota superior (rápida) de la cantidad de entradas dentro del rango.
+     * Puede contar entradas borradas que aún no se descartan.
+     */
+    int estimarRango(long minimo, long maximo) {
+        if (minimo > maximo) return 0;
+        return primeroMayor(sueldos, tamano, maximo) - primeroDesde(sueldos, tamano, minimo)
+                + primeroMayor(nuevosSueldos, tamanoNuevos, maximo) - primeroDesde(nuevosSueldos, tamanoNuevos, minimo);
+    }
+
+    int tamano() {
+        return tamano - cantidadBorrados + tamanoNuevos;
+    }
+
+    // Métodos internos
+
+    private int limiteNuevos() {
+        return Math.max(256, 2 * (int) Math.sqrt(tamano));
+    }
+
+    // Fusiona las entradas recientes con el arreglo principal, descartando las borradas
+    private void fusionar() {
+        int total = tamano - cantidadBorrados + tamanoNuevos;
+        long[] s = new long[total];
+        int[] p = new int[total];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < tamano || j < tamanoNuevos) {
+            if (i < tamano && borrados.get(i)) {
+                i++;
+                continue;
+            }
+            if (j >= tamanoNuevos || (i < tamano
+                    && compara(sueldos[i], posiciones[i], nuevosSueldos[j], nuevasPosiciones[j]) < 0)) {
+                s[k] = sueldos[i];
+                p[k++] = posiciones[i++];
+            } else {
+                s[k] = nuevosSueldos[j];
+                p[k++] = nuevasPosiciones[j++];
+            }
+        }
+        sueldos = s;
+        posiciones = p;
+        tamano = total;
+        borrados.clear();
+        cantidadBorrados = 0;
+        tamanoNuevos = 0;
+    }
+
+    private static int compara(long sueldoA, int posicionA, long sueldoB, int posicionB) {
+        int c = Long.compare(sueldoA, sueldoB);
+        return c != 0 ? c : Integer.compare(posicionA, posicionB);
+    }
+
+    // Búsqueda binaria del par; devuelve el índice, o -(punto de inserción) - 1
+    private static int buscar(long[] s, int[] p, int n, long sueldo, int posicion) {
+        int bajo = 0;
+        int alto = n - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int c = compara(s[medio], p[medio], sueldo, posicion);
+            if (c < 0) bajo = medio + 1;
+            else if (c > 0) alto = medio - 1;
+            else return medio;
+        }
+        return -(bajo + 1);
+    }
+
+    // Primer índice con sueldo >= minimo
+    private static int primeroDesde(long[] s, int n, long minimo) {
+        int bajo = 0;
+        int alto = n;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (s[medio] < minimo) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    // Primer índice con sueldo > maximo
+    private static int primeroMayor(long[] s, int n, long maximo) {
+        int bajo = 0;
+        int alto = n;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (s[medio] <= maximo) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+}
@@ -0,0 +1,288 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.utils.Diccionario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Clase genérica IndicesPersonas<T>.
+ * Índices secundarios de un RegistroPersonas para consultar sin recorrer todo el registro:
+ *   - listas de posiciones por comuna, por región y por cargo (solo empleados), una por
+ *     cada código de los diccionarios compartidos, ordenadas por posición;
+ *   - un índice ordenado de sueldos (solo empleados) para consultas por rango.
+ *
+ * Se mantiene actualizado como oyente del registro (debe registrarse con agregarOyente
+ * antes de cargar datos). Las consultas combinadas intersectan las listas empezando por
+ * la más corta, y el rango de sueldo se aplica como filtro o como lista, según cuál
+ * sea más selectivo.
+ *
+ * @param <T> tipo de persona indexada
+ */
+public class IndicesPersonas<T extends Persona> implements OyenteRegistro<T> {
+
+    private final RegistroPersonas<T> registro;
+
+    // Listas de posiciones por código (null si el código aún no aparece)
+    private ListaPosiciones[] porComuna = new ListaPosiciones[0];
+    private ListaPosiciones[] porRegion = new ListaPosiciones[0];
+    private ListaPosiciones[] porCargo = new ListaPosiciones[0];
+
+    private final IndiceSueldos sueldos = new IndiceSueldos();
+
+    // Valores indexados de cada posición, para quitarlos aunque el objeto haya cambiado
+    private int[] comunaDe = new int[64];
+    private int[] regionDe = new int[64];
+    private int[] cargoDe = new int[64];
+    private long[] sueldoDe = new long[64];
+    private boolean[] activos = new boolean[64];
+    private int filas;
+
+    /**
+     * Constructor de los índices de un registro.
+     *
+     * @param registro registro cuyas posiciones se indexan
+     */
+    public IndicesPersonas(RegistroPersonas<T> registro) {
+        this.registro = registro;
+    }
+
+    // Sincronización con el registro
+
+    @Override
+    public synchronized void alAgregar(int posicion, T persona) {
+        asegurarCapacidad(posicion + 1);
+        indexar(posicion, persona);
+        if (posicion >= filas) filas = posicion + 1;
+    }
+
+    @Override
+    public synchronized void alActualizar(int posicion, T anterior, T nueva) {
+        desindexar(posicion);
+        indexar(posicion, nueva);
+    }
+
+    @Override
+    public synchronized void alEliminar(int posicion, T persona) {
+        desindexar(posicion);
+    }
+
+    /**
+     * Inicia una consulta. Sin criterios, devuelve todas las personas.
+     *
+     * @return consulta vacía
+     */
+    public Consulta consulta() {
+        return new Consulta();
+    }
+
+    // Métodos internos
+
+    private void indexar(int posicion, T persona) {
+        Direccion d = persona.getDireccion();
+        comunaDe[posicion] = d == null ? Diccionario.NULO : d.getCodigoComuna();
+        regionDe[posicion] = d == null ? Diccionario.NULO : d.getCodigoRegion();
+        porComuna = agregarA(porComuna, comunaDe[posicion], posicion);
+        porRegion = agregarA(porRegion, regionDe[posicion], posicion);
+        if (persona instanceof Empleado) {
+            Empleado empleado = (Empleado) persona;
+            cargoDe[posicion] = empleado.getCodigoCargo();
+            sueldoDe[posicion] = empleado.getSueldoCentavos();
+            porCargo = agregarA(porCargo, cargoDe[posicion], posicion);
+            sueldos.agregar(sueldoDe[posicion], posicion);
+        } else {
+            cargoDe[posicion] = Diccionario.NULO;
+        }
+        activos[posicion] = true;
+    }
+
+    private void desindexar(int posicion) {
+        if (posicion >= filas || !activos[posicion]) return;
+        quitarDe(porComuna, comunaDe[posicion], posicion);
+        quitarDe(porRegion, regionDe[posicion], posicion);
+        if (cargoDe[posicion] != Diccionario.NULO) {
+            quitarDe(porCargo, cargoDe[posicion], posicion);
+            sueldos.quitar(sueldoDe[posicion], posicion);
+        }
+        activos[posicion] = false;
+    }
+
+    private static ListaPosiciones[] agregarA(ListaPosiciones[] listas, int codigo, int posicion) {
+        if (codigo < 0) return listas;
+        if (codigo >= listas.length) {
+            listas = Arrays.copyOf(listas, Math.max(codigo + 1, listas.length * 2));
+        }
+        if (listas[codigo] == null) listas[codigo] = new ListaPosiciones();
+        listas[codigo].agregar(posicion);
+        return listas;
+    }
+
+    private static void quitarDe(ListaPosiciones[] listas, int codigo, int posicion) {
+        if (codigo >= 0 && codigo < listas.length && listas[codigo] != null) {
+            listas[codigo].quitar(posicion);
+        }
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo <= activos.length) return;
+        int nueva = Math.max(minimo, activos.length * 2);
+        comunaDe = Arrays.copyOf(comunaDe, nueva);
+        regionDe = Arrays.copyOf(regionDe, nueva);
+        cargoDe = Arrays.copyOf(cargoDe, nueva);
+        sueldoDe = Arrays.copyOf(sueldoDe, nueva);
+        activos = Arrays.copyOf(activos, nueva);
+    }
+
+    // Lista del código de un texto; una lista vacía si el texto no está indexado
+    private static ListaPosiciones lista(ListaPosiciones[] listas, Diccionario diccionario, String texto) {
+        int codigo = diccionario.buscar(texto);
+        if (codigo < 0 || codigo >= listas.length || listas[codigo] == null) return new ListaPosiciones();
+        return listas[codigo];
+    }
+
+    // Resuelve una consulta y devuelve las posiciones que la cumplen
+    private synchronized int[] resolver(Consulta c) {
+        List<ListaPosiciones> listas = new ArrayList<>(3);
+        if (c.comuna != null) listas.add(lista(porComuna, Diccionario.COMUNAS, c.comuna));
+        if (c.region != null) listas.add(lista(porRegion, Diccionario.REGIONES, c.region));
+        if (c.cargo != null) listas.add(lista(porCargo, Diccionario.CARGOS, c.cargo));
+        listas.sort(Comparator.comparingInt(ListaPosiciones::tamano));
+
+        if (listas.isEmpty()) {
+            return c.conRango ? posicionesEnRango(c.minimo, c.maximo) : todasLasPosiciones();
+        }
+
+        // Punto de partida: la lista más corta, o el rango de sueldo si es más selectivo
+        int[] resultado;
+        int desde;
+        boolean rangoAplicado = false;
+        if (c.conRango && sueldos.estimarRango(c.minimo, c.maximo) < listas.get(0).tamano()) {
+            resultado = posicionesEnRango(c.minimo, c.maximo);
+            Arrays.sort(resultado);
+            desde = 0;
+            rangoAplicado = true;
+        } else {
+            resultado = listas.get(0).copiar();
+            desde = 1;
+        }
+        for (int i = desde; i < listas.size() && resultado.length > 0; i++) {
+            ListaPosiciones otra = listas.get(i);
+            resultado = ListaPosiciones.intersectar(resultado, resultado.length, otra.getArreglo(), otra.tamano());
+        }
+        if (c.conRango && !rangoAplicado) {
+            int cantidad = 0;
+            for (int posicion : resultado) {
+                long sueldo = sueldoDe[posicion];
+                if (cargoDe[posicion] != Diccionario.NULO && sueldo >= c.minimo && sueldo <= c.maximo) {
+                    resultado[cantidad++] = posicion;
+                }
+            }
+            resultado = Arrays.copyOf(resultado, cantidad);
+        }
+        return resultado;
+    }
+
+    private int[] posicionesEnRango(long minimo, long maximo) {
+        int[] resultado = new int[Math.max(0, sueldos.estimarRango(minimo, maximo))];
+        int[] cantidad = {0};
+        sueldos.recorrerRango(minimo, maximo, p -> resultado[cantidad[0]++] = p);
+        return Arrays.copyOf(resultado, cantidad[0]);
+    }
+
+    private int[] todasLasPosiciones() {
+        int[] resultado = new int[filas];
+        int cantidad = 0;
+        for (int i = 0; i < filas; i++) {
+            if (activos[i]) resultado[cantidad++] = i;
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
+
+    /**
+     * Clase Consulta.
+     * Criterios combinados (todos deben cumplirse). Los textos se comparan exactos,
+     * tal como se guardaron (el ingreso por consola los guarda en mayúsculas).
+     */
+    public final class Consulta {
+        private String comuna;
+        private String region;
+        private String cargo;
+        private boolean conRango;
+        private long minimo = Long.MIN_VALUE;
+        private long maximo = Long.MAX_VALUE;
+
+        private Consulta() {
+        }
+
+        public Consulta comuna(String comuna) {
+            this.comuna = comuna;
+            return this;
+        }
+
+        public Consulta region(String region) {
+            this.region = region;
+            return this;
+        }
+
+        /** Solo empleados: otras personas no tienen cargo. */
+        public Consulta cargo(String cargo) {
+            this.cargo = cargo;
+            return this;
+        }
+
+        /**
+         * Solo empleados: sueldo entre dos montos en pesos (ambos inclusive).
+         *
+         * @param minimo sueldo mínimo
+         * @param maximo sueldo máximo
+         * @return la misma consulta
+         */
+        public Consulta sueldoEntre(double minimo, double maximo) {
+            return sueldoEntreCentavos(Dinero.dePesosSaturado(minimo), Dinero.dePesosSaturado(maximo));
+        }
+
+        /**
+         * Solo empleados: sueldo entre dos montos en centavos (ambos inclusive).
+         *
+         * @param minimo sueldo mínimo en centavos
+         * @param maximo sueldo máximo en centavos
+         * @return la misma consulta
+         */
+        public Consulta sueldoEntreCentavos(long minimo, long maximo) {
+            this.conRango = true;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            return this;
+        }
+
+        /**
+         * Cantidad de personas que cumplen la consulta.
+         *
+         * @return cantidad
+         */
+        public int contar() {
+            return resolver(this).length;
+        }
+
+        /**
+         * Personas que cumplen la consulta, en orden de inserción
+         * (en orden de sueldo si el único criterio es el rango de sueldo).
+         *
+         * @return lista de personas
+         */
+        public List<T> ejecutar() {
+            int[] posiciones = resolver(this);
+            List<T> resultado = new ArrayList<>(posiciones.length);
+            for (int posicion : posiciones) {
+                T persona = registro.enPosicion(posicion);
+                if (persona != null) resultado.add(persona);
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Clase InstantaneaPersonas.
+ * Lectura perezosa de una instantánea (personas.snap): el archivo se mapea en memoria y sus
+ * empleados y clientes se consultan por posición o por RUT sin crear objetos del modelo.
+ * Cada sección se entrega como RespaldoPersonas, para enlazarla a un RegistroPersonas que
+ * materializa cada persona recién al primer acceso.
+ *
+ * Formato de la instantánea:
+ *   [altas de empleados][altas de clientes][int 0]      registros de CodificadorPersonas
+ *   [índice de empleados][índice de clientes]           ver Indice
+ *   [long inicio del índice][int VERSION][int MAGIA]    cola fija al final del archivo
+ * El 0 marca el fin de los registros, por lo que la recuperación completa (BitacoraPersonas.recuperar)
+ * lee la instantánea como antes. Abrir una instantánea con índice solo lee la cola, así que toma
+ * lo mismo con cualquier cantidad de personas; una instantánea antigua, sin índice, se recorre
+ * una vez leyendo solo el encabezado y el RUT de cada registro.
+ */
+public final class InstantaneaPersonas {
+
+    /** Marca de la cola del índice ("SNIX"). */
+    static final int MAGIA = 0x534E4958;
+
+    /** Versión del formato del índice. */
+    static final int VERSION = 1;
+
+    // Bytes de la cola: inicio del índice, versión y marca
+    private static final int COLA = Long.BYTES + Integer.BYTES * 2;
+
+    // Buffer de escritura de la instantánea (1 MB)
+    private static final int TAMANO_BUFFER = 1 << 20;
+
+    private final ByteBuffer datos;
+    private final boolean indexada;
+    private final Seccion<Empleado> empleados;
+    private final Seccion<Cliente> clientes;
+
+    private InstantaneaPersonas(ByteBuffer datos) {
+        this.datos = datos;
+        int largo = datos.limit();
+        long inicio = largo >= COLA && datos.getInt(largo - Integer.BYTES) == MAGIA
+                && datos.getInt(largo - Integer.BYTES * 2) == VERSION ? datos.getLong(largo - COLA) : -1;
+        ByteBuffer indice = datos;
+        if (inicio < 0 || inicio > largo - COLA) {
+            indice = indexar(datos);
+            inicio = 0;
+        }
+        this.indexada = indice == datos;
+        this.empleados = new Seccion<>(Empleado.class, indice, (int) inicio);
+        this.clientes = new Seccion<>(Cliente.class, indice, empleados.fin);
+    }
+
+    /**
+     * Mapea una instantánea para leerla de forma perezosa.
+     * El mapeo sigue siendo válido aunque el archivo luego se reemplace al compactar.
+     *
+     * @param archivo instantánea (personas.snap)
+     * @return instantánea abierta
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static InstantaneaPersonas abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return new InstantaneaPersonas(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    public RespaldoPersonas<Empleado> getEmpleados() {
+        return empleados;
+    }
+
+    public RespaldoPersonas<Cliente> getClientes() {
+        return clientes;
+    }
+
+    /**
+     * @return true si la instantánea traía índice; false si se tuvo que recorrer al abrirla
+     */
+    public boolean isIndexada() {
+        return indexada;
+    }
+
+    /**
+     * @return tamaño de la instantánea en bytes
+     */
+    public int getTamano() {
+        return datos.limit();
+    }
+
+    /**
+     * Escribe una instantánea completa con su índice.
+     * Las personas que un registro aún no materializa desde esta misma clase de instantánea
+     * se copian tal cual, sin crear objetos.
+     *
+     * @param empleados registro de empleados
+     * @param clientes  registro de clientes
+     * @param salida    archivo de destino, vacío
+     * @throws IOException si no se puede escribir
+     */
+    static void escribir(RegistroPersonas<Empleado> empleados, RegistroPersonas<Cliente> clientes,
+                         FileChannel salida) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+        Indice indiceEmpleados = escribirRegistros(empleados, salida, buffer);
+        Indice indiceClientes = escribirRegistros(clientes, salida, buffer);
+        asegurar(salida, buffer, Integer.BYTES);
+        buffer.putInt(0); // fin de los registros
+        long inicio = salida.position() + buffer.position();
+        indiceEmpleados.escribir(buffer, salida);
+        indiceClientes.escribir(buffer, salida);
+        asegurar(salida, buffer, COLA);
+        buffer.putLong(inicio).putInt(VERSION).putInt(MAGIA);
+        vaciar(salida, buffer);
+    }
+
+    private static Indice escribirRegistros(RegistroPersonas<? extends Persona> registro,
+                                            FileChannel salida, ByteBuffer buffer) throws IOException {
+        Indice indice = new Indice(registro.tamano());
+        RespaldoPersonas<?> respaldo = registro.getRespaldo();
+        Seccion<?> seccion = respaldo instanceof Seccion ? (Seccion<?>) respaldo : null;
+        for (int i = 0; i < registro.getLimitePosiciones(); i++) {
+            if (seccion != null && registro.esPendiente(i)) {
+                ByteBuffer destino = destino(salida, buffer, seccion.largoRegistro(i));
+                indice.agregar(salida.position() + buffer.position(), seccion.clave(i));
+                seccion.copiarRegistro(i, destino);
+                if (destino != buffer) vaciar(salida, destino);
+                continue;
+            }
+            Persona persona = registro.enPosicion(i);
+            if (persona == null) continue;
+            ByteBuffer destino = destino(salida, buffer, CodificadorPersonas.tamanoMaximo(persona));
+            indice.agregar(salida.position() + buffer.position(), persona.getRut().getValor());
+            CodificadorPersonas.escribirAlta(persona, destino);
+            if (destino != buffer) vaciar(salida, destino);
+        }
+        return indice;
+    }
+
+    // Índice en memoria de una instantánea antigua, recorriendo los encabezados de sus registros
+    private static ByteBuffer indexar(ByteBuffer datos) {
+        Indice empleados = new Indice(1024);
+        Indice clientes = new Indice(1024);
+        int largoDatos = datos.limit();
+        int p = 0;
+        while (largoDatos - p >= CodificadorPersonas.ENCABEZADO + Long.BYTES) {
+            int largo = datos.getInt(p);
+            if (largo <= 0 || largo > largoDatos - p - Integer.BYTES) break;
+            byte tipo = datos.get(p + Integer.BYTES);
+            long clave = datos.getLong(p + CodificadorPersonas.ENCABEZADO);
+            if (tipo == CodificadorPersonas.ALTA_EMPLEADO_CENTAVOS || tipo == CodificadorPersonas.ALTA_EMPLEADO) {
+                empleados.agregar(p, clave);
+            } else if (tipo == CodificadorPersonas.ALTA_CLIENTE) {
+                clientes.agregar(p, clave);
+            } else {
+                break; // una instantánea solo tiene altas: el resto está dañado
+            }
+            p += Integer.BYTES + largo;
+        }
+        ByteBuffer indice = ByteBuffer.allocate(empleados.tamanoEscrito() + clientes.tamanoEscrito());
+        try {
+            empleados.escribir(indice, null);
+            clientes.escribir(indice, null);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // sin archivo de salida no hay E/S
+        }
+        return indice;
+    }
+
+    // Asegura espacio en el buffer, vaciándolo al archivo si hace falta (salida null: buffer en memoria)
+    private static void asegurar(FileChannel salida, ByteBuffer buffer, int bytes) throws IOException {
+        if (salida != null && buffer.remaining() < bytes) {
+            vaciar(salida, buffer);
+        }
+    }
+
+    // Buffer para un registro de hasta bytes: el de escritura, ya vaciado si hacía falta, o uno
+    // propio si el registro no cabe ni en el buffer vacío (quien lo usa lo vacía a continuación)
+    private static ByteBuffer destino(FileChannel salida, ByteBuffer buffer, int bytes) throws IOException {
+        asegurar(salida, buffer, bytes);
+        return bytes <= buffer.remaining() ? buffer : ByteBuffer.allocate(bytes);
+    }
+
+    private static void vaciar(FileChannel salida, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            salida.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Índice de una sección, tal como se escribe en el archivo:
+     * [int cantidad][int desplazamiento del registro * cantidad][long (RUT << 32 | posición) * cantidad],
+     * los desplazamientos en orden de inserción y los pares RUT-posición ordenados por RUT,
+     * para buscar con búsqueda binaria. Un RUT empaquetado siempre cabe en 31 bits.
+     */
+    private static final class Indice {
+        private int[] desplazamientos;
+        private long[] ordenados;
+        private int cantidad;
+
+        Indice(int capacidad) {
+            desplazamientos = new int[Math.max(16, capacidad)];
+            ordenados = new long[desplazamientos.length];
+        }
+
+        void agregar(long desplazamiento, long clave) {
+            if (desplazamiento > Integer.MAX_VALUE) {
+                throw new IllegalStateException("La instantánea supera los 2 GB");
+            }
+            if (cantidad == desplazamientos.length) {
+                desplazamientos = Arrays.copyOf(desplazamientos, cantidad * 2);
+                ordenados = Arrays.copyOf(ordenados, cantidad * 2);
+            }
+            desplazamientos[cantidad] = (int) desplazamiento;
+            ordenados[cantidad] = clave << 32 | cantidad;
+            cantidad++;
+        }
+
+        int tamanoEscrito() {
+            return Integer.BYTES + cantidad * (Integer.BYTES + Long.BYTES);
+        }
+
+        void escribir(ByteBuffer buffer, FileChannel salida) throws IOException {
+            Arrays.sort(ordenados, 0, cantidad);
+            asegurar(salida, buffer, Integer.BYTES);
+            buffer.putInt(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                asegurar(salida, buffer, Integer.BYTES);
+                buffer.putInt(desplazamientos[i]);
+            }
+            for (int i = 0; i < cantidad; i++) {
+                asegurar(salida, buffer, Long.BYTES);
+                buffer.putLong(ordenados[i]);
+            }
+        }
+    }
+
+    /**
+     * Personas de una clase dentro de la instantánea, leídas directamente del mapeo.
+     * Solo hace lecturas absolutas, por lo que varios hilos pueden consultarla a la vez.
+     */
+    private final class Seccion<T extends Persona> implements RespaldoPersonas<T> {
+        private final Class<T> clase;
+        private final ByteBuffer indice;
+        private final int cantidad;
+        private final int desplazamientos;
+        private final int ordenados;
+        final int fin;
+
+        Seccion(Class<T> clase, ByteBuffer indice, int inicio) {
+            this.clase = clase;
+            this.indice = indice;
+            this.cantidad = indice.getInt(inicio);
+            this.desplazamientos = inicio + Integer.BYTES;
+            this.ordenados = desplazamientos + cantidad * Integer.BYTES;
+            this.fin = ordenados + cantidad * Long.BYTES;
+        }
+
+        @Override
+        public int cantidad() {
+            return cantidad;
+        }
+
+        @Override
+        public long clave(int posicion) {
+            return datos.getLong(desplazamiento(posicion) + CodificadorPersonas.ENCABEZADO);
+        }
+
+        @Override
+        public int posicionDe(long clave) {
+            int bajo = 0;
+            int alto = cantidad - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                long par = indice.getLong(ordenados + medio * Long.BYTES);
+                long actual = par >>> 32;
+                if (actual < clave) bajo = medio + 1;
+                else if (actual > clave) alto = medio - 1;
+                else return (int) par;
+            }
+            return -1;
+        }
+
+        @Override
+        public T leer(int posicion) {
+            int inicio = desplazamiento(posicion);
+            ByteBuffer lectura = datos.slice(inicio + CodificadorPersonas.ENCABEZADO,
+                    largoRegistro(posicion) - CodificadorPersonas.ENCABEZADO);
+            return clase.cast(CodificadorPersonas.leerAlta(datos.get(inicio + Integer.BYTES), lectura));
+        }
+
+        // Bytes del registro codificado de una posición, con su encabezado
+        int largoRegistro(int posicion) {
+            return Integer.BYTES + datos.getInt(desplazamiento(posicion));
+        }
+
+        // Copia el registro codificado de una posición al buffer, sin decodificarlo
+        void copiarRegistro(int posicion, ByteBuffer destino) {
+            int inicio = desplazamiento(posicion);
+            ByteBuffer origen = datos.duplicate();
+            origen.limit(inicio + largoRegistro(posicion)).position(inicio);
+            destino.put(origen);
+        }
+
+        private int desplazamiento(int posicion) {
+            return indice.getInt(desplazamientos + posicion * Integer.BYTES);
+        }
+    }
+}
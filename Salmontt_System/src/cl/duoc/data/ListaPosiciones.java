@@ -0,0 +1,107 @@
+package cl.duoc.data;
+
+import java.util.Arrays;
+
+/**
+ * Clase ListaPosiciones.
+ * Lista ordenada y sin repetidos de posiciones del registro, guardada en un int[].
+ * Como las posiciones nuevas siempre son mayores que las existentes, agregar al final
+ * es el caso común y no requiere búsqueda.
+ */
+final class ListaPosiciones {
+
+    private int[] posiciones = new int[4];
+    private int tamano;
+
+    /**
+     * Agrega una posición manteniendo el orden.
+     *
+     * @param posicion posición a agregar
+     */
+    void agregar(int posicion) {
+        if (tamano == 0 || posiciones[tamano - 1] < posicion) {
+            asegurarCapacidad();
+            posiciones[tamano++] = posicion;
+            return;
+        }
+        int i = Arrays.binarySearch(posiciones, 0, tamano, posicion);
+        if (i >= 0) return; // ya estaba
+        int punto = -i - 1;
+        asegurarCapacidad();
+        System.arraycopy(posiciones, punto, posiciones, punto + 1, tamano - punto);
+        posiciones[punto] = posicion;
+        tamano++;
+    }
+
+    /**
+     * Quita una posición, si está.
+     *
+     * @param posicion posición a quitar
+     */
+    void quitar(int posicion) {
+        int i = Arrays.binarySearch(posiciones, 0, tamano, posicion);
+        if (i < 0) return;
+        System.arraycopy(posiciones, i + 1, posiciones, i, tamano - i - 1);
+        tamano--;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Copia ordenada de las posiciones.
+     *
+     * @return arreglo nuevo con las posiciones
+     */
+    int[] copiar() {
+        return Arrays.copyOf(posiciones, tamano);
+    }
+
+    /**
+     * Intersección de dos listas ordenadas.
+     * Recorre la más corta y busca cada posición en la más larga avanzando a saltos
+     * (búsqueda exponencial), por lo que el costo depende sobre todo de la lista más corta.
+     *
+     * @param a       posiciones ordenadas
+     * @param tamanoA cantidad de posiciones usadas de a
+     * @param b       posiciones ordenadas
+     * @param tamanoB cantidad de posiciones usadas de b
+     * @return posiciones presentes en ambas, ordenadas
+     */
+    static int[] intersectar(int[] a, int tamanoA, int[] b, int tamanoB) {
+        if (tamanoA > tamanoB) return intersectar(b, tamanoB, a, tamanoA);
+        int[] resultado = new int[tamanoA];
+        int cantidad = 0;
+        int j = 0;
+        for (int i = 0; i < tamanoA && j < tamanoB; i++) {
+            int buscada = a[i];
+            // Salto exponencial hasta pasar la posición buscada, luego búsqueda binaria
+            int paso = 1;
+            int hasta = j;
+            while (hasta < tamanoB && b[hasta] < buscada) {
+                j = hasta + 1;
+                hasta += paso;
+                paso <<= 1;
+            }
+            int k = Arrays.binarySearch(b, j, Math.min(hasta + 1, tamanoB), buscada);
+            if (k >= 0) {
+                resultado[cantidad++] = buscada;
+                j = k + 1;
+            } else {
+                j = -k - 1;
+            }
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
+
+    int[] getArreglo() {
+        return posiciones;
+    }
+
+    private void asegurarCapacidad() {
+        if (tamano == posiciones.length) {
+            posiciones = Arrays.copyOf(posiciones, tamano * 2);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Persona;
+
+/**
+ * Interfaz OyenteRegistro<T>.
+ * Recibe los cambios de un RegistroPersonas después de aplicarse.
+ * Permite mantener estructuras asociadas al registro (persistencia, índices, etc.)
+ * sin que InterfazUsuario tenga que conocerlas.
+ *
+ * @param <T> tipo de persona registrada
+ */
+public interface OyenteRegistro<T extends Persona> {
+
+    /**
+     * Se agregó una persona al registro.
+     *
+     * @param posicion posición de la persona en el orden de inserción
+     * @param persona  persona agregada
+     */
+    void alAgregar(int posicion, T persona);
+
+    /**
+     * Se reemplazó a una persona con el mismo RUT.
+     *
+     * @param posicion posición de la persona en el orden de inserción
+     * @param anterior versión reemplazada
+     * @param nueva    nueva versión
+     */
+    default void alActualizar(int posicion, T anterior, T nueva) {
+    }
+
+    /**
+     * Se eliminó a una persona del registro.
+     *
+     * @param posicion posición que ocupaba la persona
+     * @param persona  persona eliminada
+     */
+    default void alEliminar(int posicion, T persona) {
+    }
+
+    /**
+     * Se materializó una persona que ya estaba registrada en el respaldo del registro
+     * (ver RegistroPersonas.enlazarRespaldo). Por defecto se trata como un alta, que es lo que
+     * necesitan los índices; la persistencia y los eventos de cambio no deben tratarla como nueva.
+     *
+     * @param posicion posición de la persona en el orden de inserción
+     * @param persona  persona materializada
+     */
+    default void alCargar(int posicion, T persona) {
+        alAgregar(posicion, persona);
+    }
+}
@@ -0,0 +1,56 @@
+package cl.duoc.data;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Clase genérica Pagina<T>.
+ * Una página de resultados de un RegistroPersonas y el cursor para pedir la siguiente.
+ * El cursor es una posición del orden de inserción, por lo que pedir la página siguiente
+ * no vuelve a recorrer las anteriores.
+ *
+ * @param <T> tipo de persona listada
+ */
+public final class Pagina<T> implements Iterable<T> {
+
+    /** Cursor para pedir la primera página. */
+    public static final int INICIO = -1;
+
+    /** Cursor que indica que no hay más páginas. */
+    public static final int FIN = -2;
+
+    private final List<T> elementos;
+    private final int siguienteCursor;
+
+    Pagina(List<T> elementos, int siguienteCursor) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Cursor para pedir la página siguiente.
+     *
+     * @return cursor, o FIN si esta es la última página
+     */
+    public int getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean haySiguiente() {
+        return siguienteCursor != FIN;
+    }
+
+    public int tamano() {
+        return elementos.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return elementos.iterator();
+    }
+}
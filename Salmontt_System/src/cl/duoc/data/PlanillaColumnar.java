@@ -0,0 +1,310 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Direccion;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.MotorRemuneraciones;
+import cl.duoc.utils.Diccionario;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Clase PlanillaColumnar.
+ * Copia por columnas de los datos de remuneraciones de los empleados, pensada para reportes.
+ *
+ * Cada empleado ocupa la misma posición que tiene en el RegistroPersonas, y sus datos
+ * se guardan en arreglos primitivos: el sueldo en centavos (long, suma exacta) y el cargo,
+ * la comuna y la región como códigos de los diccionarios compartidos (int), tomados
+ * directamente del modelo. Así las agrupaciones recorren
+ * arreglos contiguos en vez de visitar cada objeto Empleado.
+ *
+ * Se mantiene sincronizada como oyente del registro de empleados: los cambios deben hacerse
+ * a través del registro (agregar, actualizar o eliminar).
+ */
+public class PlanillaColumnar implements OyenteRegistro<Empleado> {
+
+    /**
+     * Columna por la cual se agrupan los sueldos.
+     */
+    public enum Dimension {
+        CARGO, COMUNA, REGION
+    }
+
+    // Filas por tarea en los recorridos paralelos
+    private static final int FILAS_POR_TAREA = 1 << 14;
+
+    // Columnas (una fila por posición del registro)
+    private long[] sueldos = new long[64];
+    private int[] codigosCargo = new int[64];
+    private int[] codigosComuna = new int[64];
+    private int[] codigosRegion = new int[64];
+    private boolean[] activos = new boolean[64];
+
+    // Límite (exclusivo) de filas usadas
+    private int filas;
+
+    // Sincronización con el registro
+
+    @Override
+    public synchronized void alAgregar(int posicion, Empleado empleado) {
+        asegurarCapacidad(posicion + 1);
+        escribirFila(posicion, empleado);
+        if (posicion >= filas) filas = posicion + 1;
+    }
+
+    @Override
+    public synchronized void alActualizar(int posicion, Empleado anterior, Empleado nuevo) {
+        escribirFila(posicion, nuevo);
+    }
+
+    @Override
+    public synchronized void alEliminar(int posicion, Empleado empleado) {
+        activos[posicion] = false;
+    }
+
+    // Consultas
+
+    /**
+     * Agrupa los sueldos de los empleados activos según una dimensión (recorrido secuencial).
+     *
+     * @param dimension columna de agrupación
+     * @return un grupo por cada valor presente, con cantidad, suma, mínimo, máximo y promedio
+     */
+    public List<Grupo> agrupar(Dimension dimension) {
+        Columnas c = tomarColumnas(dimension);
+        Acumulador total = new Acumulador(c.diccionario.tamano());
+        total.recorrer(c, 0, c.filas);
+        return total.aGrupos(c.diccionario);
+    }
+
+    /**
+     * Agrupa los sueldos usando todos los núcleos disponibles.
+     * Cada tarea acumula un rango de filas y luego se combinan los resultados parciales.
+     * Como las sumas son enteras (centavos), el resultado es idéntico al secuencial.
+     *
+     * @param dimension columna de agrupación
+     * @return un grupo por cada valor presente
+     */
+    public List<Grupo> agruparEnParalelo(Dimension dimension) {
+        Columnas c = tomarColumnas(dimension);
+        int grupos = c.diccionario.tamano();
+        int tareas = (c.filas + FILAS_POR_TAREA - 1) / FILAS_POR_TAREA;
+        Acumulador total = IntStream.range(0, tareas).parallel()
+                .mapToObj(t -> {
+                    Acumulador parcial = new Acumulador(grupos);
+                    parcial.recorrer(c, t * FILAS_POR_TAREA, Math.min(c.filas, (t + 1) * FILAS_POR_TAREA));
+                    return parcial;
+                })
+                .reduce(Acumulador::combinar)
+                .orElseGet(() -> new Acumulador(grupos));
+        return total.aGrupos(c.diccionario);
+    }
+
+    /**
+     * Estadística de sueldos de todos los empleados activos.
+     *
+     * @return grupo con el total de la planilla
+     */
+    public synchronized Grupo totalPlanilla() {
+        Grupo total = new Grupo("TOTAL");
+        for (int i = 0; i < filas; i++) {
+            if (activos[i]) total.acumular(sueldos[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula la liquidación de sueldo de los empleados activos sobre una copia de la columna
+     * de sueldos. Las filas de la liquidación coinciden con las posiciones del registro.
+     *
+     * @param motor     motor con la tabla de remuneraciones a aplicar
+     * @param paralelo  true para dividir el cálculo con fork/join
+     * @return liquidaciones por fila y totales
+     */
+    public MotorRemuneraciones.Liquidaciones liquidar(MotorRemuneraciones motor, boolean paralelo) {
+        long[] brutos;
+        boolean[] incluidos;
+        int n;
+        synchronized (this) {
+            n = filas;
+            brutos = Arrays.copyOf(sueldos, n);
+            incluidos = Arrays.copyOf(activos, n);
+        }
+        return paralelo ? motor.liquidarEnParalelo(brutos, incluidos, n) : motor.liquidar(brutos, incluidos, n);
+    }
+
+    // Métodos internos
+
+    private void escribirFila(int posicion, Empleado empleado) {
+        Direccion d = empleado.getDireccion();
+        sueldos[posicion] = empleado.getSueldoCentavos();
+        codigosCargo[posicion] = empleado.getCodigoCargo();
+        codigosComuna[posicion] = d == null ? Diccionario.NULO : d.getCodigoComuna();
+        codigosRegion[posicion] = d == null ? Diccionario.NULO : d.getCodigoRegion();
+        activos[posicion] = true;
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo <= sueldos.length) return;
+        int nueva = Math.max(minimo, sueldos.length * 2);
+        sueldos = Arrays.copyOf(sueldos, nueva);
+        codigosCargo = Arrays.copyOf(codigosCargo, nueva);
+        codigosComuna = Arrays.copyOf(codigosComuna, nueva);
+        codigosRegion = Arrays.copyOf(codigosRegion, nueva);
+        activos = Arrays.copyOf(activos, nueva);
+    }
+
+    // Toma una vista consistente de las columnas necesarias para una consulta: las copia con el
+    // monitor (como liquidar), así los cambios que lleguen mientras se agrupa no se mezclan
+    private synchronized Columnas tomarColumnas(Dimension dimension) {
+        long[] s = Arrays.copyOf(sueldos, filas);
+        boolean[] a = Arrays.copyOf(activos, filas);
+        return switch (dimension) {
+            case CARGO -> new Columnas(s, Arrays.copyOf(codigosCargo, filas), a, filas, Diccionario.CARGOS);
+            case COMUNA -> new Columnas(s, Arrays.copyOf(codigosComuna, filas), a, filas, Diccionario.COMUNAS);
+            case REGION -> new Columnas(s, Arrays.copyOf(codigosRegion, filas), a, filas, Diccionario.REGIONES);
+        };
+    }
+
+    /**
+     * Copias de las columnas usadas por una consulta.
+     */
+    private static final class Columnas {
+        final long[] sueldos;
+        final int[] codigos;
+        final boolean[] activos;
+        final int filas;
+        final Diccionario diccionario;
+
+        Columnas(long[] sueldos, int[] codigos, boolean[] activos, int filas, Diccionario diccionario) {
+            this.sueldos = sueldos;
+            this.codigos = codigos;
+            this.activos = activos;
+            this.filas = filas;
+            this.diccionario = diccionario;
+        }
+    }
+
+    /**
+     * Acumuladores primitivos por código de grupo.
+     */
+    private static final class Acumulador {
+        final long[] cantidad;
+        final long[] suma;
+        final long[] minimo;
+        final long[] maximo;
+
+        Acumulador(int grupos) {
+            cantidad = new long[grupos];
+            suma = new long[grupos];
+            minimo = new long[grupos];
+            maximo = new long[grupos];
+            Arrays.fill(minimo, Long.MAX_VALUE);
+            Arrays.fill(maximo, Long.MIN_VALUE);
+        }
+
+        // Ciclo principal: solo lee arreglos primitivos
+        void recorrer(Columnas c, int desde, int hasta) {
+            int grupos = cantidad.length;
+            for (int i = desde; i < hasta; i++) {
+                int codigo = c.codigos[i];
+                if (!c.activos[i] || codigo < 0 || codigo >= grupos) continue;
+                long sueldo = c.sueldos[i];
+                cantidad[codigo]++;
+                suma[codigo] += sueldo;
+                if (sueldo < minimo[codigo]) minimo[codigo] = sueldo;
+                if (sueldo > maximo[codigo]) maximo[codigo] = sueldo;
+            }
+        }
+
+        Acumulador combinar(Acumulador otro) {
+            for (int g = 0; g < cantidad.length; g++) {
+                cantidad[g] += otro.cantidad[g];
+                suma[g] += otro.suma[g];
+                minimo[g] = Math.min(minimo[g], otro.minimo[g]);
+                maximo[g] = Math.max(maximo[g], otro.maximo[g]);
+            }
+            return this;
+        }
+
+        List<Grupo> aGrupos(Diccionario diccionario) {
+            List<Grupo> resultado = new ArrayList<>();
+            for (int g = 0; g < cantidad.length; g++) {
+                if (cantidad[g] == 0) continue;
+                resultado.add(new Grupo(diccionario.decodificar(g), cantidad[g], suma[g], minimo[g], maximo[g]));
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Clase Grupo.
+     * Estadística de sueldos de un grupo (montos en centavos).
+     */
+    public static final class Grupo {
+        private final String nombre;
+        private long cantidad;
+        private long suma;
+        private long minimo = Long.MAX_VALUE;
+        private long maximo = Long.MIN_VALUE;
+
+        Grupo(String nombre) {
+            this.nombre = nombre;
+        }
+
+        Grupo(String nombre, long cantidad, long suma, long minimo, long maximo) {
+            this.nombre = nombre;
+            this.cantidad = cantidad;
+            this.suma = suma;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        void acumular(long sueldo) {
+            cantidad++;
+            suma += sueldo;
+            minimo = Math.min(minimo, sueldo);
+            maximo = Math.max(maximo, sueldo);
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public long getSuma() {
+            return suma;
+        }
+
+        public long getMinimo() {
+            return cantidad == 0 ? 0 : minimo;
+        }
+
+        public long getMaximo() {
+            return cantidad == 0 ? 0 : maximo;
+        }
+
+        /**
+         * Promedio en centavos, redondeado.
+         *
+         * @return promedio, o 0 si el grupo está vacío
+         */
+        public long getPromedio() {
+            return cantidad == 0 ? 0 : Math.round((double) suma / cantidad);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(128).append(nombre).append(": ").append(cantidad).append(" empleados, total ");
+            Dinero.escribirEn(sb, suma).append(", promedio ");
+            Dinero.escribirEn(sb, getPromedio()).append(", mínimo ");
+            Dinero.escribirEn(sb, getMinimo()).append(", máximo ");
+            return Dinero.escribirEn(sb, getMaximo()).toString();
+        }
+    }
+}
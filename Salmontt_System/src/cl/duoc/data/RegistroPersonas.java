@@ -0,0 +1,790 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Persona;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.FiltroBloom;
+import cl.duoc.utils.Metricas;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Clase genérica RegistroPersonas<T>.
+ * Almacena personas (clientes o empleados) indexadas por RUT.
+ * El índice es una tabla hash de direccionamiento abierto con claves primitivas
+ * (el valor empaquetado del Rut), por lo que buscar, actualizar y eliminar es O(1)
+ * sin crear objetos Long. Las personas se guardan además en orden de inserción,
+ * para poder mostrar los últimos registros.
+ *
+ * Cada persona ocupa una posición estable dentro del orden de inserción:
+ * al eliminarla su posición queda vacía y no se reutiliza.
+ * Para cambiar el RUT de una persona registrada se debe eliminar y volver a agregar.
+ * Los cambios se notifican a los oyentes registrados (ver OyenteRegistro).
+ *
+ * Es seguro para usarse desde varios hilos:
+ *   - la tabla se divide en segmentos, cada uno con su propio StampedLock, por lo que
+ *     hilos con RUT distintos rara vez compiten por el mismo bloqueo;
+ *   - las búsquedas usan lectura optimista (sin bloquear) y solo toman el bloqueo de
+ *     lectura si un escritor modificó el segmento durante la búsqueda;
+ *   - la posición de cada persona nueva se reserva con un contador atómico y las personas
+ *     se guardan en bloques que se publican sin bloqueo.
+ * Los oyentes se notifican dentro del bloqueo del segmento, por lo que los cambios de un
+ * mismo RUT llegan en orden. Una posición reservada cuya persona aún no se publica se ve vacía.
+ *
+ * Para un inicio rápido, las personas de una instantánea pueden enlazarse como respaldo
+ * (ver enlazarRespaldo) en vez de agregarse: ocupan las primeras posiciones y cada una se
+ * materializa recién cuando se busca por RUT o se lee su posición.
+ *
+ * Un filtro de Bloom (FiltroBloom) con los RUT registrados resuelve sin tocar la tabla ni el
+ * respaldo las búsquedas de RUT que no están. Los falsos positivos solo cuestan la búsqueda normal.
+ * Por defecto se usa solo mientras hay un respaldo enlazado, donde evita la búsqueda binaria
+ * en la instantánea de cada alta nueva. Sin respaldo, el alta igual recorre la tabla para
+ * ubicar la celda, así que el filtro solo agrega costo; conviene pedirlo en el constructor
+ * cuando predominan las búsquedas de RUT que no están.
+ */
+public class RegistroPersonas<T extends Persona> {
+
+    /**
+     * Orden en que se recorren o listan las personas.
+     */
+    public enum Orden {
+        /** Desde la más antigua a la más reciente. */
+        INSERCION,
+        /** Desde la más reciente a la más antigua. */
+        INSERCION_INVERSA
+    }
+
+    // Marca de celda libre en la tabla de claves (ningún RUT válido es negativo)
+    private static final long LIBRE = Rut.INVALIDO;
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // Cantidad de segmentos de la tabla (potencia de 2)
+    private static final int SEGMENTOS = 64;
+
+    // Personas por bloque del orden de inserción (potencia de 2)
+    private static final int BITS_BLOQUE = 12;
+    private static final int TAMANO_BLOQUE = 1 << BITS_BLOQUE;
+
+    // Acceso con semántica de publicación a los elementos de cada bloque
+    private static final VarHandle ELEMENTO = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Marca de una posición del respaldo cuya persona se eliminó (null significa aún no materializada)
+    private static final Object ELIMINADA = new Object();
+
+    // Segmentos de la tabla hash: clave RUT empaquetada -> posición en el orden de inserción
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    // Personas en orden de inserción, por bloques (null si la persona fue eliminada)
+    private volatile Object[][] bloques;
+    private final Object crecimiento = new Object();
+
+    // Siguiente posición libre en el orden de inserción
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    // Cantidad de personas registradas
+    private final LongAdder cantidad = new LongAdder();
+
+    // Oyentes que reciben los cambios del registro
+    private final List<OyenteRegistro<? super T>> oyentes = new CopyOnWriteArrayList<>();
+
+    // Personas de una instantánea aún no materializadas: ocupan las posiciones bajo limiteRespaldo.
+    // El respaldo se suelta cuando ya no quedan pendientes.
+    private volatile RespaldoPersonas<T> respaldo;
+    private int limiteRespaldo;
+    private final AtomicInteger pendientes = new AtomicInteger();
+
+    // Filtro de Bloom con los RUT de la tabla y del respaldo (null si no se usa).
+    // Solo se consulta cuando tiene todas las claves: al enlazar un respaldo queda incompleto
+    // hasta que completarFiltro() agrega las de este.
+    private volatile FiltroBloom filtro;
+    private volatile boolean filtroCompleto = true;
+
+    // Tasa del filtro que se crea al enlazar un respaldo y se descarta al materializarlo (0: ninguno)
+    private final double tasaFiltroRespaldo;
+
+    public RegistroPersonas() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor con capacidad inicial, útil para cargas masivas.
+     * Usa un filtro de Bloom (con FiltroBloom.TASA_POR_DEFECTO) solo mientras tenga un respaldo enlazado.
+     *
+     * @param capacidad cantidad esperada de personas
+     */
+    public RegistroPersonas(int capacidad) {
+        this(capacidad, 0, FiltroBloom.TASA_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor con capacidad inicial y un filtro de Bloom de RUT permanente, para registros
+     * donde predominan las búsquedas de RUT que no están.
+     *
+     * @param capacidad           cantidad esperada de personas
+     * @param tasaFalsosPositivos tasa del filtro (ej: 0.01), o 0 para no usar filtro (ni con respaldo)
+     */
+    public RegistroPersonas(int capacidad, double tasaFalsosPositivos) {
+        this(capacidad, tasaFalsosPositivos, tasaFalsosPositivos);
+    }
+
+    private RegistroPersonas(int capacidad, double tasaPermanente, double tasaRespaldo) {
+        filtro = tasaPermanente > 0 ? new FiltroBloom(capacidad, tasaPermanente) : null;
+        tasaFiltroRespaldo = tasaPermanente > 0 ? 0 : tasaRespaldo;
+        int porSegmento = Math.max(CAPACIDAD_INICIAL, capacidad / SEGMENTOS + 1);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(porSegmento);
+        }
+        bloques = new Object[Math.max(1, (capacidad + TAMANO_BLOQUE - 1) >> BITS_BLOQUE)][];
+        bloques[0] = new Object[TAMANO_BLOQUE];
+    }
+
+    /**
+     * Agrega una persona si su RUT es válido y aún no está registrado.
+     *
+     * @param persona persona a agregar
+     * @return true si se agregó, false si el RUT es inválido o está duplicado
+     */
+    public boolean agregar(T persona) {
+        long inicio = Metricas.inicio();
+        long clave = claveDe(persona);
+        if (clave == LIBRE) return false;
+
+        Segmento segmento = segmentoDe(clave);
+        long sello = segmento.cerrojo.writeLock();
+        try {
+            int celda = segmento.buscarCelda(clave);
+            if (segmento.claves[celda] == clave || estaEnRespaldo(clave)) { // RUT duplicado
+                Metricas.INSERCIONES_RECHAZADAS.incrementar();
+                return false;
+            }
+
+            // El filtro se actualiza antes de la tabla: quien vea la clave en la tabla ya la ve en el filtro
+            FiltroBloom f = filtro;
+            if (f != null) f.agregar(clave);
+            int posicion = siguiente.getAndIncrement();
+            publicar(posicion, persona);
+            segmento.insertar(celda, clave, posicion);
+            cantidad.increment();
+            for (OyenteRegistro<? super T> oyente : oyentes) {
+                oyente.alAgregar(posicion, persona);
+            }
+            Metricas.INSERCIONES.incrementar();
+            return true;
+        } finally {
+            segmento.cerrojo.unlockWrite(sello);
+            Metricas.INSERCION.registrarDesde(inicio);
+        }
+    }
+
+    /**
+     * Busca una persona por su RUT.
+     *
+     * @param rut RUT a buscar
+     * @return persona registrada o null si no existe
+     */
+    public T obtener(Rut rut) {
+        return rut == null ? null : obtener(rut.getValor());
+    }
+
+    /**
+     * Busca una persona por el valor empaquetado de su RUT.
+     *
+     * @param clave valor empaquetado (ver Rut.getValor())
+     * @return persona registrada o null si no existe
+     */
+    public T obtener(long clave) {
+        int posicion = posicionDe(clave);
+        return posicion < 0 ? null : enPosicion(posicion);
+    }
+
+    /**
+     * Indica si existe una persona registrada con el RUT entregado.
+     *
+     * @param clave valor empaquetado del RUT
+     * @return true si existe
+     */
+    public boolean contiene(long clave) {
+        return posicionDe(clave) >= 0;
+    }
+
+    /**
+     * Reemplaza a la persona registrada con el mismo RUT, manteniendo su posición.
+     *
+     * @param persona nueva versión de la persona
+     * @return persona reemplazada, o null si el RUT no estaba registrado
+     */
+    public T actualizar(T persona) {
+        long clave = claveDe(persona);
+        if (clave == LIBRE) return null;
+        FiltroBloom f = filtroActivo();
+        if (f != null && !f.puedeContener(clave)) return null;
+
+        Segmento segmento = segmentoDe(clave);
+        long sello = segmento.cerrojo.writeLock();
+        try {
+            int posicion = posicionBloqueada(segmento, clave);
+            if (posicion < 0) {
+                if (f != null) f.falsoPositivo();
+                return null;
+            }
+
+            T anterior = enPosicion(posicion);
+            publicar(posicion, persona);
+            for (OyenteRegistro<? super T> oyente : oyentes) {
+                oyente.alActualizar(posicion, anterior, persona);
+            }
+            return anterior;
+        } finally {
+            segmento.cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Elimina a la persona con el RUT entregado.
+     *
+     * @param rut RUT de la persona a eliminar
+     * @return persona eliminada, o null si no existía
+     */
+    public T eliminar(Rut rut) {
+        return rut == null ? null : eliminar(rut.getValor());
+    }
+
+    /**
+     * Elimina a la persona con el valor empaquetado de RUT entregado.
+     *
+     * @param clave valor empaquetado del RUT
+     * @return persona eliminada, o null si no existía
+     */
+    public T eliminar(long clave) {
+        if (clave == LIBRE) return null;
+        FiltroBloom f = filtroActivo();
+        if (f != null && !f.puedeContener(clave)) return null;
+
+        Segmento segmento = segmentoDe(clave);
+        long sello = segmento.cerrojo.writeLock();
+        try {
+            if (posicionBloqueada(segmento, clave) < 0) {
+                if (f != null) f.falsoPositivo();
+                return null;
+            }
+
+            int celda = segmento.buscarCelda(clave);
+            int posicion = segmento.posiciones[celda];
+            T eliminada = enPosicion(posicion);
+            publicar(posicion, posicion < limiteRespaldo ? ELIMINADA : null);
+            cantidad.decrement();
+            segmento.liberarCelda(celda);
+            for (OyenteRegistro<? super T> oyente : oyentes) {
+                oyente.alEliminar(posicion, eliminada);
+            }
+            return eliminada;
+        } finally {
+            segmento.cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Agrega o reemplaza a una persona según si su RUT ya está registrado.
+     *
+     * @param persona persona a guardar
+     * @return true si se guardó, false si su RUT es inválido
+     */
+    public boolean guardar(T persona) {
+        return actualizar(persona) != null || agregar(persona);
+    }
+
+    /**
+     * Registra un oyente que recibirá los cambios posteriores del registro.
+     *
+     * @param oyente oyente a registrar
+     */
+    public void agregarOyente(OyenteRegistro<? super T> oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Enlaza las personas de un respaldo sin materializarlas. Ocupan las primeras posiciones,
+     * cuentan en tamano() y cada una se lee del respaldo recién cuando se busca por RUT o se
+     * lee su posición; en ese momento se notifica a los oyentes con alCargar.
+     * Los oyentes que indexan todas las personas (índices, planilla) quedan completos después
+     * de materializarPendientes().
+     *
+     * @param respaldo personas guardadas, con RUT válidos y sin repetir
+     * @throws IllegalStateException si el registro ya tiene personas
+     */
+    public void enlazarRespaldo(RespaldoPersonas<T> respaldo) {
+        synchronized (crecimiento) {
+            if (siguiente.get() != 0) throw new IllegalStateException("El registro ya tiene personas");
+            int n = respaldo.cantidad();
+            if (n == 0) return;
+            limiteRespaldo = n;
+            pendientes.set(n);
+            cantidad.add(n);
+            if (filtro == null && tasaFiltroRespaldo > 0) filtro = new FiltroBloom(n, tasaFiltroRespaldo);
+            filtroCompleto = false;
+            this.respaldo = respaldo;
+            siguiente.set(n);
+        }
+    }
+
+    /**
+     * Materializa todas las personas del respaldo que aún no se leen, por ejemplo desde un
+     * hilo de fondo después del inicio. Puede ejecutarse a la vez que otras operaciones.
+     *
+     * @return cantidad de personas materializadas por esta llamada
+     */
+    public int materializarPendientes() {
+        completarFiltro();
+        int materializadas = 0;
+        for (int i = 0; i < limiteRespaldo && respaldo != null; i++) {
+            if (elemento(i) == null && materializar(i) != null) materializadas++;
+        }
+        return materializadas;
+    }
+
+    /**
+     * Agrega al filtro de Bloom los RUT del respaldo sin materializar a las personas, para que
+     * vuelva a descartar búsquedas (hasta entonces, toda búsqueda sin resultado en la tabla
+     * consulta el respaldo). materializarPendientes() lo hace primero.
+     */
+    public void completarFiltro() {
+        FiltroBloom f = filtro;
+        if (f == null || filtroCompleto) return;
+        synchronized (f) {
+            if (filtroCompleto) return;
+            RespaldoPersonas<T> actual = respaldo;
+            if (actual != null) {
+                f.reservar(limiteRespaldo);
+                for (int i = 0; i < limiteRespaldo; i++) f.agregar(actual.clave(i));
+            }
+            filtroCompleto = true;
+        }
+    }
+
+    /**
+     * @return filtro de Bloom de RUT, o null si no se usa (por defecto, sin respaldo enlazado)
+     */
+    public FiltroBloom getFiltro() {
+        return filtro;
+    }
+
+    /**
+     * @return cantidad de personas del respaldo que aún no se materializan
+     */
+    public int getPendientes() {
+        return pendientes.get();
+    }
+
+    /**
+     * Indica si la persona de una posición sigue solo en el respaldo.
+     *
+     * @param posicion posición en el orden de inserción
+     * @return true si aún no se materializa
+     */
+    public boolean esPendiente(int posicion) {
+        return posicion < limiteRespaldo && elemento(posicion) == null;
+    }
+
+    /**
+     * @return respaldo enlazado, o null si no hay o ya se materializó completo
+     */
+    public RespaldoPersonas<T> getRespaldo() {
+        return respaldo;
+    }
+
+    /**
+     * Retorna las últimas personas registradas, en orden de inserción.
+     *
+     * @param n cantidad máxima de personas
+     * @return lista con hasta n personas
+     */
+    public List<T> ultimos(int n) {
+        List<T> resultado = new ArrayList<>(Math.min(n, tamano()));
+        for (int i = getLimitePosiciones() - 1; i >= 0 && resultado.size() < n; i--) {
+            T persona = enPosicion(i);
+            if (persona != null) resultado.add(persona);
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    /**
+     * Obtiene una página de personas a partir de un cursor.
+     * Solo se recorren las posiciones necesarias para completar la página.
+     *
+     * @param cursor cursor entregado por la página anterior, o Pagina.INICIO
+     * @param tamano cantidad máxima de personas por página
+     * @param orden  orden del listado
+     * @return página con hasta tamano personas
+     */
+    public Pagina<T> pagina(int cursor, int tamano, Orden orden) {
+        List<T> elementos = new ArrayList<>(Math.min(tamano, tamano()));
+        if (cursor == Pagina.FIN) return new Pagina<>(elementos, Pagina.FIN);
+
+        int limite = getLimitePosiciones();
+        int paso = orden == Orden.INSERCION ? 1 : -1;
+        int i = cursor != Pagina.INICIO ? cursor : (paso > 0 ? 0 : limite - 1);
+        for (; i >= 0 && i < limite && elementos.size() < tamano; i += paso) {
+            T persona = enPosicion(i);
+            if (persona != null) elementos.add(persona);
+        }
+        return new Pagina<>(elementos, hayPersonaDesde(i, paso, limite) ? i : Pagina.FIN);
+    }
+
+    /**
+     * Recorrido perezoso de las personas: cada persona se obtiene recién cuando se solicita.
+     *
+     * @param orden orden del recorrido
+     * @return iterable sobre las personas registradas
+     */
+    public Iterable<T> recorrer(Orden orden) {
+        return () -> new Iterator<T>() {
+            private final int limite = getLimitePosiciones();
+            private final int paso = orden == Orden.INSERCION ? 1 : -1;
+            private int i = avanzar(paso > 0 ? 0 : limite - 1);
+
+            private int avanzar(int desde) {
+                while (desde >= 0 && desde < limite && enPosicion(desde) == null) desde += paso;
+                return desde;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return i >= 0 && i < limite;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T persona = enPosicion(i);
+                i = avanzar(i + paso);
+                return persona;
+            }
+        };
+    }
+
+    // Indica si queda alguna persona desde la posición indicada en la dirección del paso
+    private boolean hayPersonaDesde(int i, int paso, int limite) {
+        for (; i >= 0 && i < limite; i += paso) {
+            if (enPosicion(i) != null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Recorre todas las personas registradas en orden de inserción.
+     *
+     * @param accion acción a ejecutar por cada persona
+     */
+    public void paraCada(Consumer<? super T> accion) {
+        int limite = getLimitePosiciones();
+        for (int i = 0; i < limite; i++) {
+            T persona = enPosicion(i);
+            if (persona != null) accion.accept(persona);
+        }
+    }
+
+    /**
+     * Posición de una persona dentro del orden de inserción.
+     * No bloquea: lee el segmento de forma optimista y solo si un escritor lo modificó
+     * durante la búsqueda repite la búsqueda con el bloqueo de lectura.
+     *
+     * @param clave valor empaquetado del RUT
+     * @return posición, o -1 si no está registrada
+     */
+    public int posicionDe(long clave) {
+        if (clave == LIBRE) return -1;
+        FiltroBloom f = filtroActivo();
+        if (f != null && !f.puedeContener(clave)) return -1;
+        int posicion = buscarPosicion(clave);
+        if (posicion < 0 && f != null) f.falsoPositivo();
+        return posicion;
+    }
+
+    // Búsqueda en la tabla y, si no está, en el respaldo
+    private int buscarPosicion(long clave) {
+        Segmento segmento = segmentoDe(clave);
+        long sello = segmento.cerrojo.tryOptimisticRead();
+        int posicion = -1;
+        if (sello != 0) {
+            posicion = segmento.posicionOptimista(clave);
+            if (!segmento.cerrojo.validate(sello)) sello = 0;
+        }
+        if (sello == 0) {
+            sello = segmento.cerrojo.readLock();
+            try {
+                int celda = segmento.buscarCelda(clave);
+                posicion = segmento.claves[celda] == clave ? segmento.posiciones[celda] : -1;
+            } finally {
+                segmento.cerrojo.unlockRead(sello);
+            }
+        }
+        if (posicion >= 0 || respaldo == null) return posicion;
+
+        // No está en la tabla: puede seguir en el respaldo
+        sello = segmento.cerrojo.writeLock();
+        try {
+            return posicionBloqueada(segmento, clave);
+        } finally {
+            segmento.cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Persona registrada en una posición del orden de inserción.
+     *
+     * @param posicion posición (entre 0 y getLimitePosiciones() - 1)
+     * @return persona, o null si la posición quedó vacía
+     */
+    @SuppressWarnings("unchecked")
+    public T enPosicion(int posicion) {
+        Object persona = elemento(posicion);
+        if (persona == null && posicion < limiteRespaldo) persona = materializar(posicion);
+        return persona == ELIMINADA ? null : (T) persona;
+    }
+
+    /**
+     * Cantidad de personas registradas.
+     *
+     * @return total de personas
+     */
+    public int tamano() {
+        return (int) cantidad.sum();
+    }
+
+    public boolean estaVacio() {
+        return tamano() == 0;
+    }
+
+    /**
+     * Límite superior (exclusivo) de las posiciones usadas en el orden de inserción.
+     *
+     * @return cantidad de posiciones ocupadas o vacías
+     */
+    public int getLimitePosiciones() {
+        return siguiente.get();
+    }
+
+    // Métodos internos del orden de inserción
+
+    // Contenido de una posición: persona, null o ELIMINADA
+    private Object elemento(int posicion) {
+        Object[][] actuales = bloques;
+        int bloque = posicion >>> BITS_BLOQUE;
+        if (bloque >= actuales.length || actuales[bloque] == null) return null;
+        return ELEMENTO.getAcquire(actuales[bloque], posicion & (TAMANO_BLOQUE - 1));
+    }
+
+    // Guarda una persona en su posición, creando el bloque si hace falta
+    private void publicar(int posicion, Object persona) {
+        int bloque = posicion >>> BITS_BLOQUE;
+        Object[][] actuales = bloques;
+        if (bloque >= actuales.length || actuales[bloque] == null) {
+            actuales = crearBloque(bloque);
+        }
+        ELEMENTO.setRelease(actuales[bloque], posicion & (TAMANO_BLOQUE - 1), persona);
+    }
+
+    private Object[][] crearBloque(int bloque) {
+        synchronized (crecimiento) {
+            Object[][] actuales = bloques;
+            if (bloque >= actuales.length) {
+                actuales = Arrays.copyOf(actuales, Math.max(bloque + 1, actuales.length * 2));
+            } else if (actuales[bloque] != null) {
+                return actuales;
+            } else {
+                actuales = actuales.clone();
+            }
+            actuales[bloque] = new Object[TAMANO_BLOQUE];
+            bloques = actuales;
+            return actuales;
+        }
+    }
+
+    // Métodos internos del respaldo
+
+    // Materializa la persona de una posición del respaldo; retorna el contenido final de la posición
+    private Object materializar(int posicion) {
+        RespaldoPersonas<T> actual = respaldo;
+        if (actual == null) return elemento(posicion); // otro hilo terminó de materializar
+        long clave = actual.clave(posicion);
+        Segmento segmento = segmentoDe(clave);
+        long sello = segmento.cerrojo.writeLock();
+        try {
+            posicionBloqueada(segmento, clave);
+        } finally {
+            segmento.cerrojo.unlockWrite(sello);
+        }
+        return elemento(posicion);
+    }
+
+    // Posición de una clave con el bloqueo de escritura del segmento tomado.
+    // Si la clave solo está en el respaldo, materializa a la persona y la agrega a la tabla.
+    private int posicionBloqueada(Segmento segmento, long clave) {
+        int celda = segmento.buscarCelda(clave);
+        if (segmento.claves[celda] == clave) return segmento.posiciones[celda];
+        RespaldoPersonas<T> actual = respaldo;
+        if (actual == null) return -1;
+        int posicion = actual.posicionDe(clave);
+        if (posicion < 0 || elemento(posicion) != null) return -1; // no está o fue eliminada
+
+        T persona = actual.leer(posicion);
+        FiltroBloom f = filtro;
+        if (f != null && !filtroCompleto) f.agregar(clave); // si está completo ya la tiene
+        publicar(posicion, persona);
+        segmento.insertar(celda, clave, posicion);
+        for (OyenteRegistro<? super T> oyente : oyentes) {
+            oyente.alCargar(posicion, persona);
+        }
+        if (pendientes.decrementAndGet() == 0) {
+            respaldo = null;
+            filtroCompleto = true; // todas las claves del respaldo pasaron por el filtro
+            if (tasaFiltroRespaldo > 0) filtro = null; // solo se creó por el respaldo
+        }
+        return posicion;
+    }
+
+    // Con el bloqueo de escritura y la clave ausente de la tabla: la clave sigue en el respaldo
+    private boolean estaEnRespaldo(long clave) {
+        RespaldoPersonas<T> actual = respaldo;
+        if (actual == null) return false;
+        FiltroBloom f = filtroActivo();
+        if (f != null && !f.puedeContener(clave)) return false;
+        int posicion = actual.posicionDe(clave);
+        boolean esta = posicion >= 0 && elemento(posicion) == null;
+        if (!esta && f != null) f.falsoPositivo();
+        return esta;
+    }
+
+    // El filtro responde solo si existe y tiene todas las claves
+    private FiltroBloom filtroActivo() {
+        return filtroCompleto ? filtro : null;
+    }
+
+    // Métodos internos de la tabla hash
+
+    private static long claveDe(Persona persona) {
+        Rut rut = persona == null ? null : persona.getRut();
+        return rut == null ? LIBRE : rut.getValor();
+    }
+
+    private static int mezclar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // Los bits altos eligen el segmento; los bajos, la celda dentro del segmento
+    private Segmento segmentoDe(long clave) {
+        return segmentos[mezclar(clave) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTOS))];
+    }
+
+    /**
+     * Un segmento de la tabla hash, con su propio bloqueo.
+     */
+    private static final class Segmento {
+        final StampedLock cerrojo = new StampedLock();
+        long[] claves;
+        int[] posiciones;
+        int mascara;
+        int cantidad;
+
+        Segmento(int capacidad) {
+            int tamanoTabla = Integer.highestOneBit(Math.max(CAPACIDAD_INICIAL, capacidad * 2 - 1)) << 1;
+            claves = new long[tamanoTabla];
+            Arrays.fill(claves, LIBRE);
+            posiciones = new int[tamanoTabla];
+            mascara = tamanoTabla - 1;
+        }
+
+        // Retorna la celda que contiene la clave, o la primera celda libre de su secuencia de sondeo
+        int buscarCelda(long clave) {
+            int celda = mezclar(clave) & mascara;
+            while (claves[celda] != LIBRE && claves[celda] != clave) {
+                celda = (celda + 1) & mascara;
+            }
+            return celda;
+        }
+
+        // Búsqueda sin bloqueo: los arreglos pueden cambiar a mitad de camino, por lo que
+        // se acota el sondeo y el resultado solo se usa si el sello sigue siendo válido
+        int posicionOptimista(long clave) {
+            long[] c = claves;
+            int[] p = posiciones;
+            if (c.length != p.length) return -1;
+            int m = c.length - 1;
+            int celda = mezclar(clave) & m;
+            for (int intentos = 0; intentos <= m; intentos++) {
+                long actual = c[celda];
+                if (actual == clave) return p[celda];
+                if (actual == LIBRE) return -1;
+                celda = (celda + 1) & m;
+            }
+            return -1;
+        }
+
+        void insertar(int celda, long clave, int posicion) {
+            claves[celda] = clave;
+            posiciones[celda] = posicion;
+            cantidad++;
+            // Mantiene la tabla como máximo a la mitad de su capacidad
+            if (cantidad * 2 > claves.length) {
+                redimensionar(claves.length * 2);
+            }
+        }
+
+        // Eliminación con desplazamiento hacia atrás (sondeo lineal, sin marcas de borrado)
+        void liberarCelda(int celda) {
+            int libre = celda;
+            int actual = celda;
+            while (true) {
+                actual = (actual + 1) & mascara;
+                long clave = claves[actual];
+                if (clave == LIBRE) break;
+                int ideal = mezclar(clave) & mascara;
+                // Mueve la clave si su celda ideal no está entre la celda libre y la actual
+                boolean mover = libre <= actual
+                        ? (ideal <= libre || ideal > actual)
+                        : (ideal <= libre && ideal > actual);
+                if (mover) {
+                    claves[libre] = clave;
+                    posiciones[libre] = posiciones[actual];
+                    libre = actual;
+                }
+            }
+            claves[libre] = LIBRE;
+            cantidad--;
+        }
+
+        private void redimensionar(int nuevoTamano) {
+            long[] clavesAnteriores = claves;
+            int[] posicionesAnteriores = posiciones;
+            long[] nuevasClaves = new long[nuevoTamano];
+            Arrays.fill(nuevasClaves, LIBRE);
+            int[] nuevasPosiciones = new int[nuevoTamano];
+            int nuevaMascara = nuevoTamano - 1;
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != LIBRE) {
+                    int celda = mezclar(clavesAnteriores[i]) & nuevaMascara;
+                    while (nuevasClaves[celda] != LIBRE) celda = (celda + 1) & nuevaMascara;
+                    nuevasClaves[celda] = clavesAnteriores[i];
+                    nuevasPosiciones[celda] = posicionesAnteriores[i];
+                }
+            }
+            // Se publican completos, para que las lecturas optimistas nunca vean una tabla a medias
+            posiciones = nuevasPosiciones;
+            claves = nuevasClaves;
+            mascara = nuevaMascara;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Persona;
+
+/**
+ * Interfaz RespaldoPersonas<T>.
+ * Personas guardadas fuera de los objetos del modelo (por ejemplo en una instantánea mapeada),
+ * que un RegistroPersonas materializa recién cuando se accede a ellas (ver RegistroPersonas.enlazarRespaldo).
+ * Las posiciones van de 0 a cantidad() - 1, en orden de inserción, y los RUT no se repiten.
+ * Debe poder consultarse desde varios hilos a la vez.
+ *
+ * @param <T> tipo de persona guardada
+ */
+public interface RespaldoPersonas<T extends Persona> {
+
+    /**
+     * @return cantidad de personas guardadas
+     */
+    int cantidad();
+
+    /**
+     * RUT de la persona en una posición, sin materializarla.
+     *
+     * @param posicion posición (entre 0 y cantidad() - 1)
+     * @return valor empaquetado del RUT (ver Rut.getValor())
+     */
+    long clave(int posicion);
+
+    /**
+     * Busca la posición de un RUT sin materializar personas.
+     *
+     * @param clave valor empaquetado del RUT
+     * @return posición, o -1 si no está guardado
+     */
+    int posicionDe(long clave);
+
+    /**
+     * Materializa la persona de una posición. Cada llamada crea un objeto nuevo.
+     *
+     * @param posicion posición (entre 0 y cantidad() - 1)
+     * @return persona guardada
+     */
+    T leer(int posicion);
+}
@@ -0,0 +1,142 @@
+package cl.duoc.data;
+
+import cl.duoc.model.Campos;
+import cl.duoc.utils.ColectorViolaciones;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clase ResultadoImportacion.
+ * Resume una carga masiva: líneas leídas, aceptadas y rechazadas.
+ * Guarda el detalle de los rechazos hasta un límite, para que la memoria
+ * usada no dependa del tamaño del archivo; el resto solo se cuenta.
+ */
+public class ResultadoImportacion {
+
+    /**
+     * Línea rechazada durante la importación.
+     */
+    public static final class Rechazo {
+
+        private final long numeroLinea; // número de línea en el archivo (desde 1)
+        private final String motivo;
+        private final String linea;
+
+        Rechazo(long numeroLinea, String motivo, String linea) {
+            this.numeroLinea = numeroLinea;
+            this.motivo = motivo;
+            this.linea = linea;
+        }
+
+        public long getNumeroLinea() {
+            return numeroLinea;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+
+        public String getLinea() {
+            return linea;
+        }
+
+        @Override
+        public String toString() {
+            return "Línea " + numeroLinea + ": " + motivo + " -> " + linea;
+        }
+    }
+
+    /** Motivo: la línea no tiene la cantidad de campos o el tipo de dato esperado. */
+    public static final String FORMATO_INVALIDO = "formato inválido";
+
+    /** Motivo: los datos no cumplen las reglas de esValida() (prefijo de los motivos por campo). */
+    public static final String DATOS_INVALIDOS = "datos inválidos";
+
+    /** Motivo: el RUT ya estaba registrado. */
+    public static final String RUT_DUPLICADO = "RUT duplicado";
+
+    // Motivo de cada combinación campo/código de error, ej: "datos inválidos: correo (formato inválido)".
+    // Se arman una sola vez, así un rechazo no construye cadenas.
+    private static final String[][] MOTIVOS_DATOS = new String[Campos.CANTIDAD][ColectorViolaciones.INVALIDO + 1];
+
+    static {
+        for (int campo = 0; campo < Campos.CANTIDAD; campo++) {
+            for (int codigo = 0; codigo <= ColectorViolaciones.INVALIDO; codigo++) {
+                MOTIVOS_DATOS[campo][codigo] = DATOS_INVALIDOS + ": " + Campos.nombre(campo)
+                        + " (" + ColectorViolaciones.describir(codigo) + ")";
+            }
+        }
+    }
+
+    /**
+     * Motivo de rechazo para la primera violación registrada en un colector.
+     *
+     * @param colector colector con las violaciones de una persona
+     * @return motivo con el campo y el error, o DATOS_INVALIDOS si el colector está vacío
+     */
+    public static String motivoDatos(ColectorViolaciones colector) {
+        if (colector.estaVacio()) return DATOS_INVALIDOS;
+        int campo = colector.getCampo(0);
+        int codigo = colector.getCodigo(0);
+        if (campo < 0 || campo >= Campos.CANTIDAD || codigo < 0 || codigo > ColectorViolaciones.INVALIDO) {
+            return DATOS_INVALIDOS;
+        }
+        return MOTIVOS_DATOS[campo][codigo];
+    }
+
+    // Máximo de rechazos que se guardan con detalle
+    private final int limiteDetalle;
+
+    private final List<Rechazo> rechazos = new ArrayList<>();
+    private long lineasLeidas;
+    private long aceptadas;
+    private long rechazadas;
+
+    public ResultadoImportacion(int limiteDetalle) {
+        this.limiteDetalle = limiteDetalle;
+    }
+
+    void contarLinea() {
+        lineasLeidas++;
+    }
+
+    void contarAceptada() {
+        aceptadas++;
+    }
+
+    void rechazar(long numeroLinea, String motivo, String linea) {
+        rechazadas++;
+        if (rechazos.size() < limiteDetalle) {
+            rechazos.add(new Rechazo(numeroLinea, motivo, linea));
+        }
+    }
+
+    // Métodos getter
+
+    public long getLineasLeidas() {
+        return lineasLeidas;
+    }
+
+    public long getAceptadas() {
+        return aceptadas;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    /**
+     * Detalle de los rechazos, en orden de línea (hasta el límite configurado).
+     *
+     * @return lista no modificable de rechazos
+     */
+    public List<Rechazo> getRechazos() {
+        return Collections.unmodifiableList(rechazos);
+    }
+
+    @Override
+    public String toString() {
+        return "Líneas leídas: " + lineasLeidas + ", aceptadas: " + aceptadas + ", rechazadas: " + rechazadas;
+    }
+}
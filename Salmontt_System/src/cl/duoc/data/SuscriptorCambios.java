@@ -0,0 +1,18 @@
+package cl.duoc.data;
+
+/**
+ * Interfaz SuscriptorCambios.
+ * Recibe los cambios publicados en un BusCambios, en lotes y en el orden en que ocurrieron.
+ * Cada suscriptor tiene su propio hilo, así que puede ser lento sin demorar las inserciones.
+ */
+public interface SuscriptorCambios {
+
+    /**
+     * Procesa un lote de eventos consecutivos. Los eventos se reutilizan después de
+     * retornar: lo que se quiera conservar debe copiarse aquí.
+     * Una excepción se cuenta como error de la suscripción y no detiene la entrega.
+     *
+     * @param lote eventos pendientes, entre 1 y el tamaño de lote del bus
+     */
+    void alRecibir(BusCambios.Lote lote);
+}
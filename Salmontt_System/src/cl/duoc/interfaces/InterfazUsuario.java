@@ -1,11 +1,28 @@
 package cl.duoc.interfaces;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
+import cl.duoc.data.BitacoraPersonas;
+import cl.duoc.data.BusCambios;
+import cl.duoc.data.ExportadorPersonas;
+import cl.duoc.data.ImportadorPersonas;
+import cl.duoc.data.IndiceNombres;
+import cl.duoc.data.IndicesPersonas;
+import cl.duoc.data.InstantaneaPersonas;
+import cl.duoc.data.PlanillaColumnar;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.data.ResultadoImportacion;
+import cl.duoc.model.Campos;
 import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
 import cl.duoc.model.Direccion;
 import cl.duoc.model.Empleado;
+import cl.duoc.model.MotorRemuneraciones;
+import cl.duoc.model.Persona;
 import cl.duoc.model.Rut;
-import java.util.ArrayList;
+import cl.duoc.model.TablaRemuneraciones;
+import cl.duoc.utils.Metricas;
 import java.util.List;
 
 /**
@@ -15,12 +32,117 @@ import java.util.List;
  */
 public class InterfazUsuario {
 
-    // Scanner para leer entradas desde consola
-    private static final Scanner scanner = new Scanner(System.in);
+    // Scanner para leer entradas desde consola (compartido con ValidadorInputs)
+    private static final Scanner scanner = ValidadorInputs.scanner;
 
-    // Listas para almacenar clientes y empleados registrados
-    private final List<Cliente> clientes = new ArrayList<>();
-    private final List<Empleado> empleados = new ArrayList<>();
+    // Registros de clientes y empleados, indexados por RUT y en orden de inserción
+    private final RegistroPersonas<Cliente> clientes = new RegistroPersonas<>();
+    private final RegistroPersonas<Empleado> empleados = new RegistroPersonas<>();
+
+    // Listado paginado con salida en buffer
+    private final ListadoPersonas listado = ListadoPersonas.paraConsola();
+
+    // Copia por columnas de los sueldos, para reportes de remuneraciones
+    private final PlanillaColumnar planilla = new PlanillaColumnar();
+
+    // Cálculo de liquidaciones con la tabla de remuneraciones vigente
+    private volatile MotorRemuneraciones remuneraciones = new MotorRemuneraciones(TablaRemuneraciones.referencial());
+
+    // Índices secundarios para búsquedas por comuna, región, cargo y sueldo
+    private final IndicesPersonas<Cliente> indicesClientes = new IndicesPersonas<>(clientes);
+    private final IndicesPersonas<Empleado> indicesEmpleados = new IndicesPersonas<>(empleados);
+
+    // Índices de trigramas para buscar por nombre y apellido
+    private final IndiceNombres<Cliente> nombresClientes = new IndiceNombres<>(clientes);
+    private final IndiceNombres<Empleado> nombresEmpleados = new IndiceNombres<>(empleados);
+
+    // Persistencia de los registros (null si no está habilitada)
+    private volatile BitacoraPersonas bitacora; // la leen las sesiones del servidor al compactar
+
+    // Lectura en segundo plano de las personas que siguen en la instantánea (null si no hay)
+    private Thread carga;
+
+    // Duración de la recuperación al habilitar la persistencia
+    private long nanosRecuperacion;
+
+    // Eventos de cambio de ambos registros, para suscriptores de auditoría y sincronización
+    private final BusCambios cambios = BusCambios.crear();
+
+    /**
+     * Constructor de la interfaz. Asocia la planilla y los índices a los registros.
+     */
+    public InterfazUsuario() {
+        empleados.agregarOyente(planilla);
+        empleados.agregarOyente(indicesEmpleados);
+        empleados.agregarOyente(nombresEmpleados);
+        clientes.agregarOyente(indicesClientes);
+        clientes.agregarOyente(nombresClientes);
+        cambios.observar(empleados);
+        cambios.observar(clientes);
+        Metricas.setNombresCampos(Campos::nombre);
+    }
+
+    /**
+     * Habilita la persistencia en un directorio de datos.
+     * Recupera los clientes y empleados guardados y, desde ese momento,
+     * cada registro aceptado se guarda en la bitácora.
+     *
+     * La instantánea no se lee al iniciar: sus personas se materializan al primer acceso
+     * (listados, búsquedas por RUT) y un hilo de fondo completa el resto, para que los
+     * índices y la planilla queden completos (ver completarCarga).
+     * 
+     * @param directorio directorio de datos
+     * @return true si se habilitó, false si no se pudo abrir el directorio
+     */
+    public boolean habilitarPersistencia(Path directorio) {
+        long inicio = System.nanoTime();
+        try {
+            bitacora = BitacoraPersonas.abrir(directorio);
+            InstantaneaPersonas instantanea = bitacora.recuperarPerezoso(empleados, clientes);
+            empleados.agregarOyente(bitacora);
+            clientes.agregarOyente(bitacora);
+            if (instantanea != null) {
+                carga = new Thread(this::materializarPendientes, "carga-instantanea");
+                carga.setDaemon(true);
+                carga.start();
+            }
+            nanosRecuperacion = System.nanoTime() - inicio;
+            return true;
+        } catch (IOException e) {
+            System.out.println("\nNo se pudo habilitar la persistencia: " + e.getMessage());
+            bitacora = null;
+            return false;
+        }
+    }
+
+    private void materializarPendientes() {
+        empleados.materializarPendientes();
+        clientes.materializarPendientes();
+    }
+
+    /**
+     * Espera a que se materialicen todas las personas de la instantánea.
+     * Lo usan las opciones que dependen de los índices o de la planilla;
+     * los listados y las búsquedas por RUT no lo necesitan.
+     */
+    public void completarCarga() {
+        Thread actual = carga;
+        if (actual == null) return;
+        try {
+            actual.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Duración de la recuperación de los datos guardados (sin contar la materialización en segundo plano).
+     *
+     * @return nanosegundos, o 0 si la persistencia no está habilitada
+     */
+    public long getNanosRecuperacion() {
+        return nanosRecuperacion;
+    }
 
     /**
      * Método principal que inicia el menú de interacción.
@@ -37,10 +159,54 @@ public class InterfazUsuario {
                 case 2 -> crearEmpleado();
                 case 3 -> mostrarUltimosClientes();
                 case 4 -> mostrarUltimosEmpleados();
-                case 5 -> System.out.println("\nSaliendo del sistema...");
+                case 5 -> importarEmpleados(ValidadorInputs.leerRuta("empleados"));
+                case 6 -> importarClientes(ValidadorInputs.leerRuta("clientes"));
+                case 7 -> mostrarReporteSueldos();
+                case 8 -> listarTodos(clientes, "Clientes");
+                case 9 -> listarTodos(empleados, "Empleados");
+                case 10 -> buscarEmpleados();
+                case 11 -> buscarClientes();
+                case 12 -> buscarPorNombre();
+                case 13 -> mostrarRemuneraciones();
+                case 14 -> System.out.print("\n" + Metricas.getInstancia().volcar());
+                case 15 -> exportarRegistros();
+                case 0 -> System.out.println("\nSaliendo del sistema...");
                 default -> System.out.println("\nOpción inválida.");
             }
-        } while (opcion != 5);
+            compactarSiCorresponde();
+        } while (opcion != 0);
+        cerrar();
+    }
+
+    /**
+     * Compacta la bitácora en una instantánea cuando superó su umbral.
+     * Se ejecuta entre opciones del menú y después de cada alta de ModoLote (lotes y servidor),
+     * fuera del camino de inserción. Si varios hilos lo llaman a la vez, compacta uno solo.
+     */
+    public void compactarSiCorresponde() {
+        BitacoraPersonas actual = bitacora;
+        if (actual == null) return;
+        try {
+            actual.compactarSiHaceFalta(empleados, clientes);
+        } catch (IOException e) {
+            System.out.println("\nError al compactar los datos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entrega los eventos de cambio pendientes, guarda una instantánea final y cierra la persistencia.
+     * Se llama al salir del menú o al terminar el modo por lotes.
+     */
+    public void cerrar() {
+        cambios.close();
+        if (bitacora == null) return;
+        try {
+            bitacora.compactar(empleados, clientes);
+            bitacora.close();
+        } catch (IOException e) {
+            System.out.println("\nError al guardar los datos: " + e.getMessage());
+        }
+        bitacora = null;
     }
 
     /**
@@ -52,7 +218,18 @@ public class InterfazUsuario {
         System.out.println("Opcion 2: Crear Empleado");
         System.out.println("Opcion 3: Ver últimos 3 clientes");
         System.out.println("Opcion 4: Ver últimos 3 empleados");
-        System.out.println("Opcion 5: Salir");
+        System.out.println("Opcion 5: Importar empleados desde archivo");
+        System.out.println("Opcion 6: Importar clientes desde archivo");
+        System.out.println("Opcion 7: Reporte de sueldos");
+        System.out.println("Opcion 8: Listar todos los clientes");
+        System.out.println("Opcion 9: Listar todos los empleados");
+        System.out.println("Opcion 10: Buscar empleados");
+        System.out.println("Opcion 11: Buscar clientes");
+        System.out.println("Opcion 12: Buscar por nombre");
+        System.out.println("Opcion 13: Calcular remuneraciones");
+        System.out.println("Opcion 14: Ver métricas");
+        System.out.println("Opcion 15: Exportar registros a archivo");
+        System.out.println("Opcion 0: Salir");
         System.out.print("\nSeleccione una opción: ");
     }
 
@@ -74,33 +251,270 @@ public class InterfazUsuario {
     }
 
     /**
-     * Agrega un empleado a la lista si es válido.
+     * Agrega un empleado al registro si es válido y su RUT no está registrado.
      * 
      * @param empleado objeto Empleado
      */
     public void agregarEmpleado(Empleado empleado) {
-        if (empleado.esValida()) {
-            empleados.add(empleado);
-            System.out.println("\nEmpleado creado correctamente.");
-        } else {
+        long inicio = Metricas.inicio();
+        boolean valido = empleado.esValida();
+        Metricas.validacion(inicio, valido);
+        if (!valido) {
             System.out.println("\nError al validar empleado.");
+        } else if (!empleados.agregar(empleado)) {
+            System.out.println("\nError: ya existe un empleado con RUT " + empleado.getRut() + ".");
+        } else {
+            System.out.println("\nEmpleado creado correctamente.");
         }
     }
 
     /**
-     * Agrega un cliente a la lista si es válido.
+     * Agrega un cliente al registro si es válido y su RUT no está registrado.
      * 
      * @param cliente objeto Cliente
      */
     public void agregarCliente(Cliente cliente) {
-        if (cliente.esValida()) {
-            clientes.add(cliente);
-            System.out.println("\nCliente creado correctamente.");
-        } else {
+        long inicio = Metricas.inicio();
+        boolean valido = cliente.esValida();
+        Metricas.validacion(inicio, valido);
+        if (!valido) {
             System.out.println("\nError al validar cliente.");
+        } else if (!clientes.agregar(cliente)) {
+            System.out.println("\nError: ya existe un cliente con RUT " + cliente.getRut() + ".");
+        } else {
+            System.out.println("\nCliente creado correctamente.");
         }
     }
 
+    /**
+     * Busca un empleado por su RUT.
+     * 
+     * @param rut RUT del empleado
+     * @return empleado registrado o null si no existe
+     */
+    public Empleado buscarEmpleado(Rut rut) {
+        return empleados.obtener(rut);
+    }
+
+    /**
+     * Busca un cliente por su RUT.
+     * 
+     * @param rut RUT del cliente
+     * @return cliente registrado o null si no existe
+     */
+    public Cliente buscarCliente(Rut rut) {
+        return clientes.obtener(rut);
+    }
+
+    /**
+     * Importa empleados desde un archivo de texto (ver FormatoArchivo).
+     * Las líneas inválidas o con RUT duplicado se informan sin detener la carga.
+     * 
+     * @param archivo ruta del archivo
+     * @return resumen de la importación, o null si no se pudo leer el archivo
+     */
+    public ResultadoImportacion importarEmpleados(Path archivo) {
+        try {
+            ResultadoImportacion resultado = ImportadorPersonas.deEmpleados().importar(archivo, empleados::agregar);
+            mostrarResultado(resultado);
+            return resultado;
+        } catch (IOException e) {
+            System.out.println("\nError al leer el archivo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Importa clientes desde un archivo de texto (ver FormatoArchivo).
+     * Las líneas inválidas o con RUT duplicado se informan sin detener la carga.
+     * 
+     * @param archivo ruta del archivo
+     * @return resumen de la importación, o null si no se pudo leer el archivo
+     */
+    public ResultadoImportacion importarClientes(Path archivo) {
+        try {
+            ResultadoImportacion resultado = ImportadorPersonas.deClientes().importar(archivo, clientes::agregar);
+            mostrarResultado(resultado);
+            return resultado;
+        } catch (IOException e) {
+            System.out.println("\nError al leer el archivo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Exporta todos los empleados o clientes a un archivo CSV o JSON Lines (ver ExportadorPersonas).
+     * 
+     * @param registro  registro a exportar
+     * @param archivo   archivo de destino (se reemplaza si existe)
+     * @param formato   CSV o JSONL
+     * @param comprimir true para comprimir con gzip
+     * @return resumen de la exportación, o null si no se pudo escribir el archivo
+     */
+    public ExportadorPersonas.Resultado exportar(RegistroPersonas<? extends Persona> registro, Path archivo,
+                                                 ExportadorPersonas.Formato formato, boolean comprimir) {
+        try (ExportadorPersonas exportador = new ExportadorPersonas(formato, comprimir)) {
+            ExportadorPersonas.Resultado resultado = exportador.exportar(registro, archivo);
+            System.out.println("\nExportados " + resultado + " a " + archivo);
+            return resultado;
+        } catch (IOException e) {
+            System.out.println("\nError al escribir el archivo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Solicita qué registro exportar, el formato, la compresión y el archivo de destino.
+     */
+    private void exportarRegistros() {
+        System.out.println("\n--- Exportar registros ---\n");
+        System.out.println("Opcion 1: Empleados");
+        System.out.println("Opcion 2: Clientes");
+        System.out.print("\nSeleccione una opción: ");
+        RegistroPersonas<? extends Persona> registro = switch (leerOpcion()) {
+            case 1 -> empleados;
+            case 2 -> clientes;
+            default -> null;
+        };
+        if (registro == null) {
+            System.out.println("\nOpción inválida.");
+            return;
+        }
+        System.out.println("\nOpcion 1: CSV (se puede volver a importar)");
+        System.out.println("Opcion 2: JSON Lines");
+        System.out.print("\nSeleccione una opción: ");
+        ExportadorPersonas.Formato formato = switch (leerOpcion()) {
+            case 1 -> ExportadorPersonas.Formato.CSV;
+            case 2 -> ExportadorPersonas.Formato.JSONL;
+            default -> null;
+        };
+        if (formato == null) {
+            System.out.println("\nOpción inválida.");
+            return;
+        }
+        boolean comprimir = ValidadorInputs.leerSiNo("¿Comprimir con gzip?");
+        exportar(registro, ValidadorInputs.leerRutaDestino("destino"), formato, comprimir);
+    }
+
+    /**
+     * Muestra el reporte de sueldos agrupado por cargo, comuna o región.
+     */
+    private void mostrarReporteSueldos() {
+        System.out.println("\n--- Reporte de sueldos ---\n");
+        System.out.println("Opcion 1: Por cargo");
+        System.out.println("Opcion 2: Por comuna");
+        System.out.println("Opcion 3: Por región");
+        System.out.print("\nSeleccione una opción: ");
+        PlanillaColumnar.Dimension dimension = switch (leerOpcion()) {
+            case 1 -> PlanillaColumnar.Dimension.CARGO;
+            case 2 -> PlanillaColumnar.Dimension.COMUNA;
+            case 3 -> PlanillaColumnar.Dimension.REGION;
+            default -> null;
+        };
+        if (dimension == null) {
+            System.out.println("\nOpción inválida.");
+            return;
+        }
+        completarCarga();
+        long inicio = System.nanoTime();
+        List<PlanillaColumnar.Grupo> grupos = planilla.agruparEnParalelo(dimension);
+        long micros = (System.nanoTime() - inicio) / 1000;
+        System.out.println();
+        for (PlanillaColumnar.Grupo grupo : grupos) {
+            System.out.println(grupo);
+        }
+        System.out.println(planilla.totalPlanilla());
+        System.out.println("(calculado en " + micros + " µs)");
+    }
+
+    /**
+     * Calcula las liquidaciones de todos los empleados y muestra los totales de descuentos,
+     * impuesto por tramo, sueldo líquido y costo para el empleador.
+     */
+    private void mostrarRemuneraciones() {
+        completarCarga();
+        long inicio = System.nanoTime();
+        MotorRemuneraciones.Liquidaciones liquidaciones = planilla.liquidar(remuneraciones, true);
+        long micros = (System.nanoTime() - inicio) / 1000;
+        MotorRemuneraciones.Totales t = liquidaciones.getTotales();
+        TablaRemuneraciones tabla = remuneraciones.getTabla();
+        System.out.println("\n--- Remuneraciones ---\n");
+        System.out.println("Empleados: " + t.getCantidad());
+        System.out.println("Sueldo bruto: " + Dinero.aTexto(t.getBruto()));
+        System.out.println("AFP: " + Dinero.aTexto(t.getAfp()));
+        System.out.println("Salud: " + Dinero.aTexto(t.getSalud()));
+        System.out.println("Seguro de cesantía: " + Dinero.aTexto(t.getCesantia()));
+        System.out.println("Impuesto único: " + Dinero.aTexto(t.getImpuesto()));
+        for (int k = 0; k < t.cantidadTramos(); k++) {
+            if (t.getImpuestoEnTramo(k) == 0) continue;
+            System.out.println("  Tramo " + (k + 1) + " (" + tabla.getTasaTramo(k) / 100.0 + " %): " + Dinero.aTexto(t.getImpuestoEnTramo(k)));
+        }
+        System.out.println("Sueldo líquido: " + Dinero.aTexto(t.getLiquido()));
+        System.out.println("Costo empleador: " + Dinero.aTexto(t.getCostoEmpleador()));
+        System.out.println("(calculado en " + micros + " µs)");
+    }
+
+    /**
+     * Muestra el resumen de una importación y el detalle de las líneas rechazadas.
+     */
+    private void mostrarResultado(ResultadoImportacion resultado) {
+        System.out.println("\n" + resultado);
+        for (ResultadoImportacion.Rechazo rechazo : resultado.getRechazos()) {
+            System.out.println(rechazo);
+        }
+        if (resultado.getRechazadas() > resultado.getRechazos().size()) {
+            System.out.println("... y " + (resultado.getRechazadas() - resultado.getRechazos().size()) + " rechazos más.");
+        }
+    }
+
+    // Métodos getter para acceder a los registros (actualizar y eliminar por RUT)
+
+    public RegistroPersonas<Cliente> getClientes() {
+        return clientes;
+    }
+
+    public RegistroPersonas<Empleado> getEmpleados() {
+        return empleados;
+    }
+
+    public IndicesPersonas<Cliente> getIndicesClientes() {
+        return indicesClientes;
+    }
+
+    public IndicesPersonas<Empleado> getIndicesEmpleados() {
+        return indicesEmpleados;
+    }
+
+    /**
+     * Bus de eventos de cambio de empleados y clientes (altas, reemplazos, eliminaciones y setters).
+     * 
+     * @return bus al que se pueden suscribir procesos de auditoría o sincronización
+     */
+    public BusCambios getCambios() {
+        return cambios;
+    }
+
+    public MotorRemuneraciones getRemuneraciones() {
+        return remuneraciones;
+    }
+
+    /**
+     * Reemplaza la tabla de remuneraciones (ej: al cambiar los valores de UF, UTM o las tasas).
+     *
+     * @param tabla nueva tabla
+     */
+    public void setTablaRemuneraciones(TablaRemuneraciones tabla) {
+        this.remuneraciones = new MotorRemuneraciones(tabla);
+    }
+
+    public IndiceNombres<Cliente> getNombresClientes() {
+        return nombresClientes;
+    }
+
+    public IndiceNombres<Empleado> getNombresEmpleados() {
+        return nombresEmpleados;
+    }
+
     /**
      * Crea un nuevo cliente solicitando datos por consola.
      * Valida los datos antes de agregarlo a la lista.
@@ -135,7 +549,7 @@ public class InterfazUsuario {
         String apellido = ValidadorInputs.leerApellido();
         String rutStr = ValidadorInputs.leerRut();
         String correo = ValidadorInputs.leerCorreo();
-        double sueldo = ValidadorInputs.leerSueldo();
+        long sueldo = ValidadorInputs.leerSueldo();
         String cargo = ValidadorInputs.leerTexto("cargo", 50);
 
         Rut rut = new Rut(rutStr);
@@ -145,7 +559,7 @@ public class InterfazUsuario {
             ValidadorInputs.leerTexto("región", 50)
         );
 
-        Empleado empleado = new Empleado(nombre, apellido, rut, direccion, correo, cargo, sueldo);
+        Empleado empleado = Empleado.desdeCentavos(nombre, apellido, rut, direccion, correo, cargo, sueldo);
 
         agregarEmpleado(empleado);
     }
@@ -155,20 +569,14 @@ public class InterfazUsuario {
      * Si hay menos de 3, muestra todos.
      */
     private void mostrarUltimosClientes() {
-        int total = clientes.size();
+        int total = clientes.tamano();
         if (total == 0) {
             System.out.println("\nNo hay clientes registrados.");
             return;
         }
         System.out.println("\n--- Últimos 3 Clientes ---\n");
-        for (int i = Math.max(0, total - 3); i < total; i++) {
-            Cliente c = clientes.get(i);
-            System.out.println((i + 1) + ". " + c.getNombre() + " " + c.getApellido());
-            System.out.println("Teléfono: " + c.getTelefono());
-            System.out.println("RUT: " + c.getRut().getNumero());
-            System.out.println("Dirección: " + c.getDireccion().getCalle() + ", " +
-                               c.getDireccion().getComuna() + ", " + c.getDireccion().getRegion());
-        }
+        List<Cliente> ultimos = clientes.ultimos(3);
+        listado.mostrar(ultimos, total - ultimos.size() + 1); // numeración dentro del total registrado
     }
 
     /**
@@ -176,20 +584,83 @@ public class InterfazUsuario {
      * Si hay menos de 3, muestra todos.
      */
     private void mostrarUltimosEmpleados() {
-        int total = empleados.size();
+        int total = empleados.tamano();
         if (total == 0) {
             System.out.println("\nNo hay empleados registrados.");
             return;
         }
         System.out.println("\n--- Últimos 3 Empleados ---\n");
-        for (int i = Math.max(0, total - 3); i < total; i++) {
-            Empleado e = empleados.get(i);
-            System.out.println((i + 1) + ". " + e.getNombre() + " " + e.getApellido());
-            System.out.println("Cargo: " + e.getCargo());
-            System.out.println("Sueldo: $" + e.getSueldo() + " Pesos");
-            System.out.println("RUT: " + e.getRut().getNumero());
-            System.out.println("Dirección: " + e.getDireccion().getCalle() + ", " +
-                               e.getDireccion().getComuna() + ", " + e.getDireccion().getRegion());
+        List<Empleado> ultimos = empleados.ultimos(3);
+        listado.mostrar(ultimos, total - ultimos.size() + 1); // numeración dentro del total registrado
+    }
+
+    /**
+     * Busca empleados combinando comuna, región, cargo y rango de sueldo.
+     * Los criterios en blanco se omiten.
+     */
+    private void buscarEmpleados() {
+        System.out.println("\n--- Buscar empleados ---\n");
+        completarCarga();
+        IndicesPersonas<Empleado>.Consulta consulta = leerUbicacion(indicesEmpleados.consulta());
+        String cargo = ValidadorInputs.leerFiltro("cargo");
+        if (cargo != null) consulta.cargo(cargo);
+        long minimo = ValidadorInputs.leerMonto("Sueldo mínimo", 0);
+        long maximo = ValidadorInputs.leerMonto("Sueldo máximo", Long.MAX_VALUE);
+        if (minimo > 0 || maximo < Long.MAX_VALUE) consulta.sueldoEntreCentavos(minimo, maximo);
+        mostrarBusqueda(consulta.ejecutar(), "empleados");
+    }
+
+    /**
+     * Busca clientes por comuna y región.
+     */
+    private void buscarClientes() {
+        System.out.println("\n--- Buscar clientes ---\n");
+        completarCarga();
+        mostrarBusqueda(leerUbicacion(indicesClientes.consulta()).ejecutar(), "clientes");
+    }
+
+    /**
+     * Busca clientes y empleados por nombre o apellido, sin importar tildes ni mayúsculas.
+     * Acepta comienzos de palabras ("champ") y corrige errores de tipeo menores.
+     */
+    private void buscarPorNombre() {
+        System.out.println("\n--- Buscar por nombre ---\n");
+        String texto = ValidadorInputs.leerFiltro("nombre o apellido");
+        if (texto == null) return;
+        completarCarga();
+        mostrarBusqueda(nombresEmpleados.buscar(texto), "empleados");
+        mostrarBusqueda(nombresClientes.buscar(texto), "clientes");
+    }
+
+    private static <T extends Persona> IndicesPersonas<T>.Consulta leerUbicacion(IndicesPersonas<T>.Consulta consulta) {
+        String comuna = ValidadorInputs.leerFiltro("comuna");
+        if (comuna != null) consulta.comuna(comuna);
+        String region = ValidadorInputs.leerFiltro("región");
+        if (region != null) consulta.region(region);
+        return consulta;
+    }
+
+    private void mostrarBusqueda(List<? extends Persona> encontrados, String titulo) {
+        if (encontrados.isEmpty()) {
+            System.out.println("\nNo se encontraron " + titulo + ".");
+            return;
+        }
+        System.out.println("\n" + encontrados.size() + " " + titulo + " encontrados:\n");
+        listado.mostrar(encontrados, 1);
+    }
+
+    /**
+     * Lista todos los clientes o empleados de un registro, por páginas.
+     * 
+     * @param registro registro a listar
+     * @param titulo   título del listado
+     */
+    private void listarTodos(RegistroPersonas<?> registro, String titulo) {
+        if (registro.estaVacio()) {
+            System.out.println("\nNo hay " + titulo.toLowerCase() + " registrados.");
+            return;
         }
+        System.out.println("\n--- " + titulo + " ---\n");
+        listado.listar(registro, ListadoPersonas.TAMANO_PAGINA, RegistroPersonas.Orden.INSERCION);
     }
 }
\ No newline at end of file
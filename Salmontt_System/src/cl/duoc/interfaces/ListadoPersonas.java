@@ -0,0 +1,136 @@
+package cl.duoc.interfaces;
+
+import cl.duoc.data.Pagina;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Clase ListadoPersonas.
+ * Muestra clientes y empleados por páginas.
+ * Cada página se arma en un único buffer reutilizable (sin concatenar cadenas)
+ * y se envía a la salida con una sola escritura, en vez de un println por línea.
+ */
+public class ListadoPersonas {
+
+    /** Tamaño de página por defecto. */
+    public static final int TAMANO_PAGINA = 500;
+
+    // Buffer reutilizable donde se arma cada página
+    private final StringBuilder buffer = new StringBuilder(1 << 16);
+
+    // Arreglo reutilizable para copiar el buffer antes de escribirlo
+    private char[] caracteres = new char[1 << 16];
+
+    private final Writer salida;
+
+    /**
+     * Constructor con una salida específica (archivo, socket, etc.).
+     *
+     * @param salida destino del listado
+     */
+    public ListadoPersonas(Writer salida) {
+        this.salida = salida;
+    }
+
+    /**
+     * Crea un listado que escribe directamente en la salida estándar.
+     *
+     * @return listado para la consola
+     */
+    public static ListadoPersonas paraConsola() {
+        return new ListadoPersonas(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                Charset.defaultCharset()));
+    }
+
+    /**
+     * Lista todas las personas de un registro, página por página.
+     * Las personas se obtienen del registro a medida que se necesita cada página.
+     *
+     * @param registro     registro a listar
+     * @param tamanoPagina cantidad de personas por página
+     * @param orden        orden del listado
+     * @return cantidad de personas listadas
+     */
+    public <T extends Persona> long listar(RegistroPersonas<T> registro, int tamanoPagina,
+                                           RegistroPersonas.Orden orden) {
+        long numero = 0;
+        int total = registro.tamano();
+        int cursor = Pagina.INICIO;
+        do {
+            Pagina<T> pagina = registro.pagina(cursor, tamanoPagina, orden);
+            for (T persona : pagina) {
+                numero++;
+                // La numeración corresponde al orden de inserción
+                escribir(persona, orden == RegistroPersonas.Orden.INSERCION ? numero : total - numero + 1);
+            }
+            vaciar();
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != Pagina.FIN);
+        return numero;
+    }
+
+    /**
+     * Muestra una lista de personas en una sola escritura.
+     *
+     * @param personas      personas a mostrar
+     * @param numeroInicial número de la primera persona
+     */
+    public void mostrar(List<? extends Persona> personas, long numeroInicial) {
+        long numero = numeroInicial;
+        for (Persona persona : personas) {
+            escribir(persona, numero++);
+        }
+        vaciar();
+    }
+
+    /**
+     * Agrega una persona al buffer, con el mismo formato del menú.
+     */
+    private void escribir(Persona persona, long numero) {
+        buffer.append(numero).append(". ").append(persona.getNombre()).append(' ')
+              .append(persona.getApellido()).append('\n');
+        if (persona instanceof Empleado) {
+            Empleado e = (Empleado) persona;
+            buffer.append("Cargo: ").append(e.getCargo()).append('\n');
+            buffer.append("Sueldo: ");
+            Dinero.escribirEn(buffer, e.getSueldoCentavos()).append(" Pesos\n");
+        } else if (persona instanceof Cliente) {
+            buffer.append("Teléfono: ").append(((Cliente) persona).getTelefono()).append('\n');
+        }
+        buffer.append("RUT: ");
+        persona.getRut().escribirEn(buffer).append('\n');
+        buffer.append("Dirección: ");
+        persona.getDireccion().escribirEn(buffer).append('\n');
+    }
+
+    /**
+     * Escribe el contenido del buffer en una sola operación y lo deja listo para reutilizarse.
+     */
+    private void vaciar() {
+        int largo = buffer.length();
+        if (largo == 0) return;
+        if (caracteres.length < largo) {
+            caracteres = new char[Math.max(largo, caracteres.length * 2)];
+        }
+        buffer.getChars(0, largo, caracteres, 0);
+        buffer.setLength(0);
+        try {
+            System.out.flush(); // respeta el orden con lo ya impreso por System.out
+            salida.write(caracteres, 0, largo);
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al escribir el listado", e);
+        }
+    }
+}
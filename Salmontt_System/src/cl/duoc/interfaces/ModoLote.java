@@ -0,0 +1,215 @@
+package cl.duoc.interfaces;
+
+import cl.duoc.data.ExportadorPersonas;
+import cl.duoc.data.FormatoArchivo;
+import cl.duoc.data.RegistroPersonas;
+import cl.duoc.data.ResultadoImportacion;
+import cl.duoc.model.Cliente;
+import cl.duoc.model.Empleado;
+import cl.duoc.model.Persona;
+import cl.duoc.utils.ColectorViolaciones;
+import cl.duoc.utils.Metricas;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Clase ModoLote.
+ * Ejecuta comandos desde un script (archivo o entrada estándar) sin interacción.
+ * Usa un único lector y un único escritor con buffer, por lo que miles de registros
+ * pueden enviarse por una tubería a la velocidad de la entrada/salida.
+ * Las entradas inválidas producen una línea de error en vez de volver a preguntar.
+ * Las personas se validan con los planes del modelo, las mismas reglas de la consola y de la
+ * importación de archivos; el error indica el primer campo que falla (ver ResultadoImportacion.motivoDatos).
+ *
+ * Comandos (campos separados por ';', mismo formato que FormatoArchivo):
+ *   EMPLEADO;nombre;apellido;rut;calle;comuna;region;correo;cargo;sueldo
+ *   CLIENTE;nombre;apellido;rut;calle;comuna;region;correo;telefono
+ *   LISTAR;EMPLEADOS[;n]   (los últimos n, o todos si se omite)
+ *   LISTAR;CLIENTES[;n]
+ *   METRICAS               (contadores y latencias, ver Metricas)
+ *   EXPORTAR;EMPLEADOS|CLIENTES;CSV|JSONL;ruta[;GZIP]   (ver ExportadorPersonas; solo en --lote)
+ * EXPORTAR escribe o reemplaza cualquier archivo al que tenga acceso el proceso, por lo que
+ * ServidorTcp crea su ModoLote sin él: un cliente de la red no debe poder elegir rutas.
+ * Las líneas vacías y las que comienzan con '#' se ignoran.
+ *
+ * Respuestas: "OK ..." o "ERROR linea N: motivo".
+ */
+public class ModoLote {
+
+    // Tamaño de los buffers de lectura y escritura (64 KB)
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private final InterfazUsuario interfaz;
+
+    // false si los comandos llegan desde la red (no se permite EXPORTAR)
+    private final boolean permiteExportar;
+
+    public ModoLote(InterfazUsuario interfaz) {
+        this(interfaz, true);
+    }
+
+    /**
+     * @param interfaz        interfaz con los registros
+     * @param permiteExportar false para rechazar EXPORTAR (comandos que llegan por la red)
+     */
+    public ModoLote(InterfazUsuario interfaz, boolean permiteExportar) {
+        this.interfaz = interfaz;
+        this.permiteExportar = permiteExportar;
+    }
+
+    /**
+     * Ejecuta todos los comandos de la entrada.
+     *
+     * @param entrada script de comandos (no se cierra)
+     * @param salida  destino de las respuestas (se vacía al terminar, no se cierra)
+     * @return cantidad de comandos con error
+     * @throws IOException si ocurre un error de lectura o escritura
+     */
+    public long ejecutar(Reader entrada, Writer salida) throws IOException {
+        BufferedReader lector = new BufferedReader(entrada, TAMANO_BUFFER);
+        BufferedWriter escritor = new BufferedWriter(salida, TAMANO_BUFFER);
+        ListadoPersonas listado = new ListadoPersonas(escritor);
+        long errores = 0;
+        long numeroLinea = 0;
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            if (!ejecutarComando(linea, numeroLinea, escritor, listado)) errores++;
+        }
+        escritor.flush();
+        return errores;
+    }
+
+    /**
+     * Ejecuta un comando y escribe su respuesta.
+     *
+     * @param linea       comando
+     * @param numeroLinea número de línea (para los mensajes de error)
+     * @param salida      destino de la respuesta
+     * @param listado     listado que escribe en la misma salida
+     * @return false si el comando produjo un error
+     * @throws IOException si ocurre un error de escritura
+     */
+    public boolean ejecutarComando(String linea, long numeroLinea, Writer salida,
+                                   ListadoPersonas listado) throws IOException {
+        String comando = linea.strip();
+        if (comando.isEmpty() || comando.charAt(0) == '#') return true;
+
+        int separador = comando.indexOf(FormatoArchivo.SEPARADOR);
+        String tipo = (separador < 0 ? comando : comando.substring(0, separador)).toUpperCase();
+        String datos = separador < 0 ? "" : comando.substring(separador + 1);
+
+        String error = switch (tipo) {
+            case "EMPLEADO" -> crearEmpleado(datos, salida);
+            case "CLIENTE" -> crearCliente(datos, salida);
+            case "LISTAR" -> listar(datos, listado);
+            case "METRICAS" -> volcarMetricas(salida);
+            case "EXPORTAR" -> permiteExportar ? exportar(datos, salida) : "EXPORTAR solo está disponible en --lote";
+            default -> "comando desconocido '" + tipo + "'";
+        };
+        if (error != null) {
+            salida.write("ERROR linea " + numeroLinea + ": " + error + "\n");
+            return false;
+        }
+        return true;
+    }
+
+    private String crearEmpleado(String datos, Writer salida) throws IOException {
+        Empleado empleado = FormatoArchivo.aEmpleado(datos);
+        if (empleado == null) return "formato inválido (se esperan " + FormatoArchivo.CAMPOS_EMPLEADO + " campos)";
+        String error = validar(empleado);
+        if (error != null) return error;
+        return registrar(interfaz.getEmpleados(), empleado, "EMPLEADO", salida);
+    }
+
+    private String crearCliente(String datos, Writer salida) throws IOException {
+        Cliente cliente = FormatoArchivo.aCliente(datos);
+        if (cliente == null) return "formato inválido (se esperan " + FormatoArchivo.CAMPOS_CLIENTE + " campos)";
+        String error = validar(cliente);
+        if (error != null) return error;
+        return registrar(interfaz.getClientes(), cliente, "CLIENTE", salida);
+    }
+
+    // Valida registrando la latencia y el resultado en las métricas; si falla, devuelve el motivo
+    private static String validar(Persona persona) {
+        long inicio = Metricas.inicio();
+        boolean valida = persona.esValida();
+        Metricas.validacion(inicio, valida);
+        if (valida) return null;
+        ColectorViolaciones colector = ColectorViolaciones.primera();
+        persona.validar(colector);
+        return ResultadoImportacion.motivoDatos(colector);
+    }
+
+    private String volcarMetricas(Writer salida) throws IOException {
+        salida.write(Metricas.getInstancia().volcar());
+        return null;
+    }
+
+    private String exportar(String datos, Writer salida) throws IOException {
+        String[] partes = datos.split(String.valueOf(FormatoArchivo.SEPARADOR));
+        if (partes.length < 3 || partes.length > 4) return "se espera EXPORTAR;EMPLEADOS|CLIENTES;CSV|JSONL;ruta[;GZIP]";
+        RegistroPersonas<?> registro = switch (partes[0].strip().toUpperCase()) {
+            case "EMPLEADOS" -> interfaz.getEmpleados();
+            case "CLIENTES" -> interfaz.getClientes();
+            default -> null;
+        };
+        if (registro == null) return "registro desconocido '" + partes[0].strip() + "'";
+        ExportadorPersonas.Formato formato = switch (partes[1].strip().toUpperCase()) {
+            case "CSV" -> ExportadorPersonas.Formato.CSV;
+            case "JSONL" -> ExportadorPersonas.Formato.JSONL;
+            default -> null;
+        };
+        if (formato == null) return "formato desconocido '" + partes[1].strip() + "'";
+        String ruta = partes[2].strip();
+        if (!ValidadorInputs.esRutaDestinoValida(ruta)) return "ruta inválida '" + ruta + "'";
+        boolean comprimir = partes.length == 4 && partes[3].strip().equalsIgnoreCase("GZIP");
+        if (partes.length == 4 && !comprimir) return "opción desconocida '" + partes[3].strip() + "'";
+
+        ExportadorPersonas.Resultado resultado;
+        try (ExportadorPersonas exportador = new ExportadorPersonas(formato, comprimir)) {
+            resultado = exportador.exportar(registro, Path.of(ruta));
+        } catch (IOException e) {
+            return "no se pudo escribir '" + ruta + "': " + e.getMessage();
+        }
+        salida.write("OK EXPORTAR " + resultado.getRegistros() + " " + ruta + "\n");
+        return null;
+    }
+
+    private <T extends Persona> String registrar(RegistroPersonas<T> registro, T persona,
+                                                 String tipo, Writer salida) throws IOException {
+        if (!registro.agregar(persona)) return "ya existe un registro con RUT " + persona.getRut();
+        interfaz.compactarSiCorresponde(); // sin menú, nadie más compacta hasta cerrar
+        salida.write("OK " + tipo + " " + persona.getRut() + "\n");
+        return null;
+    }
+
+    private String listar(String datos, ListadoPersonas listado) {
+        String[] partes = datos.split(String.valueOf(FormatoArchivo.SEPARADOR));
+        RegistroPersonas<?> registro = switch (partes[0].strip().toUpperCase()) {
+            case "EMPLEADOS" -> interfaz.getEmpleados();
+            case "CLIENTES" -> interfaz.getClientes();
+            default -> null;
+        };
+        if (registro == null) return "se espera LISTAR;EMPLEADOS o LISTAR;CLIENTES";
+
+        if (partes.length < 2) {
+            listado.listar(registro, ListadoPersonas.TAMANO_PAGINA, RegistroPersonas.Orden.INSERCION);
+            return null;
+        }
+        int cantidad;
+        try {
+            cantidad = Integer.parseInt(partes[1].strip());
+        } catch (NumberFormatException e) {
+            return "cantidad inválida '" + partes[1].strip() + "'";
+        }
+        List<? extends Persona> ultimos = registro.ultimos(Math.max(0, cantidad));
+        listado.mostrar(ultimos, registro.tamano() - ultimos.size() + 1);
+        return null;
+    }
+}
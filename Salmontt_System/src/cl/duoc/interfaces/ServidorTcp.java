@@ -0,0 +1,165 @@
+package cl.duoc.interfaces;
+
+import cl.duoc.utils.Hilos;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clase ServidorTcp.
+ * Atiende varias sesiones a la vez por TCP en localhost, con los mismos comandos del
+ * modo por lotes (ver ModoLote). Todas las sesiones comparten los registros de una
+ * InterfazUsuario, que son seguros para usarse desde varios hilos.
+ *
+ * Cada conexión se atiende en su propio hilo (virtual si la JVM los soporta, ver Hilos).
+ *
+ * Protocolo (UTF-8, una línea por comando):
+ *   - cada comando recibe sus líneas de respuesta ("OK ...", "ERROR ..." o el listado)
+ *     seguidas de una línea con un punto: "."
+ *   - SALIR cierra la sesión.
+ *   - EXPORTAR no está disponible (solo en --lote).
+ */
+public class ServidorTcp implements Closeable {
+
+    /** Puerto por defecto. */
+    public static final int PUERTO_POR_DEFECTO = 5050;
+
+    /** Línea que marca el fin de cada respuesta. */
+    public static final String FIN_RESPUESTA = ".";
+
+    /** Tiempo máximo que close() espera a que las sesiones terminen su comando. */
+    public static final long ESPERA_CIERRE_MS = 5_000;
+
+    // Tamaño de los buffers de cada conexión (8 KB: hay muchas conexiones a la vez)
+    private static final int TAMANO_BUFFER = 1 << 13;
+
+    private final ModoLote comandos;
+    private final ServerSocket socket;
+    private final ExecutorService sesiones = Hilos.unoPorTarea("sesion");
+    private final Set<Socket> conexiones = ConcurrentHashMap.newKeySet();
+    private final AtomicLong atendidas = new AtomicLong();
+    private volatile boolean cerrado;
+
+    /**
+     * Abre el servidor en localhost.
+     *
+     * @param interfaz interfaz cuyos registros se comparten entre las sesiones
+     * @param puerto   puerto TCP (0 para elegir uno libre)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorTcp(InterfazUsuario interfaz, int puerto) throws IOException {
+        this.comandos = new ModoLote(interfaz, false); // sin EXPORTAR: no se escriben rutas elegidas por la red
+        this.socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 1024);
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierre el servidor.
+     * Bloquea el hilo que lo llama.
+     */
+    public void atender() {
+        while (!cerrado) {
+            try {
+                Socket conexion = socket.accept();
+                conexion.setTcpNoDelay(true); // respuestas cortas: se envían de inmediato
+                conexiones.add(conexion);
+                atendidas.incrementAndGet();
+                sesiones.execute(() -> atenderSesion(conexion));
+            } catch (IOException e) {
+                if (!cerrado) System.err.println("Error al aceptar una conexión: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Atiende una sesión: ejecuta cada línea como comando hasta SALIR o fin de la conexión.
+     */
+    private void atenderSesion(Socket conexion) {
+        try (conexion;
+             BufferedReader entrada = new BufferedReader(
+                     new InputStreamReader(conexion.getInputStream(), StandardCharsets.UTF_8), TAMANO_BUFFER);
+             BufferedWriter salida = new BufferedWriter(
+                     new OutputStreamWriter(conexion.getOutputStream(), StandardCharsets.UTF_8), TAMANO_BUFFER)) {
+            ListadoPersonas listado = new ListadoPersonas(salida);
+            long numeroLinea = 0;
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                numeroLinea++;
+                if (linea.strip().equalsIgnoreCase("SALIR")) break;
+                comandos.ejecutarComando(linea, numeroLinea, salida, listado);
+                salida.write(FIN_RESPUESTA);
+                salida.write('\n');
+                salida.flush();
+            }
+        } catch (SocketException | UncheckedIOException e) {
+            // El cliente cerró la conexión o el servidor se está cerrando
+            // (a mitad de un LISTAR, ListadoPersonas entrega el error envuelto en UncheckedIOException)
+        } catch (IOException e) {
+            System.err.println("Error en una sesión: " + e.getMessage());
+        } finally {
+            conexiones.remove(conexion);
+        }
+    }
+
+    public int getPuerto() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Cantidad de sesiones abiertas en este momento.
+     *
+     * @return sesiones activas
+     */
+    public int getSesionesActivas() {
+        return conexiones.size();
+    }
+
+    /**
+     * Cantidad total de conexiones aceptadas.
+     *
+     * @return conexiones aceptadas desde que se abrió el servidor
+     */
+    public long getSesionesAtendidas() {
+        return atendidas.get();
+    }
+
+    /**
+     * Deja de aceptar conexiones, cierra las sesiones abiertas y espera (hasta ESPERA_CIERRE_MS)
+     * a que terminen el comando que estaban ejecutando. Al retornar ya se puede cerrar la
+     * persistencia: ninguna sesión sigue agregando personas.
+     */
+    @Override
+    public void close() throws IOException {
+        cerrado = true;
+        socket.close();
+        for (Socket conexion : conexiones) {
+            conexion.close();
+        }
+        sesiones.shutdown();
+        try {
+            if (!sesiones.awaitTermination(ESPERA_CIERRE_MS, TimeUnit.MILLISECONDS)) {
+                System.err.println("Sesiones sin terminar tras " + ESPERA_CIERRE_MS + " ms; se interrumpen");
+                sesiones.shutdownNow();
+                sesiones.awaitTermination(ESPERA_CIERRE_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
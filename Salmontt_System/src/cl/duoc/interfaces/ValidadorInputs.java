@@ -1,6 +1,12 @@
 package cl.duoc.interfaces;
 
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Scanner;
+import cl.duoc.model.Dinero;
+import cl.duoc.model.Rut;
+import cl.duoc.utils.MotorReglas;
 import cl.duoc.utils.Validador;
 
 /**
@@ -9,8 +15,10 @@ import cl.duoc.utils.Validador;
  */
 public class ValidadorInputs {
 
-    // Scanner estático para leer desde consola
-	private static final Scanner scanner = new Scanner(System.in);
+    // Scanner estático para leer desde consola.
+    // Es el único lector de System.in del sistema (InterfazUsuario también lo usa),
+    // para que dos Scanner no se repartan la entrada cuando llega por tubería.
+	static final Scanner scanner = new Scanner(System.in);
 
     /**
      * Solicita y valida el nombre del usuario.
@@ -22,12 +30,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese nombre: ");
         String nombre = scanner.nextLine();
 
-        while (!new Validador<>(nombre)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .matches("^[A-Za-zÁÉÍÓÚáéíóúÑñ]+(?: [A-Za-zÁÉÍÓÚáéíóúÑñ]+)*$")
-                    .maxLength(50)
-                    .isValido()) {
+        while (!esNombreValido(nombre)) {
             System.out.println("Nombre inválido. Intente nuevamente.");
             System.out.print("Ingrese nombre: ");
             nombre = scanner.nextLine();
@@ -46,12 +49,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese apellido: ");
         String apellido = scanner.nextLine();
 
-        while (!new Validador<>(apellido)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .matches("^[A-Za-zÁÉÍÓÚáéíóúÑñ]+(?: [A-Za-zÁÉÍÓÚáéíóúÑñ]+)*$")
-                    .maxLength(50)
-                    .isValido()) {
+        while (!esNombreValido(apellido)) {
             System.out.println("Apellido inválido. Intente nuevamente.");
             System.out.print("Ingrese apellido: ");
             apellido = scanner.nextLine();
@@ -61,8 +59,8 @@ public class ValidadorInputs {
     }
 
     /**
-     * Solicita y valida el RUT chileno en formato estándar.
-     * Ejemplo válido: 12345678-9
+     * Solicita y valida el RUT chileno, incluyendo su dígito verificador.
+     * Ejemplos válidos: 12345678-5, 12.345.678-5
      * 
      * @return RUT ingresado
      */
@@ -70,11 +68,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese RUT (formato 12345678-9): ");
         String rut = scanner.nextLine();
 
-        while (!new Validador<>(rut)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .matches("^\\d{7,8}-[\\dkK]$")
-                    .isValido()) {
+        while (Rut.parsear(rut) == Rut.INVALIDO) {
             System.out.println("RUT inválido. Intente nuevamente.");
             System.out.print("Ingrese RUT: ");
             rut = scanner.nextLine();
@@ -93,11 +87,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese teléfono (formato: 912345678, sin identificador nacional): ");
         String telefono = scanner.nextLine();
 
-        while (!new Validador<>(telefono)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .matches("^\\d{9}$")
-                    .isValido()) {
+        while (!esTelefonoValido(telefono)) {
             System.out.println("Teléfono inválido. Intente nuevamente.");
             System.out.print("Ingrese teléfono: ");
             telefono = scanner.nextLine();
@@ -118,11 +108,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese " + campo + ": ");
         String texto = scanner.nextLine();
 
-        while (!new Validador<>(texto)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .maxLength(maxLength)
-                    .isValido()) {
+        while (!esTextoValido(texto, maxLength)) {
             System.out.println(campo + " inválido. Intente nuevamente.");
             System.out.print("Ingrese " + campo + ": ");
             texto = scanner.nextLine();
@@ -132,33 +118,25 @@ public class ValidadorInputs {
     }
 
     /**
-     * Solicita y valida el sueldo como número decimal.
-     * Debe ser mayor que 0.
+     * Solicita y valida el sueldo como monto en pesos (con hasta dos decimales).
+     * Debe ser mayor que 0. Se lee como texto y se convierte directamente a centavos,
+     * sin pasar por double ni encapsular el valor.
      * 
-     * @return sueldo ingresado
+     * @return sueldo ingresado, en centavos
      */
-    public static double leerSueldo() {
+    public static long leerSueldo() {
         System.out.print("Ingrese sueldo: ");
-        
-        // Validación de tipo numérico
-        while (!scanner.hasNextDouble()) {
-            System.out.println("Sueldo inválido. Debe ser un número.");
-            scanner.next(); // descarta entrada inválida
-            System.out.print("Ingrese sueldo: ");
-        }
-
-        double sueldo = scanner.nextDouble();
-        scanner.nextLine(); // limpia el buffer
-
-        // Validación de valor positivo
-        while (!new Validador<>(sueldo).esMayor(0).isValido()) {
-            System.out.println("El sueldo debe ser mayor que 0.");
+        while (true) {
+            String texto = scanner.nextLine().strip();
+            try {
+                long sueldo = Dinero.parsear(texto);
+                if (Validador.esMayor(sueldo, 0)) return sueldo;
+                System.out.println("El sueldo debe ser mayor que 0.");
+            } catch (NumberFormatException e) {
+                System.out.println("Sueldo inválido. Debe ser un número.");
+            }
             System.out.print("Ingrese sueldo: ");
-            sueldo = scanner.nextDouble();
-            scanner.nextLine();
         }
-
-        return sueldo;
     }
 
     /**
@@ -170,11 +148,7 @@ public class ValidadorInputs {
         System.out.print("Ingrese correo electrónico: ");
         String correo = scanner.nextLine();
 
-        while (!new Validador<>(correo)
-                    .isNotNull()
-                    .isNotEmpty()
-                    .matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$")
-                    .isValido()) {
+        while (!esCorreoValido(correo)) {
             System.out.println("Correo inválido. Intente nuevamente.");
             System.out.print("Ingrese correo electrónico: ");
             correo = scanner.nextLine();
@@ -182,4 +156,169 @@ public class ValidadorInputs {
 
         return correo;
     }
+
+    /**
+     * Solicita la ruta de un archivo existente.
+     * 
+     * @param campo descripción del archivo a mostrar
+     * @return ruta del archivo
+     */
+    public static Path leerRuta(String campo) {
+        System.out.print("Ingrese ruta del archivo de " + campo + ": ");
+        String ruta = scanner.nextLine().strip();
+
+        while (ruta.isEmpty() || !Files.isRegularFile(Path.of(ruta))) {
+            System.out.println("Archivo no encontrado. Intente nuevamente.");
+            System.out.print("Ingrese ruta del archivo de " + campo + ": ");
+            ruta = scanner.nextLine().strip();
+        }
+
+        return Path.of(ruta);
+    }
+
+    /**
+     * Solicita la ruta de un archivo a escribir: su directorio debe existir
+     * y no puede ser un directorio.
+     * 
+     * @param campo descripción del archivo a mostrar
+     * @return ruta del archivo
+     */
+    public static Path leerRutaDestino(String campo) {
+        System.out.print("Ingrese ruta del archivo de " + campo + ": ");
+        String ruta = scanner.nextLine().strip();
+
+        while (!esRutaDestinoValida(ruta)) {
+            System.out.println("Ruta inválida o directorio inexistente. Intente nuevamente.");
+            System.out.print("Ingrese ruta del archivo de " + campo + ": ");
+            ruta = scanner.nextLine().strip();
+        }
+
+        return Path.of(ruta);
+    }
+
+    /**
+     * Solicita una respuesta de sí o no.
+     * 
+     * @param pregunta texto a mostrar
+     * @return true si se respondió "s" o "si"
+     */
+    public static boolean leerSiNo(String pregunta) {
+        while (true) {
+            System.out.print(pregunta + " (s/n): ");
+            String texto = scanner.nextLine().strip().toLowerCase();
+            if (texto.equals("s") || texto.equals("si") || texto.equals("sí")) return true;
+            if (texto.equals("n") || texto.equals("no")) return false;
+            System.out.println("Respuesta inválida. Ingrese s o n.");
+        }
+    }
+
+    /**
+     * Solicita un criterio de búsqueda opcional.
+     * 
+     * @param campo nombre del campo a mostrar
+     * @return texto en mayúsculas, o null si se dejó en blanco
+     */
+    public static String leerFiltro(String campo) {
+        System.out.print("Filtrar por " + campo + " (Enter para omitir): ");
+        String texto = scanner.nextLine().strip();
+        return texto.isEmpty() ? null : texto.toUpperCase();
+    }
+
+    /**
+     * Solicita un monto opcional en pesos.
+     * 
+     * @param campo       nombre del campo a mostrar
+     * @param porDefecto  valor usado si se deja en blanco, en centavos
+     * @return monto ingresado en centavos, o porDefecto
+     */
+    public static long leerMonto(String campo, long porDefecto) {
+        while (true) {
+            System.out.print(campo + " (Enter para omitir): ");
+            String texto = scanner.nextLine().strip();
+            if (texto.isEmpty()) return porDefecto;
+            try {
+                return Dinero.parsear(texto);
+            } catch (NumberFormatException e) {
+                System.out.println("Monto inválido. Debe ser un número.");
+            }
+        }
+    }
+
+    // Reglas de validación de cada campo al pedirlo por consola: son las mismas de los planes
+    // de validación del modelo (Persona, Direccion, Empleado, Cliente), que se aplican en todas las entradas
+
+    /**
+     * Ruta de un archivo a escribir: no vacía, no es un directorio y su directorio existe.
+     * 
+     * @param ruta texto a validar
+     * @return true si es válida
+     */
+    public static boolean esRutaDestinoValida(String ruta) {
+        if (ruta == null || ruta.isBlank()) return false;
+        try {
+            Path archivo = Path.of(ruta).toAbsolutePath();
+            return !Files.isDirectory(archivo) && archivo.getParent() != null && Files.isDirectory(archivo.getParent());
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Nombre o apellido: no nulo, no vacío, letras con espacios, máximo 50 caracteres.
+     * 
+     * @param nombre texto a validar
+     * @return true si es válido
+     */
+    public static boolean esNombreValido(String nombre) {
+        return new Validador<>(nombre)
+                    .isNotNull()
+                    .isNotEmpty()
+                    .matches(MotorReglas.NOMBRE)
+                    .maxLength(50)
+                    .isValido();
+    }
+
+    /**
+     * Teléfono chileno sin prefijo nacional: 9 dígitos.
+     * 
+     * @param telefono texto a validar
+     * @return true si es válido
+     */
+    public static boolean esTelefonoValido(String telefono) {
+        return new Validador<>(telefono)
+                    .isNotNull()
+                    .isNotEmpty()
+                    .matches(MotorReglas.TELEFONO)
+                    .isValido();
+    }
+
+    /**
+     * Correo electrónico con formato estándar, de hasta 254 caracteres.
+     * 
+     * @param correo texto a validar
+     * @return true si es válido
+     */
+    public static boolean esCorreoValido(String correo) {
+        return new Validador<>(correo)
+                    .isNotNull()
+                    .isNotEmpty()
+                    .maxLength(254)
+                    .matches(MotorReglas.CORREO)
+                    .isValido();
+    }
+
+    /**
+     * Texto genérico: no nulo, no vacío y con longitud máxima.
+     * 
+     * @param texto texto a validar
+     * @param maxLength longitud máxima permitida
+     * @return true si es válido
+     */
+    public static boolean esTextoValido(String texto, int maxLength) {
+        return new Validador<>(texto)
+                    .isNotNull()
+                    .isNotEmpty()
+                    .maxLength(maxLength)
+                    .isValido();
+    }
 }
\ No newline at end of file
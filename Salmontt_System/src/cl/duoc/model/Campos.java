@@ -0,0 +1,54 @@
+package cl.duoc.model;
+
+/**
+ * Clase Campos.
+ * Números de los campos validados de Persona, Direccion, Cliente y Empleado.
+ * Son los que se registran en un ColectorViolaciones al validar.
+ */
+public final class Campos {
+
+    public static final int NOMBRE = 1;
+    public static final int APELLIDO = 2;
+    public static final int RUT = 3;
+    public static final int DIRECCION = 4;
+    public static final int CALLE = 5;
+    public static final int COMUNA = 6;
+    public static final int REGION = 7;
+    public static final int CORREO = 8;
+    public static final int TELEFONO = 9;
+    public static final int CARGO = 10;
+    public static final int SUELDO = 11;
+
+    /** Cantidad de números de campo (incluye el 0, "sin campo"). */
+    public static final int CANTIDAD = 12;
+
+    // Nombre de cada campo, indexado por su número
+    private static final String[] NOMBRES = {
+            "sin campo", "nombre", "apellido", "RUT", "dirección", "calle", "comuna", "región",
+            "correo", "teléfono", "cargo", "sueldo"
+    };
+
+    private Campos() {
+        // Clase de constantes, no se instancia
+    }
+
+    /**
+     * Bit de un campo en una máscara de campos (ver PlanValidacion.validaCampos).
+     *
+     * @param campo número del campo
+     * @return máscara con solo ese campo
+     */
+    public static int bit(int campo) {
+        return 1 << campo;
+    }
+
+    /**
+     * Nombre legible de un campo.
+     *
+     * @param campo número del campo
+     * @return nombre, o "desconocido" si el número no existe
+     */
+    public static String nombre(int campo) {
+        return campo >= 0 && campo < NOMBRES.length ? NOMBRES[campo] : "desconocido";
+    }
+}
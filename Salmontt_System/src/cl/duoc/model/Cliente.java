@@ -1,6 +1,8 @@
 package cl.duoc.model;
 
-import cl.duoc.utils.Validador;
+import cl.duoc.utils.ColectorViolaciones;
+import cl.duoc.utils.MotorReglas;
+import cl.duoc.utils.PlanValidacion;
 
 /**
  * Clase Cliente que extiende de Persona.
@@ -12,6 +14,11 @@ public class Cliente extends Persona {
     // Atributo adicional exclusivo de Cliente
     private String telefono;
 
+    // Plan de validación de los campos propios de Cliente
+    private static final PlanValidacion<Cliente> PLAN = PlanValidacion.<Cliente>crear()
+            .campo(Campos.TELEFONO).texto(Cliente::getTelefono, MotorReglas.TELEFONO) // 9 dígitos, sin prefijo nacional
+            .construir();
+
     /**
      * Constructor de Cliente.
      * Inicializa los atributos heredados y el teléfono.
@@ -29,19 +36,20 @@ public class Cliente extends Persona {
     }
 
     /**
-     * Método que valida si los datos del cliente son válidos.
-     * Valida los campos heredados y el formato del teléfono.
+     * Revisa los campos heredados pedidos y el formato del teléfono.
      * 
-     * @return true si todos los datos son válidos, false en caso contrario
+     * @param campos máscara de los campos a revisar
+     * @return máscara de los campos que no cumplen sus reglas
      */
     @Override
-    public boolean esValida() {
-        return super.esValida() // Valida los campos de Persona
-            && new Validador<>(telefono) // Valida el teléfono
-                .isNotNull()             // No debe ser nulo
-                .isNotEmpty()            // No debe estar vacío
-                .matches("^\\+?\\d{8,15}$") // Debe tener entre 8 y 15 dígitos, opcionalmente con "+"
-                .isValido();
+    protected int validarCampos(int campos) {
+        return super.validarCampos(campos) // Campos de Persona
+            | PLAN.validaCampos(this, campos); // Teléfono
+    }
+
+    @Override
+    public boolean validar(ColectorViolaciones colector) {
+        return super.validar(colector) & PLAN.valida(this, colector); // En modo rápido PLAN no evalúa si ya hubo una falla
     }
 
     // Métodos getter y setter para el atributo teléfono
@@ -51,6 +59,9 @@ public class Cliente extends Persona {
 	}
 
 	public void setTelefono(String telefono) {
+		String anterior = this.telefono;
 		this.telefono = telefono;
+		marcarModificado(Campos.TELEFONO);
+		notificarCambio(Campos.TELEFONO, anterior, telefono);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package cl.duoc.model;
+
+/**
+ * Clase Dinero.
+ * Operaciones sobre montos en pesos chilenos representados como long en centavos
+ * (1 peso = 100 centavos). Las sumas son exactas y no dependen del orden, a diferencia
+ * de double, y no se crea ningún objeto por monto como con BigDecimal.
+ *
+ * Las operaciones lanzan ArithmeticException si el resultado no cabe en un long
+ * (unos 92 billones de billones de pesos), en vez de desbordarse en silencio.
+ * El formato de salida es el chileno: "$1.234.567" o "$1.234.567,50".
+ */
+public final class Dinero {
+
+    /** Centavos que hay en un peso. */
+    public static final long CENTAVOS_POR_PESO = 100;
+
+    /** Puntos base que equivalen al 100 % (1 punto base = 0,01 %). */
+    public static final int PUNTOS_BASE = 10_000;
+
+    private Dinero() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * @param pesos monto en pesos enteros
+     * @return monto en centavos
+     * @throws ArithmeticException si no cabe en un long
+     */
+    public static long dePesos(long pesos) {
+        return Math.multiplyExact(pesos, CENTAVOS_POR_PESO);
+    }
+
+    /**
+     * Convierte un monto en pesos con decimales, redondeando al centavo más cercano.
+     *
+     * @param pesos monto en pesos
+     * @return monto en centavos
+     * @throws ArithmeticException si es NaN, infinito o no cabe en un long
+     */
+    public static long dePesos(double pesos) {
+        double centavos = pesos * CENTAVOS_POR_PESO;
+        if (!(Math.abs(centavos) < 0x1p63)) throw new ArithmeticException("Monto fuera de rango: " + pesos);
+        return Math.round(centavos);
+    }
+
+    /**
+     * Convierte un monto en pesos con decimales como dePesos(double), pero los valores fuera
+     * de rango se saturan en Long.MIN_VALUE o Long.MAX_VALUE (útil para límites de consultas).
+     *
+     * @param pesos monto en pesos
+     * @return monto en centavos, redondeado
+     */
+    public static long dePesosSaturado(double pesos) {
+        return Math.round(pesos * CENTAVOS_POR_PESO);
+    }
+
+    /**
+     * @param centavos monto en centavos
+     * @return monto en pesos (solo para mostrar o para APIs que exigen double)
+     */
+    public static double aPesos(long centavos) {
+        return centavos / (double) CENTAVOS_POR_PESO;
+    }
+
+    /**
+     * @return a + b
+     * @throws ArithmeticException si se desborda
+     */
+    public static long sumar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @return a - b
+     * @throws ArithmeticException si se desborda
+     */
+    public static long restar(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * @param monto  monto en centavos
+     * @param factor multiplicador entero (ej: cantidad de meses)
+     * @return monto por factor
+     * @throws ArithmeticException si se desborda
+     */
+    public static long multiplicar(long monto, long factor) {
+        return Math.multiplyExact(monto, factor);
+    }
+
+    /**
+     * Porcentaje de un monto, redondeado al centavo más cercano (mitades alejándose de cero).
+     *
+     * @param monto      monto en centavos
+     * @param puntosBase porcentaje en puntos base (ej: 700 = 7 %)
+     * @return monto por el porcentaje, en centavos
+     * @throws ArithmeticException si el producto intermedio se desborda
+     */
+    public static long porcentaje(long monto, int puntosBase) {
+        long producto = Math.multiplyExact(monto, (long) puntosBase);
+        long cociente = producto / PUNTOS_BASE;
+        long resto = producto % PUNTOS_BASE;
+        if (Math.abs(resto) * 2 >= PUNTOS_BASE) cociente += Long.signum(producto);
+        return cociente;
+    }
+
+    /**
+     * Lee un monto en pesos: dígitos con un separador decimal opcional ('.' o ',')
+     * y a lo más dos decimales significativos (el tercero redondea). Acepta un signo
+     * y un '$' iniciales. No interpreta separadores de miles.
+     *
+     * @param texto texto a leer
+     * @return monto en centavos
+     * @throws NumberFormatException si el texto no es un monto o no cabe en un long
+     */
+    public static long parsear(CharSequence texto) {
+        int largo = texto.length();
+        int i = 0;
+        boolean negativo = false;
+        if (i < largo && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) negativo = texto.charAt(i++) == '-';
+        if (i < largo && texto.charAt(i) == '$') i++;
+        long centavos = 0;
+        int digitos = 0;
+        try {
+            for (; i < largo && esDigito(texto.charAt(i)); i++, digitos++) {
+                centavos = Math.addExact(Math.multiplyExact(centavos, 10), texto.charAt(i) - '0');
+            }
+            centavos = Math.multiplyExact(centavos, CENTAVOS_POR_PESO);
+            if (i < largo && (texto.charAt(i) == '.' || texto.charAt(i) == ',')) {
+                i++;
+                long escala = CENTAVOS_POR_PESO / 10; // 10 centavos el primer decimal, 1 el segundo
+                for (; i < largo && esDigito(texto.charAt(i)); i++, digitos++) {
+                    int digito = texto.charAt(i) - '0';
+                    if (escala > 0) centavos = Math.addExact(centavos, digito * escala);
+                    else if (escala == 0 && digito >= 5) centavos = Math.addExact(centavos, 1); // Tercer decimal: redondea
+                    escala = escala > 0 ? escala / 10 : -1;
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Monto fuera de rango: " + texto);
+        }
+        if (digitos == 0 || i != largo) throw new NumberFormatException("Monto inválido: " + texto);
+        return negativo ? -centavos : centavos;
+    }
+
+    /**
+     * Agrega un monto con formato chileno a un StringBuilder, sin crear cadenas intermedias.
+     *
+     * @param destino  buffer de destino
+     * @param centavos monto en centavos
+     * @return el mismo buffer, para encadenamiento
+     */
+    public static StringBuilder escribirEn(StringBuilder destino, long centavos) {
+        if (centavos < 0) destino.append('-');
+        destino.append('$');
+        // Se trabaja con el valor negativo para incluir Long.MIN_VALUE
+        long negativo = centavos < 0 ? centavos : -centavos;
+        long pesos = -(negativo / CENTAVOS_POR_PESO);
+        int resto = (int) -(negativo % CENTAVOS_POR_PESO);
+        escribirMiles(destino, pesos);
+        if (resto != 0) {
+            destino.append(',').append((char) ('0' + resto / 10)).append((char) ('0' + resto % 10));
+        }
+        return destino;
+    }
+
+    /**
+     * @param centavos monto en centavos
+     * @return monto con formato chileno
+     */
+    public static String aTexto(long centavos) {
+        return escribirEn(new StringBuilder(24), centavos).toString();
+    }
+
+    // Escribe un entero no negativo con puntos cada tres dígitos
+    private static void escribirMiles(StringBuilder destino, long valor) {
+        if (valor < 1000) {
+            destino.append(valor);
+            return;
+        }
+        escribirMiles(destino, valor / 1000);
+        int grupo = (int) (valor % 1000);
+        destino.append('.')
+               .append((char) ('0' + grupo / 100))
+               .append((char) ('0' + grupo / 10 % 10))
+               .append((char) ('0' + grupo % 10));
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -1,18 +1,54 @@
 package cl.duoc.model;
 
-import cl.duoc.utils.Validador;
+import cl.duoc.utils.Diccionario;
+import cl.duoc.utils.PlanValidacion;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Clase Direccion.
  * Representa una dirección física compuesta por calle, comuna y región.
  * Incluye validaciones básicas para asegurar que los datos ingresados sean válidos.
+ * La comuna y la región se guardan como códigos de los diccionarios compartidos,
+ * por lo que miles de direcciones en la misma comuna comparten una sola cadena.
+ * Un texto que aún no está en el diccionario se guarda tal cual y no se agrega a él:
+ * recibe código recién cuando un índice o la planilla de un registro lo piden
+ * (getCodigoComuna, getCodigoRegion), es decir, cuando la persona ya fue aceptada.
  */
 public class Direccion {
 	
 	// Atributos que componen la dirección
 	private String calle;
-	private String comuna;
-	private String region;
+	private int comuna; // código en Diccionario.COMUNAS
+	private int region; // código en Diccionario.REGIONES
+
+	// Textos que no estaban en su diccionario al asignarse (null si tienen código)
+	private String comunaNueva;
+	private String regionNueva;
+
+	// Plan de validación de la dirección, construido una sola vez (Persona lo usa como plan anidado)
+	static final PlanValidacion<Direccion> PLAN = PlanValidacion.<Direccion>crear()
+			.campo(Campos.CALLE).texto(Direccion::getCalle, 100)
+			.campo(Campos.COMUNA).texto(Direccion::getComuna, 50)
+			.campo(Campos.REGION).texto(Direccion::getRegion, 50)
+			.construir();
+
+	// Validez en caché por campo, como en Persona: en los 32 bits altos los campos modificados
+	// desde la última validación y en los bajos los que fallaron en ella (máscaras de Campos.bit)
+	private volatile long validez = -1L << 32;
+
+	private static final VarHandle VALIDEZ;
+
+	static {
+		try {
+			VALIDEZ = MethodHandles.lookup().findVarHandle(Direccion.class, "validez", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	// Última persona a la que se asignó la dirección: recibe los avisos de cambio de sus setters
+	Persona propietario;
 
 	/**
 	 * Constructor de la clase Direccion.
@@ -23,32 +59,30 @@ public class Direccion {
 	 */
 	public Direccion(String calle, String comuna, String ciudad) {
 		this.calle = calle;
-	    this.comuna = comuna;
-	    this.region = ciudad; // Se almacena en el atributo 'region'
+	    asignarComuna(comuna);
+	    asignarRegion(ciudad); // Se almacena en el atributo 'region'
 	}
 
 	/**
 	 * Método que valida si los campos de la dirección son válidos.
 	 * Aplica reglas de no nulidad, no vacío y longitud máxima.
+	 * Solo se revisan los campos modificados desde la última llamada; el resto sale de la caché,
+	 * que se publica de forma atómica como en Persona.esValida().
 	 * 
 	 * @return true si todos los campos son válidos, false en caso contrario
 	 */
 	public boolean esValida() {
-	    return new Validador<>(calle)
-	    			.isNotNull()
-	    			.isNotEmpty()
-	    			.maxLength(100)
-	    			.isValido()
-	        && new Validador<>(comuna)
-	        		.isNotNull()
-	        		.isNotEmpty()
-	        		.maxLength(50)
-	        		.isValido()
-	        && new Validador<>(region)
-	        		.isNotNull()
-	        		.isNotEmpty()
-	        		.maxLength(50)
-	        		.isValido();
+	    long actual = validez;
+	    int pendientes;
+	    while ((pendientes = (int) (actual >>> 32)) != 0) {
+	        long nueva = ((int) actual & ~pendientes | PLAN.validaCampos(this, pendientes)) & 0xFFFFFFFFL;
+	        if (VALIDEZ.compareAndSet(this, actual, nueva)) {
+	            actual = nueva;
+	        } else {
+	            actual = validez;
+	        }
+	    }
+	    return (int) actual == 0;
 	}
 
 	/**
@@ -58,7 +92,17 @@ public class Direccion {
 	 */
 	@Override
 	public String toString() {
-	    return calle + ", " + comuna + ", " + region;
+	    return escribirEn(new StringBuilder(64)).toString();
+	}
+
+	/**
+	 * Agrega la dirección a un StringBuilder sin crear cadenas intermedias.
+	 * 
+	 * @param destino buffer de destino
+	 * @return el mismo buffer, para encadenamiento
+	 */
+	public StringBuilder escribirEn(StringBuilder destino) {
+	    return destino.append(calle).append(", ").append(getComuna()).append(", ").append(getRegion());
 	}
 
 	// Métodos getter para acceder a los atributos
@@ -68,24 +112,76 @@ public class Direccion {
 	}
 
 	public String getComuna() {
-		return comuna;
+		String nueva = comunaNueva;
+		return nueva != null ? nueva : Diccionario.COMUNAS.decodificar(comuna);
 	}
 
 	public String getRegion() {
-		return region;
+		String nueva = regionNueva;
+		return nueva != null ? nueva : Diccionario.REGIONES.decodificar(region);
+	}
+
+	/**
+	 * Código de la comuna en Diccionario.COMUNAS.
+	 * Una comuna que aún no estaba en el diccionario se agrega ahora: solo deben pedirlo
+	 * los índices de un registro, con la persona ya aceptada.
+	 * 
+	 * @return código, o Diccionario.NULO si la comuna es nula o el diccionario está lleno
+	 */
+	public int getCodigoComuna() {
+		String nueva = comunaNueva;
+		return nueva != null ? Diccionario.COMUNAS.codificar(nueva) : comuna;
+	}
+
+	/**
+	 * Código de la región en Diccionario.REGIONES.
+	 * Como en getCodigoComuna(), una región que aún no estaba en el diccionario se agrega ahora.
+	 * 
+	 * @return código, o Diccionario.NULO si la región es nula o el diccionario está lleno
+	 */
+	public int getCodigoRegion() {
+		String nueva = regionNueva;
+		return nueva != null ? Diccionario.REGIONES.codificar(nueva) : region;
 	}
 	
 	// Métodos setter para modificar los atributos
 
 	public void setCalle(String calle) {
+		String anterior = this.calle;
 		this.calle = calle;
+		marcarModificado(Campos.CALLE);
+		if (propietario != null) propietario.notificarCambio(Campos.CALLE, anterior, calle);
 	}
 
 	public void setComuna(String comuna) {
-		this.comuna = comuna;
+		boolean avisar = propietario != null && propietario.tieneOyenteCambios();
+		String anterior = avisar ? getComuna() : null;
+		asignarComuna(comuna);
+		marcarModificado(Campos.COMUNA);
+		if (avisar) propietario.notificarCambio(Campos.COMUNA, anterior, getComuna());
 	}
 
 	public void setRegion(String region) {
-		this.region = region;
+		boolean avisar = propietario != null && propietario.tieneOyenteCambios();
+		String anterior = avisar ? getRegion() : null;
+		asignarRegion(region);
+		marcarModificado(Campos.REGION);
+		if (avisar) propietario.notificarCambio(Campos.REGION, anterior, getRegion());
+	}
+
+	// Guardan el código del texto si ya está en el diccionario, o el texto tal cual si no
+	private void asignarComuna(String texto) {
+		comuna = Diccionario.COMUNAS.buscar(texto);
+		comunaNueva = comuna == Diccionario.NULO ? texto : null;
+	}
+
+	private void asignarRegion(String texto) {
+		region = Diccionario.REGIONES.buscar(texto);
+		regionNueva = region == Diccionario.NULO ? texto : null;
+	}
+
+	// Marca un campo para revisarlo en la próxima llamada a esValida()
+	private void marcarModificado(int campo) {
+		VALIDEZ.getAndBitwiseOr(this, (long) Campos.bit(campo) << 32);
 	}
 }
\ No newline at end of file
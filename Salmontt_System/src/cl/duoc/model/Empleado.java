@@ -1,6 +1,8 @@
 package cl.duoc.model;
 
-import cl.duoc.utils.Validador; // Importa la clase Validador para aplicar reglas de validación
+import cl.duoc.utils.ColectorViolaciones;
+import cl.duoc.utils.Diccionario;
+import cl.duoc.utils.PlanValidacion; // Importa el plan de validación precompilado
 
 /**
  * Clase Empleado que extiende de Persona.
@@ -9,32 +11,56 @@ import cl.duoc.utils.Validador; // Importa la clase Validador para aplicar regla
 public class Empleado extends Persona {
     
     // Atributos específicos del empleado
-    private String cargo;
-    private double sueldo;
+    private int cargo; // código en Diccionario.CARGOS
+    private String cargoNuevo; // cargo que no estaba en el diccionario al asignarse (ver Direccion)
+    private long sueldo; // en centavos (ver Dinero)
 
+    // Plan de validación de los campos propios de Empleado (el sueldo se valida como primitivo)
+    private static final PlanValidacion<Empleado> PLAN = PlanValidacion.<Empleado>crear()
+            .campo(Campos.CARGO).texto(Empleado::getCargo, 50)        // No nulo, no vacío, máximo 50 caracteres
+            .campo(Campos.SUELDO).mayorQueEntero(Empleado::getSueldoCentavos, 0L) // Debe ser mayor a 0
+            .construir();
+
+    /**
+     * Constructor de Empleado con el sueldo en pesos.
+     * 
+     * @param sueldo sueldo en pesos; se guarda redondeado al centavo
+     * @throws ArithmeticException si el sueldo es NaN, infinito o está fuera de rango
+     */
     public Empleado(String nombre, String apellido, Rut rut, Direccion direccion, String correo, String cargo, double sueldo) {
         super(nombre, apellido, rut, direccion, correo); // Llama al constructor de la clase Persona
-        this.cargo = cargo;
-        this.sueldo = sueldo;
+        asignarCargo(cargo);
+        this.sueldo = Dinero.dePesos(sueldo);
+    }
+
+    /**
+     * Crea un empleado con el sueldo ya expresado en centavos, sin pasar por double.
+     * 
+     * @param sueldoCentavos sueldo en centavos
+     * @return empleado (aún sin validar)
+     */
+    public static Empleado desdeCentavos(String nombre, String apellido, Rut rut, Direccion direccion,
+                                         String correo, String cargo, long sueldoCentavos) {
+        Empleado empleado = new Empleado(nombre, apellido, rut, direccion, correo, cargo, 0);
+        empleado.sueldo = sueldoCentavos;
+        return empleado;
     }
 
     /**
-     * Método que valida si el empleado tiene datos válidos.
-     * Valida los datos heredados y además el cargo y sueldo.
+     * Revisa los campos heredados pedidos y además el cargo y el sueldo.
      * 
-     * @return true si todos los datos son válidos, false en caso contrario
+     * @param campos máscara de los campos a revisar
+     * @return máscara de los campos que no cumplen sus reglas
      */
     @Override
-    public boolean esValida() {
-        return super.esValida() // Valida los campos de Persona
-            && new Validador<>(cargo) // Valida el cargo
-                .isNotNull()          // No debe ser nulo
-                .isNotEmpty()         // No debe estar vacío
-                .maxLength(50)        // Máximo 50 caracteres
-                .isValido()
-            && new Validador<>(sueldo) // Valida el sueldo
-                .esMayor(0)           // Debe ser mayor a 0
-                .isValido();
+    protected int validarCampos(int campos) {
+        return super.validarCampos(campos) // Campos de Persona
+            | PLAN.validaCampos(this, campos); // Cargo y sueldo
+    }
+
+    @Override
+    public boolean validar(ColectorViolaciones colector) {
+        return super.validar(colector) & PLAN.valida(this, colector); // En modo rápido PLAN no evalúa si ya hubo una falla
     }
     
     /**
@@ -43,28 +69,89 @@ public class Empleado extends Persona {
      */
     @Override
     public String toString() {
-        return "Empleado: " + getNombre() + " " + getApellido() +
-               "\n  RUT: " + getRut().getNumero() +
-               "\n  Cargo: " + cargo +
-               "\n  Sueldo: $" + sueldo +
-               "\n  Dirección: " + getDireccion().toString();
+        return escribirEn(new StringBuilder(160)).toString();
+    }
+
+    /**
+     * Agrega la representación del empleado a un StringBuilder sin crear cadenas intermedias.
+     * 
+     * @param destino buffer de destino
+     * @return el mismo buffer, para encadenamiento
+     */
+    public StringBuilder escribirEn(StringBuilder destino) {
+        destino.append("Empleado: ").append(getNombre()).append(' ').append(getApellido())
+               .append("\n  RUT: ");
+        getRut().escribirEn(destino)
+               .append("\n  Cargo: ").append(getCargo())
+               .append("\n  Sueldo: ");
+        Dinero.escribirEn(destino, sueldo)
+               .append("\n  Dirección: ");
+        return getDireccion().escribirEn(destino);
     }
 
     // Métodos getter y setter para los atributos propios
 
 	public String getCargo() {
-		return cargo;
+		String nuevo = cargoNuevo;
+		return nuevo != null ? nuevo : Diccionario.CARGOS.decodificar(cargo);
 	}
 
-	public double getSueldo() {
+	/**
+	 * Código del cargo en Diccionario.CARGOS.
+	 * Un cargo que aún no estaba en el diccionario se agrega ahora: solo deben pedirlo
+	 * los índices y la planilla de un registro, con el empleado ya aceptado.
+	 * 
+	 * @return código, o Diccionario.NULO si el cargo es nulo o el diccionario está lleno
+	 */
+	public int getCodigoCargo() {
+		String nuevo = cargoNuevo;
+		return nuevo != null ? Diccionario.CARGOS.codificar(nuevo) : cargo;
+	}
+
+	/**
+	 * Sueldo en centavos: el valor exacto que se guarda, suma y valida.
+	 * 
+	 * @return sueldo en centavos
+	 */
+	public long getSueldoCentavos() {
 		return sueldo;
 	}
 
+	/**
+	 * Sueldo en pesos, para mostrar o para código que aún trabaja con double.
+	 * 
+	 * @return sueldo en pesos
+	 */
+	public double getSueldo() {
+		return Dinero.aPesos(sueldo);
+	}
+
 	public void setCargo(String cargo) {
-		this.cargo = cargo;
+		boolean avisar = tieneOyenteCambios();
+		String anterior = avisar ? getCargo() : null;
+		asignarCargo(cargo);
+		marcarModificado(Campos.CARGO);
+		if (avisar) notificarCambio(Campos.CARGO, anterior, getCargo());
 	}
 
+	/**
+	 * @param sueldo sueldo en pesos; se guarda redondeado al centavo
+	 * @throws ArithmeticException si el sueldo es NaN, infinito o está fuera de rango
+	 */
 	public void setSueldo(double sueldo) {
+		setSueldoCentavos(Dinero.dePesos(sueldo));
+	}
+
+	public void setSueldoCentavos(long sueldo) {
+		long anterior = this.sueldo;
 		this.sueldo = sueldo;
+		marcarModificado(Campos.SUELDO);
+		notificarCambio(Campos.SUELDO, anterior, sueldo);
+	}
+
+	// Guarda el código del cargo si ya está en el diccionario, o el texto tal cual si no
+	private void asignarCargo(String texto) {
+		cargo = Diccionario.CARGOS.buscar(texto);
+		cargoNuevo = cargo == Diccionario.NULO ? texto : null;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,328 @@
+package cl.duoc.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Clase MotorRemuneraciones.
+ * Calcula la liquidación de sueldo de todos los empleados a partir de sus sueldos brutos:
+ * cotizaciones del trabajador (AFP, salud, cesantía), base tributable, impuesto único por tramo,
+ * sueldo líquido y costo total para el empleador, según una TablaRemuneraciones.
+ *
+ * Trabaja sobre arreglos primitivos (una fila por empleado, montos en centavos) y escribe
+ * los resultados en columnas de una Liquidaciones. Cada fila depende solo de su sueldo bruto
+ * y de la tabla, y los totales son sumas enteras; por eso el cálculo en paralelo (fork/join)
+ * produce exactamente los mismos valores que el secuencial.
+ */
+public class MotorRemuneraciones {
+
+    /** Filas bajo las cuales una tarea ya no se divide. */
+    public static final int FILAS_POR_TAREA = 1 << 14;
+
+    private final TablaRemuneraciones tabla;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un motor que usa el pool común de fork/join.
+     *
+     * @param tabla tasas, topes y tramos a aplicar
+     */
+    public MotorRemuneraciones(TablaRemuneraciones tabla) {
+        this(tabla, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param tabla tasas, topes y tramos a aplicar
+     * @param pool  pool donde se ejecutan los cálculos en paralelo
+     */
+    public MotorRemuneraciones(TablaRemuneraciones tabla, ForkJoinPool pool) {
+        this.tabla = tabla;
+        this.pool = pool;
+    }
+
+    public TablaRemuneraciones getTabla() {
+        return tabla;
+    }
+
+    /**
+     * Liquida un solo sueldo.
+     *
+     * @param bruto sueldo bruto en centavos
+     * @return liquidación de una fila
+     */
+    public Liquidaciones liquidar(long bruto) {
+        return liquidar(new long[]{bruto}, null, 1);
+    }
+
+    /**
+     * Liquida todas las filas en el hilo actual.
+     *
+     * @param brutos     sueldos brutos en centavos
+     * @param incluidos  filas a liquidar (null: todas); las demás quedan en cero
+     * @param filas      cantidad de filas a considerar
+     * @return liquidaciones por fila y totales
+     */
+    public Liquidaciones liquidar(long[] brutos, boolean[] incluidos, int filas) {
+        Liquidaciones l = new Liquidaciones(tabla, brutos, incluidos, filas);
+        l.totales = liquidarRango(l, 0, filas);
+        return l;
+    }
+
+    /**
+     * Liquida todas las filas dividiendo el trabajo con fork/join cuando hay más de
+     * FILAS_POR_TAREA filas. El resultado es idéntico al de liquidar.
+     *
+     * @param brutos     sueldos brutos en centavos
+     * @param incluidos  filas a liquidar (null: todas); las demás quedan en cero
+     * @param filas      cantidad de filas a considerar
+     * @return liquidaciones por fila y totales
+     */
+    public Liquidaciones liquidarEnParalelo(long[] brutos, boolean[] incluidos, int filas) {
+        if (filas <= FILAS_POR_TAREA) return liquidar(brutos, incluidos, filas);
+        Liquidaciones l = new Liquidaciones(tabla, brutos, incluidos, filas);
+        l.totales = pool.invoke(new Tarea(l, 0, filas));
+        return l;
+    }
+
+    // Liquida las filas [desde, hasta) y retorna sus totales
+    private Totales liquidarRango(Liquidaciones l, int desde, int hasta) {
+        TablaRemuneraciones t = tabla;
+        long topeImponible = t.getTopeImponible();
+        long topeCesantia = t.getTopeCesantia();
+        Totales totales = new Totales(t.cantidadTramos());
+        for (int i = desde; i < hasta; i++) {
+            if (l.incluidos != null && !l.incluidos[i]) continue;
+            long bruto = Math.max(0, l.brutos[i]);
+            long imponible = Math.min(bruto, topeImponible);
+            long imponibleCesantia = Math.min(bruto, topeCesantia);
+
+            long afp = TablaRemuneraciones.aplicarTasa(imponible, t.getTasaAfp());
+            long salud = TablaRemuneraciones.aplicarTasa(imponible, t.getTasaSalud());
+            long cesantia = TablaRemuneraciones.aplicarTasa(imponibleCesantia, t.getTasaCesantiaTrabajador());
+            long base = bruto - afp - salud - cesantia;
+            int tramo = t.tramoDe(base);
+            long impuesto = t.impuesto(base);
+            long aportes = TablaRemuneraciones.aplicarTasa(imponibleCesantia, t.getTasaCesantiaEmpleador())
+                    + TablaRemuneraciones.aplicarTasa(imponible, t.getTasaSis())
+                    + TablaRemuneraciones.aplicarTasa(imponible, t.getTasaMutual());
+
+            l.afp[i] = afp;
+            l.salud[i] = salud;
+            l.cesantia[i] = cesantia;
+            l.basesTributables[i] = base;
+            l.impuestos[i] = impuesto;
+            l.tramos[i] = (byte) tramo;
+            l.liquidos[i] = base - impuesto;
+            l.costosEmpleador[i] = bruto + aportes;
+
+            totales.cantidad++;
+            totales.bruto += bruto;
+            totales.afp += afp;
+            totales.salud += salud;
+            totales.cesantia += cesantia;
+            totales.impuesto += impuesto;
+            totales.liquido += base - impuesto;
+            totales.costoEmpleador += bruto + aportes;
+            for (int k = 0; k <= tramo; k++) totales.impuestoPorTramo[k] += t.impuestoEnTramo(base, k);
+        }
+        return totales;
+    }
+
+    /**
+     * Tarea fork/join: divide el rango en mitades hasta FILAS_POR_TAREA filas.
+     */
+    private final class Tarea extends RecursiveTask<Totales> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Liquidaciones l;
+        private final int desde;
+        private final int hasta;
+
+        Tarea(Liquidaciones l, int desde, int hasta) {
+            this.l = l;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Totales compute() {
+            if (hasta - desde <= FILAS_POR_TAREA) return liquidarRango(l, desde, hasta);
+            int medio = (desde + hasta) >>> 1;
+            Tarea izquierda = new Tarea(l, desde, medio);
+            izquierda.fork();
+            Totales derecha = new Tarea(l, medio, hasta).compute();
+            return izquierda.join().combinar(derecha);
+        }
+    }
+
+    /**
+     * Clase Liquidaciones.
+     * Resultado de un cálculo: columnas por fila (en centavos) y totales.
+     * Las filas no incluidas quedan en cero. Los arreglos retornados por los getters
+     * son los internos, no copias, y no deben modificarse.
+     */
+    public static final class Liquidaciones {
+
+        private final TablaRemuneraciones tabla;
+        private final long[] brutos;
+        private final boolean[] incluidos;
+        private final int filas;
+
+        private final long[] afp;
+        private final long[] salud;
+        private final long[] cesantia;
+        private final long[] basesTributables;
+        private final long[] impuestos;
+        private final byte[] tramos;
+        private final long[] liquidos;
+        private final long[] costosEmpleador;
+        private Totales totales;
+
+        private Liquidaciones(TablaRemuneraciones tabla, long[] brutos, boolean[] incluidos, int filas) {
+            this.tabla = tabla;
+            this.brutos = brutos;
+            this.incluidos = incluidos;
+            this.filas = filas;
+            this.afp = new long[filas];
+            this.salud = new long[filas];
+            this.cesantia = new long[filas];
+            this.basesTributables = new long[filas];
+            this.impuestos = new long[filas];
+            this.tramos = new byte[filas];
+            this.liquidos = new long[filas];
+            this.costosEmpleador = new long[filas];
+        }
+
+        /**
+         * Impuesto de una fila que corresponde a un tramo.
+         *
+         * @param fila  fila liquidada
+         * @param tramo índice del tramo
+         * @return impuesto del tramo en centavos
+         */
+        public long impuestoEnTramo(int fila, int tramo) {
+            if (incluidos != null && !incluidos[fila]) return 0;
+            return tabla.impuestoEnTramo(basesTributables[fila], tramo);
+        }
+
+        public int getFilas() {
+            return filas;
+        }
+
+        public TablaRemuneraciones getTabla() {
+            return tabla;
+        }
+
+        public long[] getAfp() {
+            return afp;
+        }
+
+        public long[] getSalud() {
+            return salud;
+        }
+
+        public long[] getCesantia() {
+            return cesantia;
+        }
+
+        public long[] getBasesTributables() {
+            return basesTributables;
+        }
+
+        public long[] getImpuestos() {
+            return impuestos;
+        }
+
+        public byte[] getTramos() {
+            return tramos;
+        }
+
+        public long[] getLiquidos() {
+            return liquidos;
+        }
+
+        public long[] getCostosEmpleador() {
+            return costosEmpleador;
+        }
+
+        public Totales getTotales() {
+            return totales;
+        }
+    }
+
+    /**
+     * Clase Totales.
+     * Sumas de una liquidación, en centavos, incluido el impuesto de cada tramo.
+     */
+    public static final class Totales {
+
+        private long cantidad;
+        private long bruto;
+        private long afp;
+        private long salud;
+        private long cesantia;
+        private long impuesto;
+        private long liquido;
+        private long costoEmpleador;
+        private final long[] impuestoPorTramo;
+
+        private Totales(int tramos) {
+            this.impuestoPorTramo = new long[tramos];
+        }
+
+        // Suma otro total parcial a este
+        private Totales combinar(Totales otro) {
+            cantidad += otro.cantidad;
+            bruto += otro.bruto;
+            afp += otro.afp;
+            salud += otro.salud;
+            cesantia += otro.cesantia;
+            impuesto += otro.impuesto;
+            liquido += otro.liquido;
+            costoEmpleador += otro.costoEmpleador;
+            for (int k = 0; k < impuestoPorTramo.length; k++) impuestoPorTramo[k] += otro.impuestoPorTramo[k];
+            return this;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public long getBruto() {
+            return bruto;
+        }
+
+        public long getAfp() {
+            return afp;
+        }
+
+        public long getSalud() {
+            return salud;
+        }
+
+        public long getCesantia() {
+            return cesantia;
+        }
+
+        public long getImpuesto() {
+            return impuesto;
+        }
+
+        public long getLiquido() {
+            return liquido;
+        }
+
+        public long getCostoEmpleador() {
+            return costoEmpleador;
+        }
+
+        public long getImpuestoEnTramo(int tramo) {
+            return impuestoPorTramo[tramo];
+        }
+
+        public int cantidadTramos() {
+            return impuestoPorTramo.length;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package cl.duoc.model;
+
+/**
+ * Interfaz OyenteCambios.
+ * Recibe los cambios que los setters hacen en una persona o en su dirección,
+ * con el valor anterior y el nuevo de cada campo (ver Persona.setOyenteCambios).
+ * Solo se notifican los cambios reales: asignar el mismo valor no produce aviso.
+ * Se llama en el hilo que ejecutó el setter, por lo que debe ser rápido.
+ */
+public interface OyenteCambios {
+
+    /**
+     * Cambió un campo de texto (o el RUT, informado como texto).
+     *
+     * @param persona  persona modificada
+     * @param campo    número del campo (ver Campos)
+     * @param anterior valor anterior
+     * @param nuevo    valor nuevo
+     */
+    void alCambiarTexto(Persona persona, int campo, String anterior, String nuevo);
+
+    /**
+     * Cambió un monto en centavos (el sueldo).
+     *
+     * @param persona  persona modificada
+     * @param campo    número del campo (ver Campos)
+     * @param anterior valor anterior
+     * @param nuevo    valor nuevo
+     */
+    void alCambiarMonto(Persona persona, int campo, long anterior, long nuevo);
+}
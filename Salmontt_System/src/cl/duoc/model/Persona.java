@@ -1,6 +1,11 @@
 package cl.duoc.model;
 
-import cl.duoc.utils.Validador;
+import cl.duoc.utils.ColectorViolaciones;
+import cl.duoc.utils.MotorReglas;
+import cl.duoc.utils.PlanValidacion;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
 
 /**
  * Clase abstracta Persona.
@@ -16,6 +21,37 @@ public class Persona {
 	private Direccion direccion;
 	private String correo;
 
+	// Plan de validación de Persona, construido una sola vez para todas las instancias.
+	// Los planes del modelo son las reglas de todas las entradas: consola, lotes, servidor e importación.
+	private static final PlanValidacion<Persona> PLAN = PlanValidacion.<Persona>crear()
+			.campo(Campos.NOMBRE).texto(Persona::getNombre, 50, MotorReglas.NOMBRE)
+			.campo(Campos.APELLIDO).texto(Persona::getApellido, 50, MotorReglas.NOMBRE)
+			.campo(Campos.RUT).condicion(p -> p.rut != null && p.rut.esValido())
+			.campo(Campos.DIRECCION).anidado(Persona::getDireccion, Direccion.PLAN)
+			.campo(Campos.CORREO).texto(Persona::getCorreo, 254, MotorReglas.CORREO) // 254: largo máximo de una dirección de correo
+			.construir();
+
+	// El RUT y la dirección son objetos modificables por su cuenta: se revisan en cada validación
+	private static final int REVISADOS_SIEMPRE = Campos.bit(Campos.RUT) | Campos.bit(Campos.DIRECCION);
+
+	// Validez en caché por campo, en una sola palabra para publicarla de forma atómica:
+	// en los 32 bits altos, la máscara (Campos.bit) de los campos modificados desde la última
+	// validación; en los bajos, la de los campos que fallaron en ella. Al crearse, todos están pendientes.
+	private volatile long validez = (long) ~REVISADOS_SIEMPRE << 32;
+
+	private static final VarHandle VALIDEZ;
+
+	static {
+		try {
+			VALIDEZ = MethodHandles.lookup().findVarHandle(Persona.class, "validez", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	// Recibe los cambios hechos por los setters; null si nadie escucha
+	private OyenteCambios oyenteCambios;
+
     /**
      * Constructor de Persona.
      * Inicializa todos los atributos personales.
@@ -32,27 +68,93 @@ public class Persona {
 		this.rut = rut;
 		this.direccion = direccion;
 		this.correo = correo;
+		if (direccion != null) direccion.propietario = this;
 	}
 
     /**
-     * Valida los datos básicos de la persona.
-     * Verifica nombre, apellido, RUT y dirección.
+     * Valida la persona, incluidos los campos propios de las subclases.
+     * El resultado de cada campo queda en caché: solo se revisan de nuevo los campos
+     * modificados por un setter desde la última llamada, además del RUT y la dirección
+     * (que pueden cambiar sin pasar por Persona; la dirección tiene su propia caché).
+     * Varios hilos pueden llamarlo a la vez: el resultado se calcula aparte y se publica con un
+     * compareAndSet, que falla (y se vuelve a revisar) si un setter marcó un campo entre medio.
      * 
      * @return true si todos los campos son válidos, false si alguno falla
      */
 	public boolean esValida() {
-		return new Validador<>(nombre)
-					.isNotNull()
-					.isNotEmpty()
-					.maxLength(50)
-					.isValido()
-			&& new Validador<>(apellido)
-					.isNotNull()
-					.isNotEmpty()
-					.maxLength(50)
-					.isValido()
-			&& rut != null && rut.esValido()
-			&& direccion != null && direccion.esValida();
+		long actual = validez;
+		int pendientes;
+		while ((pendientes = (int) (actual >>> 32)) != 0) {
+			long nueva = ((int) actual & ~pendientes | validarCampos(pendientes)) & 0xFFFFFFFFL;
+			if (VALIDEZ.compareAndSet(this, actual, nueva)) {
+				actual = nueva;
+			} else {
+				actual = validez;
+			}
+		}
+		return (int) actual == 0
+				&& rut != null && rut.esValido()
+				&& direccion != null && direccion.esValida();
+	}
+
+    /**
+     * Revisa los campos indicados según los planes de validación de la clase.
+     * Las subclases agregan el resultado de su propio plan.
+     * 
+     * @param campos máscara de los campos a revisar
+     * @return máscara de los campos que no cumplen sus reglas
+     */
+	protected int validarCampos(int campos) {
+		return PLAN.validaCampos(this, campos);
+	}
+
+    /**
+     * Marca un campo como modificado, para que se revise en la próxima llamada a esValida().
+     * 
+     * @param campo número del campo (ver Campos)
+     */
+	protected void marcarModificado(int campo) {
+		VALIDEZ.getAndBitwiseOr(this, (long) Campos.bit(campo) << 32);
+	}
+
+    /**
+     * Avisa al oyente de cambios que un campo de texto cambió, si lo hay y el valor es distinto.
+     * 
+     * @param campo    número del campo (ver Campos)
+     * @param anterior valor anterior
+     * @param nuevo    valor nuevo
+     */
+	protected void notificarCambio(int campo, String anterior, String nuevo) {
+		OyenteCambios oyente = oyenteCambios;
+		if (oyente != null && !Objects.equals(anterior, nuevo)) oyente.alCambiarTexto(this, campo, anterior, nuevo);
+	}
+
+    /**
+     * Avisa al oyente de cambios que un monto cambió, si lo hay y el valor es distinto.
+     * 
+     * @param campo    número del campo (ver Campos)
+     * @param anterior valor anterior, en centavos
+     * @param nuevo    valor nuevo, en centavos
+     */
+	protected void notificarCambio(int campo, long anterior, long nuevo) {
+		OyenteCambios oyente = oyenteCambios;
+		if (oyente != null && anterior != nuevo) oyente.alCambiarMonto(this, campo, anterior, nuevo);
+	}
+
+	// Indica si hay alguien escuchando, para no leer valores anteriores que nadie usará
+	boolean tieneOyenteCambios() {
+		return oyenteCambios != null;
+	}
+
+    /**
+     * Valida la persona registrando en el colector los campos que no cumplen sus reglas.
+     * Las subclases agregan sus propios campos; en modo rápido se detiene en la primera violación.
+     * 
+     * @param colector colector de violaciones (se reutiliza entre personas con limpiar())
+     * @return true si todos los campos son válidos, false si alguno falla
+     */
+	public boolean validar(ColectorViolaciones colector) {
+		return PLAN.valida(this, colector);
 	}
 
 	// Métodos getter para acceder a los atributos
@@ -77,25 +179,59 @@ public class Persona {
 		return correo;
 	}
 
+	public OyenteCambios getOyenteCambios() {
+		return oyenteCambios;
+	}
+
 	// Métodos setter para modificar los atributos
 
 	public void setNombre(String nombre) {
+		String anterior = this.nombre;
 		this.nombre = nombre;
+		marcarModificado(Campos.NOMBRE);
+		notificarCambio(Campos.NOMBRE, anterior, nombre);
 	}
 
 	public void setApellido(String apellido) {
+		String anterior = this.apellido;
 		this.apellido = apellido;
+		marcarModificado(Campos.APELLIDO);
+		notificarCambio(Campos.APELLIDO, anterior, apellido);
 	}
 
 	public void setRut(Rut rut) {
+		Rut anterior = this.rut;
 		this.rut = rut;
+		if (oyenteCambios != null) {
+			notificarCambio(Campos.RUT, anterior == null ? null : anterior.getNumero(), rut == null ? null : rut.getNumero());
+		}
 	}
 
 	public void setDireccion(Direccion direccion) {
+		Direccion anterior = this.direccion;
 		this.direccion = direccion;
+		if (direccion != null) direccion.propietario = this;
+		if (oyenteCambios != null) { // Se informa cada campo de la dirección que cambió
+			notificarCambio(Campos.CALLE, anterior == null ? null : anterior.getCalle(), direccion == null ? null : direccion.getCalle());
+			notificarCambio(Campos.COMUNA, anterior == null ? null : anterior.getComuna(), direccion == null ? null : direccion.getComuna());
+			notificarCambio(Campos.REGION, anterior == null ? null : anterior.getRegion(), direccion == null ? null : direccion.getRegion());
+		}
 	}
 
 	public void setCorreo(String correo) {
+		String anterior = this.correo;
 		this.correo = correo;
+		marcarModificado(Campos.CORREO);
+		notificarCambio(Campos.CORREO, anterior, correo);
+	}
+
+    /**
+     * Asigna quién recibe los cambios hechos por los setters de la persona y de su dirección
+     * (ej: un BusCambios al registrarse la persona). Hay un solo oyente por persona.
+     * 
+     * @param oyente oyente de cambios, o null para dejar de avisar
+     */
+	public void setOyenteCambios(OyenteCambios oyente) {
+		this.oyenteCambios = oyente;
 	}
 }
\ No newline at end of file
@@ -1,57 +1,229 @@
 package cl.duoc.model;
 
-import cl.duoc.utils.Validador;
+import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Clase Rut.
  * Representa el Rol Único Tributario chileno, utilizado como identificador personal.
- * Incluye validación básica de formato mediante expresión regular.
+ * El RUT se interpreta una sola vez con un analizador manual (sin expresiones regulares)
+ * y se guarda empaquetado en un long: el cuerpo numérico y el dígito verificador.
+ * Verifica el dígito verificador con el algoritmo módulo 11.
  */
-public class Rut {
+public class Rut implements Comparable<Rut> {
 
-    // Almacena el número de RUT en formato texto (ej: "12345678-9")
+    /** Valor empaquetado que indica un RUT con formato o dígito verificador inválido. */
+    public static final long INVALIDO = -1L;
+
+    // Valor del dígito verificador 'K' dentro del valor empaquetado
+    private static final int DV_K = 10;
+
+    // RUT empaquetado: (cuerpo << 4) | dígito verificador (0-9, o 10 para 'K')
+    private long valor;
+
+    // Texto del RUT. Si es válido se genera solo cuando se solicita (ej: "12345678-9");
+    // si es inválido se conserva el texto original para poder mostrarlo.
     private String numero;
 
     /**
-     * Constructor que inicializa el RUT con el valor entregado.
-     * 
-     * @param numero RUT en formato "XXXXXXXX-Y"
+     * Constructor que interpreta el RUT entregado.
+     * Acepta los formatos "12345678-9" y "12.345.678-9" (dígito verificador 0-9, k o K).
+     *
+     * @param numero RUT en formato "XXXXXXXX-Y" o "XX.XXX.XXX-Y"
      */
     public Rut(String numero) {
-        this.numero = numero;
+        setNumero(numero);
+    }
+
+    /**
+     * Crea un RUT a partir de su cuerpo numérico, calculando el dígito verificador.
+     *
+     * @param cuerpo cuerpo numérico del RUT (sin dígito verificador)
+     * @return RUT válido
+     */
+    public static Rut desdeCuerpo(int cuerpo) {
+        return desdeValor(empaquetar(cuerpo, calcularDigito(cuerpo)));
     }
 
     /**
-     * Valida el formato del RUT.
-     * No verifica el dígito verificador, solo el patrón general.
-     * 
-     * @return true si el formato es válido, false si no lo es
+     * Crea un RUT a partir de un valor empaquetado (ver getValor()).
+     *
+     * @param valor valor empaquetado
+     * @return RUT correspondiente
+     */
+    public static Rut desdeValor(long valor) {
+        Rut rut = new Rut(null);
+        rut.valor = valor < 0 ? INVALIDO : valor;
+        return rut;
+    }
+
+    /**
+     * Interpreta un RUT y retorna su valor empaquetado.
+     * Recorre el texto una sola vez, valida los puntos separadores de miles,
+     * exige 7 u 8 dígitos en el cuerpo y verifica el dígito verificador (módulo 11).
+     *
+     * @param texto RUT a interpretar
+     * @return valor empaquetado, o INVALIDO si el formato o el dígito verificador no son correctos
+     */
+    public static long parsear(CharSequence texto) {
+        if (texto == null) return INVALIDO;
+        int largo = texto.length();
+        int cuerpo = 0;
+        int digitos = 0;     // dígitos del cuerpo
+        int puntos = 0;      // puntos encontrados
+        int grupo = 0;       // dígitos desde el último punto (o desde el inicio)
+        int i = 0;
+        for (; i < largo; i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > 8) return INVALIDO;
+                cuerpo = cuerpo * 10 + (c - '0');
+                grupo++;
+            } else if (c == '.') {
+                // El primer grupo tiene 1 a 3 dígitos; los siguientes, exactamente 3
+                if (grupo == 0 || grupo > 3 || (puntos > 0 && grupo != 3)) return INVALIDO;
+                puntos++;
+                grupo = 0;
+            } else if (c == '-') {
+                break;
+            } else {
+                return INVALIDO;
+            }
+        }
+        // Debe existir el guion seguido de exactamente un carácter
+        if (i != largo - 2 || digitos < 7 || (puntos > 0 && grupo != 3)) return INVALIDO;
+
+        char dv = texto.charAt(largo - 1);
+        int digito;
+        if (dv >= '0' && dv <= '9') {
+            digito = dv - '0';
+        } else if (dv == 'k' || dv == 'K') {
+            digito = DV_K;
+        } else {
+            return INVALIDO;
+        }
+        return digito == calcularDigito(cuerpo) ? empaquetar(cuerpo, digito) : INVALIDO;
+    }
+
+    /**
+     * Calcula el dígito verificador con el algoritmo módulo 11.
+     *
+     * @param cuerpo cuerpo numérico del RUT
+     * @return dígito verificador (0-9, o 10 para 'K')
+     */
+    public static int calcularDigito(int cuerpo) {
+        int suma = 0;
+        int factor = 2;
+        while (cuerpo > 0) {
+            suma += (cuerpo % 10) * factor;
+            cuerpo /= 10;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int resto = 11 - (suma % 11);
+        return resto == 11 ? 0 : resto; // 10 corresponde a 'K'
+    }
+
+    private static long empaquetar(int cuerpo, int digito) {
+        return ((long) cuerpo << 4) | digito;
+    }
+
+    /**
+     * Indica si el RUT tiene formato válido y su dígito verificador es correcto.
+     *
+     * @return true si el RUT es válido, false si no lo es
      */
     public boolean esValido() {
-        return new Validador<>(numero)
-            .isNotNull()                          // No debe ser nulo
-            .isNotEmpty()                         // No debe estar vacío
-            .matches("^\\d{7,8}-[\\dkK]$")        // Debe tener 7 u 8 dígitos seguidos de guion y dígito verificador
-            .isValido();
+        return valor != INVALIDO;
     }
 
     /**
      * Representación textual del RUT.
-     * 
+     *
      * @return RUT como cadena
      */
     @Override
     public String toString() {
-        return numero;
+        return getNumero();
+    }
+
+    /**
+     * Agrega el RUT a un StringBuilder sin crear cadenas intermedias.
+     *
+     * @param destino buffer de destino
+     * @return el mismo buffer, para encadenamiento
+     */
+    public StringBuilder escribirEn(StringBuilder destino) {
+        if (valor == INVALIDO) return destino.append(numero);
+        return destino.append(getCuerpo()).append('-').append(getDigitoVerificador());
+    }
+
+    /**
+     * Dos RUT son iguales si su valor empaquetado es el mismo.
+     * Los RUT inválidos se comparan por su texto original.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Rut)) return false;
+        Rut otro = (Rut) obj;
+        if (valor != otro.valor) return false;
+        return valor != INVALIDO || Objects.equals(numero, otro.numero);
+    }
+
+    @Override
+    public int hashCode() {
+        return valor != INVALIDO ? Long.hashCode(valor * 0x9E3779B97F4A7C15L) : Objects.hashCode(numero);
+    }
+
+    /**
+     * Orden natural por cuerpo numérico (los RUT inválidos quedan primero, ordenados por su
+     * texto original para ser consistente con equals).
+     */
+    @Override
+    public int compareTo(Rut otro) {
+        int orden = Long.compare(valor, otro.valor);
+        if (orden != 0 || valor != INVALIDO) return orden;
+        return Objects.compare(numero, otro.numero, Comparator.nullsFirst(Comparator.naturalOrder()));
     }
 
     // Métodos getter y setter para acceder y modificar el RUT
 
+    /**
+     * Valor empaquetado del RUT, útil como clave primitiva.
+     *
+     * @return (cuerpo << 4) | dígito verificador, o INVALIDO
+     */
+    public long getValor() {
+        return valor;
+    }
+
+    public int getCuerpo() {
+        return valor == INVALIDO ? -1 : (int) (valor >>> 4);
+    }
+
+    public char getDigitoVerificador() {
+        if (valor == INVALIDO) return '?';
+        int digito = (int) (valor & 0xF);
+        return digito == DV_K ? 'K' : (char) ('0' + digito);
+    }
+
+    /**
+     * Texto del RUT en formato "12345678-9". Se genera solo la primera vez que se solicita.
+     *
+     * @return RUT como cadena
+     */
     public String getNumero() {
-        return numero;
+        String texto = numero;
+        if (texto == null && valor != INVALIDO) {
+            texto = getCuerpo() + "-" + getDigitoVerificador();
+            numero = texto;
+        }
+        return texto;
     }
 
     public void setNumero(String numero) {
-        this.numero = numero;
+        this.valor = parsear(numero);
+        // Si es válido el texto se regenera en formato normalizado cuando se solicite
+        this.numero = valor == INVALIDO ? numero : null;
     }
-}
\ No newline at end of file
+}
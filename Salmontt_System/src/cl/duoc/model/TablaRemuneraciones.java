@@ -0,0 +1,339 @@
+package cl.duoc.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase TablaRemuneraciones.
+ * Tasas y topes usados por MotorRemuneraciones para calcular una liquidación de sueldo:
+ * cotizaciones del trabajador (AFP, salud, seguro de cesantía), aportes del empleador
+ * (seguro de cesantía, SIS, mutual) y tramos del impuesto único de segunda categoría.
+ *
+ * Todo es aritmética entera: los montos van en centavos y las tasas en puntos base
+ * (1 punto base = 0,01 %), por lo que el resultado no depende del orden de las operaciones.
+ * Los topes se expresan en centésimas de UF y los tramos en centésimas de UTM, y se
+ * convierten a centavos una sola vez al construir la tabla.
+ */
+public final class TablaRemuneraciones {
+
+    /** Puntos base que equivalen al 100 %. */
+    public static final int PUNTOS_BASE = Dinero.PUNTOS_BASE;
+
+    // Valores de las unidades, en centavos
+    private final long valorUf;
+    private final long valorUtm;
+
+    // Tasas en puntos base
+    private final int tasaAfp;
+    private final int tasaSalud;
+    private final int tasaCesantiaTrabajador;
+    private final int tasaCesantiaEmpleador;
+    private final int tasaSis;
+    private final int tasaMutual;
+
+    // Topes imponibles, en centavos
+    private final long topeImponible;
+    private final long topeCesantia;
+
+    // Tramos del impuesto: inicio de cada tramo (centavos), su tasa, el impuesto de recorrerlo completo
+    // y el impuesto acumulado de los tramos anteriores
+    private final long[] inicioTramo;
+    private final int[] tasaTramo;
+    private final long[] impuestoTramoCompleto;
+    private final long[] impuestoAnterior;
+
+    private TablaRemuneraciones(Constructor c) {
+        this.valorUf = c.valorUf;
+        this.valorUtm = c.valorUtm;
+        this.tasaAfp = c.tasaAfp;
+        this.tasaSalud = c.tasaSalud;
+        this.tasaCesantiaTrabajador = c.tasaCesantiaTrabajador;
+        this.tasaCesantiaEmpleador = c.tasaCesantiaEmpleador;
+        this.tasaSis = c.tasaSis;
+        this.tasaMutual = c.tasaMutual;
+        this.topeImponible = c.topeImponibleUf < 0 ? Long.MAX_VALUE : c.topeImponibleUf * valorUf / 100;
+        this.topeCesantia = c.topeCesantiaUf < 0 ? Long.MAX_VALUE : c.topeCesantiaUf * valorUf / 100;
+
+        int tramos = c.desdeUtm.size();
+        inicioTramo = new long[tramos];
+        tasaTramo = new int[tramos];
+        impuestoTramoCompleto = new long[tramos];
+        impuestoAnterior = new long[tramos];
+        for (int t = 0; t < tramos; t++) {
+            inicioTramo[t] = c.desdeUtm.get(t) * valorUtm / 100;
+            tasaTramo[t] = c.tasasTramo.get(t);
+        }
+        for (int t = 0; t < tramos; t++) {
+            if (t + 1 < tramos) impuestoTramoCompleto[t] = aplicarTasa(inicioTramo[t + 1] - inicioTramo[t], tasaTramo[t]);
+            if (t > 0) impuestoAnterior[t] = impuestoAnterior[t - 1] + impuestoTramoCompleto[t - 1];
+        }
+    }
+
+    /**
+     * Inicia la declaración de una tabla.
+     *
+     * @return constructor de la tabla
+     */
+    public static Constructor crear() {
+        return new Constructor();
+    }
+
+    /**
+     * Tabla con valores referenciales de 2025 (UF $39.000, UTM $68.000, AFP 10 % + 1,44 % de comisión,
+     * salud 7 %, cesantía 0,6 % / 2,4 % con contrato indefinido, SIS 1,88 %, mutual 0,93 %,
+     * topes de 87,8 UF y 131,9 UF). Deben actualizarse con los valores del mes a liquidar.
+     *
+     * @return tabla referencial
+     */
+    public static TablaRemuneraciones referencial() {
+        return crear()
+                .valorUf(39_000)
+                .valorUtm(68_000)
+                .afp(1_144)
+                .salud(700)
+                .cesantia(60, 240)
+                .sis(188)
+                .mutual(93)
+                .topes(8_780, 13_190)
+                .tramo(0, 0)            // Exento hasta 13,5 UTM
+                .tramo(1_350, 400)
+                .tramo(3_000, 800)
+                .tramo(5_000, 1_350)
+                .tramo(7_000, 2_300)
+                .tramo(9_000, 3_040)
+                .tramo(12_000, 3_500)
+                .tramo(31_000, 4_000)
+                .construir();
+    }
+
+    /**
+     * Aplica una tasa a un monto, redondeando al centavo más cercano (mitades hacia arriba).
+     *
+     * @param monto monto en centavos (no negativo)
+     * @param tasa  tasa en puntos base
+     * @return monto por la tasa, en centavos
+     */
+    public static long aplicarTasa(long monto, int tasa) {
+        return Dinero.porcentaje(monto, tasa);
+    }
+
+    /**
+     * Tramo del impuesto en que cae una base tributable.
+     *
+     * @param baseTributable base en centavos
+     * @return índice del tramo (desde 0)
+     */
+    public int tramoDe(long baseTributable) {
+        int t = inicioTramo.length - 1;
+        while (t > 0 && baseTributable <= inicioTramo[t]) t--;
+        return t;
+    }
+
+    /**
+     * Impuesto único de una base tributable: la suma de lo que corresponde a cada tramo.
+     *
+     * @param baseTributable base en centavos
+     * @return impuesto en centavos
+     */
+    public long impuesto(long baseTributable) {
+        int t = tramoDe(baseTributable);
+        return impuestoAnterior[t] + aplicarTasa(Math.max(0, baseTributable - inicioTramo[t]), tasaTramo[t]);
+    }
+
+    /**
+     * Parte del impuesto de una base tributable que corresponde a un tramo.
+     * La suma de todos los tramos es igual a impuesto(baseTributable).
+     *
+     * @param baseTributable base en centavos
+     * @param tramo          índice del tramo
+     * @return impuesto del tramo en centavos
+     */
+    public long impuestoEnTramo(long baseTributable, int tramo) {
+        int t = tramoDe(baseTributable);
+        if (tramo < t) return impuestoTramoCompleto[tramo];
+        if (tramo > t) return 0;
+        return aplicarTasa(Math.max(0, baseTributable - inicioTramo[t]), tasaTramo[t]);
+    }
+
+    public int cantidadTramos() {
+        return inicioTramo.length;
+    }
+
+    // Métodos getter
+
+    public long getValorUf() {
+        return valorUf;
+    }
+
+    public long getValorUtm() {
+        return valorUtm;
+    }
+
+    public int getTasaAfp() {
+        return tasaAfp;
+    }
+
+    public int getTasaSalud() {
+        return tasaSalud;
+    }
+
+    public int getTasaCesantiaTrabajador() {
+        return tasaCesantiaTrabajador;
+    }
+
+    public int getTasaCesantiaEmpleador() {
+        return tasaCesantiaEmpleador;
+    }
+
+    public int getTasaSis() {
+        return tasaSis;
+    }
+
+    public int getTasaMutual() {
+        return tasaMutual;
+    }
+
+    public long getTopeImponible() {
+        return topeImponible;
+    }
+
+    public long getTopeCesantia() {
+        return topeCesantia;
+    }
+
+    public long getInicioTramo(int tramo) {
+        return inicioTramo[tramo];
+    }
+
+    public int getTasaTramo(int tramo) {
+        return tasaTramo[tramo];
+    }
+
+    /**
+     * Clase Constructor.
+     * Permite declarar la tabla de forma fluida. Las tasas van en puntos base.
+     */
+    public static final class Constructor {
+
+        private long valorUf;
+        private long valorUtm;
+        private int tasaAfp;
+        private int tasaSalud;
+        private int tasaCesantiaTrabajador;
+        private int tasaCesantiaEmpleador;
+        private int tasaSis;
+        private int tasaMutual;
+        private long topeImponibleUf = -1; // -1: sin tope
+        private long topeCesantiaUf = -1;
+        private final List<Long> desdeUtm = new ArrayList<>();
+        private final List<Integer> tasasTramo = new ArrayList<>();
+
+        private Constructor() {
+        }
+
+        /**
+         * @param pesos valor de la UF en pesos
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor valorUf(long pesos) {
+            this.valorUf = Dinero.dePesos(pesos);
+            return this;
+        }
+
+        /**
+         * @param pesos valor de la UTM en pesos
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor valorUtm(long pesos) {
+            this.valorUtm = Dinero.dePesos(pesos);
+            return this;
+        }
+
+        /**
+         * @param tasa cotización AFP del trabajador (incluida la comisión), en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor afp(int tasa) {
+            this.tasaAfp = tasa;
+            return this;
+        }
+
+        /**
+         * @param tasa cotización de salud, en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor salud(int tasa) {
+            this.tasaSalud = tasa;
+            return this;
+        }
+
+        /**
+         * @param trabajador seguro de cesantía de cargo del trabajador, en puntos base
+         * @param empleador  seguro de cesantía de cargo del empleador, en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor cesantia(int trabajador, int empleador) {
+            this.tasaCesantiaTrabajador = trabajador;
+            this.tasaCesantiaEmpleador = empleador;
+            return this;
+        }
+
+        /**
+         * @param tasa seguro de invalidez y sobrevivencia (empleador), en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor sis(int tasa) {
+            this.tasaSis = tasa;
+            return this;
+        }
+
+        /**
+         * @param tasa cotización de la mutual de seguridad (empleador), en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor mutual(int tasa) {
+            this.tasaMutual = tasa;
+            return this;
+        }
+
+        /**
+         * @param imponibleUf tope imponible de AFP, salud, SIS y mutual, en centésimas de UF
+         * @param cesantiaUf  tope imponible del seguro de cesantía, en centésimas de UF
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor topes(long imponibleUf, long cesantiaUf) {
+            this.topeImponibleUf = imponibleUf;
+            this.topeCesantiaUf = cesantiaUf;
+            return this;
+        }
+
+        /**
+         * Agrega un tramo del impuesto único. Los tramos se declaran en orden creciente
+         * y el primero debe comenzar en 0.
+         *
+         * @param desdeUtm inicio del tramo (exclusivo), en centésimas de UTM
+         * @param tasa     tasa marginal del tramo, en puntos base
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor tramo(long desdeUtm, int tasa) {
+            this.desdeUtm.add(desdeUtm);
+            this.tasasTramo.add(tasa);
+            return this;
+        }
+
+        /**
+         * Construye la tabla inmutable.
+         *
+         * @return tabla de remuneraciones
+         * @throws IllegalStateException si faltan las unidades o los tramos no son válidos
+         */
+        public TablaRemuneraciones construir() {
+            if (valorUf <= 0 || valorUtm <= 0) throw new IllegalStateException("Faltan los valores de UF y UTM");
+            if (desdeUtm.isEmpty() || desdeUtm.get(0) != 0) throw new IllegalStateException("El primer tramo debe comenzar en 0");
+            for (int t = 1; t < desdeUtm.size(); t++) {
+                if (desdeUtm.get(t) <= desdeUtm.get(t - 1)) throw new IllegalStateException("Los tramos deben ser crecientes");
+            }
+            return new TablaRemuneraciones(this);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package cl.duoc.utils;
+
+/**
+ * Clase ColectorViolaciones.
+ * Registra las reglas que no se cumplieron al validar un objeto: campo, regla y código de error,
+ * como enteros en arreglos reservados de antemano. No crea objetos ni cadenas por violación,
+ * por lo que un mismo colector se reutiliza (limpiar) para validar miles de registros.
+ *
+ * En modo rápido solo se registra la primera violación y la validación se detiene ahí;
+ * en modo completo se siguen aplicando las reglas y se registran todas (hasta la capacidad).
+ *
+ * Los números de campo los define quien valida (ver cl.duoc.model.Campos); la regla es la
+ * posición del chequeo dentro del plan o de la cadena de Validador (desde 0).
+ */
+public final class ColectorViolaciones {
+
+    // Códigos de error
+
+    /** Sin error. */
+    public static final int OK = 0;
+
+    /** El valor es nulo. */
+    public static final int NULO = 1;
+
+    /** El texto está vacío o solo tiene espacios. */
+    public static final int VACIO = 2;
+
+    /** El texto supera la longitud máxima. */
+    public static final int LARGO_EXCEDIDO = 3;
+
+    /** El texto no cumple la regla de formato. */
+    public static final int FORMATO = 4;
+
+    /** El número no es mayor que el mínimo. */
+    public static final int BAJO_MINIMO = 5;
+
+    /** No se cumple una condición libre (ej: RUT con dígito verificador incorrecto). */
+    public static final int INVALIDO = 6;
+
+    // Descripción de cada código, indexada por el código
+    private static final String[] DESCRIPCIONES = {
+            "sin error", "nulo", "vacío", "demasiado largo", "formato inválido", "no es mayor al mínimo", "inválido"
+    };
+
+    private final boolean rapido;
+    private final int[] campos;
+    private final int[] reglas;
+    private final int[] codigos;
+    private int cantidad;
+    private int omitidas; // violaciones que no cupieron en los arreglos
+
+    /**
+     * Crea un colector.
+     *
+     * @param capacidad máximo de violaciones que se guardan (las demás solo se cuentan)
+     * @param rapido    true para detener la validación en la primera violación
+     */
+    public ColectorViolaciones(int capacidad, boolean rapido) {
+        if (capacidad < 1) throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        this.rapido = rapido;
+        this.campos = new int[capacidad];
+        this.reglas = new int[capacidad];
+        this.codigos = new int[capacidad];
+    }
+
+    /**
+     * Colector en modo rápido: guarda solo la primera violación.
+     *
+     * @return colector nuevo
+     */
+    public static ColectorViolaciones primera() {
+        return new ColectorViolaciones(1, true);
+    }
+
+    /**
+     * Colector en modo completo: guarda todas las violaciones hasta la capacidad.
+     *
+     * @param capacidad máximo de violaciones que se guardan
+     * @return colector nuevo
+     */
+    public static ColectorViolaciones todas(int capacidad) {
+        return new ColectorViolaciones(capacidad, false);
+    }
+
+    /**
+     * Registra una violación.
+     *
+     * @param campo  número del campo validado
+     * @param regla  posición de la regla que falló
+     * @param codigo código de error (NULO, VACIO, LARGO_EXCEDIDO...)
+     */
+    public void registrar(int campo, int regla, int codigo) {
+        if (cantidad == campos.length) {
+            omitidas++;
+            return;
+        }
+        campos[cantidad] = campo;
+        reglas[cantidad] = regla;
+        codigos[cantidad++] = codigo;
+    }
+
+    /**
+     * Indica si la validación en curso debe detenerse: modo rápido y ya hay una violación.
+     *
+     * @return true si no se deben aplicar más reglas
+     */
+    public boolean debeDetenerse() {
+        return rapido && cantidad > 0;
+    }
+
+    /**
+     * Deja el colector vacío para validar otro objeto. No libera memoria.
+     */
+    public void limpiar() {
+        cantidad = 0;
+        omitidas = 0;
+    }
+
+    public boolean esRapido() {
+        return rapido;
+    }
+
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Cantidad de violaciones guardadas.
+     *
+     * @return violaciones disponibles con getCampo, getRegla y getCodigo
+     */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Violaciones que no se guardaron por falta de capacidad.
+     *
+     * @return violaciones omitidas
+     */
+    public int omitidas() {
+        return omitidas;
+    }
+
+    public int getCampo(int i) {
+        return campos[verificar(i)];
+    }
+
+    public int getRegla(int i) {
+        return reglas[verificar(i)];
+    }
+
+    public int getCodigo(int i) {
+        return codigos[verificar(i)];
+    }
+
+    /**
+     * Descripción fija de un código de error (la misma instancia de String en cada llamada).
+     *
+     * @param codigo código de error
+     * @return descripción, o "desconocido" si el código no existe
+     */
+    public static String describir(int codigo) {
+        return codigo >= 0 && codigo < DESCRIPCIONES.length ? DESCRIPCIONES[codigo] : "desconocido";
+    }
+
+    private int verificar(int i) {
+        if (i < 0 || i >= cantidad) throw new IndexOutOfBoundsException("Violación " + i + " de " + cantidad);
+        return i;
+    }
+}
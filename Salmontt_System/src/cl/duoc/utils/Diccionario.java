@@ -0,0 +1,129 @@
+package cl.duoc.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clase Diccionario.
+ * Asigna un código entero compacto a cada texto distinto (ej: cargos, comunas o regiones),
+ * de modo que los valores repetidos se puedan guardar y comparar como int.
+ * Los códigos se asignan en orden de aparición desde 0 y nunca cambian.
+ * Un diccionario no pasa de MAXIMO textos, para que datos rechazados o maliciosos no lo hagan
+ * crecer sin límite: el modelo solo codifica los textos de personas ya registradas.
+ * Es seguro para usarse desde varios hilos: codificar un texto ya conocido y decodificar
+ * no toman bloqueo; solo la asignación de un código nuevo se sincroniza.
+ */
+public class Diccionario {
+
+    /** Código usado para un texto nulo (o sin código, con el diccionario lleno). */
+    public static final int NULO = -1;
+
+    /** Cantidad máxima de textos de un diccionario. */
+    public static final int MAXIMO = 4096;
+
+    /** Comunas (iniciado con las 346 comunas oficiales). */
+    public static final Diccionario COMUNAS = new Diccionario(TerritorioChile.COMUNAS);
+
+    /** Regiones (iniciado con las 16 regiones oficiales). */
+    public static final Diccionario REGIONES = new Diccionario(TerritorioChile.REGIONES);
+
+    /** Cargos de los empleados (crece a medida que aparecen cargos nuevos). */
+    public static final Diccionario CARGOS = new Diccionario();
+
+    // Texto -> código
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>();
+
+    // Código -> texto (se reemplaza completo al crecer, por lo que se puede leer sin bloqueo)
+    private volatile String[] textos = new String[16];
+
+    private volatile int cantidad;
+
+    /**
+     * Constructor de un diccionario vacío.
+     */
+    public Diccionario() {
+    }
+
+    /**
+     * Constructor de un diccionario iniciado con una lista de textos.
+     *
+     * @param iniciales textos que reciben los primeros códigos, en orden
+     */
+    public Diccionario(String... iniciales) {
+        for (String texto : iniciales) {
+            codificar(texto);
+        }
+    }
+
+    /**
+     * Constructor de un diccionario iniciado con varias listas de textos.
+     *
+     * @param grupos listas de textos, codificadas una tras otra
+     */
+    public Diccionario(String[][] grupos) {
+        for (String[] grupo : grupos) {
+            for (String texto : grupo) {
+                codificar(texto);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el código de un texto, asignándole uno nuevo si no existía y queda espacio.
+     *
+     * @param texto texto a codificar
+     * @return código del texto, o NULO si el texto es null o el diccionario está lleno
+     */
+    public int codificar(String texto) {
+        if (texto == null) return NULO;
+        Integer existente = codigos.get(texto); // camino rápido, sin bloqueo
+        if (existente != null) return existente;
+        synchronized (this) {
+            Integer codigo = codigos.get(texto);
+            if (codigo != null) return codigo;
+
+            int nuevo = cantidad;
+            if (nuevo == MAXIMO) return NULO;
+            String[] actuales = textos;
+            if (nuevo == actuales.length) {
+                actuales = Arrays.copyOf(actuales, nuevo * 2);
+            }
+            actuales[nuevo] = texto;
+            textos = actuales;
+            cantidad = nuevo + 1;
+            codigos.put(texto, nuevo); // se publica al final, con el texto ya decodificable
+            return nuevo;
+        }
+    }
+
+    /**
+     * Busca el código de un texto sin agregarlo.
+     *
+     * @param texto texto a buscar
+     * @return código del texto, o NULO si no está en el diccionario
+     */
+    public int buscar(String texto) {
+        Integer codigo = texto == null ? null : codigos.get(texto);
+        return codigo == null ? NULO : codigo;
+    }
+
+    /**
+     * Obtiene el texto correspondiente a un código.
+     *
+     * @param codigo código a decodificar
+     * @return texto, o null si el código es NULO
+     */
+    public String decodificar(int codigo) {
+        return codigo < 0 ? null : textos[codigo];
+    }
+
+    /**
+     * Cantidad de textos distintos registrados.
+     *
+     * @return cantidad de códigos asignados (los códigos van de 0 a tamano() - 1)
+     */
+    public int tamano() {
+        return cantidad;
+    }
+}
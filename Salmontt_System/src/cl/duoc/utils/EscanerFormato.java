@@ -0,0 +1,132 @@
+package cl.duoc.utils;
+
+/**
+ * Clase EscanerFormato.
+ * Validadores de formato escritos a mano como máquinas de estados: recorren el texto
+ * una sola vez, carácter por carácter, sin crear objetos ni usar expresiones regulares.
+ * Cada método acepta exactamente los mismos textos que la expresión indicada en su
+ * comentario (la equivalencia se comprueba con bench/cl/duoc/bench/DiferencialEscaneres).
+ */
+public final class EscanerFormato {
+
+    private EscanerFormato() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Correo electrónico. Equivale a ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,6}$
+     *
+     * Como ningún conjunto incluye '@', hay exactamente una. El dominio termina en el
+     * último punto seguido de 2 a 6 letras, y antes de ese punto debe quedar al menos un carácter.
+     *
+     * @param texto texto a evaluar
+     * @return true si tiene formato de correo, false si es nulo o no lo tiene
+     */
+    public static boolean esCorreo(CharSequence texto) {
+        if (texto == null) return false;
+        int largo = texto.length();
+        int i = 0;
+
+        // Estado 1: parte local, al menos un carácter
+        while (i < largo && esCaracterLocal(texto.charAt(i))) i++;
+        if (i == 0 || i == largo || texto.charAt(i) != '@') return false;
+        int inicioDominio = ++i;
+
+        // Estado 2: dominio, recordando el último punto y si después de él solo hay letras
+        int ultimoPunto = -1;
+        boolean soloLetras = false;
+        for (; i < largo; i++) {
+            char c = texto.charAt(i);
+            if (c == '.') {
+                ultimoPunto = i;
+                soloLetras = true;
+            } else if (esLetra(c)) {
+                // sigue siendo candidato a extensión
+            } else if (esDigito(c) || c == '-') {
+                soloLetras = false;
+            } else {
+                return false;
+            }
+        }
+
+        // Estado final: extensión de 2 a 6 letras, con dominio no vacío antes del punto
+        int extension = largo - ultimoPunto - 1;
+        return ultimoPunto > inicioDominio && soloLetras && extension >= 2 && extension <= 6;
+    }
+
+    /**
+     * Teléfono de cliente. Equivale a ^\+?\d{8,15}$
+     *
+     * @param texto texto a evaluar
+     * @return true si tiene entre 8 y 15 dígitos, opcionalmente precedidos de "+"
+     */
+    public static boolean esTelefonoCliente(CharSequence texto) {
+        if (texto == null) return false;
+        int largo = texto.length();
+        int inicio = largo > 0 && texto.charAt(0) == '+' ? 1 : 0;
+        int digitos = largo - inicio;
+        return digitos >= 8 && digitos <= 15 && sonDigitos(texto, inicio, largo);
+    }
+
+    /**
+     * Teléfono chileno sin prefijo. Equivale a ^\d{9}$
+     *
+     * @param texto texto a evaluar
+     * @return true si tiene exactamente 9 dígitos
+     */
+    public static boolean esTelefono(CharSequence texto) {
+        return texto != null && texto.length() == 9 && sonDigitos(texto, 0, 9);
+    }
+
+    /**
+     * Nombre o apellido. Equivale a ^[A-Za-zÁÉÍÓÚáéíóúÑñ]+(?: [A-Za-zÁÉÍÓÚáéíóúÑñ]+)*$
+     *
+     * @param texto texto a evaluar
+     * @return true si son palabras de letras separadas por un único espacio
+     */
+    public static boolean esNombre(CharSequence texto) {
+        if (texto == null) return false;
+        int largo = texto.length();
+        boolean enPalabra = false; // false: se espera una letra (inicio o tras un espacio)
+        for (int i = 0; i < largo; i++) {
+            char c = texto.charAt(i);
+            if (esLetraNombre(c)) {
+                enPalabra = true;
+            } else if (c == ' ' && enPalabra) {
+                enPalabra = false;
+            } else {
+                return false;
+            }
+        }
+        return enPalabra;
+    }
+
+    // Clases de caracteres (solo ASCII y las letras acentuadas permitidas)
+
+    private static boolean sonDigitos(CharSequence texto, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (!esDigito(texto.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean esLetra(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean esCaracterLocal(char c) {
+        return esLetra(c) || esDigito(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean esLetraNombre(char c) {
+        if (esLetra(c)) return true;
+        return switch (c) {
+            case 'Á', 'É', 'Í', 'Ó', 'Ú', 'á', 'é', 'í', 'ó', 'ú', 'Ñ', 'ñ' -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package cl.duoc.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase FiltroBloom.
+ * Filtro de Bloom escalable sobre claves long (ej: el valor empaquetado de un RUT).
+ * Responde "seguro que no está" o "puede estar": nunca da falsos negativos, y los falsos
+ * positivos se mantienen bajo la tasa configurada aunque se agreguen más claves que la
+ * capacidad inicial.
+ *
+ * Escalable: las claves se agregan al último subfiltro; cuando este llega a su capacidad se
+ * crea otro cuatro veces más grande, con la mitad de la tasa. Así la tasa total queda acotada
+ * por la configurada (p/2 + p/4 + ... < p) y la cantidad de subfiltros crece solo en forma
+ * logarítmica.
+ *
+ * Por bloques: cada clave usa un solo bloque de 512 bits (una línea de caché), por lo que una
+ * consulta cuesta a lo más una lectura de memoria por subfiltro en vez de una por bit.
+ * Los bloques elevan la tasa (más con tasas bajas, por la carga desigual entre bloques): para
+ * compensarlo cada subfiltro usa un 35 % más de bits, y la tasa medida queda bajo la configurada
+ * (se comprueba con bench/cl/duoc/bench/FiltroRut).
+ *
+ * Agregar y consultar no bloquean: los bits se activan con una operación atómica.
+ * Las claves no se pueden quitar; una clave eliminada solo suma falsos positivos.
+ * Los descartes y los falsos positivos se informan en Metricas.
+ */
+public final class FiltroBloom {
+
+    /**
+     * Tasa de falsos positivos por defecto (-Dsalmontt.bloom.tasa, 0 deshabilita el filtro).
+     * RegistroPersonas la usa para el filtro que mantiene mientras tiene un respaldo enlazado.
+     */
+    public static final double TASA_POR_DEFECTO = Double.parseDouble(System.getProperty("salmontt.bloom.tasa", "0.01"));
+
+    // Capacidad mínima del primer subfiltro y crecimiento de los siguientes
+    private static final int CAPACIDAD_MINIMA = 4096;
+    private static final int CRECIMIENTO = 4;
+
+    // Bloques de 512 bits: 8 long
+    private static final int LONGS_POR_BLOQUE = 8;
+    private static final int BITS_POR_BLOQUE = LONGS_POR_BLOQUE * Long.SIZE;
+    private static final int BITS_POSICION = Integer.numberOfTrailingZeros(BITS_POR_BLOQUE);
+    private static final int POSICIONES_POR_HASH = Long.SIZE / BITS_POSICION;
+
+    // Bits adicionales que compensan la tasa de los bloques
+    private static final double HOLGURA_BLOQUES = 1.35;
+
+    private static final VarHandle PALABRA = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final double tasa;
+    private volatile Subfiltro[] subfiltros;
+
+    /**
+     * @param capacidad cantidad esperada de claves (se puede superar)
+     * @param tasa      tasa de falsos positivos, entre 0 y 1 (exclusivo)
+     */
+    public FiltroBloom(int capacidad, double tasa) {
+        if (!(tasa > 0 && tasa < 1)) throw new IllegalArgumentException("Tasa de falsos positivos inválida: " + tasa);
+        this.tasa = tasa;
+        this.subfiltros = new Subfiltro[]{new Subfiltro(Math.max(CAPACIDAD_MINIMA, capacidad), tasa / 2)};
+    }
+
+    /**
+     * Agrega una clave.
+     *
+     * @param clave clave a agregar
+     */
+    public void agregar(long clave) {
+        Subfiltro[] actuales = subfiltros;
+        Subfiltro ultimo = actuales[actuales.length - 1];
+        ultimo.agregar(mezclar(clave));
+        if (ultimo.cantidad.incrementAndGet() == ultimo.capacidad + 1) crecer(ultimo, 0); // la clave de más no se nota
+    }
+
+    /**
+     * Asegura espacio para una cantidad de claves que se agregarán en seguida, para que
+     * una carga grande quede en un solo subfiltro.
+     *
+     * @param cantidad claves por agregar
+     */
+    public void reservar(int cantidad) {
+        Subfiltro[] actuales = subfiltros;
+        Subfiltro ultimo = actuales[actuales.length - 1];
+        if (ultimo.capacidad - ultimo.cantidad.get() < cantidad) crecer(ultimo, cantidad);
+    }
+
+    /**
+     * Indica si la clave puede estar en el filtro. Si retorna false, seguro que no está
+     * (y se cuenta como descarte en Metricas).
+     *
+     * @param clave clave a consultar
+     * @return false si la clave seguro no está; true si puede estar
+     */
+    public boolean puedeContener(long clave) {
+        long h = mezclar(clave);
+        for (Subfiltro subfiltro : subfiltros) {
+            if (subfiltro.contiene(h)) return true;
+        }
+        Metricas.BLOOM_DESCARTES.incrementar();
+        return false;
+    }
+
+    /**
+     * Informa que una clave para la que puedeContener retornó true no estaba.
+     * Con los descartes, permite medir la tasa real de falsos positivos.
+     */
+    public void falsoPositivo() {
+        Metricas.BLOOM_FALSOS_POSITIVOS.incrementar();
+    }
+
+    /**
+     * @return tasa de falsos positivos configurada
+     */
+    public double getTasa() {
+        return tasa;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con las claves agregadas hasta ahora,
+     * según la ocupación de cada subfiltro (sin la diferencia de los bloques).
+     *
+     * @return probabilidad de que una clave ausente dé "puede estar"
+     */
+    public double getTasaEstimada() {
+        double ningunSubfiltro = 1;
+        for (Subfiltro s : subfiltros) {
+            double ocupacion = 1 - Math.exp(-(double) s.funciones * s.cantidad.get() / ((double) s.bloques * BITS_POR_BLOQUE));
+            ningunSubfiltro *= 1 - Math.pow(ocupacion, s.funciones);
+        }
+        return 1 - ningunSubfiltro;
+    }
+
+    /**
+     * @return cantidad de claves agregadas
+     */
+    public long getCantidad() {
+        long total = 0;
+        for (Subfiltro s : subfiltros) total += s.cantidad.get();
+        return total;
+    }
+
+    public int getSubfiltros() {
+        return subfiltros.length;
+    }
+
+    /**
+     * @return memoria de los bits, en bytes
+     */
+    public long getBytes() {
+        long total = 0;
+        for (Subfiltro s : subfiltros) total += (long) s.bits.length * Long.BYTES;
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d claves en %d subfiltros (%d KB), tasa configurada %.3f %%, estimada %.3f %%",
+                getCantidad(), getSubfiltros(), getBytes() / 1024, tasa * 100, getTasaEstimada() * 100);
+    }
+
+    // Agrega un subfiltro si el último sigue siendo el indicado (otro hilo pudo haberlo hecho)
+    private synchronized void crecer(Subfiltro lleno, int minimo) {
+        Subfiltro[] actuales = subfiltros;
+        Subfiltro ultimo = actuales[actuales.length - 1];
+        if (ultimo != lleno) return;
+        long capacidad = Math.max((long) ultimo.capacidad * CRECIMIENTO, minimo);
+        Subfiltro nuevo = new Subfiltro((int) Math.min(capacidad, Integer.MAX_VALUE / 16), ultimo.tasa / 2);
+        Subfiltro[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevos[actuales.length] = nuevo;
+        subfiltros = nuevos;
+    }
+
+    // Mezcla de 64 bits (finalizador de MurmurHash3): las claves consecutivas quedan dispersas
+    private static long mezclar(long clave) {
+        long h = clave;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Un filtro de Bloom por bloques, de tamaño fijo.
+     * Los 32 bits altos del hash eligen el bloque; las posiciones dentro de él salen de un segundo
+     * hash, de a 9 bits, que se vuelve a mezclar cada 7 posiciones. El doble hash (h1 + i * h2)
+     * dentro de 512 bits repite demasiados patrones y no alcanza tasas bajas.
+     */
+    private static final class Subfiltro {
+        final int capacidad;
+        final double tasa;
+        final int funciones;
+        final int bloques;
+        final long[] bits;
+        final AtomicInteger cantidad = new AtomicInteger();
+
+        Subfiltro(int capacidad, double tasa) {
+            this.capacidad = capacidad;
+            this.tasa = tasa;
+            double bitsPorClave = -Math.log(tasa) / (Math.log(2) * Math.log(2));
+            this.funciones = Math.max(1, (int) Math.round(bitsPorClave * Math.log(2)));
+            long bitsTotales = (long) Math.ceil(capacidad * bitsPorClave * HOLGURA_BLOQUES);
+            this.bloques = (int) Math.max(1, (bitsTotales + BITS_POR_BLOQUE - 1) / BITS_POR_BLOQUE);
+            this.bits = new long[bloques * LONGS_POR_BLOQUE];
+        }
+
+        void agregar(long h) {
+            int base = bloque(h);
+            long posiciones = h;
+            for (int i = 0; i < funciones; i++) {
+                if (i % POSICIONES_POR_HASH == 0) posiciones = mezclar(posiciones + i);
+                int bit = (int) posiciones & (BITS_POR_BLOQUE - 1);
+                posiciones >>>= BITS_POSICION;
+                PALABRA.getAndBitwiseOr(bits, base + (bit >>> 6), 1L << bit);
+            }
+        }
+
+        boolean contiene(long h) {
+            int base = bloque(h);
+            long posiciones = h;
+            for (int i = 0; i < funciones; i++) {
+                if (i % POSICIONES_POR_HASH == 0) posiciones = mezclar(posiciones + i);
+                int bit = (int) posiciones & (BITS_POR_BLOQUE - 1);
+                posiciones >>>= BITS_POSICION;
+                if (((long) PALABRA.getAcquire(bits, base + (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // Primer long del bloque de la clave (reducción por multiplicación, sin módulo)
+        private int bloque(long h) {
+            return (int) (((h >>> 32) * bloques) >>> 32) * LONGS_POR_BLOQUE;
+        }
+    }
+}
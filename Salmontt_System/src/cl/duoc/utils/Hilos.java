@@ -0,0 +1,49 @@
+package cl.duoc.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clase Hilos.
+ * Creación de ejecutores con un hilo por tarea.
+ * En Java 21 o superior usa hilos virtuales (miles de conexiones bloqueadas en E/S cuestan
+ * muy poca memoria). El proyecto compila con Java 17, por lo que el método se obtiene por
+ * reflexión; si no existe, se usa un grupo de hilos de plataforma que crece según demanda.
+ */
+public final class Hilos {
+
+    private Hilos() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Crea un ejecutor que inicia un hilo nuevo por cada tarea.
+     *
+     * @param nombre prefijo del nombre de los hilos de plataforma
+     * @return ejecutor de hilos virtuales si la JVM los soporta, o un grupo de hilos que crece según demanda
+     */
+    public static ExecutorService unoPorTarea(String nombre) {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) fabrica.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger contador = new AtomicInteger();
+            return Executors.newCachedThreadPool(tarea -> {
+                Thread hilo = new Thread(tarea, nombre + "-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+
+    /**
+     * Indica si la JVM actual tiene hilos virtuales.
+     *
+     * @return true en Java 21 o superior
+     */
+    public static boolean hayHilosVirtuales() {
+        return Runtime.version().feature() >= 21;
+    }
+}
@@ -0,0 +1,148 @@
+package cl.duoc.utils;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase Histograma.
+ * Histograma de latencias en nanosegundos con casilleros fijos, seguro para muchos hilos.
+ *
+ * Los valores menores que 16 tienen un casillero cada uno; desde ahí, cada potencia de 2
+ * se divide en 8 casilleros, por lo que un percentil se informa con un error relativo
+ * de a lo más 12,5 %. Cada casillero es un LongAdder (contador repartido en celdas),
+ * así que registrar no bloquea ni compite por una misma línea de caché entre hilos.
+ * Los valores sobre 2^40 ns (unos 18 minutos) caen en el último casillero.
+ */
+public final class Histograma {
+
+    // Casilleros lineales para valores pequeños y divisiones por potencia de 2
+    private static final int LINEALES = 16;
+    private static final int DIVISIONES = 8;
+    private static final int EXPONENTE_MAXIMO = 40;
+    private static final int CASILLEROS = LINEALES + (EXPONENTE_MAXIMO - 3) * DIVISIONES;
+
+    private final String nombre;
+    private final LongAdder[] casilleros = new LongAdder[CASILLEROS];
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nombre nombre con que se informa el histograma
+     */
+    public Histograma(String nombre) {
+        this.nombre = nombre;
+        for (int i = 0; i < CASILLEROS; i++) casilleros[i] = new LongAdder();
+    }
+
+    /**
+     * Registra un valor.
+     *
+     * @param nanos duración en nanosegundos (los negativos cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        casilleros[casilleroDe(valor)].increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde un instante obtenido con Metricas.inicio().
+     * No hace nada si el instante es 0 (métricas deshabilitadas al comenzar).
+     *
+     * @param inicio valor de System.nanoTime() al comenzar, o 0
+     */
+    public void registrarDesde(long inicio) {
+        if (inicio != 0) registrar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Cantidad de valores registrados.
+     *
+     * @return cantidad
+     */
+    public long cantidad() {
+        long total = 0;
+        for (LongAdder casillero : casilleros) total += casillero.sum();
+        return total;
+    }
+
+    /**
+     * Promedio de los valores registrados.
+     *
+     * @return promedio en nanosegundos, o 0 si no hay valores
+     */
+    public long promedio() {
+        long n = cantidad();
+        return n == 0 ? 0 : suma.sum() / n;
+    }
+
+    public long maximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Percentil aproximado: el límite superior del casillero donde cae.
+     *
+     * @param percentil entre 0 y 100
+     * @return valor en nanosegundos, o 0 si no hay valores
+     */
+    public long percentil(double percentil) {
+        long[] conteos = new long[CASILLEROS];
+        long total = 0;
+        for (int i = 0; i < CASILLEROS; i++) {
+            conteos[i] = casilleros[i].sum();
+            total += conteos[i];
+        }
+        if (total == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100));
+        long acumulado = 0;
+        for (int i = 0; i < CASILLEROS; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) return Math.min(limiteSuperior(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Vuelve el histograma a cero. No es atómico respecto de registros concurrentes.
+     */
+    public void reiniciar() {
+        for (LongAdder casillero : casilleros) casillero.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Resumen en una línea: cantidad, promedio, p50, p90, p99 y máximo en microsegundos.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d, promedio %.1f µs, p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, máx %.1f µs",
+                nombre, cantidad(), promedio() / 1e3, percentil(50) / 1e3, percentil(90) / 1e3,
+                percentil(99) / 1e3, maximo() / 1e3);
+    }
+
+    // Índice del casillero de un valor no negativo
+    static int casilleroDe(long valor) {
+        if (valor < LINEALES) return (int) valor;
+        int exponente = 63 - Long.numberOfLeadingZeros(valor); // >= 4
+        if (exponente > EXPONENTE_MAXIMO) return CASILLEROS - 1;
+        int division = (int) (valor >>> (exponente - 3)) & (DIVISIONES - 1);
+        return LINEALES + (exponente - 4) * DIVISIONES + division;
+    }
+
+    // Mayor valor que cae en un casillero
+    static long limiteSuperior(int casillero) {
+        if (casillero < LINEALES) return casillero;
+        if (casillero == CASILLEROS - 1) return Long.MAX_VALUE;
+        int exponente = 4 + (casillero - LINEALES) / DIVISIONES;
+        int division = (casillero - LINEALES) % DIVISIONES;
+        long ancho = 1L << (exponente - 3);
+        return (DIVISIONES + division) * ancho + ancho - 1;
+    }
+}
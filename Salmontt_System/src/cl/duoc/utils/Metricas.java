@@ -0,0 +1,332 @@
+package cl.duoc.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Clase Metricas.
+ * Contadores y latencias de la validación, la inserción en los registros y la importación,
+ * y la efectividad de los filtros de Bloom de RUT (ver FiltroBloom).
+ *
+ * Los contadores son LongAdder y las latencias Histograma, por lo que varios hilos pueden
+ * registrar a la vez sin bloquearse. Se habilitan o deshabilitan en caliente (por defecto
+ * habilitadas; -Dsalmontt.metricas=false las deshabilita al iniciar). Deshabilitadas, cada
+ * punto de medición cuesta solo la lectura de un campo volatile: Metricas.inicio() retorna 0
+ * sin leer el reloj, y los contadores y histogramas ignoran ese 0.
+ *
+ * Uso en un punto de medición:
+ * <pre>
+ *     long inicio = Metricas.inicio();
+ *     ... trabajo ...
+ *     Metricas.INSERCION.registrarDesde(inicio);
+ * </pre>
+ * Se exponen por JMX (ver registrarJmx) y en texto plano con volcar().
+ */
+public final class Metricas implements MetricasMBean {
+
+    /** Nombre JMX con que se registra la instancia. */
+    public static final String NOMBRE_JMX = "cl.duoc:type=Metricas";
+
+    // Campos de validación posibles (los números de Campos son menores)
+    private static final int CAMPOS = 32;
+
+    private static volatile boolean habilitadas =
+            Boolean.parseBoolean(System.getProperty("salmontt.metricas", "true"));
+
+    // Latencias
+    public static final Histograma VALIDACION = new Histograma("Validación");
+    public static final Histograma INSERCION = new Histograma("Inserción en registro");
+    public static final Histograma LOTE_IMPORTACION = new Histograma("Lote de importación");
+    public static final Histograma IMPORTACION = new Histograma("Importación completa");
+
+    // Contadores
+    public static final Contador VALIDACIONES = new Contador();
+    public static final Contador VALIDACIONES_FALLIDAS = new Contador();
+    public static final Contador INSERCIONES = new Contador();
+    public static final Contador INSERCIONES_RECHAZADAS = new Contador();
+    public static final Contador LINEAS_IMPORTADAS = new Contador();
+    public static final Contador LINEAS_RECHAZADAS = new Contador();
+    public static final Contador BLOOM_DESCARTES = new Contador();
+    public static final Contador BLOOM_FALSOS_POSITIVOS = new Contador();
+    private static final LongAdder[] VIOLACIONES_POR_CAMPO = new LongAdder[CAMPOS];
+
+    // Rendimiento de la última importación completa
+    private static volatile long lineasPorSegundo;
+
+    // Nombres legibles de los campos (los asigna la capa de modelo)
+    private static volatile IntFunction<String> nombresCampos = campo -> "campo " + campo;
+
+    private static final Metricas INSTANCIA = new Metricas();
+
+    static {
+        for (int i = 0; i < CAMPOS; i++) VIOLACIONES_POR_CAMPO[i] = new LongAdder();
+    }
+
+    private Metricas() {
+    }
+
+    /**
+     * Instancia que implementa la vista JMX.
+     *
+     * @return instancia única
+     */
+    public static Metricas getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Registra la instancia en el servidor de MBeans de la plataforma, si aún no lo está.
+     *
+     * @return true si quedó registrada, false si JMX no está disponible
+     */
+    public static synchronized boolean registrarJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (!servidor.isRegistered(nombre)) servidor.registerMBean(INSTANCIA, nombre);
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inicio de una medición.
+     *
+     * @return System.nanoTime(), o 0 si las métricas están deshabilitadas
+     */
+    public static long inicio() {
+        return habilitadas ? System.nanoTime() : 0;
+    }
+
+    public static boolean estanHabilitadas() {
+        return habilitadas;
+    }
+
+    /**
+     * Registra el resultado de una validación completa de un registro.
+     *
+     * @param inicio valor de inicio() antes de validar
+     * @param valida resultado de la validación
+     */
+    public static void validacion(long inicio, boolean valida) {
+        if (inicio == 0) return;
+        VALIDACION.registrar(System.nanoTime() - inicio);
+        VALIDACIONES.incrementarSiempre();
+        if (!valida) VALIDACIONES_FALLIDAS.incrementarSiempre();
+    }
+
+    /**
+     * Cuenta una violación detectada en un campo.
+     *
+     * @param campo número del campo
+     */
+    public static void violacion(int campo) {
+        if (habilitadas && campo >= 0 && campo < CAMPOS) VIOLACIONES_POR_CAMPO[campo].increment();
+    }
+
+    /**
+     * Registra el fin de una importación completa.
+     *
+     * @param inicio     valor de inicio() al comenzar la importación
+     * @param aceptadas  líneas aceptadas
+     * @param rechazadas líneas rechazadas
+     */
+    public static void importacion(long inicio, long aceptadas, long rechazadas) {
+        if (inicio == 0) return;
+        long nanos = System.nanoTime() - inicio;
+        IMPORTACION.registrar(nanos);
+        LINEAS_IMPORTADAS.sumarSiempre(aceptadas);
+        LINEAS_RECHAZADAS.sumarSiempre(rechazadas);
+        lineasPorSegundo = nanos <= 0 ? 0 : (aceptadas + rechazadas) * 1_000_000_000L / nanos;
+    }
+
+    /**
+     * Asigna los nombres con que se informan los campos en volcar().
+     *
+     * @param nombres función de número de campo a nombre
+     */
+    public static void setNombresCampos(IntFunction<String> nombres) {
+        nombresCampos = nombres;
+    }
+
+    // Vista JMX y volcado
+
+    @Override
+    public boolean isHabilitadas() {
+        return habilitadas;
+    }
+
+    @Override
+    public void setHabilitadas(boolean valor) {
+        habilitadas = valor;
+    }
+
+    @Override
+    public long getValidaciones() {
+        return VALIDACIONES.valor();
+    }
+
+    @Override
+    public long getValidacionesFallidas() {
+        return VALIDACIONES_FALLIDAS.valor();
+    }
+
+    @Override
+    public long[] getViolacionesPorCampo() {
+        long[] valores = new long[CAMPOS];
+        for (int i = 0; i < CAMPOS; i++) valores[i] = VIOLACIONES_POR_CAMPO[i].sum();
+        return valores;
+    }
+
+    @Override
+    public long getInserciones() {
+        return INSERCIONES.valor();
+    }
+
+    @Override
+    public long getInsercionesRechazadas() {
+        return INSERCIONES_RECHAZADAS.valor();
+    }
+
+    @Override
+    public long getLineasImportadas() {
+        return LINEAS_IMPORTADAS.valor();
+    }
+
+    @Override
+    public long getLineasRechazadas() {
+        return LINEAS_RECHAZADAS.valor();
+    }
+
+    @Override
+    public long getLineasPorSegundoUltimaImportacion() {
+        return lineasPorSegundo;
+    }
+
+    @Override
+    public long getBloomDescartes() {
+        return BLOOM_DESCARTES.valor();
+    }
+
+    @Override
+    public long getBloomFalsosPositivos() {
+        return BLOOM_FALSOS_POSITIVOS.valor();
+    }
+
+    @Override
+    public double getBloomTasaFalsosPositivos() {
+        long falsos = getBloomFalsosPositivos();
+        long total = falsos + getBloomDescartes();
+        return total == 0 ? 0 : (double) falsos / total;
+    }
+
+    @Override
+    public double getBloomTasaConfigurada() {
+        return FiltroBloom.TASA_POR_DEFECTO;
+    }
+
+    @Override
+    public double getValidacionP50Micros() {
+        return VALIDACION.percentil(50) / 1e3;
+    }
+
+    @Override
+    public double getValidacionP99Micros() {
+        return VALIDACION.percentil(99) / 1e3;
+    }
+
+    @Override
+    public double getInsercionP50Micros() {
+        return INSERCION.percentil(50) / 1e3;
+    }
+
+    @Override
+    public double getInsercionP99Micros() {
+        return INSERCION.percentil(99) / 1e3;
+    }
+
+    @Override
+    public double getLoteImportacionP50Micros() {
+        return LOTE_IMPORTACION.percentil(50) / 1e3;
+    }
+
+    @Override
+    public double getLoteImportacionP99Micros() {
+        return LOTE_IMPORTACION.percentil(99) / 1e3;
+    }
+
+    @Override
+    public String volcar() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("Métricas ").append(habilitadas ? "habilitadas" : "deshabilitadas").append('\n');
+        sb.append("Validaciones: ").append(getValidaciones())
+                .append(" (fallidas: ").append(getValidacionesFallidas()).append(")\n");
+        long[] violaciones = getViolacionesPorCampo();
+        for (int campo = 0; campo < CAMPOS; campo++) {
+            if (violaciones[campo] == 0) continue;
+            sb.append("  violaciones en ").append(nombresCampos.apply(campo)).append(": ").append(violaciones[campo]).append('\n');
+        }
+        sb.append("Inserciones: ").append(getInserciones())
+                .append(" (rechazadas por RUT duplicado: ").append(getInsercionesRechazadas()).append(")\n");
+        sb.append("Líneas importadas: ").append(getLineasImportadas())
+                .append(" (rechazadas: ").append(getLineasRechazadas())
+                .append(", última importación: ").append(lineasPorSegundo).append(" líneas/s)\n");
+        sb.append("Filtro de Bloom de RUT: ").append(getBloomDescartes()).append(" búsquedas descartadas, ")
+                .append(getBloomFalsosPositivos()).append(" falsos positivos (tasa ")
+                .append(String.format("%.3f", getBloomTasaFalsosPositivos() * 100)).append(" %, configurada ")
+                .append(String.format("%.3f", getBloomTasaConfigurada() * 100)).append(" %)\n");
+        for (Histograma h : new Histograma[]{VALIDACION, INSERCION, LOTE_IMPORTACION, IMPORTACION}) {
+            sb.append(h).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void reiniciar() {
+        for (Contador c : new Contador[]{VALIDACIONES, VALIDACIONES_FALLIDAS, INSERCIONES, INSERCIONES_RECHAZADAS,
+                LINEAS_IMPORTADAS, LINEAS_RECHAZADAS, BLOOM_DESCARTES, BLOOM_FALSOS_POSITIVOS}) {
+            c.contador.reset();
+        }
+        for (LongAdder violaciones : VIOLACIONES_POR_CAMPO) violaciones.reset();
+        for (Histograma h : new Histograma[]{VALIDACION, INSERCION, LOTE_IMPORTACION, IMPORTACION}) h.reiniciar();
+        lineasPorSegundo = 0;
+    }
+
+    /**
+     * Clase Contador.
+     * Contador repartido en celdas (LongAdder) que solo cuenta con las métricas habilitadas.
+     */
+    public static final class Contador {
+
+        private final LongAdder contador = new LongAdder();
+
+        private Contador() {
+        }
+
+        public void incrementar() {
+            if (habilitadas) contador.increment();
+        }
+
+        public void sumar(long cantidad) {
+            if (habilitadas) contador.add(cantidad);
+        }
+
+        public long valor() {
+            return contador.sum();
+        }
+
+        // Para quien ya comprobó que las métricas están habilitadas
+        void incrementarSiempre() {
+            contador.increment();
+        }
+
+        void sumarSiempre(long cantidad) {
+            contador.add(cantidad);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cl.duoc.utils;
+
+/**
+ * Interfaz MetricasMBean.
+ * Vista JMX de Metricas (ej: desde jconsole, en cl.duoc:type=Metricas).
+ * Las latencias se informan en microsegundos.
+ */
+public interface MetricasMBean {
+
+    boolean isHabilitadas();
+
+    void setHabilitadas(boolean habilitadas);
+
+    long getValidaciones();
+
+    long getValidacionesFallidas();
+
+    /**
+     * Violaciones detectadas por campo, indexadas por número de campo.
+     */
+    long[] getViolacionesPorCampo();
+
+    long getInserciones();
+
+    long getInsercionesRechazadas();
+
+    long getLineasImportadas();
+
+    long getLineasRechazadas();
+
+    long getLineasPorSegundoUltimaImportacion();
+
+    /**
+     * Búsquedas de RUT que un filtro de Bloom resolvió sin consultar el registro.
+     */
+    long getBloomDescartes();
+
+    /**
+     * Búsquedas en que el filtro de Bloom respondió "puede estar" y el RUT no estaba.
+     */
+    long getBloomFalsosPositivos();
+
+    /**
+     * Tasa observada de falsos positivos: falsos positivos / (falsos positivos + descartes).
+     */
+    double getBloomTasaFalsosPositivos();
+
+    /**
+     * Tasa de falsos positivos de los filtros de los registros con respaldo (-Dsalmontt.bloom.tasa).
+     */
+    double getBloomTasaConfigurada();
+
+    double getValidacionP50Micros();
+
+    double getValidacionP99Micros();
+
+    double getInsercionP50Micros();
+
+    double getInsercionP99Micros();
+
+    double getLoteImportacionP50Micros();
+
+    double getLoteImportacionP99Micros();
+
+    /**
+     * Todas las métricas en texto plano, igual que la opción del menú.
+     */
+    String volcar();
+
+    void reiniciar();
+}
@@ -0,0 +1,89 @@
+package cl.duoc.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Clase MotorReglas.
+ * Registro compartido de reglas de formato precompiladas.
+ * Las reglas del sistema se declaran una sola vez como constantes y quedan registradas;
+ * una expresión que no fue declarada se compila en cada llamada a obtener() sin guardarse,
+ * para que las expresiones armadas en tiempo de ejecución no llenen el registro.
+ * Nombre, teléfonos y correo se evalúan con los escáneres de EscanerFormato.
+ */
+public final class MotorReglas {
+
+    // Registro compartido: expresión regular -> regla compilada
+    private static final ConcurrentHashMap<String, Regla> registro = new ConcurrentHashMap<>();
+
+    // Reglas declaradas del sistema
+
+    /** RUT: 7 u 8 dígitos, guion y dígito verificador (ej: 12345678-9). */
+    public static final Regla RUT = declarar("RUT", "^\\d{7,8}-[\\dkK]$");
+
+    /** Nombre o apellido: palabras con letras (incluye tildes y Ñ) separadas por un espacio. */
+    public static final Regla NOMBRE = declarar("NOMBRE", "^[A-Za-zÁÉÍÓÚáéíóúÑñ]+(?: [A-Za-zÁÉÍÓÚáéíóúÑñ]+)*$",
+            EscanerFormato::esNombre);
+
+    /** Teléfono de cliente: entre 8 y 15 dígitos, opcionalmente con "+". */
+    public static final Regla TELEFONO_CLIENTE = declarar("TELEFONO_CLIENTE", "^\\+?\\d{8,15}$",
+            EscanerFormato::esTelefonoCliente);
+
+    /** Teléfono chileno sin prefijo nacional: 9 dígitos. */
+    public static final Regla TELEFONO = declarar("TELEFONO", "^\\d{9}$", EscanerFormato::esTelefono);
+
+    /** Correo electrónico con formato estándar. */
+    public static final Regla CORREO = declarar("CORREO", "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$",
+            EscanerFormato::esCorreo);
+
+    private MotorReglas() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Declara una regla con nombre y la deja registrada.
+     * Si la expresión ya estaba registrada, se reutiliza la regla existente.
+     *
+     * @param nombre nombre descriptivo de la regla
+     * @param regex  expresión regular
+     * @return regla compilada
+     */
+    public static Regla declarar(String nombre, String regex) {
+        return declarar(nombre, regex, null);
+    }
+
+    /**
+     * Declara una regla con un escáner equivalente a la expresión regular.
+     * Si la expresión ya estaba registrada, se reutiliza la regla existente.
+     *
+     * @param nombre  nombre descriptivo de la regla
+     * @param regex   expresión regular (se mantiene como referencia)
+     * @param escaner evaluador que acepta exactamente lo mismo que la expresión
+     * @return regla compilada
+     */
+    public static Regla declarar(String nombre, String regex, Predicate<CharSequence> escaner) {
+        return registro.computeIfAbsent(regex, r -> new Regla(nombre, r, escaner));
+    }
+
+    /**
+     * Obtiene la regla compilada para una expresión regular.
+     * Si la expresión fue declarada se reutiliza su regla; si no, se compila una regla nueva
+     * que no queda registrada (las expresiones frecuentes deben declararse con declarar()).
+     *
+     * @param regex expresión regular
+     * @return regla compilada
+     */
+    public static Regla obtener(String regex) {
+        Regla regla = registro.get(regex);
+        return regla != null ? regla : new Regla(regex, regex, null);
+    }
+
+    /**
+     * Cantidad de reglas compiladas en el registro.
+     *
+     * @return número de reglas registradas
+     */
+    public static int cantidadReglas() {
+        return registro.size();
+    }
+}
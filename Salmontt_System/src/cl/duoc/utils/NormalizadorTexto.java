@@ -0,0 +1,91 @@
+package cl.duoc.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Clase NormalizadorTexto.
+ * Lleva un texto a la forma que usan las búsquedas: mayúsculas sin tildes (Á -> A, Ñ -> N, Ü -> U),
+ * solo letras A-Z y dígitos, con las palabras separadas por un único espacio.
+ * Así "Champiñón", "CHAMPIÑON" y "champinon" quedan iguales.
+ *
+ * Trabaja carácter por carácter con una tabla (sin java.text.Normalizer ni expresiones regulares)
+ * y retorna bytes ASCII. Los caracteres fuera de Latin-1 se tratan como separadores.
+ */
+public final class NormalizadorTexto {
+
+    // Letra base de cada carácter entre U+00C0 y U+00FF (espacio: no es letra)
+    private static final String LATIN1 =
+            "AAAAAAACEEEEIIIIDNOOOOO OUUUUY S" +
+            "AAAAAAACEEEEIIIIDNOOOOO OUUUUY Y";
+
+    private NormalizadorTexto() {
+        // Clase utilitaria, no se instancia
+    }
+
+    /**
+     * Pliega un carácter.
+     *
+     * @param c carácter original
+     * @return 'A'-'Z', '0'-'9' o ' ' si el carácter no es letra ni dígito
+     */
+    public static char plegar(char c) {
+        if (c < 0x80) {
+            if (c >= 'a' && c <= 'z') return (char) (c - ('a' - 'A'));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) return c;
+            return ' ';
+        }
+        if (c >= 0xC0 && c <= 0xFF) return LATIN1.charAt(c - 0xC0);
+        return ' ';
+    }
+
+    /**
+     * Normaliza un texto.
+     *
+     * @param texto texto original (puede ser null)
+     * @return bytes ASCII normalizados (vacío si no hay letras ni dígitos)
+     */
+    public static byte[] normalizar(CharSequence texto) {
+        return normalizar(texto, null);
+    }
+
+    /**
+     * Normaliza dos textos como si fueran uno separado por un espacio (ej: nombre y apellido),
+     * sin concatenarlos.
+     *
+     * @param primero primer texto (puede ser null)
+     * @param segundo segundo texto (puede ser null)
+     * @return bytes ASCII normalizados
+     */
+    public static byte[] normalizar(CharSequence primero, CharSequence segundo) {
+        int largo = (primero == null ? 0 : primero.length()) + (segundo == null ? 0 : segundo.length()) + 2;
+        byte[] salida = new byte[largo];
+        int n = agregar(primero, salida, 0);
+        n = agregar(segundo, salida, n);
+        if (n > 0 && salida[n - 1] == ' ') n--;
+        return n == salida.length ? salida : Arrays.copyOf(salida, n);
+    }
+
+    /**
+     * Normaliza un texto a String, para mostrarlo o compararlo.
+     *
+     * @param texto texto original (puede ser null)
+     * @return texto normalizado
+     */
+    public static String aTexto(CharSequence texto) {
+        byte[] bytes = normalizar(texto);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Agrega el texto plegado desde n, sin espacios repetidos ni al inicio; retorna el nuevo largo
+    private static int agregar(CharSequence texto, byte[] salida, int n) {
+        if (texto == null) return n;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = plegar(texto.charAt(i));
+            if (c == ' ' && (n == 0 || salida[n - 1] == ' ')) continue;
+            salida[n++] = (byte) c;
+        }
+        if (n > 0 && salida[n - 1] != ' ') salida[n++] = ' ';
+        return n;
+    }
+}
@@ -0,0 +1,358 @@
+package cl.duoc.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Clase genérica PlanValidacion<T>.
+ * Es la versión precompilada de una cadena de Validador: las reglas de cada campo
+ * se declaran una sola vez (normalmente en una constante estática de la clase a validar)
+ * y luego se aplican sobre cada instancia sin crear objetos ni encapsular primitivos.
+ * Aplica exactamente las mismas reglas que isNotNull, isNotEmpty, maxLength, matches y esMayor.
+ *
+ * Cada chequeo pertenece a un campo (ver Constructor.campo); con valida(objeto, colector)
+ * las reglas que fallan quedan registradas en un ColectorViolaciones. Cada violación detectada
+ * se cuenta además por campo en Metricas.
+ */
+public final class PlanValidacion<T> {
+
+    /**
+     * Chequeo individual de un plan. Debe evaluar la instancia sin crear objetos.
+     *
+     * @param <T> tipo de objeto validado
+     */
+    @FunctionalInterface
+    public interface Chequeo<T> {
+        boolean cumple(T objeto);
+    }
+
+    /**
+     * Evaluación interna de un chequeo: retorna ColectorViolaciones.OK o el código de error.
+     */
+    @FunctionalInterface
+    private interface Evaluacion<T> {
+        int evaluar(T objeto);
+
+        // Registra la violación del chequeo, si la hay; los planes anidados registran las propias
+        default boolean evaluar(T objeto, int campo, int regla, ColectorViolaciones colector) {
+            int codigo = evaluar(objeto);
+            if (codigo == ColectorViolaciones.OK) return true;
+            colector.registrar(campo, regla, codigo);
+            Metricas.violacion(campo);
+            return false;
+        }
+
+        // true si una falla INVALIDO ya fue contada en las métricas por un plan anidado
+        default boolean esAnidada() {
+            return false;
+        }
+    }
+
+    // Chequeos del plan, en el orden en que fueron declarados, y el campo de cada uno
+    private final Evaluacion<T>[] evaluaciones;
+    private final int[] campos;
+
+    private PlanValidacion(Evaluacion<T>[] evaluaciones, int[] campos) {
+        this.evaluaciones = evaluaciones;
+        this.campos = campos;
+    }
+
+    /**
+     * Inicia la declaración de un nuevo plan.
+     *
+     * @param <T> tipo de objeto a validar
+     * @return constructor del plan
+     */
+    public static <T> Constructor<T> crear() {
+        return new Constructor<>();
+    }
+
+    /**
+     * Aplica el plan sobre una instancia.
+     * Se detiene en el primer chequeo que falla.
+     *
+     * @param objeto instancia a validar
+     * @return true si cumple todos los chequeos, false si alguno falla
+     */
+    public boolean valida(T objeto) {
+        for (int i = 0; i < evaluaciones.length; i++) {
+            int codigo = evaluaciones[i].evaluar(objeto);
+            if (codigo != ColectorViolaciones.OK) {
+                if (codigo != ColectorViolaciones.INVALIDO || !evaluaciones[i].esAnidada()) Metricas.violacion(campos[i]);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aplica el plan registrando en el colector cada chequeo que falla.
+     * En modo rápido se detiene en la primera violación (también si el colector ya traía una,
+     * lo que permite encadenar planes con {@code &} sin evaluar los siguientes).
+     *
+     * @param objeto   instancia a validar
+     * @param colector colector donde se registran las violaciones
+     * @return true si cumple todos los chequeos, false si alguno falla
+     */
+    public boolean valida(T objeto, ColectorViolaciones colector) {
+        if (colector.debeDetenerse()) return false;
+        boolean valido = true;
+        for (int i = 0; i < evaluaciones.length; i++) {
+            if (!evaluaciones[i].evaluar(objeto, campos[i], i, colector)) {
+                valido = false;
+                if (colector.debeDetenerse()) break;
+            }
+        }
+        return valido;
+    }
+
+    /**
+     * Aplica solo los chequeos de algunos campos, sin detenerse en el primer campo que falla.
+     * Permite revalidar únicamente los campos modificados desde la última validación.
+     *
+     * @param objeto instancia a validar
+     * @param campos campos a revisar, como máscara de bits (bit n = campo n)
+     * @return máscara de los campos revisados que no cumplen alguno de sus chequeos
+     */
+    public int validaCampos(T objeto, int campos) {
+        int invalidos = 0;
+        for (int i = 0; i < evaluaciones.length; i++) {
+            int bit = 1 << this.campos[i];
+            if ((campos & bit) == 0 || (invalidos & bit) != 0) continue; // No pedido o ya falló
+            int codigo = evaluaciones[i].evaluar(objeto);
+            if (codigo != ColectorViolaciones.OK) {
+                invalidos |= bit;
+                if (codigo != ColectorViolaciones.INVALIDO || !evaluaciones[i].esAnidada()) Metricas.violacion(this.campos[i]);
+            }
+        }
+        return invalidos;
+    }
+
+    /**
+     * Cantidad de chequeos declarados en el plan.
+     *
+     * @return número de chequeos
+     */
+    public int cantidadChequeos() {
+        return evaluaciones.length;
+    }
+
+    // Chequeos primitivos reutilizables (sin creación de objetos)
+
+    /**
+     * Equivale a isNotNull().isNotEmpty().maxLength(max) sobre un String.
+     *
+     * @param texto texto a validar
+     * @param max   longitud máxima permitida
+     * @return true si el texto es válido
+     */
+    public static boolean esTextoValido(String texto, int max) {
+        return evaluarTexto(texto, max) == ColectorViolaciones.OK;
+    }
+
+    /**
+     * Igual que esTextoValido, pero indica qué regla falló.
+     *
+     * @param texto texto a validar
+     * @param max   longitud máxima permitida
+     * @return ColectorViolaciones.OK, NULO, VACIO o LARGO_EXCEDIDO
+     */
+    public static int evaluarTexto(String texto, int max) {
+        if (texto == null) return ColectorViolaciones.NULO;
+        if (esBlanco(texto)) return ColectorViolaciones.VACIO;
+        if (texto.length() > max) return ColectorViolaciones.LARGO_EXCEDIDO;
+        return ColectorViolaciones.OK;
+    }
+
+    /**
+     * Equivale a trim().isEmpty(), pero sin crear una nueva cadena.
+     *
+     * @param texto texto a revisar (no nulo)
+     * @return true si el texto está vacío o solo contiene espacios
+     */
+    public static boolean esBlanco(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Equivale a esMayor(min) sobre un valor numérico, sin encapsularlo en Double.
+     *
+     * @param valor valor a validar
+     * @param min   valor mínimo (exclusivo)
+     * @return true si el valor es válido
+     */
+    public static boolean esMayor(double valor, double min) {
+        return !(valor <= min); // Misma semántica que Validador (NaN no se rechaza)
+    }
+
+    /**
+     * Equivale a esMayor(min) sobre un entero (ej: un monto en centavos), sin encapsularlo.
+     *
+     * @param valor valor a validar
+     * @param min   valor mínimo (exclusivo)
+     * @return true si el valor es válido
+     */
+    public static boolean esMayor(long valor, long min) {
+        return valor > min;
+    }
+
+    /**
+     * Clase Constructor.
+     * Permite declarar los chequeos del plan de forma fluida, igual que Validador.
+     *
+     * @param <T> tipo de objeto a validar
+     */
+    public static final class Constructor<T> {
+
+        private final List<Evaluacion<T>> evaluaciones = new ArrayList<>();
+        private final List<Integer> campos = new ArrayList<>();
+        private int campoActual;
+
+        private Constructor() {
+        }
+
+        /**
+         * Indica el campo al que pertenecen los chequeos que se declaren a continuación.
+         * Es el número que se registra en el ColectorViolaciones (0 si no se indica).
+         *
+         * @param campo número del campo
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> campo(int campo) {
+            this.campoActual = campo;
+            return this;
+        }
+
+        /**
+         * Campo de texto: no nulo, no vacío y con longitud máxima.
+         *
+         * @param campo función que obtiene el campo
+         * @param max   longitud máxima permitida
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> texto(Function<? super T, String> campo, int max) {
+            return agregar(objeto -> evaluarTexto(campo.apply(objeto), max));
+        }
+
+        /**
+         * Campo de texto: no nulo, no vacío, longitud máxima y formato de una regla.
+         *
+         * @param campo función que obtiene el campo
+         * @param max   longitud máxima permitida
+         * @param regla regla de formato precompilada
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> texto(Function<? super T, String> campo, int max, Regla regla) {
+            return agregar(objeto -> {
+                String texto = campo.apply(objeto);
+                int codigo = evaluarTexto(texto, max);
+                if (codigo == ColectorViolaciones.OK && !regla.cumple(texto)) codigo = ColectorViolaciones.FORMATO;
+                return codigo;
+            });
+        }
+
+        /**
+         * Campo de texto sin límite de longitud: no nulo, no vacío y formato de una regla.
+         *
+         * @param campo función que obtiene el campo
+         * @param regla regla de formato precompilada
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> texto(Function<? super T, String> campo, Regla regla) {
+            return texto(campo, Integer.MAX_VALUE, regla);
+        }
+
+        /**
+         * Campo numérico primitivo que debe ser mayor que un mínimo.
+         *
+         * @param campo función que obtiene el campo como double
+         * @param min   valor mínimo (exclusivo)
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> mayorQue(ToDoubleFunction<? super T> campo, double min) {
+            return agregar(objeto -> esMayor(campo.applyAsDouble(objeto), min)
+                    ? ColectorViolaciones.OK : ColectorViolaciones.BAJO_MINIMO);
+        }
+
+        /**
+         * Campo entero primitivo (ej: un monto en centavos) que debe ser mayor que un mínimo.
+         * Tiene otro nombre que mayorQue para que una lambda no pueda corresponder a ambos.
+         *
+         * @param campo función que obtiene el campo como long
+         * @param min   valor mínimo (exclusivo)
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> mayorQueEntero(ToLongFunction<? super T> campo, long min) {
+            return agregar(objeto -> esMayor(campo.applyAsLong(objeto), min)
+                    ? ColectorViolaciones.OK : ColectorViolaciones.BAJO_MINIMO);
+        }
+
+        /**
+         * Chequeo libre, por ejemplo para validar objetos compuestos (Rut, Direccion).
+         *
+         * @param chequeo condición a cumplir
+         * @return instancia actual para encadenamiento
+         */
+        public Constructor<T> condicion(Chequeo<T> chequeo) {
+            return agregar(objeto -> chequeo.cumple(objeto) ? ColectorViolaciones.OK : ColectorViolaciones.INVALIDO);
+        }
+
+        /**
+         * Objeto compuesto con su propio plan (ej: la Direccion de una Persona): no nulo y válido
+         * según ese plan. Con un colector, se registran las violaciones del plan anidado con sus
+         * propios campos; si el objeto es nulo se registra NULO en el campo actual.
+         *
+         * @param <U>   tipo del objeto compuesto
+         * @param campo función que obtiene el objeto
+         * @param plan  plan de validación del objeto
+         * @return instancia actual para encadenamiento
+         */
+        public <U> Constructor<T> anidado(Function<? super T, U> campo, PlanValidacion<U> plan) {
+            return agregar(new Evaluacion<T>() {
+                @Override
+                public int evaluar(T objeto) {
+                    U valor = campo.apply(objeto);
+                    if (valor == null) return ColectorViolaciones.NULO;
+                    return plan.valida(valor) ? ColectorViolaciones.OK : ColectorViolaciones.INVALIDO;
+                }
+
+                @Override
+                public boolean evaluar(T objeto, int numeroCampo, int regla, ColectorViolaciones colector) {
+                    U valor = campo.apply(objeto);
+                    if (valor != null) return plan.valida(valor, colector);
+                    colector.registrar(numeroCampo, regla, ColectorViolaciones.NULO);
+                    Metricas.violacion(numeroCampo);
+                    return false;
+                }
+
+                @Override
+                public boolean esAnidada() {
+                    return true;
+                }
+            });
+        }
+
+        private Constructor<T> agregar(Evaluacion<T> evaluacion) {
+            evaluaciones.add(evaluacion);
+            campos.add(campoActual);
+            return this;
+        }
+
+        /**
+         * Construye el plan inmutable.
+         *
+         * @return plan de validación listo para usarse
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"}) // no hay arreglos de un tipo genérico concreto
+        public PlanValidacion<T> construir() {
+            int[] numeros = campos.stream().mapToInt(Integer::intValue).toArray();
+            return new PlanValidacion<>(evaluaciones.toArray(new Evaluacion[0]), numeros);
+        }
+    }
+}
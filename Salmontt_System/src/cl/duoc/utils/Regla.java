@@ -0,0 +1,121 @@
+package cl.duoc.utils;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Clase Regla.
+ * Representa una regla de formato ya compilada (expresión regular precompilada).
+ * Cada hilo reutiliza su propio Matcher, por lo que una misma regla puede
+ * evaluarse en paralelo sin volver a compilar el patrón ni crear un Matcher por llamada.
+ * Las reglas más usadas tienen además un escáner escrito a mano (ver EscanerFormato),
+ * equivalente a la expresión, que se usa en su lugar.
+ */
+public final class Regla {
+
+    // Nombre descriptivo de la regla (ej: "RUT", "CORREO")
+    private final String nombre;
+
+    // Patrón compilado una única vez
+    private final Pattern patron;
+
+    // Matcher reutilizable por hilo (Matcher no es thread-safe)
+    private final ThreadLocal<Matcher> matcher;
+
+    // Escáner equivalente a la expresión, o null si se evalúa con el Matcher
+    private final Predicate<CharSequence> escaner;
+
+    /**
+     * Constructor de uso interno. Las reglas se obtienen desde MotorReglas.
+     *
+     * @param nombre  nombre descriptivo de la regla
+     * @param regex   expresión regular a compilar
+     * @param escaner evaluador equivalente sin expresión regular, o null
+     */
+    Regla(String nombre, String regex, Predicate<CharSequence> escaner) {
+        this.nombre = nombre;
+        this.patron = Pattern.compile(regex);
+        this.matcher = ThreadLocal.withInitial(() -> patron.matcher(""));
+        this.escaner = escaner;
+    }
+
+    /**
+     * Evalúa si el texto completo cumple la regla.
+     * Equivale a String.matches(regex), pero sin recompilar la expresión.
+     *
+     * @param texto texto a evaluar
+     * @return true si el texto cumple la regla, false si es nulo o no la cumple
+     */
+    public boolean cumple(CharSequence texto) {
+        if (texto == null) return false;
+        if (escaner != null) return escaner.test(texto);
+        return cumpleExpresion(texto);
+    }
+
+    /**
+     * Evalúa el texto siempre con la expresión regular, aunque la regla tenga escáner.
+     * Sirve para comparar ambos evaluadores.
+     *
+     * @param texto texto a evaluar
+     * @return true si el texto cumple la expresión, false si es nulo o no la cumple
+     */
+    public boolean cumpleExpresion(CharSequence texto) {
+        if (texto == null) return false;
+        Matcher m = matcher.get();
+        boolean resultado = m.reset(texto).matches();
+        m.reset(""); // evita retener el texto evaluado en el hilo
+        return resultado;
+    }
+
+    /**
+     * Evalúa una columna completa de valores.
+     *
+     * @param valores valores a evaluar
+     * @return conjunto con la posición de cada valor que no cumple la regla
+     */
+    public BitSet fallas(CharSequence[] valores) {
+        BitSet fallas = new BitSet(valores.length);
+        for (int i = 0; i < valores.length; i++) {
+            if (!cumple(valores[i])) fallas.set(i);
+        }
+        return fallas;
+    }
+
+    /**
+     * Evalúa una columna completa de valores.
+     *
+     * @param valores valores a evaluar
+     * @return conjunto con la posición de cada valor que no cumple la regla
+     */
+    public BitSet fallas(List<? extends CharSequence> valores) {
+        BitSet fallas = new BitSet(valores.size());
+        int i = 0;
+        for (CharSequence valor : valores) {
+            if (!cumple(valor)) fallas.set(i);
+            i++;
+        }
+        return fallas;
+    }
+
+    // Métodos getter
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getRegex() {
+        return patron.pattern();
+    }
+
+    public boolean tieneEscaner() {
+        return escaner != null;
+    }
+
+    @Override
+    public String toString() {
+        return nombre + " " + patron.pattern();
+    }
+}
@@ -0,0 +1,140 @@
+package cl.duoc.utils;
+
+/**
+ * Clase TerritorioChile.
+ * Listas oficiales de las 16 regiones y 346 comunas de Chile, en mayúsculas
+ * (mismo formato que guarda el ingreso por consola). Se usan para iniciar los diccionarios.
+ */
+public final class TerritorioChile {
+
+    /** Regiones de Chile, de norte a sur. */
+    public static final String[] REGIONES = {
+        "ARICA Y PARINACOTA",
+        "TARAPACÁ",
+        "ANTOFAGASTA",
+        "ATACAMA",
+        "COQUIMBO",
+        "VALPARAÍSO",
+        "METROPOLITANA DE SANTIAGO",
+        "LIBERTADOR GENERAL BERNARDO O'HIGGINS",
+        "MAULE",
+        "ÑUBLE",
+        "BIOBÍO",
+        "LA ARAUCANÍA",
+        "LOS RÍOS",
+        "LOS LAGOS",
+        "AYSÉN DEL GENERAL CARLOS IBÁÑEZ DEL CAMPO",
+        "MAGALLANES Y DE LA ANTÁRTICA CHILENA"
+    };
+
+    /** Comunas de cada región, en el mismo orden que REGIONES. */
+    public static final String[][] COMUNAS = {
+        // ARICA Y PARINACOTA
+        {
+            "ARICA", "CAMARONES", "PUTRE", "GENERAL LAGOS"
+        },
+        // TARAPACÁ
+        {
+            "IQUIQUE", "ALTO HOSPICIO", "POZO ALMONTE", "CAMIÑA", "COLCHANE", "HUARA", "PICA"
+        },
+        // ANTOFAGASTA
+        {
+            "ANTOFAGASTA", "MEJILLONES", "SIERRA GORDA", "TALTAL", "CALAMA", "OLLAGÜE",
+            "SAN PEDRO DE ATACAMA", "TOCOPILLA", "MARÍA ELENA"
+        },
+        // ATACAMA
+        {
+            "COPIAPÓ", "CALDERA", "TIERRA AMARILLA", "CHAÑARAL", "DIEGO DE ALMAGRO", "VALLENAR",
+            "ALTO DEL CARMEN", "FREIRINA", "HUASCO"
+        },
+        // COQUIMBO
+        {
+            "LA SERENA", "COQUIMBO", "ANDACOLLO", "LA HIGUERA", "PAIGUANO", "VICUÑA", "ILLAPEL", "CANELA",
+            "LOS VILOS", "SALAMANCA", "OVALLE", "COMBARBALÁ", "MONTE PATRIA", "PUNITAQUI", "RÍO HURTADO"
+        },
+        // VALPARAÍSO
+        {
+            "VALPARAÍSO", "CASABLANCA", "CONCÓN", "JUAN FERNÁNDEZ", "PUCHUNCAVÍ", "QUINTERO", "VIÑA DEL MAR",
+            "ISLA DE PASCUA", "LOS ANDES", "CALLE LARGA", "RINCONADA", "SAN ESTEBAN", "LA LIGUA", "CABILDO",
+            "PAPUDO", "PETORCA", "ZAPALLAR", "QUILLOTA", "LA CALERA", "HIJUELAS", "LA CRUZ", "NOGALES",
+            "SAN ANTONIO", "ALGARROBO", "CARTAGENA", "EL QUISCO", "EL TABO", "SANTO DOMINGO", "SAN FELIPE",
+            "CATEMU", "LLAILLAY", "PANQUEHUE", "PUTAENDO", "SANTA MARÍA", "QUILPUÉ", "LIMACHE", "OLMUÉ",
+            "VILLA ALEMANA"
+        },
+        // METROPOLITANA DE SANTIAGO
+        {
+            "SANTIAGO", "CERRILLOS", "CERRO NAVIA", "CONCHALÍ", "EL BOSQUE", "ESTACIÓN CENTRAL",
+            "HUECHURABA", "INDEPENDENCIA", "LA CISTERNA", "LA FLORIDA", "LA GRANJA", "LA PINTANA",
+            "LA REINA", "LAS CONDES", "LO BARNECHEA", "LO ESPEJO", "LO PRADO", "MACUL", "MAIPÚ", "ÑUÑOA",
+            "PEDRO AGUIRRE CERDA", "PEÑALOLÉN", "PROVIDENCIA", "PUDAHUEL", "QUILICURA", "QUINTA NORMAL",
+            "RECOLETA", "RENCA", "SAN JOAQUÍN", "SAN MIGUEL", "SAN RAMÓN", "VITACURA", "PUENTE ALTO",
+            "PIRQUE", "SAN JOSÉ DE MAIPO", "COLINA", "LAMPA", "TILTIL", "SAN BERNARDO", "BUIN",
+            "CALERA DE TANGO", "PAINE", "MELIPILLA", "ALHUÉ", "CURACAVÍ", "MARÍA PINTO", "SAN PEDRO",
+            "TALAGANTE", "EL MONTE", "ISLA DE MAIPO", "PADRE HURTADO", "PEÑAFLOR"
+        },
+        // LIBERTADOR GENERAL BERNARDO O'HIGGINS
+        {
+            "RANCAGUA", "CODEGUA", "COINCO", "COLTAUCO", "DOÑIHUE", "GRANEROS", "LAS CABRAS", "MACHALÍ",
+            "MALLOA", "MOSTAZAL", "OLIVAR", "PEUMO", "PICHIDEGUA", "QUINTA DE TILCOCO", "RENGO", "REQUÍNOA",
+            "SAN VICENTE", "PICHILEMU", "LA ESTRELLA", "LITUECHE", "MARCHIGÜE", "NAVIDAD", "PAREDONES",
+            "SAN FERNANDO", "CHÉPICA", "CHIMBARONGO", "LOLOL", "NANCAGUA", "PALMILLA", "PERALILLO",
+            "PLACILLA", "PUMANQUE", "SANTA CRUZ"
+        },
+        // MAULE
+        {
+            "TALCA", "CONSTITUCIÓN", "CUREPTO", "EMPEDRADO", "MAULE", "PELARCO", "PENCAHUE", "RÍO CLARO",
+            "SAN CLEMENTE", "SAN RAFAEL", "CAUQUENES", "CHANCO", "PELLUHUE", "CURICÓ", "HUALAÑÉ", "LICANTÉN",
+            "MOLINA", "RAUCO", "ROMERAL", "SAGRADA FAMILIA", "TENO", "VICHUQUÉN", "LINARES", "COLBÚN",
+            "LONGAVÍ", "PARRAL", "RETIRO", "SAN JAVIER", "VILLA ALEGRE", "YERBAS BUENAS"
+        },
+        // ÑUBLE
+        {
+            "CHILLÁN", "BULNES", "CHILLÁN VIEJO", "EL CARMEN", "PEMUCO", "PINTO", "QUILLÓN", "SAN IGNACIO",
+            "YUNGAY", "QUIRIHUE", "COBQUECURA", "COELEMU", "NINHUE", "PORTEZUELO", "RÁNQUIL", "TREGUACO",
+            "SAN CARLOS", "COIHUECO", "ÑIQUÉN", "SAN FABIÁN", "SAN NICOLÁS"
+        },
+        // BIOBÍO
+        {
+            "CONCEPCIÓN", "CORONEL", "CHIGUAYANTE", "FLORIDA", "HUALQUI", "LOTA", "PENCO",
+            "SAN PEDRO DE LA PAZ", "SANTA JUANA", "TALCAHUANO", "TOMÉ", "HUALPÉN", "LEBU", "ARAUCO",
+            "CAÑETE", "CONTULMO", "CURANILAHUE", "LOS ÁLAMOS", "TIRÚA", "LOS ÁNGELES", "ANTUCO", "CABRERO",
+            "LAJA", "MULCHÉN", "NACIMIENTO", "NEGRETE", "QUILACO", "QUILLECO", "SAN ROSENDO",
+            "SANTA BÁRBARA", "TUCAPEL", "YUMBEL", "ALTO BIOBÍO"
+        },
+        // LA ARAUCANÍA
+        {
+            "TEMUCO", "CARAHUE", "CUNCO", "CURARREHUE", "FREIRE", "GALVARINO", "GORBEA", "LAUTARO",
+            "LONCOCHE", "MELIPEUCO", "NUEVA IMPERIAL", "PADRE LAS CASAS", "PERQUENCO", "PITRUFQUÉN", "PUCÓN",
+            "SAAVEDRA", "TEODORO SCHMIDT", "TOLTÉN", "VILCÚN", "VILLARRICA", "CHOLCHOL", "ANGOL",
+            "COLLIPULLI", "CURACAUTÍN", "ERCILLA", "LONQUIMAY", "LOS SAUCES", "LUMACO", "PURÉN", "RENAICO",
+            "TRAIGUÉN", "VICTORIA"
+        },
+        // LOS RÍOS
+        {
+            "VALDIVIA", "CORRAL", "LANCO", "LOS LAGOS", "MÁFIL", "MARIQUINA", "PAILLACO", "PANGUIPULLI",
+            "LA UNIÓN", "FUTRONO", "LAGO RANCO", "RÍO BUENO"
+        },
+        // LOS LAGOS
+        {
+            "PUERTO MONTT", "CALBUCO", "COCHAMÓ", "FRESIA", "FRUTILLAR", "LOS MUERMOS", "LLANQUIHUE",
+            "MAULLÍN", "PUERTO VARAS", "CASTRO", "ANCUD", "CHONCHI", "CURACO DE VÉLEZ", "DALCAHUE",
+            "PUQUELDÓN", "QUEILÉN", "QUELLÓN", "QUEMCHI", "QUINCHAO", "OSORNO", "PUERTO OCTAY", "PURRANQUE",
+            "PUYEHUE", "RÍO NEGRO", "SAN JUAN DE LA COSTA", "SAN PABLO", "CHAITÉN", "FUTALEUFÚ", "HUALAIHUÉ",
+            "PALENA"
+        },
+        // AYSÉN DEL GENERAL CARLOS IBÁÑEZ DEL CAMPO
+        {
+            "COYHAIQUE", "LAGO VERDE", "AYSÉN", "CISNES", "GUAITECAS", "COCHRANE", "O'HIGGINS", "TORTEL",
+            "CHILE CHICO", "RÍO IBÁÑEZ"
+        },
+        // MAGALLANES Y DE LA ANTÁRTICA CHILENA
+        {
+            "PUNTA ARENAS", "LAGUNA BLANCA", "RÍO VERDE", "SAN GREGORIO", "CABO DE HORNOS", "ANTÁRTICA",
+            "PORVENIR", "PRIMAVERA", "TIMAUKEL", "NATALES", "TORRES DEL PAINE"
+        }
+    };
+
+    private TerritorioChile() {
+        // Clase utilitaria, no se instancia
+    }
+}
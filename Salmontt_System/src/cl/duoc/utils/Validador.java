@@ -5,6 +5,10 @@ package cl.duoc.utils;
  * Permite aplicar una cadena de validaciones sobre un valor de tipo T.
  * Se utiliza para validar distintos tipos de datos como String, Number, etc.,
  * de forma fluida y reutilizable.
+ *
+ * Una vez que una validación falla, las siguientes de la cadena se omiten (el resultado
+ * ya no puede cambiar). Con un ColectorViolaciones se registra qué regla falló; si el
+ * colector está en modo completo, se siguen aplicando las reglas para registrarlas todas.
  */
 public class Validador<T> {
     
@@ -14,13 +18,31 @@ public class Validador<T> {
     // Estado de validez acumulado (true si todas las validaciones son exitosas)
     private boolean valido = true;
 
+    // Registro opcional de violaciones (null: solo se acumula el boolean)
+    private final ColectorViolaciones colector;
+    private final int campo;
+    private int regla; // posición de la próxima regla en la cadena
+
     /**
      * Constructor que recibe el valor a validar.
      * 
      * @param valor Valor genérico sobre el cual se aplicarán las validaciones
      */
     public Validador(T valor) {
+        this(valor, 0, null);
+    }
+
+    /**
+     * Constructor que además registra las reglas que fallan.
+     * 
+     * @param valor    Valor genérico sobre el cual se aplicarán las validaciones
+     * @param campo    número del campo que se registra en cada violación
+     * @param colector colector de violaciones (puede ser null)
+     */
+    public Validador(T valor, int campo, ColectorViolaciones colector) {
         this.valor = valor;
+        this.campo = campo;
+        this.colector = colector;
     }
 
     /**
@@ -29,7 +51,8 @@ public class Validador<T> {
      * @return instancia actual para encadenamiento
      */
     public Validador<T> isNotNull() {
-        if (valor == null) valido = false;
+        if (omitir()) return this;
+        if (valor == null) fallar(ColectorViolaciones.NULO);
         return this;
     }
 
@@ -40,7 +63,8 @@ public class Validador<T> {
      * @return instancia actual para encadenamiento
      */
     public Validador<T> isNotEmpty() {
-        if (valor instanceof String && ((String) valor).trim().isEmpty()) valido = false;
+        if (omitir()) return this;
+        if (valor instanceof String && PlanValidacion.esBlanco((String) valor)) fallar(ColectorViolaciones.VACIO);
         return this;
     }
 
@@ -52,19 +76,33 @@ public class Validador<T> {
      * @return instancia actual para encadenamiento
      */
     public Validador<T> maxLength(int max) {
-        if (valor instanceof String && ((String) valor).length() > max) valido = false;
+        if (omitir()) return this;
+        if (valor instanceof String && ((String) valor).length() > max) fallar(ColectorViolaciones.LARGO_EXCEDIDO);
         return this;
     }
 
     /**
      * Valida que la cadena cumpla con una expresión regular.
      * Solo aplica si el valor es de tipo String.
+     * Una expresión declarada en MotorReglas se reutiliza; otra se compila en cada llamada.
      * 
      * @param regex expresión regular a evaluar
      * @return instancia actual para encadenamiento
      */
     public Validador<T> matches(String regex) {
-        if (valor instanceof String && !((String) valor).matches(regex)) valido = false;
+        return matches(MotorReglas.obtener(regex));
+    }
+
+    /**
+     * Valida que la cadena cumpla con una regla precompilada.
+     * Solo aplica si el valor es de tipo String.
+     * 
+     * @param regla regla de formato declarada en MotorReglas
+     * @return instancia actual para encadenamiento
+     */
+    public Validador<T> matches(Regla regla) {
+        if (omitir()) return this;
+        if (valor instanceof String && !regla.cumple((String) valor)) fallar(ColectorViolaciones.FORMATO);
         return this;
     }
 
@@ -76,10 +114,23 @@ public class Validador<T> {
      * @return instancia actual para encadenamiento
      */
     public Validador<T> esMayor(double min) {
-        if (valor instanceof Number && ((Number) valor).doubleValue() <= min) valido = false;
+        if (omitir()) return this;
+        if (valor instanceof Number && ((Number) valor).doubleValue() <= min) fallar(ColectorViolaciones.BAJO_MINIMO);
         return this;
     }
 
+    /**
+     * Valida que un monto entero (ej: un sueldo en centavos) sea mayor que el mínimo,
+     * sin encapsularlo en un objeto Number como esMayor(double).
+     *
+     * @param valor valor a validar
+     * @param min   valor mínimo (exclusivo)
+     * @return true si el valor es mayor que el mínimo
+     */
+    public static boolean esMayor(long valor, long min) {
+        return PlanValidacion.esMayor(valor, min);
+    }
+
     /**
      * Retorna el estado final de validez del valor tras aplicar todas las validaciones.
      * 
@@ -88,4 +139,16 @@ public class Validador<T> {
     public boolean isValido() {
         return valido;
     }
-}
\ No newline at end of file
+
+    // Avanza a la siguiente regla; true si debe omitirse porque la cadena ya falló
+    private boolean omitir() {
+        regla++;
+        return !valido && (colector == null || colector.esRapido());
+    }
+
+    // Marca la cadena como inválida y registra la regla actual en el colector
+    private void fallar(int codigo) {
+        valido = false;
+        if (colector != null) colector.registrar(campo, regla - 1, codigo);
+    }
+}